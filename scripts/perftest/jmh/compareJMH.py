@@ -0,0 +1,58 @@
+#!/usr/bin/env python3
+#-------------------------------------------------------------
+#
+# Licensed to the Apache Software Foundation (ASF) under one
+# or more contributor license agreements.  See the NOTICE file
+# distributed with this work for additional information
+# regarding copyright ownership.  The ASF licenses this file
+# to you under the Apache License, Version 2.0 (the
+# "License"); you may not use this file except in compliance
+# with the License.  You may obtain a copy of the License at
+#
+#   http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing,
+# software distributed under the License is distributed on an
+# "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+# KIND, either express or implied.  See the License for the
+# specific language governing permissions and limitations
+# under the License.
+#
+#-------------------------------------------------------------
+
+# Compares two JMH result files (JSON) of runJMH.sh, and prints the ratio
+# of scores (new/old) per benchmark and parameter configuration.
+#
+# Usage: ./compareJMH.py results/old.json results/new.json [threshold]
+
+import json
+import sys
+
+
+def load(fname):
+    with open(fname) as f:
+        ret = {}
+        for r in json.load(f):
+            params = ",".join(k + "=" + v for k, v in sorted(r.get("params", {}).items()))
+            ret[(r["benchmark"], params)] = r["primaryMetric"]
+        return ret
+
+
+def main():
+    if len(sys.argv) < 3:
+        print("Usage: compareJMH.py <old.json> <new.json> [threshold]")
+        sys.exit(1)
+    old, new = load(sys.argv[1]), load(sys.argv[2])
+    threshold = float(sys.argv[3]) if len(sys.argv) > 3 else 0.1
+    print("%-60s %-50s %12s %12s %8s" % ("benchmark", "params", "old", "new", "ratio"))
+    for key in sorted(set(old) & set(new)):
+        o, n = old[key]["score"], new[key]["score"]
+        ratio = n / o if o > 0 else float("inf")
+        flag = " *" if abs(ratio - 1) > threshold else ""
+        print("%-60s %-50s %12.3f %12.3f %8.3f%s" % (key[0], key[1], o, n, ratio, flag))
+    for key in sorted(set(old) ^ set(new)):
+        print("%-60s %-50s only in %s" % (key[0], key[1], "old" if key in old else "new"))
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+#-------------------------------------------------------------
+#
+# Licensed to the Apache Software Foundation (ASF) under one
+# or more contributor license agreements.  See the NOTICE file
+# distributed with this work for additional information
+# regarding copyright ownership.  The ASF licenses this file
+# to you under the Apache License, Version 2.0 (the
+# "License"); you may not use this file except in compliance
+# with the License.  You may obtain a copy of the License at
+#
+#   http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing,
+# software distributed under the License is distributed on an
+# "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+# KIND, either express or implied.  See the License for the
+# specific language governing permissions and limitations
+# under the License.
+#
+#-------------------------------------------------------------
+
+# Builds the benchmarks jar against the SystemDS build of the root project
+# and runs the selected benchmarks (regular expression, default all), with
+# machine-readable JSON results written to results/.
+#
+# Examples:
+#   ./runJMH.sh
+#   ./runJMH.sh MatrixMultBenchmark -p input=dense,sparse-CSR -p k=1
+
+set -e
+cd "$(dirname "$0")"
+
+if [ ! -f target/benchmarks.jar ] || [ "$REBUILD" == "1" ]; then
+  (cd ../../.. && mvn -q -DskipTests install)
+  mvn -q clean package
+fi
+
+VERSION=$(mvn -q help:evaluate -Dexpression=systemds.version -DforceStdout)
+mkdir -p results
+OUT="results/jmh-${VERSION}-$(date +%Y%m%d-%H%M%S).json"
+
+java -jar target/benchmarks.jar -rf json -rff "$OUT" "$@"
+echo "Results written to $OUT"
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Unary aggregate kernels of LibMatrixAgg (full, row, and column aggregates
+ * with and without Kahan correction).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AggregateBenchmark
+{
+	@Param({"dense", "sparse-MCSR", "sparse-CSR", "sparse-COO", "ultra-MCSR", "ultra-CSR", "ultra-COO"})
+	public String input;
+
+	@Param({"1000x1000", "10000x100", "100x10000"})
+	public String shape;
+
+	@Param({"1", "8"})
+	public int k;
+
+	private MatrixBlock _m1;
+	private AggregateUnaryOperator _sum;
+	private AggregateUnaryOperator _rowSums;
+	private AggregateUnaryOperator _colSums;
+	private AggregateUnaryOperator _max;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		_m1 = BenchmarkUtils.createInput(input, shape, 7);
+		_sum = InstructionUtils.parseBasicAggregateUnaryOperator("uak+", k);
+		_rowSums = InstructionUtils.parseBasicAggregateUnaryOperator("uark+", k);
+		_colSums = InstructionUtils.parseBasicAggregateUnaryOperator("uack+", k);
+		_max = InstructionUtils.parseBasicAggregateUnaryOperator("uamax", k);
+	}
+
+	@Benchmark
+	public MatrixBlock sum() {
+		return aggregate(_sum);
+	}
+
+	@Benchmark
+	public MatrixBlock rowSums() {
+		return aggregate(_rowSums);
+	}
+
+	@Benchmark
+	public MatrixBlock colSums() {
+		return aggregate(_colSums);
+	}
+
+	@Benchmark
+	public MatrixBlock max() {
+		return aggregate(_max);
+	}
+
+	private MatrixBlock aggregate(AggregateUnaryOperator op) {
+		return _m1.aggregateUnaryOperations(op, new MatrixBlock(),
+			_m1.getNumRows(), new MatrixIndexes(1, 1), true);
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance.jmh;
+
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Input generation of the kernel benchmarks. Input types are specified as
+ * dense, or sparse/ultra with the sparse block format (e.g., sparse-CSR, ultra-COO),
+ * and shapes as rows x cols (e.g., 1000x1000).
+ */
+public class BenchmarkUtils
+{
+	public static final double SPARSITY_SPARSE = 0.05;
+	public static final double SPARSITY_ULTRA_SPARSE = 0.00002;
+
+	public static MatrixBlock createInput(String input, String shape, long seed) {
+		String[] dims = shape.split("x");
+		if( dims.length != 2 )
+			throw new IllegalArgumentException("Invalid shape: "+shape);
+		return createInput(input, Integer.parseInt(dims[0]), Integer.parseInt(dims[1]), seed);
+	}
+
+	public static MatrixBlock createInput(String input, int rows, int cols, long seed) {
+		String[] parts = input.split("-");
+		double sparsity = getSparsity(parts[0]);
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", seed);
+		if( parts.length > 1 ) {
+			//convert to the requested sparse block format
+			SparseBlock.Type type = SparseBlock.Type.valueOf(parts[1]);
+			if( !mb.isInSparseFormat() )
+				mb.denseToSparse(false);
+			if( !mb.isEmptyBlock(false) )
+				mb = new MatrixBlock(mb, type, true);
+		}
+		return mb;
+	}
+
+	private static double getSparsity(String type) {
+		switch( type ) {
+			case "dense":  return 1.0;
+			case "sparse": return SPARSITY_SPARSE;
+			case "ultra":  return SPARSITY_ULTRA_SPARSE;
+			default:
+				throw new IllegalArgumentException("Invalid input type: "+type);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Local reads of binary matrices, either as sequence files of serialized blocks
+ * or in the memory-mappable single-file layout (sysds.io.binary.mmap).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BinaryReadBenchmark
+{
+	@Param({"dense", "sparse-MCSR", "ultra-MCSR"})
+	public String input;
+
+	@Param({"10000x1000", "100000x100"})
+	public String shape;
+
+	@Param({"sequence", "mapped"})
+	public String layout;
+
+	@Param({"1", "8"})
+	public int k;
+
+	private String _fname;
+	private MatrixCharacteristics _mc;
+	private MatrixReader _reader;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		MatrixBlock mb = BenchmarkUtils.createInput(input, shape, 7);
+		_fname = File.createTempFile("sysds-jmh-", ".bin").getAbsolutePath();
+		_mc = new MatrixCharacteristics(mb.getNumRows(), mb.getNumColumns(), 1000, mb.getNonZeros());
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		DMLConfig conf2 = new DMLConfig();
+		conf2.setTextValue(DMLConfig.BINARY_MMAP, String.valueOf(layout.equals("mapped")));
+		try {
+			ConfigurationManager.setLocalConfig(conf2);
+			DataConverter.writeMatrixToHDFS(mb, _fname, FileFormat.BINARY, _mc);
+		}
+		finally {
+			ConfigurationManager.setLocalConfig(conf);
+		}
+		_reader = (k > 1) ? new ReaderBinaryBlockParallel(false) : new ReaderBinaryBlock(false);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		HDFSTool.deleteFileIfExistOnHDFS(_fname);
+	}
+
+	@Benchmark
+	public MatrixBlock read() throws Exception {
+		return _reader.readMatrixFromHDFS(_fname, _mc.getRows(),
+			_mc.getCols(), _mc.getBlocksize(), _mc.getNonZeros());
+	}
+}
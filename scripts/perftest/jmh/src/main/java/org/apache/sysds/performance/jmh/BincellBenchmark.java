@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Elementwise binary kernels of LibMatrixBincell (matrix-matrix, matrix-vector,
+ * and matrix-scalar operations) for sparse-safe and sparse-unsafe operators.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BincellBenchmark
+{
+	@Param({"dense", "sparse-MCSR", "sparse-CSR", "sparse-COO", "ultra-MCSR", "ultra-CSR", "ultra-COO"})
+	public String input;
+
+	@Param({"1000x1000", "10000x100", "100x10000"})
+	public String shape;
+
+	@Param({"1", "8"})
+	public int k;
+
+	private MatrixBlock _m1;
+	private MatrixBlock _m2;
+	private MatrixBlock _v;
+	private BinaryOperator _plus;
+	private BinaryOperator _mult;
+	private ScalarOperator _plusScalar;
+	private ScalarOperator _multScalar;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		_m1 = BenchmarkUtils.createInput(input, shape, 7);
+		_m2 = BenchmarkUtils.createInput(input, shape, 3);
+		_v = BenchmarkUtils.createInput("dense", _m1.getNumRows(), 1, 5);
+		_plus = new BinaryOperator(Plus.getPlusFnObject(), k);
+		_mult = new BinaryOperator(Multiply.getMultiplyFnObject(), k);
+		_plusScalar = new RightScalarOperator(Plus.getPlusFnObject(), 7, k);
+		_multScalar = new RightScalarOperator(Multiply.getMultiplyFnObject(), 7, k);
+	}
+
+	@Benchmark
+	public MatrixBlock plusMatrix() {
+		return _m1.binaryOperations(_plus, _m2, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock multMatrix() {
+		return _m1.binaryOperations(_mult, _m2, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock multColVector() {
+		return _m1.binaryOperations(_mult, _v, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock plusScalar() {
+		return _m1.scalarOperations(_plusScalar, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock multScalar() {
+		return _m1.scalarOperations(_multScalar, new MatrixBlock());
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Dense-dense matrix-matrix multiplication of LibMatrixMult with and without
+ * the packed, cache-blocked kernel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PackedMatrixMultBenchmark
+{
+	@Param({"true", "false"})
+	public boolean packed;
+
+	@Param({"1000x1000", "2000x500", "300x3000"})
+	public String shape;
+
+	//number of columns of the right-hand side
+	@Param({"300", "1000", "3000"})
+	public int n;
+
+	@Param({"1", "8"})
+	public int k;
+
+	private MatrixBlock _m1;
+	private MatrixBlock _m2;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		_m1 = BenchmarkUtils.createInput("dense", shape, 7);
+		_m2 = BenchmarkUtils.createInput("dense", _m1.getNumColumns(), n, 3);
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMult() {
+		MatrixBlock ret = new MatrixBlock(_m1.getNumRows(), n, false);
+		LibMatrixMult.matrixMult(_m1, _m2, ret, k, packed);
+		return ret;
+	}
+}
@@ -34,8 +34,11 @@ import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.gpu.context.GPUContext;
 import org.apache.sysds.runtime.instructions.gpu.context.GPUContextPool;
 import org.apache.sysds.runtime.instructions.gpu.context.GPUObject;
+import org.apache.sysds.runtime.lineage.LineageCache;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.lineage.LineageEstimatorStatistics;
 import org.apache.sysds.runtime.lineage.LineageGPUCacheEviction;
+import org.apache.sysds.runtime.lineage.LineagePersistentCache;
 import org.apache.sysds.utils.Statistics;
 
 public class ScriptExecutorUtils {
@@ -75,6 +78,10 @@ public class ScriptExecutorUtils {
 	 */
 	public static void executeRuntimeProgram(Program rtprog, ExecutionContext ec, DMLConfig dmlconf, int statisticsMaxHeavyHitters, Set<String> outputVariables) {
 		Statistics.startRunTimer();
+		//load the persistent lineage cache, if configured
+		boolean lineageReuse = DMLScript.LINEAGE && !ReuseCacheType.isNone();
+		if (lineageReuse)
+			LineagePersistentCache.init();
 		try {
 			// run execute (w/ exception handling to ensure proper shutdown)
 			if (DMLScript.USE_ACCELERATOR && ec != null) {
@@ -87,6 +94,8 @@ public class ScriptExecutorUtils {
 				ec.setGPUContexts(gCtxs);
 			}
 			rtprog.execute(ec);
+			if (lineageReuse)
+				LineagePersistentCache.persist(LineageCache.getLineageCache());
 		} catch (Throwable e) {
 			throw e;
 		} finally { // ensure cleanup/shutdown
@@ -534,7 +534,8 @@ public class Types
 		BINARY, // binary block representation (dense/sparse/ultra-sparse)
 		FEDERATED, // A federated matrix
 		PROTO,  // protocol buffer representation
-		HDF5; // Hierarchical Data Format (HDF)
+		HDF5, // Hierarchical Data Format (HDF)
+		COLUMNAR; // columnar frame representation (per-column chunks)
 		
 		public boolean isIJV() {
 			return this == TEXT || this == MM;
@@ -22,6 +22,7 @@ package org.apache.sysds.conf;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.CompilerConfig.ConfigType;
 import org.apache.sysds.lops.Compression.CompressConfig;
+import org.apache.sysds.runtime.util.BlockCodec.CodecType;
 
 
 
@@ -200,10 +201,47 @@ public class ConfigurationManager
 			|| getCompilerConfigFlag(ConfigType.CODEGEN_ENABLED));
 	}
 
+	public static boolean isUnifiedMemoryManager() {
+		return getDMLConfig().getTextValue(DMLConfig.CACHING_MEMORY_MANAGER).equalsIgnoreCase("unified");
+	}
+
+	public static CodecType getBlockCodec() {
+		return CodecType.valueOf(getDMLConfig().getTextValue(DMLConfig.BLOCK_CODEC).toUpperCase());
+	}
+
+	public static boolean isMappedBinaryBlock() {
+		return getDMLConfig().getBooleanValue(DMLConfig.BINARY_MMAP);
+	}
+
+	public static boolean isPipelinedBinaryRead() {
+		return getDMLConfig().getBooleanValue(DMLConfig.BINARY_PIPELINED_READ);
+	}
+
+	public static boolean isDictEncodedFrames() {
+		return getDMLConfig().getBooleanValue(DMLConfig.FRAME_DICT_ENCODE);
+	}
+
+	public static boolean isFederatedBinaryCodec() {
+		return getDMLConfig().getTextValue(DMLConfig.FEDERATED_CODEC).equalsIgnoreCase("binary");
+	}
+
+	public static boolean isFederatedPipelining() {
+		return getDMLConfig().getBooleanValue(DMLConfig.FEDERATED_PIPELINE)
+			&& isFederatedBinaryCodec();
+	}
+
 	public static boolean isCompressionEnabled(){
 		CompressConfig compress = CompressConfig.valueOf(getDMLConfig().getTextValue(DMLConfig.COMPRESSED_LINALG).toUpperCase());
 		return compress.isEnabled();
 	}
+
+	public static boolean isCompressedTransformEncode() {
+		return getDMLConfig().getBooleanValue(DMLConfig.COMPRESSED_TRANSFORMENCODE);
+	}
+
+	public static boolean isStreamingTransformEncode() {
+		return getDMLConfig().getBooleanValue(DMLConfig.STREAMING_TRANSFORMENCODE);
+	}
 	
 	///////////////////////////////////////
 	// Thread-local classes
@@ -80,6 +80,8 @@ public class DMLConfig
 	public static final String COMPRESSED_COCODE    = "sysds.compressed.cocode"; 
 	public static final String COMPRESSED_COST_MODEL= "sysds.compressed.costmodel";
 	public static final String COMPRESSED_TRANSPOSE = "sysds.compressed.transpose";
+	public static final String COMPRESSED_TRANSFORMENCODE = "sysds.compressed.transformencode"; // boolean: compressed outputs of transformencode
+	public static final String STREAMING_TRANSFORMENCODE = "sysds.transformencode.streaming"; // boolean: block-wise transformencode of frames on disk
 	public static final String NATIVE_BLAS          = "sysds.native.blas";
 	public static final String NATIVE_BLAS_DIR      = "sysds.native.blas.directory";
 	public static final String CODEGEN              = "sysds.codegen.enabled"; //boolean
@@ -97,6 +99,13 @@ public class DMLConfig
 	public static final String LOCAL_SPARK_NUM_THREADS = "sysds.local.spark.number.threads"; // the number of threads allowed to be used in the local spark configuration, default is * to enable use of all threads.
 	public static final String LINEAGECACHESPILL    = "sysds.lineage.cachespill"; // boolean: whether to spill cache entries to disk
 	public static final String COMPILERASSISTED_RW  = "sysds.lineage.compilerassisted"; // boolean: whether to apply compiler assisted rewrites
+	public static final String LINEAGE_PERSIST_DIR  = "sysds.lineage.persistdir"; // string: directory of the persistent lineage cache (empty: disabled)
+	public static final String LINEAGE_PERSIST_SIZE = "sysds.lineage.persistsize"; // int: max size of the persistent lineage cache in MB
+	public static final String BLOCK_CODEC          = "sysds.io.blockcodec"; // string: none or lz4 (federated transport, buffer pool spilling)
+	public static final String BINARY_MMAP          = "sysds.io.binary.mmap"; // boolean: memory-mappable layout of local binary matrices
+	public static final String BINARY_PIPELINED_READ = "sysds.io.binary.pipelined"; // boolean: overlapped I/O and deserialization of binary block reads
+	public static final String FRAME_DICT_ENCODE    = "sysds.frame.dictencode"; // boolean: dictionary-encoded string columns of low cardinality
+	public static final String CACHING_MEMORY_MANAGER = "sysds.caching.memorymanager"; // string: static (LazyWriteBuffer) or unified (UnifiedMemoryManager)
 	
 	// Fraction of available memory to use. The available memory is computer when the GPUContext is created
 	// to handle the tradeoff on calling cudaMemGetInfo too often.
@@ -108,6 +117,8 @@ public class DMLConfig
 
 	public static final String USE_SSL_FEDERATED_COMMUNICATION = "sysds.federated.ssl"; // boolean
 	public static final String DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT = "sysds.federated.initialization.timeout"; // int seconds
+	public static final String FEDERATED_CODEC = "sysds.federated.codec"; // string: binary (compact wire format) or java (object serialization)
+	public static final String FEDERATED_PIPELINE = "sysds.federated.pipeline"; // boolean: pipelined requests over persistent connections (binary codec only)
 	public static final int DEFAULT_FEDERATED_PORT = 4040; // borrowed default Spark Port
 	public static final int DEFAULT_NUMBER_OF_FEDERATED_WORKER_THREADS = 2;
 	
@@ -144,6 +155,8 @@ public class DMLConfig
 		_defaultVals.put(COMPRESSED_COCODE,      "AUTO");
 		_defaultVals.put(COMPRESSED_COST_MODEL,  "AUTO");
 		_defaultVals.put(COMPRESSED_TRANSPOSE,   "auto");
+		_defaultVals.put(COMPRESSED_TRANSFORMENCODE, "false" );
+		_defaultVals.put(STREAMING_TRANSFORMENCODE, "false" );
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_API,            GeneratorAPI.JAVA.name() );
 		_defaultVals.put(CODEGEN_COMPILER,       CompilerType.AUTO.name() );
@@ -154,6 +167,13 @@ public class DMLConfig
 		_defaultVals.put(NATIVE_BLAS_DIR,        "none" );
 		_defaultVals.put(LINEAGECACHESPILL,      "true" );
 		_defaultVals.put(COMPILERASSISTED_RW,    "true" );
+		_defaultVals.put(LINEAGE_PERSIST_DIR,    "" );
+		_defaultVals.put(LINEAGE_PERSIST_SIZE,   "4096" );
+		_defaultVals.put(CACHING_MEMORY_MANAGER, "static" );
+		_defaultVals.put(BLOCK_CODEC,            "none" );
+		_defaultVals.put(BINARY_MMAP,            "false" );
+		_defaultVals.put(BINARY_PIPELINED_READ,  "true" );
+		_defaultVals.put(FRAME_DICT_ENCODE,      "true" );
 		_defaultVals.put(PRINT_GPU_MEMORY_INFO,  "false" );
 		_defaultVals.put(EVICTION_SHADOW_BUFFERSIZE,  "0.0" );
 		_defaultVals.put(STATS_MAX_WRAP_LEN,     "30" );
@@ -168,6 +188,8 @@ public class DMLConfig
 		_defaultVals.put(FLOATING_POINT_PRECISION, "double" );
 		_defaultVals.put(USE_SSL_FEDERATED_COMMUNICATION, "false");
 		_defaultVals.put(DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT, "10");
+		_defaultVals.put(FEDERATED_CODEC, "binary");
+		_defaultVals.put(FEDERATED_PIPELINE, "false");
 	}
 	
 	public DMLConfig() {
@@ -410,14 +432,17 @@ public class DMLConfig
 	public String getConfigInfo()  {
 		String[] tmpConfig = new String[] { 
 			LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL, DEFAULT_BLOCK_SIZE,
-			CP_PARALLEL_OPS, CP_PARALLEL_IO, PARALLEL_ENCODE, NATIVE_BLAS, NATIVE_BLAS_DIR,
+			CP_PARALLEL_OPS, CP_PARALLEL_IO, BINARY_MMAP, BINARY_PIPELINED_READ, FRAME_DICT_ENCODE, PARALLEL_ENCODE, NATIVE_BLAS, NATIVE_BLAS_DIR,
 			COMPRESSED_LINALG, COMPRESSED_LOSSY, COMPRESSED_VALID_COMPRESSIONS, COMPRESSED_OVERLAPPING,
-			COMPRESSED_SAMPLING_RATIO, COMPRESSED_COCODE, COMPRESSED_TRANSPOSE,
-			CODEGEN, CODEGEN_API, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS,
-			STATS_MAX_WRAP_LEN, LINEAGECACHESPILL, COMPILERASSISTED_RW, PRINT_GPU_MEMORY_INFO,
+			COMPRESSED_SAMPLING_RATIO, COMPRESSED_COCODE, COMPRESSED_TRANSPOSE, COMPRESSED_TRANSFORMENCODE,
+			STREAMING_TRANSFORMENCODE, CODEGEN, CODEGEN_API, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE,
+			CODEGEN_LITERALS,
+			STATS_MAX_WRAP_LEN, LINEAGECACHESPILL, COMPILERASSISTED_RW, LINEAGE_PERSIST_DIR, LINEAGE_PERSIST_SIZE,
+			PRINT_GPU_MEMORY_INFO,
 			AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, FLOATING_POINT_PRECISION, GPU_EVICTION_POLICY, 
 			LOCAL_SPARK_NUM_THREADS, EVICTION_SHADOW_BUFFERSIZE, GPU_MEMORY_ALLOCATOR, GPU_MEMORY_UTILIZATION_FACTOR,
-			USE_SSL_FEDERATED_COMMUNICATION, DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT
+			USE_SSL_FEDERATED_COMMUNICATION, DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT, FEDERATED_CODEC,
+			FEDERATED_PIPELINE
 		}; 
 		
 		StringBuilder sb = new StringBuilder();
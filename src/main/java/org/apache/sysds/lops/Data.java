@@ -446,6 +446,12 @@ public class Data extends Lop
 				sb.append( createVarHDF5Helper() );
 			}
 
+			// Format-specific properties
+			if ( oparams.getFormat() == FileFormat.COLUMNAR ) {
+				sb.append(OPERAND_DELIMITOR);
+				sb.append( createVarColumnarHelper() );
+			}
+
 			// Frame-specific properties
 			if( getDataType()==DataType.FRAME ) {
 				Data schema = (Data) getNamedInputLop(DataExpression.SCHEMAPARAM);
@@ -560,6 +566,30 @@ public class Data extends Lop
 		return sb.toString();
 	}
 
+	/**
+	 * Helper function that attaches the column projection and row range of
+	 * columnar reads to the createvar instruction (defaults for writes).
+	 *
+	 * @return instruction with columnar format properties appended
+	 */
+	private String createVarColumnarHelper() {
+		Data selectLop = (Data) getNamedInputLop(DataExpression.COLUMNAR_SELECT);
+		Data rlLop = (Data) getNamedInputLop(DataExpression.COLUMNAR_ROW_LOWER);
+		Data ruLop = (Data) getNamedInputLop(DataExpression.COLUMNAR_ROW_UPPER);
+		if( (selectLop != null && selectLop.isVariable()) || (rlLop != null && rlLop.isVariable())
+			|| (ruLop != null && ruLop.isVariable()) )
+			throw new LopsException(this.printErrorLocation() + "Parameters " + DataExpression.COLUMNAR_SELECT + ", "
+				+ DataExpression.COLUMNAR_ROW_LOWER + ", and " + DataExpression.COLUMNAR_ROW_UPPER + " must be literals.");
+		String select = (selectLop != null) ? selectLop.getStringValue() : "";
+		StringBuilder sb = new StringBuilder();
+		sb.append(select.trim().isEmpty() ? "*" : select);
+		sb.append(OPERAND_DELIMITOR);
+		sb.append((rlLop != null) ? rlLop.getLongValue() : DataExpression.DEFAULT_COLUMNAR_ROW_INDEX);
+		sb.append(OPERAND_DELIMITOR);
+		sb.append((ruLop != null) ? ruLop.getLongValue() : DataExpression.DEFAULT_COLUMNAR_ROW_INDEX);
+		return sb.toString();
+	}
+
 	private String createVarHDF5Helper() {
 		StringBuilder sb = new StringBuilder();
 		if ( _op.isRead() ) {
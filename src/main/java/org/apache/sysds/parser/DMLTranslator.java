@@ -1061,6 +1061,10 @@ public class DMLTranslator
 							// write output in HDF5 format
 							ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), -1);
 							break;
+						case COLUMNAR:
+							// write output in columnar frame format
+							ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), -1);
+							break;
 						default:
 							throw new LanguageException("Unrecognized file format: " + ae.getFileFormat());
 					}
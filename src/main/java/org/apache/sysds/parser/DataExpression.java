@@ -115,6 +115,11 @@ public class DataExpression extends DataIdentifier
 
 	// Parameter names relevant to reading/writing dataset name/hdf5 files
 	public static final String HDF5_DATASET_NAME = "dataset";
+
+	// Parameter names relevant to reading columnar files (projection and row range)
+	public static final String COLUMNAR_SELECT = "select";
+	public static final String COLUMNAR_ROW_LOWER = "rl";
+	public static final String COLUMNAR_ROW_UPPER = "ru";
 	
 	public static final String DELIM_SPARSE = "sparse";  // applicable only for write
 	
@@ -157,7 +162,9 @@ public class DataExpression extends DataIdentifier
 			// Parameters related to delimited/libsvm files.
 			LIBSVM_INDEX_DELIM,
 			//Parameters related to dataset name/HDF4 files.
-			HDF5_DATASET_NAME));
+			HDF5_DATASET_NAME,
+			// Parameters related to columnar files.
+			COLUMNAR_SELECT, COLUMNAR_ROW_LOWER, COLUMNAR_ROW_UPPER));
 	
 	/* Default Values for delimited (CSV/LIBSVM) files */
 	public static final String  DEFAULT_DELIM_DELIMITER = ",";
@@ -168,6 +175,8 @@ public class DataExpression extends DataIdentifier
 	public static final String  DEFAULT_NA_STRINGS = "";
 	public static final String  DEFAULT_SCHEMAPARAM = "NULL";
 	public static final String DEFAULT_LIBSVM_INDEX_DELIM = ":";
+	public static final String DEFAULT_COLUMNAR_SELECT = "";
+	public static final long DEFAULT_COLUMNAR_ROW_INDEX = -1;
 
 	private DataOp _opcode;
 	private HashMap<String, Expression> _varParams;
@@ -868,6 +877,62 @@ public class DataExpression extends DataIdentifier
 		return filename;
 	}
 	
+	/**
+	 * Adjusts the output dimensions and schema of a columnar read according
+	 * to the column projection and row range, which are pushed into the scan.
+	 *
+	 * @param conditional conditional
+	 */
+	private void setColumnarOutputDimensions(boolean conditional) {
+		long rows = getOutput().getDim1();
+		long cols = getOutput().getDim2();
+
+		// column projection (1-based column indexes)
+		Expression select = getVarParam(COLUMNAR_SELECT);
+		if (select instanceof StringIdentifier && !select.toString().trim().isEmpty()) {
+			String[] ix = select.toString().split(DEFAULT_DELIM_DELIMITER);
+			int[] cix = new int[ix.length];
+			try {
+				for (int i=0; i<ix.length; i++)
+					cix[i] = Integer.parseInt(ix[i].trim());
+			}
+			catch(NumberFormatException ex) {
+				raiseValidateError("Invalid column projection '" + select + "' in read statement.", conditional);
+				return;
+			}
+			for (int c : cix)
+				if (c < 1 || (cols >= 0 && c > cols))
+					raiseValidateError("Invalid projected column " + c + " in read statement with "
+						+ cols + " columns.", conditional);
+			Expression schema = getVarParam(SCHEMAPARAM);
+			if (schema instanceof StringIdentifier && !schema.toString().equals(DEFAULT_SCHEMAPARAM)
+				&& !schema.toString().equals("*")) {
+				String[] vts = schema.toString().split(DEFAULT_DELIM_DELIMITER);
+				StringBuilder sb = new StringBuilder();
+				for (int c : cix)
+					sb.append(c <= vts.length ? vts[c-1] : ValueType.STRING.toExternalString())
+						.append(DEFAULT_DELIM_DELIMITER);
+				addVarParam(SCHEMAPARAM, new StringIdentifier(sb.toString(), this));
+			}
+			cols = cix.length;
+		}
+
+		// row range (1-based, inclusive)
+		Expression erl = getVarParam(COLUMNAR_ROW_LOWER);
+		Expression eru = getVarParam(COLUMNAR_ROW_UPPER);
+		if (erl instanceof IntIdentifier && eru instanceof IntIdentifier) {
+			long rl = ((IntIdentifier) erl).getValue();
+			long ru = ((IntIdentifier) eru).getValue();
+			if (rl > 0 && ru > 0 && ru < rl)
+				raiseValidateError("Invalid row range [" + rl + ", " + ru + "] in read statement.", conditional);
+			if (rows >= 0 && (rl > 0 || ru > 0))
+				rows = Math.max(((ru > 0) ? Math.min(ru, rows) : rows) - Math.max(rl, 1) + 1, 0);
+		}
+		else
+			rows = -1;
+		getOutput().setDimensions(rows, cols);
+	}
+
 	public static String getMTDFileName(String inputFileName) {
 		return inputFileName + ".mtd";
 	}
@@ -1214,6 +1279,26 @@ public class DataExpression extends DataIdentifier
 			}
 			boolean isHDF5 = (formatTypeString != null && formatTypeString.equalsIgnoreCase(FileFormat.HDF5.toString()));
 
+			// format type might be inferred from the metadata file
+			boolean isColumnar = getVarParam(FORMAT_TYPE) != null
+				&& getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FileFormat.COLUMNAR.toString());
+			if (isColumnar) {
+				// DEFAULT for "select": "" (all columns)
+				if (getVarParam(COLUMNAR_SELECT) == null)
+					addVarParam(COLUMNAR_SELECT, new StringIdentifier(DEFAULT_COLUMNAR_SELECT, this));
+				else if (getVarParam(COLUMNAR_SELECT) instanceof ConstIdentifier
+					&& !(getVarParam(COLUMNAR_SELECT) instanceof StringIdentifier))
+					raiseValidateError("For columnar file '" + getVarParam(COLUMNAR_SELECT) + "' must be a string value ", conditional);
+				// DEFAULT for "rl" and "ru": -1 (all rows)
+				for (String param : new String[]{COLUMNAR_ROW_LOWER, COLUMNAR_ROW_UPPER}) {
+					if (getVarParam(param) == null)
+						addVarParam(param, new IntIdentifier(DEFAULT_COLUMNAR_ROW_INDEX, this));
+					else if (getVarParam(param) instanceof ConstIdentifier
+						&& !(getVarParam(param) instanceof IntIdentifier))
+						raiseValidateError("For columnar file '" + getVarParam(param) + "' must be an integer value ", conditional);
+				}
+			}
+
 			dataTypeString = (getVarParam(DATATYPEPARAM) == null) ? null : getVarParam(DATATYPEPARAM).toString();
 			
 			if ( dataTypeString == null || dataTypeString.equalsIgnoreCase(Statement.MATRIX_DATA_TYPE) 
@@ -1266,6 +1351,9 @@ public class DataExpression extends DataIdentifier
 					}
 				}
 				
+				if(isColumnar)
+					setColumnarOutputDimensions(conditional);
+
 				if(isLIBSVM) {
 					Long dim2 = (getVarParam(READCOLPARAM) == null) ? null : Long.valueOf(getVarParam(READCOLPARAM).toString());
 					if(dim2 < 0 && ConfigurationManager.getCompilerConfig()
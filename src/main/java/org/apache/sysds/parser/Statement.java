@@ -74,6 +74,7 @@ public abstract class Statement implements ParseInfo
 	public static final String PS_SEED = "seed";
 	public static final String PS_MODELAVG = "modelAvg";
 	public static final String PS_NBATCHES = "nbatches";
+	public static final String PS_STALENESS = "staleness";
 	public enum PSModeType {
 		FEDERATED, LOCAL, REMOTE_SPARK
 	}
@@ -111,6 +112,11 @@ public abstract class Statement implements ParseInfo
 	public enum PSCheckpointing {
 		NONE, EPOCH, EPOCH10
 	}
+	public static final String PS_COMPRESSION = "compression";
+	public static final String PS_COMPRESSION_RATIO = "compression_ratio";
+	public enum PSCompression {
+		NONE, TOPK, QUANT8
+	}
 
 	// String constants related to federated parameter server functionality
 	// prefixed with code: "1701-NCC-" to not overwrite anything
@@ -121,6 +127,9 @@ public abstract class Statement implements ParseInfo
 	public static final String PS_FED_GRADIENTS_FNAME = "1701-NCC-gradients_fname";
 	public static final String PS_FED_AGGREGATION_FNAME = "1701-NCC-aggregation_fname";
 	public static final String PS_FED_MODEL_VARID = "1701-NCC-model_varid";
+	public static final String PS_FED_COMPRESSION = "1701-NCC-compression";
+	public static final String PS_FED_COMPRESSION_RATIO = "1701-NCC-compression_ratio";
+	public static final String PS_FED_RESIDUALS = "1701-NCC-residuals";
 
 
 	public abstract boolean controlStatement();
@@ -59,6 +59,20 @@ public class ColGroupDDC extends APreAgg {
 		_data = data;
 	}
 
+	/**
+	 * Create a DDC column group from an already constructed dictionary and mapping, for instance by encoders that
+	 * produce compressed outputs directly.
+	 * 
+	 * @param colIndices The column indexes of the group
+	 * @param numRows    The number of rows
+	 * @param dict       The dictionary containing the distinct tuples
+	 * @param data       The mapping from rows to tuple indexes in the dictionary
+	 * @return A DDC column group
+	 */
+	public static ColGroupDDC create(int[] colIndices, int numRows, ADictionary dict, AMapToData data) {
+		return new ColGroupDDC(colIndices, numRows, dict, data, null);
+	}
+
 	public CompressionType getCompType() {
 		return CompressionType.DDC;
 	}
@@ -131,6 +131,17 @@ public class ColGroupUncompressed extends AColGroup {
 		_data.recomputeNonZeros();
 	}
 
+	/**
+	 * Create an uncompressed column group that wraps the given matrix block without copying.
+	 * 
+	 * @param colIndices The column indexes of the group, one per column of the block
+	 * @param data       The matrix block containing the column values
+	 * @return An uncompressed column group
+	 */
+	public static ColGroupUncompressed create(int[] colIndices, MatrixBlock data) {
+		return new ColGroupUncompressed(colIndices, data);
+	}
+
 	/**
 	 * Constructor for allocating a single uncompressed column group.
 	 * 
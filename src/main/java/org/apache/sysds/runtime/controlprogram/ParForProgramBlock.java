@@ -37,9 +37,11 @@ import org.apache.sysds.parser.ParForStatementBlock.ResultVar;
 import org.apache.sysds.parser.StatementBlock;
 import org.apache.sysds.parser.VariableSet;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.parfor.DataPartitioner;
@@ -47,6 +49,7 @@ import org.apache.sysds.runtime.controlprogram.parfor.DataPartitionerLocal;
 import org.apache.sysds.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
 import org.apache.sysds.runtime.controlprogram.parfor.LocalParWorker;
 import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueueWorkStealing;
 import org.apache.sysds.runtime.controlprogram.parfor.ParForBody;
 import org.apache.sysds.runtime.controlprogram.parfor.RemoteDPParForSpark;
 import org.apache.sysds.runtime.controlprogram.parfor.RemoteParForJobReturn;
@@ -86,8 +89,10 @@ import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
 import org.apache.sysds.runtime.lineage.Lineage;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageItemUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.util.CollectionUtils;
+import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.runtime.util.ProgramConverter;
 import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.sysds.utils.Statistics;
@@ -135,6 +140,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		FACTORING,      //factoring task partitioner  
 		FACTORING_CMIN, //constrained factoring task partitioner, uses tasksize as min constraint
 		FACTORING_CMAX, //constrained factoring task partitioner, uses tasksize as max constraint
+		WORK_STEALING,  //static task partitioner w/ per-worker deques and stealing, uses tasksize as chunk size (local only)
 		UNSPECIFIED
 	}
 	
@@ -740,15 +746,21 @@ public class ParForProgramBlock extends ForProgramBlock
 		//restrict recompilation to thread local memory
 		setMemoryBudget();
 		
+		//allocate output blocks of shared in-place result variables
+		prepareSharedResultVariables(ec);
+		
 		try
 		{
 			// Step 1) create task queue and init workers in parallel
 			// (including preparation of update-in-place variables)
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
+			LocalTaskQueue<Task> queue = (_taskPartitioner == PTaskPartitioner.WORK_STEALING) ?
+				new LocalTaskQueueWorkStealing(_numThreads, _taskSize) : new LocalTaskQueue<>();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			IntStream.range(0, _numThreads).parallel().forEach(i -> {
-				workers[i] = createParallelWorker( _pwIDs[i], queue, ec, i);
+				LocalTaskQueue<Task> wqueue = (queue instanceof LocalTaskQueueWorkStealing) ?
+					((LocalTaskQueueWorkStealing) queue).getWorkerQueue(i) : queue;
+				workers[i] = createParallelWorker( _pwIDs[i], wqueue, ec, i);
 				threads[i] = new Thread( workers[i] );
 				threads[i].setPriority(Thread.MAX_PRIORITY);
 			});
@@ -792,6 +804,10 @@ public class ParForProgramBlock extends ForProgramBlock
 			for( Thread thread : threads )
 				thread.join();
 			
+			//account for tasks split by work stealing
+			if( queue instanceof LocalTaskQueueWorkStealing )
+				numCreatedTasks += ((LocalTaskQueueWorkStealing) queue).getNumSplits();
+			
 			if( _monitor ) 
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_EXEC_T, time.stop());
 			
@@ -1062,6 +1078,34 @@ public class ParForProgramBlock extends ForProgramBlock
 		}
 	}
 	
+	private void prepareSharedResultVariables(ExecutionContext ec) {
+		for( ResultVar var : _resultVars ) {
+			Data dat = ec.getVariable(var._name);
+			if( !(dat instanceof MatrixObject) 
+				|| ((MatrixObject)dat).getUpdateType() != UpdateType.INPLACE_SHARED )
+				continue;
+			//create pre-allocated dense output block (incl existing data), which allows
+			//unsynchronized writes of disjoint cells by all workers, and which is later
+			//passed to the workers instead of private copies of the result variable;
+			//the nnz are set to the dense upper bound because concurrent writers do not
+			//maintain them, which keeps reads in the loop body from seeing empty blocks
+			MatrixObject mo = (MatrixObject) dat;
+			MatrixBlock mb = CompressedMatrixBlock.getUncompressed(mo.acquireRead());
+			MatrixBlock out = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(),
+				DataConverter.convertToDenseBlock(mb, true));
+			out.setNonZeros(out.getLength());
+			MatrixObject moNew = new MatrixObject(mo);
+			moNew.acquireModify(out);
+			moNew.setFileName(mo.getFileName() + Lop.UPDATE_INPLACE_PREFIX + _ID);
+			mo.release();
+			//cleanup old variable (e.g., remove from buffer pool)
+			if( ec.removeVariable(var._name) != null )
+				ec.cleanupCacheableData(mo);
+			moNew.release(); //after old removal to avoid unnecessary evictions
+			ec.setVariable(var._name, moNew);
+		}
+	}
+	
 	/**
 	 * Cleanup result variables of parallel workers after result merge.
 	 * 
@@ -1264,6 +1308,7 @@ public class ParForProgramBlock extends ForProgramBlock
 					_taskSize, _iterPredVar, from, to, incr);
 				break;
 			case STATIC:
+			case WORK_STEALING: //static ranges as initial per-worker deques
 				tp = new TaskPartitionerStatic(
 					_taskSize, _numThreads, _iterPredVar, from, to, incr);
 				break;
@@ -1328,6 +1373,10 @@ public class ParForProgramBlock extends ForProgramBlock
 		if( out instanceof FrameObject ) {
 			rm = new ResultMergeFrameLocalMemory((FrameObject)out, (FrameObject[])in, fname, accum);
 		}
+		else if(out instanceof MatrixObject && ((MatrixObject)out).getUpdateType() == UpdateType.INPLACE_SHARED) {
+			//shared output block already holds all results (in-memory by definition)
+			rm = new ResultMergeLocalMemory( (MatrixObject)out, (MatrixObject[])in, fname, accum );
+		}
 		else if(out instanceof MatrixObject) {
 			//create result merge implementation (determine degree of parallelism 
 			//only for spark to avoid unnecessary spark context creation)
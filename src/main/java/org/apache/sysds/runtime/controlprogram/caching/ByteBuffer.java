@@ -90,8 +90,11 @@ public class ByteBuffer
 		CacheBlock ret = null;
 		
 		if( !_shallow ) { //sparse matrix / string frame
-			DataInput din = _matrix ? new CacheDataInput(_bdata) :
-				new DataInputStream(new ByteArrayInputStream(_bdata));
+			byte[] bdata = _bdata;
+			if( bdata == null ) //concurrently freed
+				return null;
+			DataInput din = _matrix ? new CacheDataInput(bdata) :
+				new DataInputStream(new ByteArrayInputStream(bdata));
 			ret = _matrix ? new MatrixBlock() : new FrameBlock();
 			ret.readFields(din);
 		}
@@ -107,7 +110,7 @@ public class ByteBuffer
 	{
 		if( !_shallow ) {
 			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			LocalFileUtils.writeCacheBlockToLocal(fname, _bdata);
 		}
 		else {
 			//serialize cache block to output stream
@@ -19,12 +19,16 @@
 
 package org.apache.sysds.runtime.controlprogram.caching;
 
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
  * This singleton provides basic caching statistics in CP.
  * 
  * 1) Hit statistics for caching (mem, fs, hdfs, total)
+ * 2) Per-worker statistics of thread-local buffer pool partitions (local parfor)
  * 
  * NOTE: In order to provide accurate statistics in multi-threaded
  * synchronized increments are required. Since those functions are 
@@ -69,6 +73,10 @@ public class CacheStatistics
 	private static final LongAdder _ctimeAcquireM   = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeRelease    = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeExport     = new LongAdder(); //in nano sec
+	
+	//per-worker statistics of thread-local buffer pool partitions
+	//(hits WB/FS, writes WB/FS, max borrowed capacity in bytes)
+	private static final Map<Long, long[]> _workerStats = new ConcurrentHashMap<>();
 
 	public static void reset() {
 		_numHitsMem.reset();
@@ -86,6 +94,8 @@ public class CacheStatistics
 		_ctimeAcquireM.reset();
 		_ctimeRelease.reset();
 		_ctimeExport.reset();
+		
+		_workerStats.clear();
 	}
 
 	public static void incrementMemHits() {
@@ -228,6 +238,22 @@ public class CacheStatistics
 		return _ctimeExport.longValue();
 	}
 	
+	public static void addWorkerStats(long workerID, long hitsFSBuff, long hitsFS,
+		long writesFSBuff, long writesFS, long maxCapacity)
+	{
+		_workerStats.merge(workerID,
+			new long[] {hitsFSBuff, hitsFS, writesFSBuff, writesFS, maxCapacity},
+			(a, b) -> new long[] {a[0]+b[0], a[1]+b[1], a[2]+b[2], a[3]+b[3], Math.max(a[4], b[4])});
+	}
+	
+	public static long[] getWorkerStats(long workerID) {
+		return _workerStats.get(workerID);
+	}
+	
+	public static boolean hasWorkerStats() {
+		return !_workerStats.isEmpty();
+	}
+	
 	public static String displayHits() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numHitsMem.longValue());
@@ -256,6 +282,21 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	public static String displayWorkerStats() {
+		StringBuilder sb = new StringBuilder();
+		for( Map.Entry<Long, long[]> e : new TreeMap<>(_workerStats).entrySet() ) {
+			long[] stats = e.getValue();
+			sb.append("  PW ");
+			sb.append(e.getKey());
+			sb.append(" (WB/FS hits, WB/FS writes, MB):\t");
+			sb.append(stats[0] + "/" + stats[1] + ", ");
+			sb.append(stats[2] + "/" + stats[3] + ", ");
+			sb.append(String.format("%.3f", ((double)stats[4])/1024/1024));
+			sb.append(".\n");
+		}
+		return sb.toString();
+	}
+	
 	public static String displayTime() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(String.format("%.3f", ((double)_ctimeAcquireR.longValue())/1000000000)); //in sec
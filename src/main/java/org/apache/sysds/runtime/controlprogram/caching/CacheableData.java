@@ -58,6 +58,7 @@ import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.meta.MetaData;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.BlockCodec;
 import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 import org.apache.sysds.utils.Statistics;
@@ -91,6 +92,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
 	public static final boolean CACHING_ASYNC_SERIALIZE = false;
+	public static final boolean CACHING_BUFFER_PARTITIONS = true; //thread-local partitions for parfor workers
 	
 	//NOTE CACHING_ASYNC_SERIALIZE:
 	// The serialization of matrices and frames (ultra-sparse matrices or 
@@ -128,6 +130,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	/** Global flag indicating if caching is enabled (controls eviction) */
 	private static volatile boolean _activeFlag = false;
 	
+	/** Global flag indicating if the unified memory manager is used instead of the static buffer pool */
+	private static volatile boolean _ummFlag = false;
+	
 	/** Global sequence for generating unique ids. */
 	private static IDSequence _seq = null;
 
@@ -285,6 +290,17 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		_hdfsFileExists = flag;
 	}
 
+	/**
+	 * Indicates if the data is not available in memory or the buffer pool, and
+	 * hence, an acquire read would read the data from its file on HDFS.
+	 * 
+	 * @return true if the data would be read from HDFS
+	 */
+	public synchronized boolean isPendingHDFSRead() {
+		return _data == null && isEmpty(false) && !hasValidLineage()
+			&& !isFederated() && getRDDHandle() == null && _hdfsFileName != null;
+	}
+
 	public String getFileName() {
 		return _hdfsFileName;
 	}
@@ -503,8 +519,11 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		//update thread-local status (after pin but outside the
 		//critical section of accessing a shared object)
-		if( !isBelowCachingThreshold() )
+		if( !isBelowCachingThreshold() ) {
 			updateStatusPinned(true);
+			if( isUMMEnabled() && isCachingActive() )
+				UnifiedMemoryManager.pin(this, ret);
+		}
 		
 		if( DMLScript.STATISTICS ){
 			long t1 = System.nanoTime();
@@ -612,8 +631,11 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		//update thread-local status (after pin but outside the
 		//critical section of accessing a shared object)
-		if( !isBelowCachingThreshold() )
+		if( !isBelowCachingThreshold() ) {
 			updateStatusPinned(true);
+			if( isUMMEnabled() && isCachingActive() )
+				UnifiedMemoryManager.pin(this, ret);
+		}
 		
 		if( DMLScript.STATISTICS ){
 			long t1 = System.nanoTime();
@@ -666,6 +688,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		//the critical section of accessing a shared object)
 		if( !isBelowCachingThreshold() )
 			updateStatusPinned(false);
+		if( isUMMEnabled() ) //unpin independent of (modified) size
+			UnifiedMemoryManager.unpin(this);
 		
 		//core internal release (synchronized per object)
 		releaseIntern();
@@ -687,7 +711,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			refreshMetaData();
 			
 			//compact empty in-memory block 
-			_data.compactEmptyBlock();
+			//(except for blocks concurrently modified by other objects)
+			if( !isSharedBlock() )
+				_data.compactEmptyBlock();
 		}
 		
 		//cache status maintenance (pass cacheNoWrite flag)
@@ -700,7 +726,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			if( ( write && !hasValidLineage() ) || _requiresLocalWrite ) {
 				String filePath = getCacheFilePathAndName();
 				try {
-					LazyWriteBuffer.writeBlock(filePath, _data);
+					if( isUMMEnabled() )
+						UnifiedMemoryManager.writeBlock(filePath, _data);
+					else
+						LazyWriteBuffer.writeBlock(filePath, _data);
 				}
 				catch (Exception e) {
 					throw new DMLRuntimeException("Eviction to local path " + filePath + " ("+hashCode()+") failed.", e);
@@ -998,6 +1027,14 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	protected abstract T readBlobFromCache(String fname)
 		throws IOException;
 	
+	protected static CacheBlock readBlockFromCache(String fname, boolean matrix)
+		throws IOException
+	{
+		return isUMMEnabled() ?
+			UnifiedMemoryManager.readBlock(fname, matrix) :
+			LazyWriteBuffer.readBlock(fname, matrix);
+	}
+	
 	/**
 	 * Low-level cache I/O method that deletes the file containing the
 	 * evicted data blob, without reading it.
@@ -1010,8 +1047,12 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			LOG.trace("CACHE: Freeing evicted matrix...  " + hashCode() + "  HDFS path: " + 
 				(_hdfsFileName == null ? "null" : _hdfsFileName) + " Eviction path: " + cacheFilePathAndName);
 		
-		if(isCachingActive())
-			LazyWriteBuffer.deleteBlock(cacheFilePathAndName);
+		if( isCachingActive() ) {
+			if( isUMMEnabled() )
+				UnifiedMemoryManager.deleteBlock(cacheFilePathAndName);
+			else
+				LazyWriteBuffer.deleteBlock(cacheFilePathAndName);
+		}
 		
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Freeing evicted matrix - COMPLETED ... " + (System.currentTimeMillis()-begin) + " msec.");
@@ -1021,6 +1062,17 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		return (_data.getInMemorySize() <= CACHING_THRESHOLD);
 	}
 	
+	/**
+	 * Indicates if the in-memory data is shared with other cacheable data
+	 * objects that concurrently modify it (e.g., parfor result variables
+	 * with shared in-place updates). Such blocks are never compacted on release.
+	 * 
+	 * @return true if the in-memory block is shared
+	 */
+	protected boolean isSharedBlock() {
+		return false;
+	}
+	
 	public static boolean isBelowCachingThreshold(CacheBlock data) {
 		return LazyWriteBuffer.getCacheBlockSize(data) <= CACHING_THRESHOLD;
 	}
@@ -1346,6 +1398,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public synchronized static void cleanupCacheDir() {
 		//cleanup remaining cached writes
 		LazyWriteBuffer.cleanup();
+		_ummFlag = false;
+		UnifiedMemoryManager.cleanup();
 		
 		//delete cache dir and files
 		cleanupCacheDir(true);
@@ -1411,8 +1465,12 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			throw new IOException(e);
 		}
 	
-		//init write-ahead buffer
+		//init write-ahead buffer, spill codec, and optional unified memory manager
 		LazyWriteBuffer.init();
+		BlockCodec.setSpillCodec(ConfigurationManager.getBlockCodec());
+		_ummFlag = ConfigurationManager.isUnifiedMemoryManager();
+		if( _ummFlag )
+			UnifiedMemoryManager.init();
 		_refBCs.set(0);
 		
 		_activeFlag = true; //turn on caching
@@ -1422,6 +1480,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		return _activeFlag;
 	}
 	
+	public static boolean isUMMEnabled() {
+		return _ummFlag;
+	}
+	
 	public static void disableCaching() {
 		_activeFlag = false;
 	}
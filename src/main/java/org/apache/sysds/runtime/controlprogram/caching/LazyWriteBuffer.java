@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -51,6 +52,14 @@ public class LazyWriteBuffer
 	//maintenance service for synchronous or asynchronous delete of evicted files
 	private static MaintenanceService _fClean;
 	
+	//capacity in bytes lent to thread-local partitions (guarded by _mQueue)
+	private static long _lent;
+	
+	//thread-local buffer pool partitions (e.g., for local parfor workers), and
+	//index of entries in these partitions for lookups from other threads
+	private static final ThreadLocal<BufferPartition> _tlPart = new ThreadLocal<>();
+	private static final ConcurrentHashMap<String, BufferPartition> _pIndex = new ConcurrentHashMap<>();
+	
 	static {
 		//obtain the logical buffer size in bytes
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
@@ -60,6 +69,11 @@ public class LazyWriteBuffer
 	public static int writeBlock(String fname, CacheBlock cb)
 		throws IOException
 	{
+		//write into thread-local partition if available
+		BufferPartition part = _tlPart.get();
+		if( part != null )
+			return part.writeBlock(fname, cb);
+		
 		//obtain basic meta data of cache block
 		long lSize = getCacheBlockSize(cb);
 		boolean requiresWrite = (lSize > _limit        //global buffer limit
@@ -76,23 +90,9 @@ public class LazyWriteBuffer
 			synchronized( _mQueue )
 			{
 				//evict matrices to make room (by default FIFO)
-				while( _size+lSize > _limit && !_mQueue.isEmpty() )
-				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-					String ftmp = entry.getKey();
-					ByteBuffer tmp = entry.getValue();
-					
-					if( tmp != null ) {
-						//wait for pending serialization
-						tmp.checkSerialized();
-						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
-						_size -= tmp.getSize();
-						numEvicted++;
-					}
+				while( _size+lSize > _limit-_lent && !_mQueue.isEmpty() ) {
+					_size -= evictFirst(_mQueue);
+					numEvicted++;
 				}
 				
 				//put placeholder into buffer pool (reserve mem)
@@ -123,6 +123,11 @@ public class LazyWriteBuffer
 	
 	public static void deleteBlock(String fname)
 	{
+		//remove from thread-local partition if available
+		BufferPartition part = _pIndex.get(fname);
+		if( part != null && part.deleteBlock(fname) )
+			return;
+		
 		boolean requiresDelete = true;
 		
 		synchronized( _mQueue )
@@ -147,33 +152,47 @@ public class LazyWriteBuffer
 		CacheBlock cb = null;
 		ByteBuffer ldata = null;
 		
+		//probe thread-local partitions
+		BufferPartition part = _pIndex.get(fname);
+		if( part != null )
+			ldata = part.probeBlock(fname);
+		
 		//probe write buffer
-		synchronized( _mQueue )
-		{
-			ldata = _mQueue.get(fname);
-			
-			//modify eviction order (accordingly to access)
-			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU
-				&& ldata != null )
+		if( ldata == null ) {
+			synchronized( _mQueue )
 			{
-				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
+				ldata = _mQueue.get(fname);
+				
+				//modify eviction order (accordingly to access)
+				if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU
+					&& ldata != null )
+				{
+					//reinsert entry at end of eviction queue
+					_mQueue.remove( fname );
+					_mQueue.addLast( fname, ldata );
+				}
 			}
 		}
 		
 		//deserialize or read from FS if required
+		//(buffers might be concurrently evicted to FS)
 		if( ldata != null )
-		{
 			cb = ldata.deserializeBlock();
+		BufferPartition tpart = _tlPart.get();
+		if( cb != null )
+		{
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffHits();
+			if( tpart != null )
+				tpart._numHitsFSBuff++;
 		}
 		else
 		{
 			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSHits();
+			if( tpart != null )
+				tpart._numHitsFS++;
 		}
 		
 		return cb;
@@ -183,6 +202,8 @@ public class LazyWriteBuffer
 		_mQueue = new EvictionQueue();
 		_fClean = new MaintenanceService();
 		_size = 0;
+		_lent = 0;
+		_pIndex.clear();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
 	}
@@ -190,6 +211,7 @@ public class LazyWriteBuffer
 	public static void cleanup() {
 		if( _mQueue != null )
 			_mQueue.clear();
+		_pIndex.clear();
 		if( _fClean != null )
 			_fClean.close();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
@@ -213,7 +235,7 @@ public class LazyWriteBuffer
 	}
 	
 	public static int getQueueSize() {
-		return _mQueue.size();
+		return _mQueue.size() + _pIndex.size();
 	}
 	
 	public static long getCacheBlockSize(CacheBlock cb) {
@@ -262,19 +284,102 @@ public class LazyWriteBuffer
 	{
 		//evict all matrices and frames
 		while( !_mQueue.isEmpty() )
-		{
-			//remove first entry from eviction queue
-			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-			ByteBuffer tmp = entry.getValue();
-			
-			if( tmp != null ) {
-				//wait for pending serialization
-				tmp.checkSerialized();
-				
-				//evict matrix
-				tmp.evictBuffer(entry.getKey());
-				tmp.freeMemory();
+			evictFirst(_mQueue);
+	}
+	
+	/**
+	 * Creates a thread-local buffer pool partition for the current thread
+	 * (e.g., a local parfor worker), which serves the thread's writes without
+	 * the global lock. The partition borrows capacity from the shared budget
+	 * on demand and returns it on {@link #removeThreadLocalPartition()}.
+	 * 
+	 * @param workerID worker ID for per-worker statistics
+	 */
+	public static void createThreadLocalPartition(long workerID) {
+		if( !CacheableData.CACHING_BUFFER_PARTITIONS || !CacheableData.isCachingActive()
+			|| CacheableData.isUMMEnabled() || _mQueue == null )
+			return;
+		_tlPart.set(new BufferPartition(workerID));
+	}
+	
+	/**
+	 * Removes the thread-local buffer pool partition of the current thread,
+	 * moves remaining entries (e.g., parfor results) into the global buffer
+	 * pool, and returns the borrowed capacity to the shared budget.
+	 */
+	public static void removeThreadLocalPartition() {
+		BufferPartition part = _tlPart.get();
+		if( part == null )
+			return;
+		_tlPart.remove();
+		try {
+			part.close();
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		if( DMLScript.STATISTICS )
+			CacheStatistics.addWorkerStats(part._workerID, part._numHitsFSBuff,
+				part._numHitsFS, part._numWritesFSBuff, part._numWritesFS, part._maxCapacity);
+	}
+	
+	/**
+	 * Removes the first entry of the given eviction queue, and evicts its
+	 * buffer to local FS. Must be called from within the critical region
+	 * of the given queue.
+	 * 
+	 * @param queue eviction queue
+	 * @return size of the freed buffer in bytes
+	 * @throws IOException if IOException occurs
+	 */
+	private static long evictFirst(EvictionQueue queue)
+		throws IOException
+	{
+		//remove first entry from eviction queue
+		Entry<String, ByteBuffer> entry = queue.removeFirst();
+		ByteBuffer tmp = entry.getValue();
+		if( tmp == null )
+			return 0;
+		
+		//wait for pending serialization
+		tmp.checkSerialized();
+		
+		//evict matrix
+		tmp.evictBuffer(entry.getKey());
+		tmp.freeMemory();
+		return tmp.getSize();
+	}
+	
+	/**
+	 * Borrows capacity from the shared budget, optionally evicting
+	 * entries of the global buffer pool to make room.
+	 * 
+	 * @param delta requested capacity in bytes
+	 * @param evict indicator if global entries can be evicted
+	 * @return true if the capacity was granted
+	 * @throws IOException if IOException occurs
+	 */
+	private static boolean borrowCapacity(long delta, boolean evict)
+		throws IOException
+	{
+		synchronized( _mQueue ) {
+			int numEvicted = 0;
+			while( evict && _size+_lent+delta > _limit && !_mQueue.isEmpty() ) {
+				_size -= evictFirst(_mQueue);
+				numEvicted++;
 			}
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementFSWrites(numEvicted);
+			if( _size+_lent+delta > _limit )
+				return false;
+			_lent += delta;
+			return true;
+		}
+	}
+	
+	private static void returnCapacity(long delta) {
+		synchronized( _mQueue ) {
+			_lent -= delta;
 		}
 	}
 	
@@ -282,6 +387,150 @@ public class LazyWriteBuffer
 		return _fClean != null ? _fClean._pool : null;
 	}
 	
+	/**
+	 * Thread-local buffer pool partition with its own eviction queue and
+	 * capacity borrowed from the shared budget. All operations synchronize
+	 * on the partition, which is uncontended except for rare accesses of
+	 * other threads (e.g., reads or deletes of results).
+	 */
+	private static class BufferPartition
+	{
+		//min granularity of borrowed capacity (to amortize the global lock)
+		private static final double BORROW_FRACTION = 0.02;
+		
+		private final long _workerID;
+		private final EvictionQueue _queue = new EvictionQueue();
+		private long _psize = 0;
+		private long _pcapacity = 0;
+		
+		//per-worker statistics
+		private long _numHitsFSBuff = 0;
+		private long _numHitsFS = 0;
+		private long _numWritesFSBuff = 0;
+		private long _numWritesFS = 0;
+		private long _maxCapacity = 0;
+		
+		public BufferPartition(long workerID) {
+			_workerID = workerID;
+		}
+		
+		public int writeBlock(String fname, CacheBlock cb)
+			throws IOException
+		{
+			long lSize = getCacheBlockSize(cb);
+			boolean requiresWrite = (lSize > _limit //global buffer limit
+				|| !ByteBuffer.isValidCapacity(lSize, cb)); //local buffer limit
+			int numEvicted = 0;
+			ByteBuffer bbuff = null;
+			
+			if( !requiresWrite ) {
+				synchronized( this ) {
+					//make room by (1) borrowing free capacity, (2) evicting local
+					//entries, and (3) borrowing capacity by evicting global entries
+					long delta = Math.max(lSize, (long)(BORROW_FRACTION * _limit));
+					while( _psize+lSize > _pcapacity ) {
+						if( borrowCapacity(delta, false) )
+							_pcapacity += delta;
+						else if( !_queue.isEmpty() ) {
+							String ftmp = _queue.keySet().iterator().next();
+							_psize -= evictFirst(_queue);
+							_pIndex.remove(ftmp);
+							numEvicted++;
+						}
+						else if( borrowCapacity(lSize, true) )
+							_pcapacity += lSize;
+						else
+							break;
+					}
+					_maxCapacity = Math.max(_maxCapacity, _pcapacity);
+					
+					//put placeholder into buffer pool (reserve mem)
+					if( _psize+lSize <= _pcapacity ) {
+						bbuff = new ByteBuffer(lSize);
+						_queue.addLast(fname, bbuff);
+						_pIndex.put(fname, this);
+						_psize += lSize;
+					}
+				}
+			}
+			
+			if( bbuff != null ) {
+				//serialize matrix (outside synchronized critical path)
+				_fClean.serializeData(bbuff, cb);
+				_numWritesFSBuff++;
+				_numWritesFS += numEvicted;
+				if( DMLScript.STATISTICS ) {
+					CacheStatistics.incrementFSBuffWrites();
+					CacheStatistics.incrementFSWrites(numEvicted);
+				}
+			}
+			else {
+				//write directly to local FS (too large or no capacity)
+				LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+				_numWritesFS += numEvicted + 1;
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementFSWrites(numEvicted + 1);
+				numEvicted++;
+			}
+			return numEvicted;
+		}
+		
+		public synchronized ByteBuffer probeBlock(String fname) {
+			ByteBuffer ldata = _queue.get(fname);
+			//modify eviction order (accordingly to access)
+			if( CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU && ldata != null ) {
+				_queue.remove(fname);
+				_queue.addLast(fname, ldata);
+			}
+			return ldata;
+		}
+		
+		public synchronized boolean deleteBlock(String fname) {
+			ByteBuffer ldata = _queue.remove(fname);
+			if( ldata == null )
+				return false;
+			_pIndex.remove(fname);
+			_psize -= ldata.getSize();
+			ldata.freeMemory();
+			
+			//return excess capacity to the shared budget (but keep
+			//one chunk to avoid repeated borrowing on subsequent writes)
+			long chunk = (long)(BORROW_FRACTION * _limit);
+			long excess = _pcapacity - _psize - chunk;
+			if( excess > chunk ) {
+				returnCapacity(excess);
+				_pcapacity -= excess;
+			}
+			return true;
+		}
+		
+		public synchronized void close()
+			throws IOException
+		{
+			synchronized( _mQueue ) {
+				//move remaining entries into the global buffer pool
+				for( Entry<String, ByteBuffer> e : _queue.entrySet() ) {
+					_mQueue.addLast(e.getKey(), e.getValue());
+					_pIndex.remove(e.getKey());
+				}
+				_size += _psize;
+				_lent -= _pcapacity;
+				_psize = 0;
+				_pcapacity = 0;
+				_queue.clear();
+				
+				//evict global entries to satisfy the buffer limit
+				int numEvicted = 0;
+				while( _size+_lent > _limit && !_mQueue.isEmpty() ) {
+					_size -= evictFirst(_mQueue);
+					numEvicted++;
+				}
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementFSWrites(numEvicted);
+			}
+		}
+	}
+	
 	/**
 	 * Extended LinkedHashMap with convenience methods for adding and removing
 	 * last/first entries.
@@ -316,7 +565,7 @@ public class LazyWriteBuffer
 	 * number of threads temporarily to the number of concurrent delete tasks
 	 * (which is bounded to the parfor degree of parallelism).
 	 */
-	private static class MaintenanceService
+	static class MaintenanceService
 	{
 		private ExecutorService _pool = null;
 		
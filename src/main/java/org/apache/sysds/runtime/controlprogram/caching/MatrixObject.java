@@ -67,7 +67,8 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 	private static final long serialVersionUID = 6374712373206495637L;
 
 	public enum UpdateType {
-		COPY, INPLACE, INPLACE_PINNED;
+		COPY, INPLACE, INPLACE_PINNED,
+		INPLACE_SHARED; //single output block shared by parallel workers w/ disjoint writes
 
 		public boolean isInPlace() {
 			return(this != COPY);
@@ -405,12 +406,18 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 	@Override
 	protected boolean isBelowCachingThreshold() {
 		return LazyWriteBuffer.getCacheBlockSize(_data) <= CACHING_THRESHOLD ||
-			getUpdateType() == UpdateType.INPLACE_PINNED;
+			getUpdateType() == UpdateType.INPLACE_PINNED ||
+			getUpdateType() == UpdateType.INPLACE_SHARED;
+	}
+
+	@Override
+	protected boolean isSharedBlock() {
+		return getUpdateType() == UpdateType.INPLACE_SHARED;
 	}
 
 	@Override
 	protected MatrixBlock readBlobFromCache(String fname) throws IOException {
-		return (MatrixBlock) LazyWriteBuffer.readBlock(fname, true);
+		return (MatrixBlock) readBlockFromCache(fname, true);
 	}
 
 	@Override
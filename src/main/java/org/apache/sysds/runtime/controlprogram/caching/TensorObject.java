@@ -104,7 +104,7 @@ public class TensorObject extends CacheableData<TensorBlock> {
 
 	@Override
 	protected TensorBlock readBlobFromCache(String fname) throws IOException {
-		return (TensorBlock) LazyWriteBuffer.readBlock(fname, false);
+		return (TensorBlock) readBlockFromCache(fname, false);
 	}
 
 	@Override
@@ -19,42 +19,51 @@
 
 package org.apache.sysds.runtime.controlprogram.caching;
 
-import org.apache.commons.lang.NotImplementedException;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.MaintenanceService;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
 
 /**
- * Unified Memory Manager - Initial Design
+ * Unified Memory Manager
  * 
  * Motivation:
- * The Unified Memory Manager, henceforth UMM, will act as a central manager of in-memory
+ * The Unified Memory Manager, henceforth UMM, acts as a central manager of in-memory
  * matrix (uncompressed and compressed), frame, and tensor blocks within SystemDS control
- * program. So far, operation memory (70%) and buffer pool memory (15%, LazyWriteBuffer)
- * are managed independently, which causes unnecessary evictions. New components like the
- * LineageCache also use and manage statically provisioned memory areas. Ultimately, the
- * UMM aims to eliminate these shortcomings by providing a central, potentially thread-local,
- * memory management.
+ * program. With the default static memory management, operation memory (70%) and buffer
+ * pool memory (15%, LazyWriteBuffer) are managed independently, which causes unnecessary
+ * evictions. The UMM eliminates these shortcomings by providing a central memory management
+ * with dynamic boundaries between the memory areas. It is enabled via the configuration
+ * sysds.caching.memorymanager=unified (default: static, i.e., LazyWriteBuffer).
  *
  * Memory Areas:
- * Initially, the UMM only handles CacheBlock objects (e.g., MatrixBlock, FrameBlock, and
- * TensorBlock), and manages two memory areas:
+ * The UMM handles CacheBlock objects (e.g., MatrixBlock, FrameBlock, and TensorBlock),
+ * and manages two memory areas:
  *   (1) operation memory (pinned cache blocks and reserved memory) and
  *   (2) dirty objects (dirty cache blocks that need to be written to local FS before eviction)
  * 
  * The UMM is configured with a capacity (absolute size in byte). Relative to this capacity,
- * the operations and buffer pool memory areas each will have a min and max amount of memory
- * they can occupy, meaning that the boundary for the areas can shift dynamically depending
- * on the current load. Most importantly, though, dirty objects must not be counted twice
+ * the operations and buffer pool memory areas each have a min and max amount of memory
+ * they can occupy, meaning that the boundary for the areas shifts dynamically depending
+ * on the current load. Most importantly, though, dirty objects are not counted twice
  * when pinning such an object for an operation. The min/max constraints are not exposed but
- * configured internally. An good starting point are the following constraints (relative to
- * JVM max heap size):
+ * configured internally as follows (relative to JVM max heap size):
  * ___________________________
  * | operations  | 0%  | 70% | (pin requests always accepted)
  * | buffer pool | 15% | 85% | (eviction on demand)
  *
  * Object Lifecycle:
- * The UMM will also need to keep track of the current state of individual cache blocks, for
- * which it will have a few member variables. A queue similar to the current EvictionQueue is
- * used to add/remove entries with LRU as its eviction policy. In general, there are three
- * properties of object status to consider:
+ * The UMM keeps track of the current state of individual cache blocks. An eviction queue
+ * of unpinned buffer pool entries uses LRU as its eviction policy. In general, there are
+ * three properties of object status to consider:
  *  (1) Non-dirty/dirty: non-dirty objects have a representation on HDFS or can be recomputed
  *      from lineage trace (e.g., rand/seq outputs), while dirty objects need to be preserved.
  *  (2) FS Persisted: on eviction, dirty objects need to be written to local file system.
@@ -64,20 +73,45 @@ import org.apache.commons.lang.NotImplementedException;
  *      (unpinned) it can be dropped without persisting it to local FS.
  *
  * Thread-safeness:
- * Initially, the UMM will be used in an instance-based manner. For global visibility and
- * use in parallel for loops, the UMM would need to provide a static, synchronized API, but
- * this constitutes a source of severe contention. In the future, we will consider a design
- * with thread-local UMMs for the individual parfor workers.
- *
- * Testing:
- * The UMM will be developed bottom up, and thus initially tested via component tests for
- * evaluating the eviction behavior for sequences of API requests. 
+ * The UMM is used in an instance-based manner, where all API calls synchronize on the
+ * instance. For global visibility and use in parallel for loops, the control program uses
+ * a single global instance (see {@link #init()} and the static convenience methods).
+ * (De)serialization and local file system reads happen outside the critical region.
  */
 public class UnifiedMemoryManager
 {
+	//relative UMM capacity and min buffer pool size (w.r.t. max heap)
+	public static final double UMM_CAPACITY = 0.85;
+	public static final double UMM_MIN_BUFFERPOOL = CacheableData.CACHING_BUFFER_SIZE;
+	
+	//global UMM instance, if enabled and initialized
+	private static volatile UnifiedMemoryManager _umm = null;
+	
+	//total capacity and min size of buffer pool in bytes
+	private final long _capacity;
+	private final long _minBufferPool;
+	
+	//current size of pinned (operation) and cached (buffer pool) memory
+	private long _pinnedSize = 0;
+	private long _cachedSize = 0;
+	
+	//meta data of all cache blocks under UMM control
+	private final HashMap<String, UMMEntry> _entries = new HashMap<>();
+	
+	//eviction queue of unpinned, in-memory buffer pool entries (implemented
+	//via a linked hash map for LRU semantics and constant time operations)
+	private final LinkedHashMap<String, UMMEntry> _mQueue = new LinkedHashMap<>();
+	
+	//maintenance service for asynchronous delete of evicted files
+	private final MaintenanceService _fClean;
+	
+	//number of evictions to local FS
+	private long _numEvicted = 0;
+	
 	public UnifiedMemoryManager(long capacity) {
-		//TODO implement
-		throw new NotImplementedException();
+		_capacity = capacity;
+		_minBufferPool = (long)(capacity * UMM_MIN_BUFFERPOOL / UMM_CAPACITY);
+		_fClean = new MaintenanceService();
 	}
 	
 	/**
@@ -89,8 +123,40 @@ public class UnifiedMemoryManager
 	 * @return       pinned cache block, potentially restored from local FS
 	 */
 	public CacheBlock pin(String key, CacheBlock block, boolean dirty) {
-		//TODO implement
-		throw new NotImplementedException();
+		UMMEntry entry = null;
+		ByteBuffer bbuff = null;
+		synchronized( this ) {
+			entry = _entries.get(key);
+			if( entry == null ) {
+				if( block == null )
+					throw new DMLRuntimeException("UMM: Cannot pin unknown cache block "+key+".");
+				entry = new UMMEntry(block instanceof MatrixBlock);
+				_entries.put(key, entry);
+			}
+			entry._dirty |= dirty;
+			
+			//multiple pins of the same object (e.g., concurrent readers)
+			if( entry._pins > 0 ) {
+				entry._pins++;
+				if( block != null || entry._data != null )
+					return (block != null) ? block : entry._data;
+			}
+			else {
+				//logically move buffer pool entries into operation memory
+				//(remove from eviction queue to avoid double counting)
+				if( _mQueue.remove(key) != null )
+					_cachedSize -= entry._bbuff.getSize();
+				entry._pins = 1;
+				if( block != null )
+					pinIntern(entry, block);
+			}
+			bbuff = entry._bbuff;
+		}
+		
+		//restore cache block outside the critical region
+		if( block == null )
+			block = pinRestore(key, entry, bbuff);
+		return block;
 	}
 	
 	/**
@@ -102,9 +168,21 @@ public class UnifiedMemoryManager
 	 * @param size   memory reservation in operation area
 	 * @param dirty  indicator if block is dirty (subject to buffer pool management)
 	 */
-	public void pin(String key, long size, boolean dirty) {
-		//TODO implement
-		throw new NotImplementedException();
+	public synchronized void pin(String key, long size, boolean dirty) {
+		UMMEntry entry = _entries.get(key);
+		if( entry != null && entry._pins > 0 )
+			throw new DMLRuntimeException("UMM: Cannot reserve memory for pinned cache block "+key+".");
+		if( entry == null ) {
+			entry = new UMMEntry(true);
+			_entries.put(key, entry);
+		}
+		else if( _mQueue.remove(key) != null )
+			_cachedSize -= entry._bbuff.getSize();
+		entry._dirty |= dirty;
+		entry._pins = 1;
+		entry._size = size;
+		_pinnedSize += size;
+		makeSpace(0);
 	}
 	
 	/**
@@ -114,8 +192,7 @@ public class UnifiedMemoryManager
 	 * @param key    unique identifier and local FS filename for eviction
 	 */
 	public void unpin(String key) {
-		//TODO implement
-		throw new NotImplementedException();
+		unpin(key, null);
 	}
 	
 	/**
@@ -128,8 +205,105 @@ public class UnifiedMemoryManager
 	 * @param block  cache block which may be under UMM control, if null ignored
 	 */
 	public void unpin(String key, CacheBlock block) {
-		//TODO implement
-		throw new NotImplementedException();
+		ByteBuffer bbuff = null;
+		CacheBlock cb = null;
+		boolean writeLocal = false;
+		synchronized( this ) {
+			UMMEntry entry = _entries.get(key);
+			if( entry == null || entry._pins == 0 )
+				return; //robustness for unknown or already released blocks
+			
+			//update meta data for changed blocks
+			if( block != null && block != entry._data ) {
+				entry._matrix = block instanceof MatrixBlock;
+				_pinnedSize -= entry._size;
+				pinIntern(entry, block);
+			}
+			if( --entry._pins > 0 )
+				return;
+			
+			//release operation memory
+			_pinnedSize -= entry._size;
+			cb = entry._data;
+			entry._size = 0;
+			entry._data = null;
+			
+			if( entry._bbuff != null ) {
+				//move existing buffer pool entry back to eviction queue
+				//(append at the end of the queue for LRU semantics)
+				_mQueue.put(key, entry);
+				_cachedSize += entry._bbuff.getSize();
+				makeSpace(0);
+			}
+			else if( entry._persisted ) {
+				//drop in-memory representation, restore from local FS if needed
+			}
+			else if( entry._dirty && cb != null ) {
+				//move dirty block into buffer pool (eviction on demand)
+				long lSize = LazyWriteBuffer.getCacheBlockSize(cb);
+				if( lSize > Math.max(_capacity - _pinnedSize, _minBufferPool)
+					|| !ByteBuffer.isValidCapacity(lSize, cb) ) {
+					//write directly to local FS (bypass buffer if too large)
+					entry._persisted = true;
+					writeLocal = true;
+				}
+				else {
+					int numEvicted = makeSpace(lSize);
+					bbuff = new ByteBuffer(lSize);
+					entry._bbuff = bbuff;
+					_mQueue.put(key, entry);
+					_cachedSize += lSize;
+					if( DMLScript.STATISTICS ) {
+						CacheStatistics.incrementFSBuffWrites();
+						CacheStatistics.incrementFSWrites(numEvicted);
+					}
+				}
+			}
+			else {
+				//drop non-dirty block (HDFS or lineage representation exist)
+				_entries.remove(key);
+				return;
+			}
+		}
+		
+		//serialize or write cache block outside the critical region
+		try {
+			if( bbuff != null )
+				_fClean.serializeData(bbuff, cb);
+			else if( writeLocal ) {
+				LocalFileUtils.writeCacheBlockToLocal(key, cb);
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementFSWrites();
+			}
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("UMM: Failed to write cache block "+key+".", ex);
+		}
+	}
+	
+	/**
+	 * Reads a cache block under UMM control (from buffer pool or local FS)
+	 * without pinning it into operation memory. Buffer pool hits update the
+	 * position in the eviction queue according to LRU.
+	 * 
+	 * @param key    unique identifier and local FS filename for eviction
+	 * @param matrix true for matrix blocks, false for frames or tensors
+	 * @return       cache block, restored from buffer pool or local FS
+	 * @throws IOException if IOException occurs
+	 */
+	public CacheBlock read(String key, boolean matrix)
+		throws IOException
+	{
+		ByteBuffer bbuff = null;
+		synchronized( this ) {
+			UMMEntry entry = _entries.get(key);
+			if( entry != null ) {
+				bbuff = entry._bbuff;
+				if( _mQueue.remove(key) != null )
+					_mQueue.put(key, entry);
+			}
+		}
+		return restore(key, bbuff, matrix);
 	}
 	
 	/**
@@ -140,8 +314,22 @@ public class UnifiedMemoryManager
 	 * @param key    unique identifier and local FS filename for eviction
 	 */
 	public void delete(String key) {
-		//TODO implement
-		throw new NotImplementedException();
+		UMMEntry entry = null;
+		synchronized( this ) {
+			entry = _entries.remove(key);
+			if( entry == null )
+				return;
+			if( _mQueue.remove(key) != null )
+				_cachedSize -= entry._bbuff.getSize();
+			if( entry._pins > 0 )
+				_pinnedSize -= entry._size;
+			if( entry._bbuff != null )
+				entry._bbuff.freeMemory();
+		}
+		
+		//delete from local FS if required
+		if( entry._persisted )
+			_fClean.deleteFile(key);
 	}
 	
 	/**
@@ -150,7 +338,185 @@ public class UnifiedMemoryManager
 	 * shut down in a gracefully manner (e.g., wait for pending deletes).
 	 */
 	public void deleteAll() {
-		//TODO implement
-		throw new NotImplementedException();
+		synchronized( this ) {
+			for( Entry<String, UMMEntry> e : _entries.entrySet() ) {
+				if( e.getValue()._bbuff != null )
+					e.getValue()._bbuff.freeMemory();
+				if( e.getValue()._persisted )
+					_fClean.deleteFile(e.getKey());
+			}
+			_entries.clear();
+			_mQueue.clear();
+			_pinnedSize = 0;
+			_cachedSize = 0;
+		}
+		_fClean.close();
+	}
+	
+	public long getCapacity() {
+		return _capacity;
+	}
+	
+	public synchronized long getPinnedSize() {
+		return _pinnedSize;
+	}
+	
+	public synchronized long getCachedSize() {
+		return _cachedSize;
+	}
+	
+	public synchronized long getNumEvicted() {
+		return _numEvicted;
+	}
+	
+	public synchronized boolean isPinned(String key) {
+		UMMEntry entry = _entries.get(key);
+		return entry != null && entry._pins > 0;
+	}
+	
+	public synchronized boolean isCached(String key) {
+		return _mQueue.containsKey(key);
+	}
+	
+	public synchronized boolean isPersisted(String key) {
+		UMMEntry entry = _entries.get(key);
+		return entry != null && entry._persisted;
+	}
+	
+	private void pinIntern(UMMEntry entry, CacheBlock block) {
+		entry._data = block;
+		entry._size = block.getInMemorySize();
+		_pinnedSize += entry._size;
+		makeSpace(0);
+	}
+	
+	private CacheBlock pinRestore(String key, UMMEntry entry, ByteBuffer bbuff) {
+		CacheBlock block = null;
+		try {
+			block = restore(key, bbuff, entry._matrix);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("UMM: Failed to restore cache block "+key+".", ex);
+		}
+		synchronized( this ) {
+			if( entry._pins > 0 && entry._data == null )
+				pinIntern(entry, block);
+		}
+		return block;
+	}
+	
+	private static CacheBlock restore(String key, ByteBuffer bbuff, boolean matrix)
+		throws IOException
+	{
+		CacheBlock cb = null;
+		if( bbuff != null ) {
+			bbuff.checkSerialized();
+			cb = bbuff.deserializeBlock();
+		}
+		//probe local FS for concurrently evicted or non-buffered blocks
+		if( cb == null ) {
+			cb = LocalFileUtils.readCacheBlockFromLocal(key, matrix);
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementFSHits();
+		}
+		else if( DMLScript.STATISTICS )
+			CacheStatistics.incrementFSBuffHits();
+		return cb;
+	}
+	
+	/**
+	 * Evicts buffer pool entries in LRU order until the requested size fits
+	 * into the buffer pool, whose boundary is determined by the remaining
+	 * capacity after operation memory but at least the min buffer pool size.
+	 * Must be called from within the critical region.
+	 * 
+	 * @param reqSize requested buffer pool size in bytes
+	 * @return number of evicted cache blocks
+	 */
+	private int makeSpace(long reqSize) {
+		long limit = Math.max(_capacity - _pinnedSize, _minBufferPool);
+		int numEvicted = 0;
+		Iterator<Entry<String, UMMEntry>> iter = _mQueue.entrySet().iterator();
+		while( _cachedSize + reqSize > limit && iter.hasNext() ) {
+			Entry<String, UMMEntry> e = iter.next();
+			iter.remove();
+			UMMEntry entry = e.getValue();
+			ByteBuffer bbuff = entry._bbuff;
+			try {
+				//wait for pending serialization and evict
+				bbuff.checkSerialized();
+				bbuff.evictBuffer(e.getKey());
+			}
+			catch(IOException ex) {
+				throw new DMLRuntimeException("UMM: Eviction of "+e.getKey()+" failed.", ex);
+			}
+			bbuff.freeMemory();
+			_cachedSize -= bbuff.getSize();
+			entry._bbuff = null;
+			entry._persisted = true;
+			numEvicted++;
+		}
+		_numEvicted += numEvicted;
+		return numEvicted;
+	}
+	
+	private static class UMMEntry {
+		private boolean _matrix;     //matrix or frame/tensor (for restore)
+		private boolean _dirty;      //requires preservation on eviction
+		private boolean _persisted;  //local FS representation exists
+		private int _pins = 0;       //number of active pins
+		private long _size = 0;      //size in operation memory
+		private CacheBlock _data;    //pinned cache block
+		private ByteBuffer _bbuff;   //buffer pool representation
+		
+		public UMMEntry(boolean matrix) {
+			_matrix = matrix;
+		}
+	}
+	
+	// --------- STATIC API OF GLOBAL UMM INSTANCE ----------
+	
+	public static void init() {
+		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
+		_umm = new UnifiedMemoryManager((long)(UMM_CAPACITY * maxMem));
+	}
+	
+	public static void cleanup() {
+		if( _umm != null )
+			_umm.deleteAll();
+		_umm = null;
+	}
+	
+	public static boolean isInitialized() {
+		return _umm != null;
+	}
+	
+	public static UnifiedMemoryManager get() {
+		return _umm;
+	}
+	
+	public static void pin(CacheableData<?> cd, CacheBlock cb) {
+		_umm.pin(cd.getCacheFilePathAndName(), cb, false);
+	}
+	
+	public static void unpin(CacheableData<?> cd) {
+		_umm.unpin(cd.getCacheFilePathAndName());
+	}
+	
+	public static void writeBlock(String fname, CacheBlock cb) {
+		//pin and unpin as dirty block, which moves the block
+		//into the buffer pool and evicts other blocks on demand
+		_umm.pin(fname, cb, true);
+		_umm.unpin(fname);
+	}
+	
+	public static CacheBlock readBlock(String fname, boolean matrix)
+		throws IOException
+	{
+		return _umm.read(fname, matrix);
+	}
+	
+	public static void deleteBlock(String fname) {
+		_umm.delete(fname);
 	}
 }
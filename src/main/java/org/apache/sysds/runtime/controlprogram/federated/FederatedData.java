@@ -153,6 +153,19 @@ public class FederatedData {
 		}
 	}
 
+	/**
+	 * Executes a federated operation on this federated worker, which - if pipelining is enabled -
+	 * is not sent immediately but along with the next flushed request batch to this worker.
+	 * 
+	 * @param request the requested operation
+	 * @return the response
+	 */
+	public synchronized Future<FederatedResponse> executeFederatedOperationDeferred(FederatedRequest... request) {
+		if(FederatedPipeline.isEnabled())
+			return FederatedPipeline.execute(_address, false, request);
+		return executeFederatedOperation(request);
+	}
+
 	/**
 	 * Executes an federated operation on a federated worker.
 	 *
@@ -163,6 +176,9 @@ public class FederatedData {
 	 */
 	public static Future<FederatedResponse> executeFederatedOperation(InetSocketAddress address,
 		FederatedRequest... request) throws SSLException {
+		if(FederatedPipeline.isEnabled())
+			return FederatedPipeline.execute(address, true, request);
+
 		// Careful with the number of threads. Each thread opens connections to multiple files making resulting in
 		// java.io.IOException: Too many open files
 		EventLoopGroup workerGroup = new NioEventLoopGroup(DMLConfig.DEFAULT_NUMBER_OF_FEDERATED_WORKER_THREADS);
@@ -180,11 +196,18 @@ public class FederatedData {
 							.newHandler(ch.alloc(), address.getAddress().getHostAddress(), address.getPort()));
 					}
 
-					cp.addLast("ObjectDecoder",
-						new ObjectDecoder(Integer.MAX_VALUE,
-							ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())));
-					cp.addLast("FederatedOperationHandler", handler);
-					cp.addLast("ObjectEncoder", new ObjectEncoder());
+					if(ConfigurationManager.isFederatedBinaryCodec()) {
+						cp.addLast("FederatedMessageDecoder", new FederatedMessageCodec.Decoder());
+						cp.addLast("FederatedOperationHandler", handler);
+						cp.addLast("FederatedMessageEncoder", new FederatedMessageCodec.Encoder());
+					}
+					else {
+						cp.addLast("ObjectDecoder",
+							new ObjectDecoder(Integer.MAX_VALUE,
+								ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())));
+						cp.addLast("FederatedOperationHandler", handler);
+						cp.addLast("ObjectEncoder", new ObjectEncoder());
+					}
 
 				}
 			});
@@ -222,6 +245,7 @@ public class FederatedData {
 			LOG.warn("Failed to execute CLEAR request on existing federated sites.", ex);
 		}
 		finally {
+			FederatedPipeline.closeAll();
 			resetFederatedSites();
 		}
 	}
@@ -252,7 +276,7 @@ public class FederatedData {
 		}
 	}
 
-	private static class SslContextMan {
+	static class SslContextMan {
 		protected final SslContext context;
 
 		private SslContextMan() {
@@ -265,7 +289,7 @@ public class FederatedData {
 		}
 	}
 
-	private static SslContextMan SslConstructor() {
+	static SslContextMan SslConstructor() {
 		if(instance == null) {
 			return new SslContextMan();
 		}
@@ -0,0 +1,585 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.TensorBlock;
+import org.apache.sysds.runtime.instructions.cp.BooleanObject;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.runtime.instructions.cp.StringObject;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlockDataInput;
+import org.apache.sysds.runtime.matrix.data.MatrixBlockDataOutput;
+import org.apache.sysds.runtime.privacy.PrivacyConstraint.PrivacyLevel;
+import org.apache.sysds.runtime.util.BlockCodec;
+import org.apache.sysds.runtime.util.BlockCodec.CodecType;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+/**
+ * Compact binary wire format for federated requests and responses, used instead
+ * of Netty's ObjectEncoder/ObjectDecoder (i.e., full Java serialization).
+ *
+ * Every message is a length-prefixed frame consisting of a message type, a compact
+ * header (request type, ids, privacy flags, checksums, response status), and the
+ * tagged parameters/data objects. Matrix, frame, and tensor blocks are streamed
+ * with their own write(DataOutput) format directly into the (pooled, direct) output
+ * buffer; all other objects without a dedicated tag fall back to Java serialization.
+ * If a block codec is configured, large and compressible matrix and frame blocks are
+ * sent in compressed form instead (see BlockCodec). Requests and responses wrapped
+ * into a {@link Message} additionally carry a message id, which allows pipelined
+ * requests over persistent connections (see FederatedPipeline).
+ */
+public class FederatedMessageCodec {
+	//message types
+	private static final byte MSG_REQUESTS = 1;
+	private static final byte MSG_RESPONSE = 2;
+	private static final byte MSG_REQUESTS_ID = 3;
+	private static final byte MSG_RESPONSE_ID = 4;
+
+	//object tags
+	private static final byte OBJ_NULL = 0;
+	private static final byte OBJ_MATRIX = 1;
+	private static final byte OBJ_FRAME = 2;
+	private static final byte OBJ_TENSOR = 3;
+	private static final byte OBJ_INT_SCALAR = 4;
+	private static final byte OBJ_DOUBLE_SCALAR = 5;
+	private static final byte OBJ_BOOLEAN_SCALAR = 6;
+	private static final byte OBJ_STRING_SCALAR = 7;
+	private static final byte OBJ_STRING = 8;
+	private static final byte OBJ_LONG = 9;
+	private static final byte OBJ_INTEGER = 10;
+	private static final byte OBJ_DOUBLE = 11;
+	private static final byte OBJ_BOOLEAN = 12;
+	private static final byte OBJ_JAVA = 13;
+	private static final byte OBJ_COMPRESSED = 14;
+
+	private static final int HEADER_SIZE = 256;
+
+	private FederatedMessageCodec() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Federated requests or response tagged with a message id, for matching
+	 * responses and their requests over a pipelined connection.
+	 */
+	public static class Message {
+		private final long _id;
+		private final Object _payload;
+
+		public Message(long id, Object payload) {
+			_id = id;
+			_payload = payload;
+		}
+
+		public long getID() {
+			return _id;
+		}
+
+		public Object getPayload() {
+			return _payload;
+		}
+	}
+
+	/**
+	 * Netty encoder of federated requests (FederatedRequest[]) and responses.
+	 */
+	public static class Encoder extends MessageToByteEncoder<Object> {
+		@Override
+		protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg, boolean preferDirect) {
+			//size the buffer upfront to avoid repeated reallocations of large blocks
+			int size = (int) Math.min(Integer.MAX_VALUE, estimateSize(msg));
+			return preferDirect ?
+				ctx.alloc().ioBuffer(size) : ctx.alloc().heapBuffer(size);
+		}
+
+		@Override
+		protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
+			int start = out.writerIndex();
+			out.writeInt(0); //frame length placeholder
+			writeMessage(msg, out);
+			out.setInt(start, out.writerIndex() - start - 4);
+		}
+	}
+
+	/**
+	 * Netty decoder of length-prefixed federated requests and responses.
+	 */
+	public static class Decoder extends LengthFieldBasedFrameDecoder {
+		public Decoder() {
+			super(Integer.MAX_VALUE, 0, 4, 0, 4);
+		}
+
+		@Override
+		protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
+			ByteBuf frame = (ByteBuf) super.decode(ctx, in);
+			if( frame == null )
+				return null;
+			try {
+				return readMessage(frame);
+			}
+			finally {
+				frame.release();
+			}
+		}
+	}
+
+	public static void writeMessage(Object msg, ByteBuf out) throws IOException {
+		long id = -1;
+		if( msg instanceof Message ) {
+			id = ((Message) msg).getID();
+			msg = ((Message) msg).getPayload();
+		}
+		if( msg instanceof FederatedRequest[] ) {
+			FederatedRequest[] reqs = (FederatedRequest[]) msg;
+			writeMessageHeader(MSG_REQUESTS, MSG_REQUESTS_ID, id, out);
+			out.writeInt(reqs.length);
+			for( FederatedRequest req : reqs )
+				writeRequest(req, out);
+		}
+		else if( msg instanceof FederatedResponse ) {
+			writeMessageHeader(MSG_RESPONSE, MSG_RESPONSE_ID, id, out);
+			writeResponse((FederatedResponse) msg, out);
+		}
+		else {
+			throw new DMLRuntimeException("Unsupported federated message: "
+				+ (msg != null ? msg.getClass().getName() : "null"));
+		}
+	}
+
+	public static Object readMessage(ByteBuf in) throws IOException {
+		byte type = in.readByte();
+		switch( type ) {
+			case MSG_REQUESTS:
+				return readRequests(in);
+			case MSG_RESPONSE:
+				return readResponse(in);
+			case MSG_REQUESTS_ID:
+				return new Message(in.readLong(), readRequests(in));
+			case MSG_RESPONSE_ID:
+				return new Message(in.readLong(), readResponse(in));
+			default:
+				throw new IOException("Unsupported federated message type: "+type);
+		}
+	}
+
+	private static void writeMessageHeader(byte type, byte typeID, long id, ByteBuf out) {
+		out.writeByte(id >= 0 ? typeID : type);
+		if( id >= 0 )
+			out.writeLong(id);
+	}
+
+	private static FederatedRequest[] readRequests(ByteBuf in) throws IOException {
+		FederatedRequest[] reqs = new FederatedRequest[in.readInt()];
+		for( int i=0; i<reqs.length; i++ )
+			reqs[i] = readRequest(in);
+		return reqs;
+	}
+
+	private static void writeRequest(FederatedRequest req, ByteBuf out) throws IOException {
+		out.writeByte(req.getType().ordinal());
+		out.writeLong(req.getID());
+		out.writeLong(req.getTID());
+		out.writeBoolean(req.checkPrivacy());
+		List<Long> checksums = req.getChecksums();
+		out.writeInt(checksums != null ? checksums.size() : -1);
+		if( checksums != null )
+			for( Long cs : checksums )
+				out.writeLong(cs);
+		out.writeInt(req.getNumParams());
+		for( int i=0; i<req.getNumParams(); i++ )
+			writeObject(req.getParam(i), out);
+	}
+
+	private static FederatedRequest readRequest(ByteBuf in) throws IOException {
+		RequestType type = RequestType.values()[in.readByte()];
+		long id = in.readLong();
+		long tid = in.readLong();
+		boolean checkPrivacy = in.readBoolean();
+		int ncs = in.readInt();
+		List<Long> checksums = null;
+		if( ncs >= 0 ) {
+			checksums = new ArrayList<>(ncs);
+			for( int i=0; i<ncs; i++ )
+				checksums.add(in.readLong());
+		}
+		int nparams = in.readInt();
+		List<Object> data = new ArrayList<>(nparams);
+		for( int i=0; i<nparams; i++ )
+			data.add(readObject(in));
+		return new FederatedRequest(type, id, tid, data, checkPrivacy, checksums);
+	}
+
+	private static void writeResponse(FederatedResponse resp, ByteBuf out) throws IOException {
+		out.writeByte(resp.getStatus().ordinal());
+		Map<PrivacyLevel, LongAdder> constraints = resp.getCheckedConstraints();
+		out.writeInt(constraints != null ? constraints.size() : -1);
+		if( constraints != null )
+			for( Map.Entry<PrivacyLevel, LongAdder> e : constraints.entrySet() ) {
+				out.writeByte(e.getKey().ordinal());
+				out.writeLong(e.getValue().longValue());
+			}
+		Object[] data = resp.getRawData();
+		out.writeInt(data != null ? data.length : -1);
+		if( data != null )
+			for( Object o : data )
+				writeObject(o, out);
+	}
+
+	private static FederatedResponse readResponse(ByteBuf in) throws IOException {
+		ResponseType status = ResponseType.values()[in.readByte()];
+		int nconstraints = in.readInt();
+		Map<PrivacyLevel, LongAdder> constraints = null;
+		if( nconstraints >= 0 ) {
+			constraints = new EnumMap<>(PrivacyLevel.class);
+			for( int i=0; i<nconstraints; i++ ) {
+				LongAdder count = new LongAdder();
+				PrivacyLevel level = PrivacyLevel.values()[in.readByte()];
+				count.add(in.readLong());
+				constraints.put(level, count);
+			}
+		}
+		int ndata = in.readInt();
+		Object[] data = null;
+		if( ndata >= 0 ) {
+			data = new Object[ndata];
+			for( int i=0; i<ndata; i++ )
+				data[i] = readObject(in);
+		}
+		FederatedResponse resp = new FederatedResponse(status, data);
+		resp.setCheckedConstraints(constraints);
+		return resp;
+	}
+
+	private static void writeObject(Object o, ByteBuf out) throws IOException {
+		//note: exact class checks to exclude subclasses with different serialization
+		//(e.g., compressed matrix blocks), and scalars with privacy constraints
+		if( o == null )
+			out.writeByte(OBJ_NULL);
+		else if( o.getClass() == MatrixBlock.class )
+			writeCacheBlock((MatrixBlock) o, OBJ_MATRIX, out);
+		else if( o.getClass() == FrameBlock.class )
+			writeCacheBlock((FrameBlock) o, OBJ_FRAME, out);
+		else if( o.getClass() == TensorBlock.class ) {
+			out.writeByte(OBJ_TENSOR);
+			((TensorBlock) o).write(new ByteBufDataOutput(out));
+		}
+		else if( o instanceof ScalarObject && ((ScalarObject) o).getPrivacyConstraint() == null
+			&& writeScalar((ScalarObject) o, out) ) {
+			//scalar already written
+		}
+		else if( o instanceof String ) {
+			out.writeByte(OBJ_STRING);
+			writeString((String) o, out);
+		}
+		else if( o instanceof Long ) {
+			out.writeByte(OBJ_LONG);
+			out.writeLong((Long) o);
+		}
+		else if( o instanceof Integer ) {
+			out.writeByte(OBJ_INTEGER);
+			out.writeInt((Integer) o);
+		}
+		else if( o instanceof Double ) {
+			out.writeByte(OBJ_DOUBLE);
+			out.writeDouble((Double) o);
+		}
+		else if( o instanceof Boolean ) {
+			out.writeByte(OBJ_BOOLEAN);
+			out.writeBoolean((Boolean) o);
+		}
+		else {
+			out.writeByte(OBJ_JAVA);
+			int start = out.writerIndex();
+			out.writeInt(0); //length placeholder
+			try( ObjectOutputStream oos = new ObjectOutputStream(new ByteBufOutputStream(out)) ) {
+				oos.writeObject(o);
+			}
+			out.setInt(start, out.writerIndex() - start - 4);
+		}
+	}
+
+	private static void writeCacheBlock(CacheBlock cb, byte tag, ByteBuf out) throws IOException {
+		CodecType codec = ConfigurationManager.getBlockCodec();
+		if( codec != CodecType.NONE && BlockCodec.isCompressible(cb) ) {
+			byte[] data = BlockCodec.serialize(cb);
+			byte[] cdata = BlockCodec.compress(codec, data);
+			if( cdata != null ) {
+				out.writeByte(OBJ_COMPRESSED);
+				out.writeByte(tag);
+				out.writeByte(codec.ordinal());
+				out.writeInt(data.length);
+				out.writeInt(cdata.length);
+				out.writeBytes(cdata);
+			}
+			else { //poor compression ratio
+				out.writeByte(tag);
+				out.writeBytes(data);
+			}
+		}
+		else {
+			out.writeByte(tag);
+			cb.write(new ByteBufDataOutput(out));
+		}
+	}
+
+	private static boolean writeScalar(ScalarObject so, ByteBuf out) {
+		if( so.getClass() == IntObject.class ) {
+			out.writeByte(OBJ_INT_SCALAR);
+			out.writeLong(so.getLongValue());
+		}
+		else if( so.getClass() == DoubleObject.class ) {
+			out.writeByte(OBJ_DOUBLE_SCALAR);
+			out.writeDouble(so.getDoubleValue());
+		}
+		else if( so.getClass() == BooleanObject.class ) {
+			out.writeByte(OBJ_BOOLEAN_SCALAR);
+			out.writeBoolean(so.getBooleanValue());
+		}
+		else if( so.getClass() == StringObject.class ) {
+			out.writeByte(OBJ_STRING_SCALAR);
+			writeString(so.getStringValue(), out);
+		}
+		else
+			return false;
+		return true;
+	}
+
+	private static Object readObject(ByteBuf in) throws IOException {
+		byte tag = in.readByte();
+		switch( tag ) {
+			case OBJ_NULL: return null;
+			case OBJ_MATRIX: {
+				MatrixBlock mb = new MatrixBlock();
+				mb.readFields(new ByteBufDataInput(in));
+				return mb;
+			}
+			case OBJ_FRAME: {
+				FrameBlock fb = new FrameBlock();
+				fb.readFields(new ByteBufDataInput(in));
+				return fb;
+			}
+			case OBJ_TENSOR: {
+				TensorBlock tb = new TensorBlock();
+				tb.readFields(new ByteBufDataInput(in));
+				return tb;
+			}
+			case OBJ_COMPRESSED: {
+				byte ctag = in.readByte();
+				CodecType codec = CodecType.values()[in.readByte()];
+				int rawLen = in.readInt();
+				byte[] cdata = new byte[in.readInt()];
+				in.readBytes(cdata);
+				return BlockCodec.deserialize(
+					BlockCodec.decompress(codec, cdata, rawLen), ctag == OBJ_MATRIX);
+			}
+			case OBJ_INT_SCALAR: return new IntObject(in.readLong());
+			case OBJ_DOUBLE_SCALAR: return new DoubleObject(in.readDouble());
+			case OBJ_BOOLEAN_SCALAR: return new BooleanObject(in.readBoolean());
+			case OBJ_STRING_SCALAR: return new StringObject(readString(in));
+			case OBJ_STRING: return readString(in);
+			case OBJ_LONG: return in.readLong();
+			case OBJ_INTEGER: return in.readInt();
+			case OBJ_DOUBLE: return in.readDouble();
+			case OBJ_BOOLEAN: return in.readBoolean();
+			case OBJ_JAVA: {
+				int len = in.readInt();
+				int end = in.readerIndex() + len;
+				try( ObjectInputStream ois = new ObjectInputStream(new ByteBufInputStream(in, len)) ) {
+					return ois.readObject();
+				}
+				catch(ClassNotFoundException ex) {
+					throw new IOException(ex);
+				}
+				finally {
+					in.readerIndex(end);
+				}
+			}
+			default:
+				throw new IOException("Unsupported federated object tag: "+tag);
+		}
+	}
+
+	private static void writeString(String s, ByteBuf out) {
+		int start = out.writerIndex();
+		out.writeInt(0); //length placeholder
+		int len = out.writeCharSequence(s, StandardCharsets.UTF_8);
+		out.setInt(start, len);
+	}
+
+	private static String readString(ByteBuf in) {
+		int len = in.readInt();
+		return in.readCharSequence(len, StandardCharsets.UTF_8).toString();
+	}
+
+	private static long estimateSize(Object msg) {
+		long size = HEADER_SIZE;
+		if( msg instanceof Message )
+			msg = ((Message) msg).getPayload();
+		if( msg instanceof FederatedRequest[] ) {
+			for( FederatedRequest req : (FederatedRequest[]) msg )
+				for( int i=0; i<req.getNumParams(); i++ )
+					size += estimateObjectSize(req.getParam(i));
+		}
+		else if( msg instanceof FederatedResponse ) {
+			Object[] data = ((FederatedResponse) msg).getRawData();
+			if( data != null )
+				for( Object o : data )
+					size += estimateObjectSize(o);
+		}
+		return size;
+	}
+
+	private static long estimateObjectSize(Object o) {
+		if( o instanceof CacheBlock )
+			return ((CacheBlock) o).getExactSerializedSize() + 1;
+		else if( o instanceof String )
+			return ((String) o).length() + 5;
+		return 16;
+	}
+
+	/**
+	 * DataOutput writing directly into a Netty byte buffer, incl fast
+	 * serialization of dense and sparse matrix blocks.
+	 */
+	private static class ByteBufDataOutput extends ByteBufOutputStream implements MatrixBlockDataOutput {
+		private final ByteBuf _buf;
+
+		public ByteBufDataOutput(ByteBuf buf) {
+			super(buf);
+			_buf = buf;
+		}
+
+		@Override
+		public void writeDoubleArray(int len, double[] varr) {
+			_buf.ensureWritable(len * 8);
+			if( _buf.nioBufferCount() == 1 ) {
+				//bulk copy via nio view (big endian, like ByteBuf)
+				int pos = _buf.writerIndex();
+				ByteBuffer bb = _buf.nioBuffer(pos, len * 8);
+				bb.asDoubleBuffer().put(varr, 0, len);
+				_buf.writerIndex(pos + len * 8);
+			}
+			else {
+				for( int i=0; i<len; i++ )
+					_buf.writeDouble(varr[i]);
+			}
+		}
+
+		@Override
+		public void writeSparseRows(int rlen, SparseBlock rows) {
+			int lrlen = Math.min(rows.numRows(), rlen);
+			for( int i=0; i<lrlen; i++ ) {
+				if( !rows.isEmpty(i) ) {
+					int apos = rows.pos(i);
+					int alen = rows.size(i);
+					int[] aix = rows.indexes(i);
+					double[] avals = rows.values(i);
+					_buf.ensureWritable(4 + alen * 12);
+					_buf.writeInt(alen);
+					for( int j=apos; j<apos+alen; j++ ) {
+						_buf.writeInt(aix[j]);
+						_buf.writeDouble(avals[j]);
+					}
+				}
+				else
+					_buf.writeInt(0);
+			}
+			//process remaining empty rows
+			for( int i=lrlen; i<rlen; i++ )
+				_buf.writeInt(0);
+		}
+	}
+
+	/**
+	 * DataInput reading directly from a Netty byte buffer, incl fast
+	 * deserialization of dense and sparse matrix blocks.
+	 */
+	private static class ByteBufDataInput extends ByteBufInputStream implements MatrixBlockDataInput {
+		private final ByteBuf _buf;
+
+		public ByteBufDataInput(ByteBuf buf) {
+			super(buf);
+			_buf = buf;
+		}
+
+		@Override
+		public long readDoubleArray(int len, double[] varr) {
+			int pos = _buf.readerIndex();
+			if( _buf.nioBufferCount() == 1 ) {
+				DoubleBuffer db = _buf.nioBuffer(pos, len * 8).asDoubleBuffer();
+				db.get(varr, 0, len);
+				_buf.readerIndex(pos + len * 8);
+			}
+			else {
+				for( int i=0; i<len; i++ )
+					varr[i] = _buf.readDouble();
+			}
+			long nnz = 0;
+			for( int i=0; i<len; i++ )
+				nnz += (varr[i] != 0) ? 1 : 0;
+			return nnz;
+		}
+
+		@Override
+		public long readSparseRows(int rlen, long nnz, SparseBlock rows) throws IOException {
+			long gnnz = 0;
+			for( int i=0; i<rlen; i++ ) {
+				int lnnz = _buf.readInt();
+				if( lnnz > 0 ) { //non-zero row
+					rows.allocate(i, lnnz);
+					for( int j=0; j<lnnz; j++ )
+						rows.append(i, _buf.readInt(), _buf.readDouble());
+					gnnz += lnnz;
+				}
+			}
+			//sanity check valid number of read nnz
+			if( gnnz != nnz )
+				throw new IOException("Invalid number of read nnz: "+gnnz+" vs "+nnz);
+			return nnz;
+		}
+	}
+}
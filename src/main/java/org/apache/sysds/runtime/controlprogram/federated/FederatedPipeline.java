@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessageCodec.Message;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Pipelined execution of federated requests over one persistent connection per
+ * federated worker (instead of a new connection per request batch).
+ *
+ * Every request batch is tagged with a unique message id, and the responses are
+ * matched to their requests by this id, which decouples the coordinator threads
+ * from the order of responses. Batches submitted without flush (e.g., cleanup
+ * requests) are buffered in the channel and sent along with the next flushed batch
+ * or as soon as a response is awaited. Since the worker processes the batches of a
+ * connection in order, no explicit waiting is needed to preserve the order of
+ * requests without data dependencies.
+ */
+public class FederatedPipeline {
+	private static final Log LOG = LogFactory.getLog(FederatedPipeline.class.getName());
+
+	//max number of buffered batches before a forced flush
+	private static final int MAX_UNFLUSHED = 64;
+
+	private static final Map<InetSocketAddress, FederatedPipeline> _pipelines = new ConcurrentHashMap<>();
+	private static final AtomicLong _seqID = new AtomicLong(0);
+	private static EventLoopGroup _workerGroup = null;
+
+	private final Channel _channel;
+	private final Map<Long, Promise<FederatedResponse>> _pending = new ConcurrentHashMap<>();
+	private final AtomicInteger _unflushed = new AtomicInteger(0);
+
+	private FederatedPipeline(InetSocketAddress address) {
+		Bootstrap b = new Bootstrap();
+		b.group(_workerGroup).channel(NioSocketChannel.class).handler(new ChannelInitializer<SocketChannel>() {
+			@Override
+			protected void initChannel(SocketChannel ch) {
+				ChannelPipeline cp = ch.pipeline();
+				if(ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.USE_SSL_FEDERATED_COMMUNICATION)) {
+					cp.addLast(FederatedData.SslConstructor().context
+						.newHandler(ch.alloc(), address.getAddress().getHostAddress(), address.getPort()));
+				}
+				cp.addLast("FederatedMessageDecoder", new FederatedMessageCodec.Decoder());
+				cp.addLast("FederatedPipelineHandler", new ResponseHandler());
+				cp.addLast("FederatedMessageEncoder", new FederatedMessageCodec.Encoder());
+			}
+		});
+		try {
+			_channel = b.connect(address).sync().channel();
+		}
+		catch(InterruptedException e) {
+			throw new DMLRuntimeException("Could not connect to federated worker " + address + ".", e);
+		}
+	}
+
+	public static boolean isEnabled() {
+		return ConfigurationManager.isFederatedPipelining();
+	}
+
+	/**
+	 * Submits a batch of federated requests over the persistent connection
+	 * to the given federated worker.
+	 *
+	 * @param address socket address (incl host and port)
+	 * @param flush   flag indicating if the batch (and all buffered batches) should be sent
+	 *                immediately, otherwise it is sent with the next flush
+	 * @param request the requested operations
+	 * @return the future response
+	 */
+	public static Future<FederatedResponse> execute(InetSocketAddress address, boolean flush,
+		FederatedRequest... request) {
+		return getPipeline(address).submit(flush, request);
+	}
+
+	/**
+	 * Closes all persistent connections and fails their pending requests.
+	 */
+	public static synchronized void closeAll() {
+		for(FederatedPipeline p : _pipelines.values())
+			p._channel.close().syncUninterruptibly();
+		_pipelines.clear();
+		if(_workerGroup != null) {
+			_workerGroup.shutdownGracefully();
+			_workerGroup = null;
+		}
+	}
+
+	private static FederatedPipeline getPipeline(InetSocketAddress address) {
+		FederatedPipeline p = _pipelines.get(address);
+		if(p != null && p._channel.isActive())
+			return p;
+		synchronized(FederatedPipeline.class) {
+			//reconnect on first use or closed connection
+			p = _pipelines.get(address);
+			if(p == null || !p._channel.isActive()) {
+				if(_workerGroup == null)
+					_workerGroup = new NioEventLoopGroup(DMLConfig.DEFAULT_NUMBER_OF_FEDERATED_WORKER_THREADS,
+						new DefaultThreadFactory("federated-pipeline", true));
+				p = new FederatedPipeline(address);
+				_pipelines.put(address, p);
+			}
+			return p;
+		}
+	}
+
+	private Future<FederatedResponse> submit(boolean flush, FederatedRequest[] request) {
+		final long id = _seqID.incrementAndGet();
+		Promise<FederatedResponse> promise = _channel.eventLoop().newPromise();
+		_pending.put(id, promise);
+		_channel.write(new Message(id, request)).addListener(f -> {
+			if(!f.isSuccess())
+				fail(id, f.cause());
+		});
+		if(flush || _unflushed.incrementAndGet() >= MAX_UNFLUSHED)
+			flush();
+		return new PipelinedFuture(promise);
+	}
+
+	private void flush() {
+		_unflushed.set(0);
+		_channel.flush();
+	}
+
+	private void fail(long id, Throwable cause) {
+		Promise<FederatedResponse> promise = _pending.remove(id);
+		if(promise != null)
+			promise.tryFailure(cause);
+	}
+
+	private void failAll(Throwable cause) {
+		for(Long id : new ArrayList<>(_pending.keySet()))
+			fail(id, cause);
+	}
+
+	private class ResponseHandler extends ChannelInboundHandlerAdapter {
+		@Override
+		public void channelRead(ChannelHandlerContext ctx, Object msg) {
+			Message m = (Message) msg;
+			Promise<FederatedResponse> promise = _pending.remove(m.getID());
+			if(promise == null)
+				LOG.warn("Received federated response for unknown message id " + m.getID() + ".");
+			else
+				promise.trySuccess((FederatedResponse) m.getPayload());
+		}
+
+		@Override
+		public void channelInactive(ChannelHandlerContext ctx) {
+			failAll(new DMLRuntimeException("Federated connection closed: " + ctx.channel().remoteAddress()));
+		}
+
+		@Override
+		public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+			LOG.error("Federated pipeline failed.", cause);
+			failAll(cause);
+			ctx.close();
+		}
+	}
+
+	/**
+	 * Future of a pipelined response, which flushes buffered requests before waiting.
+	 */
+	private class PipelinedFuture implements Future<FederatedResponse> {
+		private final Promise<FederatedResponse> _promise;
+
+		private PipelinedFuture(Promise<FederatedResponse> promise) {
+			_promise = promise;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return _promise.cancel(mayInterruptIfRunning);
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return _promise.isCancelled();
+		}
+
+		@Override
+		public boolean isDone() {
+			return _promise.isDone();
+		}
+
+		@Override
+		public FederatedResponse get() throws InterruptedException, ExecutionException {
+			if(!_promise.isDone())
+				flush();
+			return _promise.get();
+		}
+
+		@Override
+		public FederatedResponse get(long timeout, TimeUnit unit)
+			throws InterruptedException, ExecutionException, TimeoutException {
+			if(!_promise.isDone())
+				flush();
+			return _promise.get(timeout, unit);
+		}
+	}
+}
@@ -60,6 +60,18 @@ public class FederatedResponse implements Serializable {
 			_status = ResponseType.SUCCESS_EMPTY;
 	}
 	
+	ResponseType getStatus() {
+		return _status;
+	}
+
+	Object[] getRawData() {
+		return _data;
+	}
+
+	Map<PrivacyLevel,LongAdder> getCheckedConstraints() {
+		return checkedConstraints;
+	}
+
 	public boolean isSuccessful() {
 		return _status != ResponseType.ERROR;
 	}
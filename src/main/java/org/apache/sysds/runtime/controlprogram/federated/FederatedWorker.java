@@ -73,10 +73,16 @@ public class FederatedWorker {
 							.getBooleanValue(DMLConfig.USE_SSL_FEDERATED_COMMUNICATION)) {
 							cp.addLast(cont2.newHandler(ch.alloc()));
 						}
-						cp.addLast("ObjectDecoder",
-							new ObjectDecoder(Integer.MAX_VALUE,
-								ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())));
-						cp.addLast("ObjectEncoder", new ObjectEncoder());
+						if(ConfigurationManager.isFederatedBinaryCodec()) {
+							cp.addLast("FederatedMessageDecoder", new FederatedMessageCodec.Decoder());
+							cp.addLast("FederatedMessageEncoder", new FederatedMessageCodec.Encoder());
+						}
+						else {
+							cp.addLast("ObjectDecoder",
+								new ObjectDecoder(Integer.MAX_VALUE,
+									ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())));
+							cp.addLast("ObjectEncoder", new ObjectEncoder());
+						}
 						cp.addLast("FederatedWorkerHandler", new FederatedWorkerHandler(_ecm));
 					}
 				}).option(ChannelOption.SO_BACKLOG, 128).childOption(ChannelOption.SO_KEEPALIVE, true);
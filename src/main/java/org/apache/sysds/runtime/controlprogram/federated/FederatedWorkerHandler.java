@@ -87,7 +87,14 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 
 	@Override
 	public void channelRead(ChannelHandlerContext ctx, Object msg) {
-		ctx.writeAndFlush(createResponse(msg)).addListener(new CloseListener());
+		if(msg instanceof FederatedMessageCodec.Message) {
+			// pipelined requests: respond with the same message id, and keep the connection open
+			FederatedMessageCodec.Message m = (FederatedMessageCodec.Message) msg;
+			ctx.writeAndFlush(new FederatedMessageCodec.Message(m.getID(), createResponse(m.getPayload())))
+				.addListener(new PipelineListener());
+		}
+		else
+			ctx.writeAndFlush(createResponse(msg)).addListener(new CloseListener());
 	}
 
 	protected FederatedResponse createResponse(Object msg) {
@@ -436,4 +443,17 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 			}
 		}
 	}
+
+	private static class PipelineListener implements ChannelFutureListener {
+		@Override
+		public void operationComplete(ChannelFuture channelFuture) {
+			if(!channelFuture.isSuccess()) {
+				// close the connection, which fails all pending requests at the coordinator
+				LOG.error("Federated Worker Write failed", channelFuture.cause());
+				channelFuture.channel().close();
+			}
+			else
+				PrivacyMonitor.clearCheckedConstraints();
+		}
+	}
 }
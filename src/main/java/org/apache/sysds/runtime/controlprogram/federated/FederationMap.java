@@ -372,8 +372,9 @@ public class FederationMap {
 			ret.add(e.getValue().executeFederatedOperation((frSlices != null) ? addAll(frSlices[pos++], fr) : fr));
 
 		// prepare results (future federated responses), with optional wait to ensure the
-		// order of requests without data dependencies (e.g., cleanup RPCs)
-		if(wait)
+		// order of requests without data dependencies (e.g., cleanup RPCs), which is
+		// already guaranteed for pipelined requests over ordered per-worker connections
+		if(wait && !FederatedPipeline.isEnabled())
 			FederationUtils.waitFor(ret);
 		return ret.toArray(new Future[0]);
 	}
@@ -395,8 +396,9 @@ public class FederationMap {
 		}
 
 		// prepare results (future federated responses), with optional wait to ensure the
-		// order of requests without data dependencies (e.g., cleanup RPCs)
-		if( wait )
+		// order of requests without data dependencies (e.g., cleanup RPCs), which is
+		// already guaranteed for pipelined requests over ordered per-worker connections
+		if(wait && !FederatedPipeline.isEnabled())
 			FederationUtils.waitFor(ret);
 		return ret.toArray(new Future[0]);
 	}
@@ -424,8 +426,9 @@ public class FederationMap {
 		}
 
 		// prepare results (future federated responses), with optional wait to ensure the
-		// order of requests without data dependencies (e.g., cleanup RPCs)
-		if(wait)
+		// order of requests without data dependencies (e.g., cleanup RPCs), which is
+		// already guaranteed for pipelined requests over ordered per-worker connections
+		if(wait && !FederatedPipeline.isEnabled())
 			FederationUtils.waitFor(ret);
 		return ret.toArray(new Future[0]);
 	}
@@ -454,11 +457,12 @@ public class FederationMap {
 		request.setTID(tid);
 		List<Future<FederatedResponse>> tmp = new ArrayList<>();
 		for(Pair<FederatedRange, FederatedData> fd : _fedMap)
-			tmp.add(fd.getValue().executeFederatedOperation(request));
+			tmp.add(fd.getValue().executeFederatedOperationDeferred(request));
 		// This cleaning is allowed to go in a separate thread, and finish on its own.
 		// The benefit is that the program is able to continue working on other things.
 		// The downside is that at the end of execution these threads can have executed
 		// for some extra time that can in particular be noticeable for shorter federated jobs.
+		// With pipelining enabled, the cleanup is buffered and sent along with the next request.
 
 		// To force the cleanup use waitFor -> drastically increasing execution time if
 		// communication is slow to federated sites.
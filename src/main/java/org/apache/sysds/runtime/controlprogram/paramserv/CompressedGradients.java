@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.controlprogram.paramserv;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sysds.parser.Statement.PSCompression;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.data.DenseBlockFactory;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+
+/**
+ * Compressed representation of a list of gradient matrices for pushes of
+ * remote workers (federated or Spark) to the parameter server. Two lossy
+ * encodings are supported:
+ * <ul>
+ * <li>TOPK: sparsification to the k entries of largest magnitude, where
+ *   k is the given ratio of the number of cells.</li>
+ * <li>QUANT8: linear 8-bit quantization between the min and max value.</li>
+ * </ul>
+ * Both use local error feedback, i.e., the worker keeps the compression
+ * error as residual and adds it to the gradients of its next push.
+ */
+public class CompressedGradients implements Serializable
+{
+	private static final long serialVersionUID = 4391466296283946421L;
+
+	private PSCompression _type;
+	private List<String> _names;
+	private int[] _rows;
+	private int[] _cols;
+	// TOPK: linear cell indexes (ascending) and values per matrix
+	private int[][] _indexes;
+	private double[][] _values;
+	// QUANT8: offset, scale, and unsigned quantized cells per matrix
+	private double[] _min;
+	private double[] _scale;
+	private byte[][] _quant;
+
+	private CompressedGradients(PSCompression type, List<String> names, int n) {
+		_type = type;
+		_names = names;
+		_rows = new int[n];
+		_cols = new int[n];
+		if( type == PSCompression.TOPK ) {
+			_indexes = new int[n][];
+			_values = new double[n][];
+		}
+		else {
+			_min = new double[n];
+			_scale = new double[n];
+			_quant = new byte[n][];
+		}
+	}
+
+	/**
+	 * Compresses the given gradients, including the residuals of previous pushes.
+	 *
+	 * @param gradients list of gradient matrices
+	 * @param residuals residuals of previous pushes (entries may be null), replaced by the new residuals
+	 * @param type compression type
+	 * @param ratio ratio of retained cells for TOPK
+	 * @return compressed gradients
+	 */
+	public static CompressedGradients compress(ListObject gradients, MatrixBlock[] residuals,
+		PSCompression type, double ratio)
+	{
+		if( type == PSCompression.NONE )
+			throw new DMLRuntimeException("Paramserv: invalid gradient compression type: " + type);
+		int n = gradients.getLength();
+		CompressedGradients ret = new CompressedGradients(type, gradients.getNames(), n);
+		for( int i=0; i<n; i++ ) {
+			Data dat = gradients.getData().get(i);
+			if( !(dat instanceof MatrixObject) )
+				throw new DMLRuntimeException("Paramserv: gradient compression only supports lists of matrices.");
+			MatrixBlock mb = ((MatrixObject) dat).acquireReadAndRelease();
+			ret._rows[i] = mb.getNumRows();
+			ret._cols[i] = mb.getNumColumns();
+			if( (long) mb.getNumRows() * mb.getNumColumns() > Integer.MAX_VALUE )
+				throw new DMLRuntimeException("Paramserv: gradient compression of matrices with more than "
+					+ Integer.MAX_VALUE + " cells not supported.");
+
+			//add residual of previous push (error feedback)
+			double[] v = DataConverter.convertToDoubleVector(mb, true);
+			if( residuals[i] != null ) {
+				//note: restored residuals might be empty or sparse
+				double[] r = DataConverter.convertToDoubleVector(residuals[i], false);
+				for( int j=0; j<v.length; j++ )
+					v[j] += r[j];
+			}
+
+			//encode and keep the compression error as new residual
+			if( type == PSCompression.TOPK )
+				ret.encodeTopK(i, v, ratio);
+			else
+				ret.encodeQuant8(i, v);
+			residuals[i] = new MatrixBlock(ret._rows[i], ret._cols[i],
+				DenseBlockFactory.createDenseBlock(v, ret._rows[i], ret._cols[i]));
+			residuals[i].recomputeNonZeros();
+		}
+		return ret;
+	}
+
+	private void encodeTopK(int pos, double[] v, double ratio) {
+		int k = (int) Math.min(Math.max(Math.ceil(ratio * v.length), 1), v.length);
+		//determine the magnitude threshold of the k largest cells
+		double[] abs = new double[v.length];
+		for( int j=0; j<v.length; j++ )
+			abs[j] = Math.abs(v[j]);
+		Arrays.sort(abs);
+		double thresh = abs[v.length - k];
+		//collect up to k cells above the threshold, ties in index order
+		int[] ix = new int[k];
+		double[] vals = new double[k];
+		int cnt = 0;
+		for( int j=0; j<v.length && cnt<k; j++ )
+			if( v[j] != 0 && Math.abs(v[j]) >= thresh ) {
+				ix[cnt] = j;
+				vals[cnt++] = v[j];
+				v[j] = 0; //residual
+			}
+		_indexes[pos] = Arrays.copyOf(ix, cnt);
+		_values[pos] = Arrays.copyOf(vals, cnt);
+	}
+
+	private void encodeQuant8(int pos, double[] v) {
+		double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+		for( double d : v ) {
+			min = Math.min(min, d);
+			max = Math.max(max, d);
+		}
+		if( v.length == 0 )
+			min = max = 0;
+		double scale = (max - min) / 255;
+		byte[] q = new byte[v.length];
+		for( int j=0; j<v.length; j++ ) {
+			int qj = (scale > 0) ? (int) Math.round((v[j] - min) / scale) : 0;
+			q[j] = (byte) qj;
+			v[j] -= min + qj * scale; //residual
+		}
+		_min[pos] = min;
+		_scale[pos] = scale;
+		_quant[pos] = q;
+	}
+
+	public PSCompression getType() {
+		return _type;
+	}
+
+	/**
+	 * Decodes the compressed gradients into a list of matrices.
+	 *
+	 * @return list of gradient matrices
+	 */
+	public ListObject decompress() {
+		List<Data> data = new ArrayList<>(_rows.length);
+		for( int i=0; i<_rows.length; i++ ) {
+			MatrixBlock mb;
+			if( _type == PSCompression.TOPK ) {
+				mb = new MatrixBlock(_rows[i], _cols[i], true);
+				int[] ix = _indexes[i];
+				for( int j=0; j<ix.length; j++ )
+					mb.appendValue(ix[j] / _cols[i], ix[j] % _cols[i], _values[i][j]);
+			}
+			else {
+				double[] v = new double[_quant[i].length];
+				for( int j=0; j<v.length; j++ )
+					v[j] = _min[i] + (_quant[i][j] & 0xFF) * _scale[i];
+				mb = new MatrixBlock(_rows[i], _cols[i],
+					DenseBlockFactory.createDenseBlock(v, _rows[i], _cols[i]));
+				mb.recomputeNonZeros();
+			}
+			mb.examSparsity();
+			data.add(ParamservUtils.newMatrixObject(mb, false));
+		}
+		return new ListObject(data, _names);
+	}
+
+	/**
+	 * Gets the size of the uncompressed gradients as dense matrices (8 bytes
+	 * per cell), independent of the sparsity of the decompressed gradients.
+	 *
+	 * @return uncompressed size in bytes
+	 */
+	public long getUncompressedSize() {
+		long ret = 0;
+		for( int i=0; i<_rows.length; i++ )
+			ret += 8L * _rows[i] * _cols[i];
+		return ret;
+	}
+
+	/**
+	 * Gets the size of the binary representation written by {@link #write(DataOutput)}.
+	 *
+	 * @return serialized size in bytes
+	 */
+	public long getExactSerializedSize() {
+		long ret = 1 + 4 + 1; //type, length, named
+		if( _names != null )
+			ret += _names.stream().mapToLong(s -> IOUtilFunctions.getUTFSize(s)).sum();
+		for( int i=0; i<_rows.length; i++ )
+			ret += 8 + 4 + ((_type == PSCompression.TOPK) ?
+				12L * _indexes[i].length : 16 + _quant[i].length);
+		return ret;
+	}
+
+	public void write(DataOutput out) throws IOException {
+		out.writeByte(_type.ordinal());
+		out.writeInt(_rows.length);
+		out.writeBoolean(_names != null);
+		for( int i=0; i<_rows.length; i++ ) {
+			if( _names != null )
+				out.writeUTF(_names.get(i));
+			out.writeInt(_rows[i]);
+			out.writeInt(_cols[i]);
+			if( _type == PSCompression.TOPK ) {
+				out.writeInt(_indexes[i].length);
+				for( int j=0; j<_indexes[i].length; j++ ) {
+					out.writeInt(_indexes[i][j]);
+					out.writeDouble(_values[i][j]);
+				}
+			}
+			else {
+				out.writeDouble(_min[i]);
+				out.writeDouble(_scale[i]);
+				out.writeInt(_quant[i].length);
+				out.write(_quant[i]);
+			}
+		}
+	}
+
+	public static CompressedGradients read(DataInput in) throws IOException {
+		PSCompression type = PSCompression.values()[in.readByte()];
+		int n = in.readInt();
+		List<String> names = in.readBoolean() ? new ArrayList<>() : null;
+		CompressedGradients ret = new CompressedGradients(type, names, n);
+		for( int i=0; i<n; i++ ) {
+			if( names != null )
+				names.add(in.readUTF());
+			ret._rows[i] = in.readInt();
+			ret._cols[i] = in.readInt();
+			if( type == PSCompression.TOPK ) {
+				int len = in.readInt();
+				ret._indexes[i] = new int[len];
+				ret._values[i] = new double[len];
+				for( int j=0; j<len; j++ ) {
+					ret._indexes[i][j] = in.readInt();
+					ret._values[i][j] = in.readDouble();
+				}
+			}
+			else {
+				ret._min[i] = in.readDouble();
+				ret._scale[i] = in.readDouble();
+				ret._quant[i] = new byte[in.readInt()];
+				in.readFully(ret._quant[i]);
+			}
+		}
+		return ret;
+	}
+}
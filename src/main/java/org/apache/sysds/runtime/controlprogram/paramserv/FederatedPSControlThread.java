@@ -26,6 +26,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.parser.DataIdentifier;
 import org.apache.sysds.parser.Statement;
+import org.apache.sysds.parser.Statement.PSCompression;
 import org.apache.sysds.parser.Statement.PSFrequency;
 import org.apache.sysds.parser.Statement.PSRuntimeBalancing;
 import org.apache.sysds.runtime.DMLRuntimeException;
@@ -84,9 +85,14 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 	private double _weightingFactor = 1;
 	private boolean _cycleStartAt0 = false;
 
+	// gradient compression
+	private final PSCompression _compression;
+	private final double _compressionRatio;
+
 	public FederatedPSControlThread(int workerID, String updFunc, Statement.PSFrequency freq,
 		PSRuntimeBalancing runtimeBalancing, boolean weighting, int epochs, long batchSize,
-		int numBatchesPerGlobalEpoch, ExecutionContext ec, ParamServer ps, int nbatches, boolean modelAvg)
+		int numBatchesPerGlobalEpoch, ExecutionContext ec, ParamServer ps, int nbatches, boolean modelAvg,
+		PSCompression compression, double compressionRatio)
 	{
 		super(workerID, updFunc, freq, epochs, batchSize, ec, ps, nbatches, modelAvg);
 
@@ -97,6 +103,8 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 		// generate the ID for the model
 		_modelVarID = FederationUtils.getNextFedDataID();
 		_modelAvg = modelAvg;
+		_compression = compression;
+		_compressionRatio = compressionRatio;
 	}
 
 	/**
@@ -165,7 +173,7 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 				new SetupFederatedWorker(_batchSize, dataSize, _possibleBatchesPerLocalEpoch,
 					programSerialized, _inst.getNamespace(), _inst.getFunctionName(),
 					_ps.getAggInst().getFunctionName(), _ec.getListObject("hyperparams"),
-					_modelVarID, _nbatches, _modelAvg)));
+					_modelVarID, _nbatches, _modelAvg, _compression, _compressionRatio)));
 
 		try {
 			FederatedResponse response = udfResponse.get();
@@ -213,10 +221,13 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 		private final long _modelVarID;
 		private final boolean _modelAvg;
 		private final int _nbatches;
+		private final PSCompression _compression;
+		private final double _compressionRatio;
 
 		protected SetupFederatedWorker(long batchSize, long dataSize, int possibleBatchesPerLocalEpoch,
 			String programString, String namespace, String gradientsFunctionName, String aggregationFunctionName,
-			ListObject hyperParams, long modelVarID, int nbatches, boolean modelAvg)
+			ListObject hyperParams, long modelVarID, int nbatches, boolean modelAvg,
+			PSCompression compression, double compressionRatio)
 		{
 			super(new long[]{});
 			_batchSize = batchSize;
@@ -230,6 +241,8 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			_modelVarID = modelVarID;
 			_modelAvg = modelAvg;
 			_nbatches = nbatches;
+			_compression = compression;
+			_compressionRatio = compressionRatio;
 		}
 
 		@Override
@@ -248,6 +261,8 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			ec.setVariable(Statement.PS_FED_MODEL_VARID, new IntObject(_modelVarID));
 			ec.setVariable(Statement.PS_NBATCHES, new IntObject(_nbatches));
 			ec.setVariable(Statement.PS_MODELAVG, new BooleanObject(_modelAvg));
+			ec.setVariable(Statement.PS_FED_COMPRESSION, new StringObject(_compression.name()));
+			ec.setVariable(Statement.PS_FED_COMPRESSION_RATIO, new DoubleObject(_compressionRatio));
 
 			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS);
 		}
@@ -278,6 +293,10 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			ec.removeVariable(Statement.PS_FED_GRADIENTS_FNAME);
 			ec.removeVariable(Statement.PS_FED_AGGREGATION_FNAME);
 			ec.removeVariable(Statement.PS_FED_MODEL_VARID);
+			ec.removeVariable(Statement.PS_FED_COMPRESSION);
+			ec.removeVariable(Statement.PS_FED_COMPRESSION_RATIO);
+			if(ec.containsVariable(Statement.PS_FED_RESIDUALS))
+				ParamservUtils.cleanupListObject(ec, Statement.PS_FED_RESIDUALS);
 			ParamservUtils.cleanupListObject(ec, Statement.PS_HYPER_PARAMS);
 
 			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS);
@@ -313,6 +332,9 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			}
 		} catch (Exception e) {
 			throw new DMLRuntimeException(String.format("%s failed", getWorkerName()), e);
+		} finally {
+			// Release the workers waiting for this one (SSP)
+			_ps.finishWorker(_workerID);
 		}
 		teardown();
 		return null;
@@ -445,7 +467,20 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 				Statistics.accFedPSWorkerComputing(workerComputing);
 				Statistics.accFedPSCommunicationTime(total - workerComputing);
 			}
-			return (ListObject) responseData[0];
+			// decode compressed gradients before weighting and aggregation
+			if(responseData[0] instanceof CompressedGradients) {
+				CompressedGradients compressed = (CompressedGradients) responseData[0];
+				ListObject gradients = compressed.decompress();
+				if(DMLScript.STATISTICS)
+					Statistics.accPSPushBytes(compressed.getExactSerializedSize(), compressed.getUncompressedSize());
+				return gradients;
+			}
+			ListObject gradients = (ListObject) responseData[0];
+			if(DMLScript.STATISTICS) {
+				long size = ParamservUtils.getExactSizeOnDisk(gradients);
+				Statistics.accPSPushBytes(size, size);
+			}
+			return gradients;
 		}
 		catch(Exception e) {
 			if(DMLScript.STATISTICS)
@@ -564,13 +599,49 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			// model clean up
 			ParamservUtils.cleanupListObject(ec, ec.getVariable(Statement.PS_FED_MODEL_VARID).toString());
 			// TODO double check cleanup gradients and models
-			
+
+			// compress the gradients with error feedback of the previous residuals
+			PSCompression compression = PSCompression.valueOf(
+				((StringObject) ec.getVariable(Statement.PS_FED_COMPRESSION)).getStringValue());
+			if(compression != PSCompression.NONE && !modelAvg) {
+				double ratio = ((DoubleObject) ec.getVariable(Statement.PS_FED_COMPRESSION_RATIO)).getDoubleValue();
+				MatrixBlock[] residuals = getResiduals(ec, accGradients.getLength());
+				CompressedGradients compressed = CompressedGradients.compress(accGradients, residuals, compression, ratio);
+				setResiduals(ec, residuals);
+				DoubleObject gradientsTime = new DoubleObject(tGradients.stop());
+				return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS,
+					new Object[]{compressed, gradientsTime});
+			}
+
 			// stop timing
 			DoubleObject gradientsTime = new DoubleObject(tGradients.stop());
 			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS,
 				new Object[]{modelAvg ? model : accGradients, gradientsTime});
 		}
 
+		/**
+		 * Gets the residuals of the previous compressed pushes of this worker, kept
+		 * in the execution context across calls
+		 */
+		private static MatrixBlock[] getResiduals(ExecutionContext ec, int n) {
+			MatrixBlock[] ret = new MatrixBlock[n];
+			if(ec.containsVariable(Statement.PS_FED_RESIDUALS)) {
+				ListObject lo = (ListObject) ec.getVariable(Statement.PS_FED_RESIDUALS);
+				for(int i = 0; i < n; i++)
+					ret[i] = ((MatrixObject) lo.getData(i)).acquireReadAndRelease();
+			}
+			return ret;
+		}
+
+		private static void setResiduals(ExecutionContext ec, MatrixBlock[] residuals) {
+			if(ec.containsVariable(Statement.PS_FED_RESIDUALS))
+				ParamservUtils.cleanupListObject(ec, Statement.PS_FED_RESIDUALS);
+			ArrayList<Data> data = new ArrayList<>(residuals.length);
+			for(MatrixBlock mb : residuals)
+				data.add(ParamservUtils.newMatrixObject(mb));
+			ec.setVariable(Statement.PS_FED_RESIDUALS, new ListObject(data));
+		}
+
 		@Override
 		public Pair<String, LineageItem> getLineageItem(ExecutionContext ec) {
 			return null;
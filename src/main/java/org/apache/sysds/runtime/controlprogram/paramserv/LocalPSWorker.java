@@ -81,6 +81,9 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 			}
 		} catch (Exception e) {
 			throw new DMLRuntimeException(String.format("%s failed", getWorkerName()), e);
+		} finally {
+			// Release the workers waiting for this one (SSP)
+			_ps.finishWorker(_workerID);
 		}
 		return null;
 	}
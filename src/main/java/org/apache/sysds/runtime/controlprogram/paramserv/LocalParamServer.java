@@ -19,11 +19,14 @@
 
 package org.apache.sysds.runtime.controlprogram.paramserv;
 
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.parser.Statement;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.utils.Statistics;
 
 public class LocalParamServer extends ParamServer {
 
@@ -33,17 +36,17 @@ public class LocalParamServer extends ParamServer {
 
 	public static LocalParamServer create(ListObject model, String aggFunc, Statement.PSUpdateType updateType,
 		Statement.PSFrequency freq, ExecutionContext ec, int workerNum, String valFunc, int numBatchesPerEpoch,
-		MatrixObject valFeatures, MatrixObject valLabels, int nbatches, boolean modelAvg)
+		MatrixObject valFeatures, MatrixObject valLabels, int nbatches, boolean modelAvg, int staleness)
 	{
 		return new LocalParamServer(model, aggFunc, updateType, freq, ec,
-			workerNum, valFunc, numBatchesPerEpoch, valFeatures, valLabels, nbatches, modelAvg);
+			workerNum, valFunc, numBatchesPerEpoch, valFeatures, valLabels, nbatches, modelAvg, staleness);
 	}
 
 	private LocalParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType,
 		Statement.PSFrequency freq, ExecutionContext ec, int workerNum, String valFunc, int numBatchesPerEpoch,
-		MatrixObject valFeatures, MatrixObject valLabels, int nbatches, boolean modelAvg)
+		MatrixObject valFeatures, MatrixObject valLabels, int nbatches, boolean modelAvg, int staleness)
 	{
-		super(model, aggFunc, updateType, freq, ec, workerNum, valFunc, numBatchesPerEpoch, valFeatures, valLabels, nbatches, modelAvg);
+		super(model, aggFunc, updateType, freq, ec, workerNum, valFunc, numBatchesPerEpoch, valFeatures, valLabels, nbatches, modelAvg, staleness);
 	}
 
 	@Override
@@ -54,11 +57,14 @@ public class LocalParamServer extends ParamServer {
 	@Override
 	public ListObject pull(int workerID) {
 		ListObject model;
+		Timing tWait = DMLScript.STATISTICS ? new Timing(true) : null;
 		try {
 			model = _modelMap.get(workerID).take();
 		} catch (InterruptedException e) {
 			throw new DMLRuntimeException(e);
 		}
+		if (tWait != null)
+			Statistics.accPSWorkerWaitTime(workerID, (long) tWait.stop());
 		return model;
 	}
 }
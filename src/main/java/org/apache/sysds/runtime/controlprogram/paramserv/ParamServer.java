@@ -68,7 +68,7 @@ public abstract class ParamServer
 	private FunctionCallCPInstruction _inst;
 	private String _outputName;
 	private boolean[] _finishedStates;  // Workers' finished states
-	private ListObject _accGradients = null;
+	private ShardedAccumulator _accGradients;
 
 	private boolean _validationPossible;
 	private FunctionCallCPInstruction _valInst;
@@ -81,12 +81,19 @@ public abstract class ParamServer
 
 	private int _numWorkers;
 	private boolean _modelAvg;
-	private ListObject _accModels = null;
+	private ShardedAccumulator _accModels;
+
+	// stale-synchronous parallel (SSP) clocks
+	private int _staleness;
+	private int[] _clocks;        // Workers' number of pushed updates
+	private boolean[] _blocked;   // Workers waiting for the slowest worker
+	private boolean[] _retired;   // Workers without further updates
 
 	protected ParamServer() {}
 
 	protected ParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType,
-		Statement.PSFrequency freq, ExecutionContext ec, int workerNum, String valFunc, int numBatchesPerEpoch,	MatrixObject valFeatures, MatrixObject valLabels, int nbatches, boolean modelAvg)
+		Statement.PSFrequency freq, ExecutionContext ec, int workerNum, String valFunc, int numBatchesPerEpoch,	MatrixObject valFeatures, MatrixObject valLabels, int nbatches, boolean modelAvg,
+		int staleness)
 	{
 		// init worker queues and global model
 		_modelMap = new HashMap<>(workerNum);
@@ -101,6 +108,8 @@ public abstract class ParamServer
 		_updateType = updateType;
 		_freq = freq;
 		_finishedStates = new boolean[workerNum];
+		_accGradients = new ShardedAccumulator();
+		_accModels = new ShardedAccumulator();
 		setupAggFunc(_ec, aggFunc);
 
 		if(valFunc != null && numBatchesPerEpoch > 0 && valFeatures != null && valLabels != null) {
@@ -109,6 +118,12 @@ public abstract class ParamServer
 		_numBatchesPerEpoch = numBatchesPerEpoch;
 		_numWorkers = workerNum;
 		_modelAvg = modelAvg;
+		_staleness = staleness;
+		if(updateType == Statement.PSUpdateType.SSP) {
+			_clocks = new int[workerNum];
+			_blocked = new boolean[workerNum];
+			_retired = new boolean[workerNum];
+		}
 
 		// broadcast initial model
 		broadcastModel(true);
@@ -185,7 +200,7 @@ public abstract class ParamServer
 		return _model;
 	}
 
-	protected synchronized void updateGlobalModel(int workerID, ListObject params) {
+	protected void updateGlobalModel(int workerID, ListObject params) {
 		if(_modelAvg) {
 			updateAverageModel(workerID, params);
 		}
@@ -193,29 +208,33 @@ public abstract class ParamServer
 			updateGlobalGradients(workerID, params);
 	}
 
-	protected synchronized void updateGlobalGradients(int workerID, ListObject gradients) {
-		try {
-			if(LOG.isDebugEnabled()) {
-				LOG.debug(String.format("Successfully pulled the gradients [size:%d kb] of worker_%d.",
-					gradients.getDataSize() / 1024, workerID));
-			}
+	protected void updateGlobalGradients(int workerID, ListObject gradients) {
+		if(LOG.isDebugEnabled()) {
+			LOG.debug(String.format("Successfully pulled the gradients [size:%d kb] of worker_%d.",
+				gradients.getDataSize() / 1024, workerID));
+		}
 
+		// Accumulate the intermediate gradients without holding the server lock,
+		// where concurrent pushes add to independent shards of the model
+		if( _updateType == Statement.PSUpdateType.BSP && ACCRUE_BSP_GRADIENTS )
+			_accGradients.accrue(workerID, gradients, true);
+
+		applyGlobalGradients(workerID, gradients);
+	}
+
+	private synchronized void applyGlobalGradients(int workerID, ListObject gradients) {
+		try {
 			switch(_updateType) {
 				case BSP: {
 					setFinishedState(workerID);
 
-					// Accumulate the intermediate gradients
-					if( ACCRUE_BSP_GRADIENTS )
-						_accGradients = ParamservUtils.accrueGradients(_accGradients, gradients, true);
-					else
+					if( !ACCRUE_BSP_GRADIENTS )
 						updateGlobalModel(gradients);
 
 					if (allFinished()) {
 						// Update the global model with accrued gradients
-						if( ACCRUE_BSP_GRADIENTS ) {
-							updateGlobalModel(_accGradients);
-							_accGradients = null;
-						}
+						if( ACCRUE_BSP_GRADIENTS )
+							updateGlobalModel(_accGradients.drain());
 
 						// This if has grown to be quite complex its function is rather simple. Validate at the end of each epoch
 						// In the BSP batch case that occurs after the sync counter reaches the number of batches and in the
@@ -245,7 +264,8 @@ public abstract class ParamServer
 					}
 					break;
 				}
-				case ASP: {
+				case ASP:
+				case SSP: {
 					updateGlobalModel(gradients);
 					// This works similarly to the one for BSP, but divides the sync counter by
 					// the number of workers, creating "Pseudo Epochs"
@@ -254,7 +274,7 @@ public abstract class ParamServer
 						(_freq == Statement.PSFrequency.BATCH && ((float) ++_syncCounter / _numWorkers) % (float) _numBatchesPerEpoch == 0)) ||
 						(_freq == Statement.PSFrequency.NBATCHES)) {
 						if(LOG.isInfoEnabled())
-							LOG.info("[+] PARAMSERV: completed PSEUDO EPOCH (ASP) " + _epochCounter);
+							LOG.info("[+] PARAMSERV: completed PSEUDO EPOCH (" + _updateType + ") " + _epochCounter);
 
 						time_epoch();
 
@@ -265,7 +285,10 @@ public abstract class ParamServer
 						_syncCounter = 0;
 					}
 
-					broadcastModel(workerID);
+					if(_updateType == Statement.PSUpdateType.SSP)
+						advanceClock(workerID);
+					else
+						broadcastModel(workerID);
 					break;
 				}
 				default:
@@ -309,27 +332,33 @@ public abstract class ParamServer
 		return newModel;
 	}
 
-	protected synchronized void updateAverageModel(int workerID, ListObject model) {
-		try {
-			if(LOG.isDebugEnabled()) {
-				LOG.debug(String.format("Successfully pulled the models [size:%d kb] of worker_%d.",
-					model.getDataSize() / 1024, workerID));
-			}
-			Timing tAgg = DMLScript.STATISTICS ? new Timing(true) : null;
+	protected void updateAverageModel(int workerID, ListObject model) {
+		if(LOG.isDebugEnabled()) {
+			LOG.debug(String.format("Successfully pulled the models [size:%d kb] of worker_%d.",
+				model.getDataSize() / 1024, workerID));
+		}
+		Timing tAgg = DMLScript.STATISTICS ? new Timing(true) : null;
 
-			//first weight the models based on number of workers
+		if( _updateType == Statement.PSUpdateType.BSP ) {
+			//first weight the models based on number of workers, and
+			//second accumulate them into the shards w/o holding the server lock
 			ListObject weightParams = weightModels(model, _numWorkers);
+			_accModels.accrue(workerID, weightParams, true);
+		}
+
+		applyAverageModel(workerID, tAgg);
+	}
+
+	private synchronized void applyAverageModel(int workerID, Timing tAgg) {
+		try {
 			switch(_updateType) {
 				case BSP: {
 					setFinishedState(workerID);
-					// second Accumulate the given weightModels into the accrued models
-					_accModels = ParamservUtils.accrueGradients(_accModels, weightParams, true);
 
 					if(allFinished()) {
-						_model = setParams(_ec, _accModels, _model);
+						_model = setParams(_ec, _accModels.drain(), _model);
 						if (DMLScript.STATISTICS && tAgg != null)
 							Statistics.accPSAggregationTime((long) tAgg.stop());
-						_accModels = null; //reset for next accumulation
 
 						// This if has grown to be quite complex its function is rather simple. Validate at the end of each epoch
 						// In the BSP batch case that occurs after the sync counter reaches the number of batches and in the
@@ -354,6 +383,7 @@ public abstract class ParamServer
 					break;
 				}
 				case ASP:
+				case SSP:
 					throw new NotImplementedException();
 
 				default:
@@ -394,7 +424,50 @@ public abstract class ParamServer
 		return accModels;
 	}
 
-		private boolean allFinished() {
+	/**
+	 * Marks the given worker as finished (after its last update or a failure),
+	 * so that it no longer holds back the other workers under SSP.
+	 *
+	 * @param workerID worker id
+	 */
+	public synchronized void finishWorker(int workerID) {
+		if(_updateType != Statement.PSUpdateType.SSP)
+			return;
+		_retired[workerID] = true;
+		_blocked[workerID] = false;
+		try {
+			releaseWorkers();
+		}
+		catch(InterruptedException e) {
+			throw new DMLRuntimeException("Paramserv func: some error occurred when broadcasting model", e);
+		}
+	}
+
+	/**
+	 * Advances the SSP clock of the given worker, which receives the updated
+	 * model only if it is at most s clocks ahead of the slowest active worker,
+	 * and otherwise blocks in pull until the slowest worker caught up.
+	 */
+	private void advanceClock(int workerID) throws InterruptedException {
+		_clocks[workerID]++;
+		_blocked[workerID] = true;
+		releaseWorkers();
+	}
+
+	private void releaseWorkers() throws InterruptedException {
+		int minClock = Integer.MAX_VALUE;
+		for(int i = 0; i < _numWorkers; i++)
+			if(!_retired[i])
+				minClock = Math.min(minClock, _clocks[i]);
+		//blocked workers have already taken their last model, so the broadcast never blocks
+		for(int i = 0; i < _numWorkers; i++)
+			if(_blocked[i] && (long) _clocks[i] - minClock <= _staleness) {
+				_blocked[i] = false;
+				broadcastModel(i);
+			}
+	}
+
+	private boolean allFinished() {
 		return !ArrayUtils.contains(_finishedStates, false);
 	}
 
@@ -142,6 +142,16 @@ public class ParamservUtils {
 		cleanupListObject(ExecutionContextFactory.createContext(), lo);
 	}
 
+	/**
+	 * Get the size of the binary representation of all matrices in the given list
+	 * @param lo list object of matrices
+	 * @return size in bytes
+	 */
+	public static long getExactSizeOnDisk(ListObject lo) {
+		return lo.getData().stream().filter(d -> d instanceof MatrixObject).mapToLong(d ->
+			((MatrixObject)d).acquireReadAndRelease().getExactSizeOnDisk()).sum();
+	}
+
 	public static MatrixObject newMatrixObject(MatrixBlock mb) {
 		return newMatrixObject(mb, true);
 	}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.controlprogram.paramserv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+
+/**
+ * Accumulator of pushed gradients (or models) of the parameter server, which
+ * is partitioned into shards (i.e., the entries of the list object, such as
+ * the weights of different layers) with independent locks. Concurrent pushes
+ * of different workers thus add their matrices to different shards in parallel,
+ * instead of serializing behind a single server lock. Every worker starts at a
+ * different shard to reduce the contention on the first shards.
+ */
+public class ShardedAccumulator
+{
+	private static final BinaryOperator PLUS = new BinaryOperator(Plus.getPlusFnObject());
+
+	private Object[] _locks;       // one lock per shard
+	private MatrixObject[] _acc;   // accrued matrix per shard, null if empty
+	private List<String> _names;
+	private int _count;            // number of accrued list objects
+
+	/**
+	 * Accumulates the given list of matrices into the shards.
+	 *
+	 * @param workerID worker id, used to select the first shard
+	 * @param lo list object of matrices
+	 * @param cleanup clean up the given list object
+	 */
+	public void accrue(int workerID, ListObject lo, boolean cleanup) {
+		int n = lo.getLength();
+		Object[] locks = getLocks(lo);
+		for( int k=0; k<n; k++ ) {
+			int i = (workerID + k) % n;
+			Data dat = lo.getData().get(i);
+			if( !(dat instanceof MatrixObject) )
+				throw new DMLRuntimeException("Paramserv: accumulation only supports lists of matrices.");
+			MatrixObject mo = (MatrixObject) dat;
+			synchronized( locks[i] ) {
+				if( _acc[i] == null ) //first push, shallow copy as in copyList
+					_acc[i] = ParamservUtils.createShallowCopy(mo);
+				else {
+					MatrixBlock mb = _acc[i].acquireReadAndRelease();
+					mb.binaryOperationsInPlace(PLUS, mo.acquireReadAndRelease());
+				}
+			}
+		}
+		synchronized( this ) {
+			_count++;
+		}
+		if( cleanup )
+			ParamservUtils.cleanupListObject(lo);
+	}
+
+	/**
+	 * Gets the number of list objects accrued since the last drain.
+	 *
+	 * @return number of accrued list objects
+	 */
+	public synchronized int getCount() {
+		return _count;
+	}
+
+	/**
+	 * Returns the accrued list object and resets the accumulator. This method
+	 * must only be called once all pushes of the current round are accrued.
+	 *
+	 * @return accrued list object, or null if nothing was accrued
+	 */
+	public synchronized ListObject drain() {
+		if( _count == 0 )
+			return null;
+		List<Data> data = new ArrayList<>(_acc.length);
+		for( int i=0; i<_acc.length; i++ ) {
+			synchronized( _locks[i] ) {
+				data.add(_acc[i]);
+				_acc[i] = null;
+			}
+		}
+		_count = 0;
+		return new ListObject(data, _names);
+	}
+
+	private synchronized Object[] getLocks(ListObject lo) {
+		//lazy allocation of shards according to the first pushed list
+		if( _locks == null ) {
+			_locks = new Object[lo.getLength()];
+			Arrays.setAll(_locks, i -> new Object());
+			_acc = new MatrixObject[lo.getLength()];
+			_names = lo.getNames();
+		}
+		else if( _locks.length != lo.getLength() ) {
+			throw new DMLRuntimeException("Paramserv: inconsistent number of pushed matrices: "
+				+ lo.getLength() + " vs " + _locks.length + ".");
+		}
+		return _locks;
+	}
+}
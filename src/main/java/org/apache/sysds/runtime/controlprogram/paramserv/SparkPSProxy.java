@@ -27,17 +27,22 @@ import java.io.IOException;
 import org.apache.spark.network.client.TransportClient;
 import org.apache.spark.util.LongAccumulator;
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.parser.Statement.PSCompression;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall;
 import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcResponse;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 public class SparkPSProxy extends ParamServer {
 
 	private final TransportClient _client;
 	private final long _rpcTimeout;
 	private final LongAccumulator _aRPC;
+	private PSCompression _compression = PSCompression.NONE;
+	private double _compressionRatio;
+	private MatrixBlock[] _residuals; //error feedback of compressed pushes
 
 	public SparkPSProxy(TransportClient client, long rpcTimeout, LongAccumulator aRPC) {
 		super();
@@ -46,6 +51,11 @@ public class SparkPSProxy extends ParamServer {
 		_aRPC = aRPC;
 	}
 
+	public void setCompression(PSCompression compression, double ratio) {
+		_compression = compression;
+		_compressionRatio = ratio;
+	}
+
 	private void accRpcRequestTime(Timing tRpc) {
 		if (DMLScript.STATISTICS)
 			_aRPC.add((long) tRpc.stop());
@@ -56,7 +66,7 @@ public class SparkPSProxy extends ParamServer {
 		Timing tRpc = DMLScript.STATISTICS ? new Timing(true) : null;
 		PSRpcResponse response;
 		try {
-			response = new PSRpcResponse(_client.sendRpcSync(new PSRpcCall(PUSH, workerID, value).serialize(), _rpcTimeout));
+			response = new PSRpcResponse(_client.sendRpcSync(createPushCall(workerID, value).serialize(), _rpcTimeout));
 		} catch (IOException e) {
 			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to push gradients.", workerID), e);
 		}
@@ -66,6 +76,15 @@ public class SparkPSProxy extends ParamServer {
 		}
 	}
 
+	private PSRpcCall createPushCall(int workerID, ListObject value) {
+		if (_compression == PSCompression.NONE)
+			return new PSRpcCall(PUSH, workerID, value);
+		if (_residuals == null)
+			_residuals = new MatrixBlock[value.getLength()];
+		//note: the caller owns and cleans up the uncompressed gradients
+		return new PSRpcCall(workerID, CompressedGradients.compress(value, _residuals, _compression, _compressionRatio));
+	}
+
 	@Override
 	public ListObject pull(int workerID) {
 		Timing tRpc = DMLScript.STATISTICS ? new Timing(true) : null;
@@ -27,6 +27,7 @@ import org.apache.spark.SparkConf;
 import org.apache.spark.api.java.function.VoidFunction;
 import org.apache.spark.util.LongAccumulator;
 import org.apache.sysds.parser.Statement;
+import org.apache.sysds.parser.Statement.PSCompression;
 import org.apache.sysds.runtime.codegen.CodegenUtils;
 import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcFactory;
 import org.apache.sysds.runtime.controlprogram.parfor.RemoteParForUtils;
@@ -53,8 +54,10 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 	private final LongAccumulator _aRPC; // accumulator for rpc request
 	private final LongAccumulator _nBatches; //number of executed batches
 	private final LongAccumulator _nEpochs; //number of executed epoches
+	private final PSCompression _compression; //compression of pushed gradients
+	private final double _compressionRatio;
 
-	public SparkPSWorker(String updFunc, String aggFunc, Statement.PSFrequency freq, int epochs, long batchSize, String program, HashMap<String, byte[]> clsMap, SparkConf conf, int port, LongAccumulator aSetup, LongAccumulator aWorker, LongAccumulator aUpdate, LongAccumulator aIndex, LongAccumulator aGrad, LongAccumulator aRPC, LongAccumulator aBatches, LongAccumulator aEpochs, int nbatches, boolean modelAvg) {
+	public SparkPSWorker(String updFunc, String aggFunc, Statement.PSFrequency freq, int epochs, long batchSize, String program, HashMap<String, byte[]> clsMap, SparkConf conf, int port, LongAccumulator aSetup, LongAccumulator aWorker, LongAccumulator aUpdate, LongAccumulator aIndex, LongAccumulator aGrad, LongAccumulator aRPC, LongAccumulator aBatches, LongAccumulator aEpochs, int nbatches, boolean modelAvg, PSCompression compression, double compressionRatio) {
 		_updFunc = updFunc;
 		_aggFunc = aggFunc;
 		_freq = freq;
@@ -74,6 +77,8 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 		_nEpochs = aEpochs;
 		_nbatches = nbatches;
 		_modelAvg = modelAvg;
+		_compression = compression;
+		_compressionRatio = compressionRatio;
 	}
 
 	@Override
@@ -108,7 +113,9 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 		RemoteParForUtils.setupBufferPool(_workerID);
 
 		// Create the ps proxy
-		_ps = PSRpcFactory.createSparkPSProxy(_conf, _port, _aRPC);
+		SparkPSProxy proxy = PSRpcFactory.createSparkPSProxy(_conf, _port, _aRPC);
+		proxy.setCompression(_compression, _compressionRatio);
+		_ps = proxy;
 
 		// Initialize the update function
 		setupUpdateFunction(_updFunc, _ec);
@@ -24,6 +24,7 @@ import java.nio.ByteBuffer;
 
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysds.runtime.controlprogram.paramserv.CompressedGradients;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
 import org.apache.sysds.runtime.util.ByteBufferDataInput;
 
@@ -32,6 +33,8 @@ public class PSRpcCall extends PSRpcObject {
 	private int _method;
 	private int _workerID;
 	private ListObject _data;
+	private CompressedGradients _compressed;
+	private long _uncompressedSize = -1;
 
 	public PSRpcCall(int method, int workerID, ListObject data) {
 		_method = method;
@@ -39,6 +42,12 @@ public class PSRpcCall extends PSRpcObject {
 		_data = data;
 	}
 
+	public PSRpcCall(int workerID, CompressedGradients compressed) {
+		_method = PUSH_COMPRESSED;
+		_workerID = workerID;
+		_compressed = compressed;
+	}
+
 	public PSRpcCall(ByteBuffer buffer) throws IOException {
 		deserialize(buffer);
 	}
@@ -54,6 +63,16 @@ public class PSRpcCall extends PSRpcObject {
 	public ListObject getData() {
 		return _data;
 	}
+
+	/**
+	 * Gets the dense size of the pushed gradients before compression,
+	 * which is only available for deserialized compressed pushes.
+	 *
+	 * @return uncompressed size in bytes (incl. method and worker id), or -1
+	 */
+	public long getUncompressedSize() {
+		return _uncompressedSize;
+	}
 	
 	@Override
 	public void deserialize(ByteBuffer buffer) throws IOException {
@@ -61,12 +80,27 @@ public class PSRpcCall extends PSRpcObject {
 		_method = dis.readInt();
 		validateMethod(_method);
 		_workerID = dis.readInt();
-		if (dis.available() > 1)
+		if (_method == PUSH_COMPRESSED) {
+			CompressedGradients compressed = CompressedGradients.read(dis);
+			_uncompressedSize = 8 + compressed.getUncompressedSize();
+			_data = compressed.decompress();
+		}
+		else if (dis.available() > 1)
 			_data = readAndDeserialize(dis);
 	}
 
 	@Override
 	public ByteBuffer serialize() throws IOException {
+		if (_compressed != null) {
+			long size = 8 + _compressed.getExactSerializedSize();
+			if( size > Integer.MAX_VALUE )
+				throw new DMLRuntimeException("Serialized size ("+size+") larger than Integer.MAX_VALUE.");
+			CacheDataOutput dos = new CacheDataOutput((int) size);
+			dos.writeInt(_method);
+			dos.writeInt(_workerID);
+			_compressed.write(dos);
+			return ByteBuffer.wrap(dos.getBytes());
+		}
 		int len = 8 + getExactSerializedSize(_data);
 		CacheDataOutput dos = new CacheDataOutput(len);
 		dos.writeInt(_method);
@@ -80,6 +114,7 @@ public class PSRpcCall extends PSRpcObject {
 		switch (method) {
 			case PUSH:
 			case PULL:
+			case PUSH_COMPRESSED:
 				break;
 			default:
 				throw new DMLRuntimeException("PSRpcCall: only support rpc method 'push' or 'pull'");
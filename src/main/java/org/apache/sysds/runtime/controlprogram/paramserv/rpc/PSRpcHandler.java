@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.controlprogram.paramserv.rpc;
 
 import static org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall.PULL;
 import static org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall.PUSH;
+import static org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall.PUSH_COMPRESSED;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -31,10 +32,12 @@ import org.apache.spark.network.client.TransportClient;
 import org.apache.spark.network.server.OneForOneStreamManager;
 import org.apache.spark.network.server.RpcHandler;
 import org.apache.spark.network.server.StreamManager;
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.paramserv.LocalParamServer;
 import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcResponse.Type;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.utils.Statistics;
 
 public final class PSRpcHandler extends RpcHandler {
 
@@ -47,6 +50,7 @@ public final class PSRpcHandler extends RpcHandler {
 	@Override
 	public void receive(TransportClient client, ByteBuffer buffer, RpcResponseCallback callback) {
 		PSRpcCall call;
+		int size = buffer.remaining();
 		try {
 			call = new PSRpcCall(buffer);
 		} catch (IOException e) {
@@ -55,6 +59,9 @@ public final class PSRpcHandler extends RpcHandler {
 		PSRpcResponse response = null;
 		switch (call.getMethod()) {
 			case PUSH:
+			case PUSH_COMPRESSED:
+				if (DMLScript.STATISTICS) //received vs uncompressed push volume
+					Statistics.accPSPushBytes(size, call.getMethod() == PUSH ? size : call.getUncompressedSize());
 				try {
 					_server.push(call.getWorkerID(), call.getData());
 					response = new PSRpcResponse(Type.SUCCESS_EMPTY);
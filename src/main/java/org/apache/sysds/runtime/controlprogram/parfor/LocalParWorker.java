@@ -26,6 +26,7 @@ import org.apache.sysds.conf.CompilerConfig;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Stat;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.StatisticMonitor;
@@ -92,6 +93,9 @@ public class LocalParWorker extends ParWorker implements Runnable
 		//setup compiler config for worker thread
 		ConfigurationManager.setLocalConfig(_cconf);
 		
+		//setup thread-local buffer pool partition
+		LazyWriteBuffer.createThreadLocalPartition(_workerID);
+		
 		// continuous execution (execute tasks until (1) stopped or (2) no more tasks)
 		Task lTask = null; 
 		try {
@@ -137,6 +141,9 @@ public class LocalParWorker extends ParWorker implements Runnable
 			}
 		}
 		finally {
+			//cleanup thread-local buffer pool partition (incl results)
+			LazyWriteBuffer.removeThreadLocalPartition();
+			
 			//cleanup fair scheduler pool for worker thread
 			if( OptimizerUtils.isSparkExecutionMode() && pool != -1 ) {
 				SparkExecutionContext sec = (SparkExecutionContext)_ec;
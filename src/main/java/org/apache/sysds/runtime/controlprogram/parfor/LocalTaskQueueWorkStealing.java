@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.parfor;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+
+/**
+ * This task queue provides work stealing for local parfor workers. Instead of a single
+ * shared FIFO queue, every worker owns a deque, which is filled round-robin with the tasks
+ * of the task partitioner (e.g., one static range per worker). A worker takes chunks of
+ * the given chunk size from the front of its own deque, and - once its own deque ran empty -
+ * steals from the back of another worker's deque, where a single remaining task is split
+ * and only its second half is stolen. Hence, workers only contend on their own deque lock
+ * (and the victim's lock on steals), while skewed iteration costs are balanced at the tail
+ * of the loop.
+ * 
+ * Workers access the queue via their individual views, see {@link #getWorkerQueue(int)}.
+ */
+public class LocalTaskQueueWorkStealing extends LocalTaskQueue<Task>
+{
+	private final ArrayDeque<Task>[] _deques;
+	private final long _chunkSize;
+	private final LongAdder _numSplits = new LongAdder();
+	private int _pos = 0; //next deque for round-robin enqueue
+	private volatile boolean _closedInput = false;
+	private volatile long _version = 0; //number of enqueued tasks
+
+	@SuppressWarnings("unchecked")
+	public LocalTaskQueueWorkStealing(int numWorkers, long chunkSize) {
+		_deques = new ArrayDeque[numWorkers];
+		for( int i=0; i<numWorkers; i++ )
+			_deques[i] = new ArrayDeque<>();
+		_chunkSize = Math.max(chunkSize, 1);
+	}
+
+	/**
+	 * Gets the task queue view of the given worker, whose dequeue operations
+	 * first consume the worker's own deque and then steal from other workers.
+	 * 
+	 * @param index worker index
+	 * @return task queue of the worker
+	 */
+	public LocalTaskQueue<Task> getWorkerQueue(int index) {
+		return new WorkerQueue(index);
+	}
+
+	/**
+	 * Gets the number of tasks created by splitting tasks on dequeue and steal,
+	 * in addition to the tasks of the task partitioner.
+	 * 
+	 * @return number of splits
+	 */
+	public long getNumSplits() {
+		return _numSplits.longValue();
+	}
+
+	/**
+	 * Inserts the task at the end of the next worker's deque (round-robin).
+	 * 
+	 * @param t task
+	 */
+	@Override
+	public synchronized void enqueueTask(Task t) {
+		ArrayDeque<Task> deque = _deques[_pos];
+		_pos = (_pos + 1) % _deques.length;
+		synchronized( deque ) {
+			deque.addLast(t);
+		}
+		_version++;
+		notifyAll(); //notify waiting workers
+	}
+
+	@Override
+	public Task dequeueTask() {
+		throw new DMLRuntimeException("Work-stealing task queue requires per-worker dequeue.");
+	}
+
+	@Override
+	public synchronized void closeInput() {
+		_closedInput = true;
+		notifyAll(); //notify all waiting workers
+	}
+
+	private Task dequeueTask(int index) 
+		throws InterruptedException
+	{
+		while( true ) {
+			long version = _version;
+			Task t = pollLocal(index);
+			if( t == null )
+				t = steal(index);
+			if( t != null )
+				return t;
+			//note: stolen work in transit between two deques might be missed,
+			//which is safe because the thief executes it after all
+			synchronized( this ) {
+				if( _closedInput )
+					return null; //NO_MORE_TASKS
+				if( version == _version )
+					wait(); //wait for writers
+			}
+		}
+	}
+
+	private Task pollLocal(int index) {
+		ArrayDeque<Task> deque = _deques[index];
+		synchronized( deque ) {
+			Task t = deque.peekFirst();
+			if( t == null || getNumIterations(t) <= _chunkSize )
+				return deque.pollFirst();
+			_numSplits.increment();
+			return splitFront(t, _chunkSize);
+		}
+	}
+
+	private Task steal(int index) {
+		Task stolen = null;
+		for( int i=1; i<_deques.length && stolen==null; i++ ) {
+			ArrayDeque<Task> deque = _deques[(index + i) % _deques.length];
+			synchronized( deque ) {
+				Task t = deque.peekLast();
+				if( t == null )
+					continue;
+				long n = getNumIterations(t);
+				if( deque.size() > 1 || n == 1 )
+					stolen = deque.pollLast();
+				else {
+					_numSplits.increment();
+					stolen = splitBack(t, n / 2);
+				}
+			}
+		}
+		if( stolen == null || getNumIterations(stolen) <= _chunkSize )
+			return stolen;
+		//keep the remainder of large stolen tasks stealable
+		synchronized( _deques[index] ) {
+			_deques[index].addFirst(stolen);
+		}
+		return pollLocal(index);
+	}
+
+	private static long getNumIterations(Task t) {
+		if( t.getType() == TaskType.SET )
+			return t.size();
+		List<IntObject> it = t.getIterations();
+		return (it.get(1).getLongValue() - it.get(0).getLongValue()) / it.get(2).getLongValue() + 1;
+	}
+
+	/**
+	 * Splits off the first n iterations of the given task into a new task.
+	 */
+	private static Task splitFront(Task t, long n) {
+		Task ret = new Task(t.getVarName(), t.getType());
+		List<IntObject> it = t.getIterations();
+		if( t.getType() == TaskType.SET ) {
+			for( long i=0; i<n; i++ )
+				ret.addIteration(it.remove(0));
+		}
+		else {
+			long from = it.get(0).getLongValue();
+			long incr = it.get(2).getLongValue();
+			ret.addIteration(new IntObject(from));
+			ret.addIteration(new IntObject(from + (n-1) * incr));
+			ret.addIteration(new IntObject(incr));
+			it.set(0, new IntObject(from + n * incr));
+		}
+		return ret;
+	}
+
+	/**
+	 * Splits off the last n iterations of the given task into a new task.
+	 */
+	private static Task splitBack(Task t, long n) {
+		Task ret = new Task(t.getVarName(), t.getType());
+		List<IntObject> it = t.getIterations();
+		if( t.getType() == TaskType.SET ) {
+			List<IntObject> tail = it.subList((int)(it.size() - n), it.size());
+			for( IntObject io : tail )
+				ret.addIteration(io);
+			tail.clear();
+		}
+		else {
+			long to = it.get(1).getLongValue();
+			long incr = it.get(2).getLongValue();
+			long from = it.get(0).getLongValue() + (getNumIterations(t) - n) * incr;
+			ret.addIteration(new IntObject(from));
+			ret.addIteration(new IntObject(to));
+			ret.addIteration(new IntObject(incr));
+			it.set(1, new IntObject(from - incr));
+		}
+		return ret;
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("WORK-STEALING TASK QUEUE (workers=");
+		sb.append(_deques.length);
+		sb.append(",close=");
+		sb.append(_closedInput);
+		sb.append(")\n");
+		for( int i=0; i<_deques.length; i++ ) {
+			synchronized( _deques[i] ) {
+				sb.append("  DEQUE #");
+				sb.append(i+1);
+				sb.append(": ");
+				sb.append(_deques[i].size());
+				sb.append(" tasks\n");
+			}
+		}
+		return sb.toString();
+	}
+
+	private class WorkerQueue extends LocalTaskQueue<Task>
+	{
+		private final int _index;
+
+		private WorkerQueue(int index) {
+			_index = index;
+		}
+
+		@Override
+		public void enqueueTask(Task t) {
+			LocalTaskQueueWorkStealing.this.enqueueTask(t);
+		}
+
+		@Override
+		public Task dequeueTask() throws InterruptedException {
+			return LocalTaskQueueWorkStealing.this.dequeueTask(_index);
+		}
+
+		@Override
+		public void closeInput() {
+			LocalTaskQueueWorkStealing.this.closeInput();
+		}
+
+		@Override
+		public String toString() {
+			return LocalTaskQueueWorkStealing.this.toString();
+		}
+	}
+}
@@ -19,9 +19,11 @@
 
 package org.apache.sysds.runtime.controlprogram.parfor;
 
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -29,6 +31,7 @@ import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.utils.Statistics;
 
 import java.util.ArrayList;
 
@@ -59,6 +62,9 @@ public class ResultMergeLocalMemory extends ResultMergeMatrix
 			LOG.trace("ResultMerge (local, in-memory): Execute serial merge for output "
 				+_output.hashCode()+" (fname="+_output.getFileName()+")");
 		
+		if( _output.getUpdateType() == UpdateType.INPLACE_SHARED )
+			return executeSharedMerge();
+		
 		try
 		{
 			//get old output matrix from cache for compare
@@ -147,6 +153,9 @@ public class ResultMergeLocalMemory extends ResultMergeMatrix
 			LOG.trace("ResultMerge (local, in-memory): Execute parallel (par="+par+") "
 				+ "merge for output "+_output.hashCode()+" (fname="+_output.getFileName()+")");
 		
+		if( _output.getUpdateType() == UpdateType.INPLACE_SHARED )
+			return executeSharedMerge();
+		
 		try
 		{
 			//get matrix blocks through caching 
@@ -215,6 +224,41 @@ public class ResultMergeLocalMemory extends ResultMergeMatrix
 		return moNew;
 	}
 
+	/**
+	 * Finalizes the output of a shared in-place update, where all workers directly
+	 * wrote their disjoint results into the shared output block. Hence, there is no
+	 * need to pull or compare the worker results, but only to recompute the number
+	 * of non-zeros (maintained without synchronization) and the representation.
+	 * 
+	 * @return new matrix object with the shared output block
+	 */
+	private MatrixObject executeSharedMerge() {
+		MatrixObject moNew = null;
+		long t0 = System.nanoTime();
+		try {
+			MatrixBlock outMB = _output.acquireRead();
+			for( MatrixObject in : _inputs ) {
+				//robustness for workers that replaced the shared block
+				if( in != null && in != _output && in.acquireReadAndRelease() != outMB )
+					throw new DMLRuntimeException("ResultMerge (local, in-memory): "
+						+ "Invalid worker result for shared in-place update.");
+			}
+			//replace nnz upper bound used during the parfor loop
+			outMB.recomputeNonZeros();
+			moNew = createNewMatrixObject( outMB );
+			_output.release();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//maintain statistics
+		if( DMLScript.STATISTICS )
+			Statistics.maintainCPHeavyHitters("ParFor-RMSH", System.nanoTime()-t0);
+		
+		return moNew;
+	}
+	
 	private static DenseBlock getCompareMatrix( MatrixBlock output ) {
 		//create compare matrix only if required
 		if( !output.isEmptyBlock(false) )
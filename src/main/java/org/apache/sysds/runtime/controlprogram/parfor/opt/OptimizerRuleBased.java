@@ -1347,6 +1347,13 @@ public class OptimizerRuleBased extends Optimizer {
 		{
 			setTaskPartitioner( pn, PTaskPartitioner.FACTORING_CMAX );
 		}
+		else if( pn.getExecType()==ExecType.CP 
+			&& PTaskPartitioner.WORK_STEALING.name().equals(pn.getParam(ParamType.TASK_PARTITIONER)) )
+		{
+			//keep user-specified work stealing for local parfor (not chosen by the
+			//optimizer itself), which already balances skewed iterations at runtime
+			setTaskPartitioner( pn, PTaskPartitioner.WORK_STEALING );
+		}
 		else if( pn.getExecType()==ExecType.SPARK && pn.hasOnlySimpleChilds() )
 		{
 			//for simple body programs without loops, branches, or function calls, we don't
@@ -1577,6 +1584,7 @@ public class OptimizerRuleBased extends Optimizer {
 		
 		//basic correctness constraint
 		double totalMem = -1;
+		boolean shared = false;
 		if( rHasOnlyInPlaceSafeLeftIndexing(pn, retVars) )
 		{
 			//compute total sum of pinned result variable memory 
@@ -1600,6 +1608,18 @@ public class OptimizerRuleBased extends Optimizer {
 			{ 
 				apply = true;
 			}
+			
+			//shared result update in-place for CP (w/ disjoint writes guaranteed by the
+			//loop dependency analysis), where all workers write into a single output block
+			if( pfpb.getExecMode() == PExecMode.LOCAL && pn.isCPOnly()
+				&& "1".equals(pfpb.getParForParam(ParForStatementBlock.CHECK))
+				&& !pn.hasNestedParallelism(false)
+				&& !retVars.stream().anyMatch(rvar -> rvar._isAccum)
+				&& M * pfpb.getDegreeOfParallelism() + computeTotalSizeDenseResultVariables(retVars, vars) < _lm )
+			{
+				apply = true;
+				shared = true;
+			}
 		}
 		
 		//modify result variable meta data, if rewrite applied
@@ -1610,13 +1630,14 @@ public class OptimizerRuleBased extends Optimizer {
 			for( ResultVar var : retVars ){
 				Data dat = vars.get(var._name);
 				if( dat instanceof MatrixObject )
-					((MatrixObject)dat).setUpdateType(UpdateType.INPLACE_PINNED);
+					((MatrixObject)dat).setUpdateType(shared ?
+						UpdateType.INPLACE_SHARED : UpdateType.INPLACE_PINNED);
 			}
 			inPlaceResultVars.addAll(retVars);
 		}
 		
 		LOG.debug(getOptMode()+" OPT: rewrite 'set in-place result indexing' - result="+
-			apply+" ("+Arrays.toString(inPlaceResultVars.toArray(new ResultVar[0]))+", M="+toMB(totalMem)+")" );
+			apply+" ("+Arrays.toString(inPlaceResultVars.toArray(new ResultVar[0]))+", M="+toMB(totalMem)+", shared="+shared+")" );
 	}
 	
 	protected boolean rHasOnlyInPlaceSafeLeftIndexing( OptNode n, ArrayList<ResultVar> retVars ) 
@@ -1636,6 +1657,17 @@ public class OptimizerRuleBased extends Optimizer {
 		return ret;
 	}
 
+	private static double computeTotalSizeDenseResultVariables(ArrayList<ResultVar> retVars, LocalVariableMap vars) {
+		double sum = 1;
+		for( ResultVar var : retVars ) {
+			Data dat = vars.get(var._name);
+			if( dat instanceof MatrixObject ) //single dense output block for all workers
+				sum += OptimizerUtils.estimateSizeExactSparsity(((MatrixObject)dat).getNumRows(),
+					((MatrixObject)dat).getNumColumns(), 1.0);
+		}
+		return sum;
+	}
+
 	private static double computeTotalSizeResultVariables(ArrayList<ResultVar> retVars, LocalVariableMap vars, int k) {
 		double sum = 1;
 		for( ResultVar var : retVars ) {
@@ -111,8 +111,10 @@ public final class MatrixIndexingCPInstruction extends IndexingCPInstruction {
 			ec.releaseMatrixInput(input1.getName());
 			
 			//ensure correct sparse/dense output representation
-			//(memory guarded by release of input)
-			resultBlock.examSparsity();
+			//(memory guarded by release of input, but not for shared
+			//blocks whose representation is fixed until result merge)
+			if( updateType != UpdateType.INPLACE_SHARED )
+				resultBlock.examSparsity();
 			
 			//unpin output
 			ec.setMatrixOutput(output.getName(), resultBlock, updateType);
@@ -25,8 +25,10 @@ import java.util.List;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.lineage.LineageItem;
@@ -36,6 +38,7 @@ import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 import org.apache.sysds.runtime.transform.encode.EncoderFactory;
 import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.StreamingEncode;
 
 public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPInstruction {
 	protected final ArrayList<CPOperand> _outputs;
@@ -79,6 +82,25 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 
 	@Override
 	public void processInstruction(ExecutionContext ec) {
+		// streaming encode of frames on disk w/o pinning the input frame
+		FrameObject fo = ec.getFrameObject(input1);
+		if(ConfigurationManager.isStreamingTransformEncode() && StreamingEncode.isSupported(fo)) {
+			String spec = ec.getScalarInput(input2).getStringValue();
+			String[] colnames = StreamingEncode.readColumnNames(fo.getFileName());
+			int clen = (int) fo.getNumColumns();
+			MultiColumnEncoder encoder = EncoderFactory.createEncoder(spec, colnames, fo.getSchema(), clen, null);
+			if(StreamingEncode.isSupported(encoder)) {
+				MatrixBlock data = StreamingEncode.encode(encoder, fo.getFileName(), fo.getNumRows(), clen,
+					OptimizerUtils.getTransformNumThreads());
+				FrameBlock meta = encoder.getMetaData(new FrameBlock(clen, ValueType.STRING),
+					OptimizerUtils.getTransformNumThreads());
+				meta.setColumnNames(colnames);
+				ec.setMatrixOutput(getOutput(0).getName(), data);
+				ec.setFrameOutput(getOutput(1).getName(), meta);
+				return;
+			}
+		}
+
 		// obtain and pin input frame
 		FrameBlock fin = ec.getFrameInput(input1.getName());
 		String spec = ec.getScalarInput(input2).getStringValue();
@@ -87,7 +109,8 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 		// execute block transform encode
 		MultiColumnEncoder encoder = EncoderFactory.createEncoder(spec, colnames, fin.getNumColumns(), null);
 		// TODO: Assign #threads in compiler and pass via the instruction string
-		MatrixBlock data = encoder.encode(fin, OptimizerUtils.getTransformNumThreads()); // build and apply
+		MatrixBlock data = encoder.encode(fin, OptimizerUtils.getTransformNumThreads(),
+			ConfigurationManager.isCompressedTransformEncode()); // build and apply
 		FrameBlock meta = encoder.getMetaData(new FrameBlock(fin.getNumColumns(), ValueType.STRING), 
 				OptimizerUtils.getTransformNumThreads());
 		meta.setColumnNames(colnames);
@@ -21,6 +21,8 @@ package org.apache.sysds.runtime.instructions.cp;
 
 import static org.apache.sysds.parser.Statement.PS_AGGREGATION_FUN;
 import static org.apache.sysds.parser.Statement.PS_BATCH_SIZE;
+import static org.apache.sysds.parser.Statement.PS_COMPRESSION;
+import static org.apache.sysds.parser.Statement.PS_COMPRESSION_RATIO;
 import static org.apache.sysds.parser.Statement.PS_EPOCHS;
 import static org.apache.sysds.parser.Statement.PS_FEATURES;
 import static org.apache.sysds.parser.Statement.PS_FED_RUNTIME_BALANCING;
@@ -35,6 +37,7 @@ import static org.apache.sysds.parser.Statement.PS_NBATCHES;
 import static org.apache.sysds.parser.Statement.PS_PARALLELISM;
 import static org.apache.sysds.parser.Statement.PS_SCHEME;
 import static org.apache.sysds.parser.Statement.PS_SEED;
+import static org.apache.sysds.parser.Statement.PS_STALENESS;
 import static org.apache.sysds.parser.Statement.PS_UPDATE_FUN;
 import static org.apache.sysds.parser.Statement.PS_UPDATE_TYPE;
 import static org.apache.sysds.parser.Statement.PS_VAL_FEATURES;
@@ -62,6 +65,7 @@ import org.apache.sysds.common.Types.ExecType;
 import org.apache.sysds.hops.recompile.Recompiler;
 import org.apache.sysds.parser.Statement.FederatedPSScheme;
 import org.apache.sysds.parser.Statement.PSFrequency;
+import org.apache.sysds.parser.Statement.PSCompression;
 import org.apache.sysds.parser.Statement.PSModeType;
 import org.apache.sysds.parser.Statement.PSRuntimeBalancing;
 import org.apache.sysds.parser.Statement.PSScheme;
@@ -102,6 +106,9 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 	private static final PSUpdateType DEFAULT_TYPE = PSUpdateType.ASP;
 	public static final int DEFAULT_NBATCHES = 1;
 	private static final Boolean DEFAULT_MODELAVG = false;
+	private static final int DEFAULT_STALENESS = 1;
+	private static final PSCompression DEFAULT_COMPRESSION = PSCompression.NONE;
+	private static final double DEFAULT_COMPRESSION_RATIO = 0.01;
 
 	public ParamservBuiltinCPInstruction(Operator op, LinkedHashMap<String, String> paramsMap, CPOperand out, String opcode, String istr) {
 		super(op, paramsMap, out, opcode, istr);
@@ -148,14 +155,20 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		boolean weighting = getWeighting();
 		int seed = getSeed();
 		int nbatches = getNbatches();
+		int staleness = getStaleness();
+		PSCompression compression = getCompression();
+		double compressionRatio = getCompressionRatio();
 
 		if( LOG.isInfoEnabled() ) {
 			LOG.info("[+] Update Type: " + updateType);
+			if (updateType == PSUpdateType.SSP)
+				LOG.info("[+] Staleness: " + staleness);
 			LOG.info("[+] Frequency: " + freq);
 			LOG.info("[+] Data Partitioning: " + federatedPSScheme);
 			LOG.info("[+] Runtime Balancing: " + runtimeBalancing);
 			LOG.info("[+] Weighting: " + weighting);
 			LOG.info("[+] Seed: " + seed);
+			LOG.info("[+] Gradient Compression: " + compression);
 		}
 		if (tSetup != null)
 			Statistics.accPSSetupTime((long) tSetup.stop());
@@ -189,12 +202,13 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		MatrixObject val_labels = (getParam(PS_VAL_LABELS) != null) ? ec.getMatrixObject(getParam(PS_VAL_LABELS)) : null;
 		boolean modelAvg = Boolean.parseBoolean(getParam(PS_MODELAVG));
 		ParamServer ps = createPS(PSModeType.FEDERATED, aggFunc, updateType, freq, workerNum, model, aggServiceEC, getValFunction(),
-			getNumBatchesPerEpoch(runtimeBalancing, result._balanceMetrics), val_features, val_labels, nbatches, modelAvg);
+			getNumBatchesPerEpoch(runtimeBalancing, result._balanceMetrics), val_features, val_labels, nbatches, modelAvg, staleness);
 		// Create the local workers
 		int finalNumBatchesPerEpoch = getNumBatchesPerEpoch(runtimeBalancing, result._balanceMetrics);
 		List<FederatedPSControlThread> threads = IntStream.range(0, workerNum)
 			.mapToObj(i -> new FederatedPSControlThread(i, updFunc, freq, runtimeBalancing, weighting,
-				getEpochs(), getBatchSize(), finalNumBatchesPerEpoch, federatedWorkerECs.get(i), ps, nbatches, modelAvg))
+				getEpochs(), getBatchSize(), finalNumBatchesPerEpoch, federatedWorkerECs.get(i), ps, nbatches, modelAvg,
+				compression, compressionRatio))
 			.collect(Collectors.toList());
 		if(workerNum != threads.size()) {
 			throw new DMLRuntimeException("ParamservBuiltinCPInstruction: Federated data partitioning does not match threads!");
@@ -214,8 +228,10 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 				ret.get(); //error handling
 			// Fetch the final model from ps
 			ec.setVariable(output.getName(), ps.getResult());
-			if (DMLScript.STATISTICS)
+			if (DMLScript.STATISTICS) {
 				Statistics.accPSExecutionTime((long) Statistics.getPSExecutionTimer().stop());
+				Statistics.accPSPushEpochs(getEpochs());
+			}
 		} catch (InterruptedException | ExecutionException e) {
 			throw new DMLRuntimeException("ParamservBuiltinCPInstruction: unknown error: ", e);
 		} finally {
@@ -226,6 +242,10 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 	private void runOnSpark(SparkExecutionContext sec, PSModeType mode) {
 		Timing tSetup = DMLScript.STATISTICS ? new Timing(true) : null;
 
+		// remote workers cannot signal their completion to the ps, which SSP relies on
+		if (getUpdateType() == PSUpdateType.SSP)
+			throw new DMLRuntimeException(String.format("Paramserv function: not support update type SSP in mode %s.", mode));
+
 		int workerNum = getWorkerNum(mode);
 		String updFunc = getParam(PS_UPDATE_FUN);
 		String aggFunc = getParam(PS_AGGREGATION_FUN);
@@ -272,7 +292,8 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		// Create remote workers
 		SparkPSWorker worker = new SparkPSWorker(getParam(PS_UPDATE_FUN), getParam(PS_AGGREGATION_FUN),
 			getFrequency(), getEpochs(), getBatchSize(), program, clsMap, sec.getSparkContext().getConf(),
-			server.getPort(), aSetup, aWorker, aUpdate, aIndex, aGrad, aRPC, aBatch, aEpoch, nbatches, modelAvg);
+			server.getPort(), aSetup, aWorker, aUpdate, aIndex, aGrad, aRPC, aBatch, aEpoch, nbatches, modelAvg,
+			getCompression(), getCompressionRatio());
 
 		if (DMLScript.STATISTICS)
 			Statistics.accPSSetupTime((long) tSetup.stop());
@@ -296,6 +317,7 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 			Statistics.accPSBatchIndexingTime(aIndex.value());
 			Statistics.accPSGradientComputeTime(aGrad.value());
 			Statistics.accPSRpcRequestTime(aRPC.value());
+			Statistics.accPSPushEpochs(getEpochs());
 		}
 
 		// Fetch the final model from ps
@@ -337,7 +359,7 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		MatrixObject val_labels = (getParam(PS_VAL_LABELS) != null) ? ec.getMatrixObject(getParam(PS_VAL_LABELS)) : null;
 		boolean modelAvg = getModelAvg();
 		ParamServer ps = createPS(mode, aggFunc, updateType, freq, workerNum, model, aggServiceEC,
-			getValFunction(), num_batches_per_epoch, val_features, val_labels, nbatches, modelAvg);
+			getValFunction(), num_batches_per_epoch, val_features, val_labels, nbatches, modelAvg, getStaleness());
 
 		// Create the local workers
 		List<LocalPSWorker> workers = IntStream.range(0, workerNum)
@@ -420,8 +442,6 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		} catch (IllegalArgumentException e) {
 			throw new DMLRuntimeException(String.format("Paramserv function: not support update type '%s'.", getParam(PS_UPDATE_TYPE)));
 		}
-		if (updType == PSUpdateType.SSP)
-			throw new DMLRuntimeException("Paramserv function: Not support update type SSP.");
 		return updType;
 	}
 
@@ -480,19 +500,20 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 	private static ParamServer createPS(PSModeType mode, String aggFunc, PSUpdateType updateType,
 		PSFrequency freq, int workerNum, ListObject model, ExecutionContext ec, int nbatches, boolean modelAvg)
 	{
-		return createPS(mode, aggFunc, updateType, freq, workerNum, model, ec, null, -1, null, null, nbatches, modelAvg);
+		return createPS(mode, aggFunc, updateType, freq, workerNum, model, ec, null, -1, null, null, nbatches, modelAvg, DEFAULT_STALENESS);
 	}
 
 	// When this creation is used the parameter server is able to validate after each epoch
 	private static ParamServer createPS(PSModeType mode, String aggFunc, PSUpdateType updateType,
 		PSFrequency freq, int workerNum, ListObject model, ExecutionContext ec, String valFunc,
-		int numBatchesPerEpoch, MatrixObject valFeatures, MatrixObject valLabels, int nbatches, boolean modelAvg)
+		int numBatchesPerEpoch, MatrixObject valFeatures, MatrixObject valLabels, int nbatches, boolean modelAvg,
+		int staleness)
 	{
 		switch (mode) {
 			case FEDERATED:
 			case LOCAL:
 			case REMOTE_SPARK:
-				return LocalParamServer.create(model, aggFunc, updateType, freq, ec, workerNum, valFunc, numBatchesPerEpoch, valFeatures, valLabels, nbatches, modelAvg);
+				return LocalParamServer.create(model, aggFunc, updateType, freq, ec, workerNum, valFunc, numBatchesPerEpoch, valFeatures, valLabels, nbatches, modelAvg, staleness);
 			default:
 				throw new DMLRuntimeException("Unsupported parameter server: " + mode.name());
 		}
@@ -613,4 +634,41 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		}
 		return Integer.parseInt(getParam(PS_NBATCHES));
 	}
+
+	private PSCompression getCompression() {
+		if(!getParameterMap().containsKey(PS_COMPRESSION))
+			return DEFAULT_COMPRESSION;
+		PSCompression compression;
+		try {
+			compression = PSCompression.valueOf(getParam(PS_COMPRESSION));
+		} catch (IllegalArgumentException e) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "not support '%s' gradient compression.", getParam(PS_COMPRESSION)));
+		}
+		if(compression != PSCompression.NONE && getModelAvg())
+			throw new DMLRuntimeException("Paramserv function: gradient compression is not supported with model averaging.");
+		return compression;
+	}
+
+	private double getCompressionRatio() {
+		if(!getParameterMap().containsKey(PS_COMPRESSION_RATIO))
+			return DEFAULT_COMPRESSION_RATIO;
+		double ratio = Double.parseDouble(getParam(PS_COMPRESSION_RATIO));
+		if(ratio <= 0 || ratio > 1) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "The argument '%s' must be in (0, 1].", PS_COMPRESSION_RATIO));
+		}
+		return ratio;
+	}
+
+	private int getStaleness() {
+		if(!getParameterMap().containsKey(PS_STALENESS))
+			return DEFAULT_STALENESS;
+		int staleness = Integer.parseInt(getParam(PS_STALENESS));
+		if(staleness < 0) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "The argument '%s' could not be less than 0.", PS_STALENESS));
+		}
+		return staleness;
+	}
 }
@@ -51,6 +51,7 @@ import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.io.FileFormatProperties;
 import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
 import org.apache.sysds.runtime.io.FileFormatPropertiesLIBSVM;
+import org.apache.sysds.runtime.io.FileFormatPropertiesColumnar;
 import org.apache.sysds.runtime.io.FileFormatPropertiesHDF5;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.io.ListReader;
@@ -374,6 +375,11 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				if(parts.length < 11 + extSchema)
 					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
 			}
+			else if(fmt.equalsIgnoreCase("columnar")) {
+				// 14 inputs: createvar corresponding to WRITE/READ -- includes properties select, rl, and ru
+				if(parts.length != 14 + extSchema)
+					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
+			}
 			else {
 				if ( parts.length != 6 && parts.length != 11+extSchema )
 					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
@@ -475,6 +481,16 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
 					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
 			}
+			else if(fmt.equalsIgnoreCase("columnar")) {
+				// 14 inputs: createvar corresponding to WRITE/READ -- includes properties select, rl, and ru
+				int curPos = 11;
+				String select = parts[curPos].equals("*") ? null : parts[curPos];
+				FileFormatProperties fmtProperties = new FileFormatPropertiesColumnar(select,
+					Long.parseLong(parts[curPos + 1]), Long.parseLong(parts[curPos + 2]));
+
+				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
+					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
+			}
 			else {
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable, in1, in2, in3, iimd, updateType, schema, opcode, str);
 			}
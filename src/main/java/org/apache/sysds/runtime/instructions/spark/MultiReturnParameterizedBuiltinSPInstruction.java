@@ -265,6 +265,8 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 				double[] colMins = _encoder.getFromAllDoubleArray(ColumnEncoderBin.class, ColumnEncoderBin::getColMins);
 				double[] colMaxs = _encoder.getFromAllDoubleArray(ColumnEncoderBin.class, ColumnEncoderBin::getColMaxs);
 				for(int j = 0; j < colIDs.length; j++) {
+					if(colMins[j] > colMaxs[j])
+						continue; // no values in partition
 					ret.add(new Tuple2<>(colIDs[j], String.valueOf(colMins[j])));
 					ret.add(new Tuple2<>(colIDs[j], String.valueOf(colMaxs[j])));
 				}
@@ -0,0 +1,426 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+
+import org.apache.hadoop.io.Text;
+import org.apache.sysds.common.Types.ValueType;
+
+/**
+ * Allocation-free tokenizer of delimited text lines, which scans the raw (UTF-8)
+ * bytes of a line, records the trimmed token boundaries in reused arrays, and parses
+ * numeric tokens in place. Strings are only created for string values, unusual
+ * number formats (via the fallback to the Java parsers), and error messages.
+ *
+ * The tokenization is equivalent to trimming the line and splitting it via
+ * {@link IOUtilFunctions#split(String, String)} (or with quote handling via
+ * {@link IOUtilFunctions#splitCSV(String, String)}), followed by trimming the
+ * individual tokens.
+ */
+public class CSVTokenizer
+{
+	private static final byte QUOTE = '"';
+	private static final int MAX_FAST_DIGITS = 18; //fits into long
+	private static final double[] POW10 = new double[23];
+	static {
+		//exact powers of ten (1e0 to 1e22) for correctly rounded fast path
+		POW10[0] = 1;
+		for( int i=1; i<POW10.length; i++ )
+			POW10[i] = POW10[i-1] * 10;
+	}
+
+	private final byte[] _delim;
+	private final boolean _quotes;
+	private final byte[][] _naStrings;
+
+	//current line and token boundaries
+	private byte[] _buf;
+	private int _start;
+	private int _end;
+	private int _ntokens;
+	private int[] _tstart = new int[16];
+	private int[] _tend = new int[16];
+
+	/**
+	 * Creates a tokenizer for the given delimiter and NA strings.
+	 *
+	 * @param delim delimiter (one or more characters)
+	 * @param quotes if true, handle quoted tokens according to RFC4180
+	 * @param naStrings strings to interpret as NA (NaN), or null
+	 */
+	public CSVTokenizer(String delim, boolean quotes, Set<String> naStrings) {
+		_delim = delim.getBytes(StandardCharsets.UTF_8);
+		_quotes = quotes;
+		_naStrings = (naStrings == null) ? null : naStrings.stream()
+			.map(s -> s.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+	}
+
+	/**
+	 * Splits the given line into tokens.
+	 *
+	 * @param line text line
+	 * @return number of tokens
+	 */
+	public int tokenize(Text line) {
+		return tokenize(line.getBytes(), 0, line.getLength());
+	}
+
+	/**
+	 * Splits the given byte range into tokens.
+	 *
+	 * @param buf byte buffer
+	 * @param off offset of the line
+	 * @param len length of the line
+	 * @return number of tokens
+	 */
+	public int tokenize(byte[] buf, int off, int len) {
+		_buf = buf;
+		_start = trimStart(buf, off, off+len);
+		_end = trimEnd(buf, _start, off+len);
+		_ntokens = 0;
+		if( _start == _end ) {
+			//split of empty line returns no tokens, quote-aware split one empty token
+			if( _quotes )
+				addToken(_start, _end);
+			return _ntokens;
+		}
+		if( _quotes )
+			tokenizeQuoted();
+		else
+			tokenizeUnquoted();
+		return _ntokens;
+	}
+
+	public int getNumTokens() {
+		return _ntokens;
+	}
+
+	/**
+	 * Indicates if the given token is empty (after trimming).
+	 *
+	 * @param i token index
+	 * @return true if empty
+	 */
+	public boolean isEmpty(int i) {
+		return _tstart[i] == _tend[i];
+	}
+
+	/**
+	 * Indicates if the given token matches one of the NA strings.
+	 *
+	 * @param i token index
+	 * @return true if NA string
+	 */
+	public boolean isNA(int i) {
+		if( _naStrings == null )
+			return false;
+		for( byte[] na : _naStrings )
+			if( equals(i, na) )
+				return true;
+		return false;
+	}
+
+	/**
+	 * Indicates if the given token is equal to the given (UTF-8) bytes.
+	 *
+	 * @param i token index
+	 * @param str bytes of the string to compare with
+	 * @return true if equal
+	 */
+	public boolean equals(int i, byte[] str) {
+		int pos = _tstart[i], len = _tend[i] - pos;
+		return len == str.length
+			&& Arrays.equals(_buf, pos, pos+len, str, 0, len);
+	}
+
+	/**
+	 * Parses the given token as double, with NA strings mapped to NaN
+	 * (equivalent to {@code UtilFunctions.parseToDouble}).
+	 *
+	 * @param i token index
+	 * @return double value
+	 */
+	public double parseDoubleNA(int i) {
+		return isNA(i) ? Double.NaN : parseDouble(i);
+	}
+
+	/**
+	 * Parses the given token as double (equivalent to {@link Double#parseDouble(String)}).
+	 * Decimal numbers of up to 18 significant digits and exponents within [-22,22] are
+	 * parsed in place with a single correctly rounded operation, while all other
+	 * formats fall back to the Java parser.
+	 *
+	 * @param i token index
+	 * @return double value
+	 */
+	public double parseDouble(int i) {
+		final byte[] b = _buf;
+		final int end = _tend[i];
+		int pos = _tstart[i];
+		boolean neg = false;
+		if( pos < end && (b[pos] == '-' || b[pos] == '+') )
+			neg = (b[pos++] == '-');
+
+		//parse mantissa digits (integer and fraction)
+		long mant = 0;
+		int sig = 0, exp = 0;
+		boolean digits = false;
+		for( ; pos < end; pos++ ) {
+			int d = b[pos] - '0';
+			if( d < 0 || d > 9 ) break;
+			mant = mant * 10 + d;
+			sig += (mant != 0) ? 1 : 0;
+			digits = true;
+		}
+		if( pos < end && b[pos] == '.' ) {
+			for( pos++; pos < end; pos++ ) {
+				int d = b[pos] - '0';
+				if( d < 0 || d > 9 ) break;
+				mant = mant * 10 + d;
+				sig += (mant != 0) ? 1 : 0;
+				exp--;
+				digits = true;
+			}
+		}
+		if( !digits || sig > MAX_FAST_DIGITS )
+			return parseDoubleSlow(i);
+
+		//parse exponent
+		if( pos < end && (b[pos] == 'e' || b[pos] == 'E') ) {
+			pos++;
+			boolean eneg = false;
+			if( pos < end && (b[pos] == '-' || b[pos] == '+') )
+				eneg = (b[pos++] == '-');
+			int e = 0;
+			boolean edigits = false;
+			for( ; pos < end; pos++ ) {
+				int d = b[pos] - '0';
+				if( d < 0 || d > 9 ) break;
+				e = Math.min(e * 10 + d, 100000);
+				edigits = true;
+			}
+			if( !edigits )
+				return parseDoubleSlow(i);
+			exp += eneg ? -e : e;
+		}
+		if( pos != end ) //e.g., NaN, Infinity, hex, type suffixes
+			return parseDoubleSlow(i);
+
+		//exact mantissa and power of ten, single rounding
+		if( mant == 0 )
+			return neg ? -0d : 0d;
+		if( mant < (1L << 53) && exp >= -22 && exp <= 22 ) {
+			double v = (exp < 0) ? mant / POW10[-exp] : mant * POW10[exp];
+			return neg ? -v : v;
+		}
+		return parseDoubleSlow(i);
+	}
+
+	/**
+	 * Parses the given token as long (equivalent to {@link Long#parseLong(String)}).
+	 *
+	 * @param i token index
+	 * @return long value
+	 */
+	public long parseLong(int i) {
+		final byte[] b = _buf;
+		final int end = _tend[i];
+		int pos = _tstart[i];
+		boolean neg = false;
+		if( pos < end && (b[pos] == '-' || b[pos] == '+') )
+			neg = (b[pos++] == '-');
+		if( pos == end || end - pos > MAX_FAST_DIGITS )
+			return Long.parseLong(getString(i));
+		long ret = 0;
+		for( ; pos < end; pos++ ) {
+			int d = b[pos] - '0';
+			if( d < 0 || d > 9 )
+				return Long.parseLong(getString(i));
+			ret = ret * 10 + d;
+		}
+		return neg ? -ret : ret;
+	}
+
+	/**
+	 * Parses the given token as int (equivalent to {@link Integer#parseInt(String)}).
+	 *
+	 * @param i token index
+	 * @return int value
+	 */
+	public int parseInt(int i) {
+		long ret = parseLong(i);
+		if( ret < Integer.MIN_VALUE || ret > Integer.MAX_VALUE )
+			return Integer.parseInt(getString(i));
+		return (int) ret;
+	}
+
+	/**
+	 * Parses the given token as boolean (equivalent to {@link Boolean#parseBoolean(String)}).
+	 *
+	 * @param i token index
+	 * @return boolean value
+	 */
+	public boolean parseBoolean(int i) {
+		int pos = _tstart[i];
+		return _tend[i] - pos == 4
+			&& (_buf[pos] | 0x20) == 't' && (_buf[pos+1] | 0x20) == 'r'
+			&& (_buf[pos+2] | 0x20) == 'u' && (_buf[pos+3] | 0x20) == 'e';
+	}
+
+	/**
+	 * Parses the given token into an object of the given value type
+	 * (equivalent to {@code UtilFunctions.stringToObject}).
+	 *
+	 * @param i token index
+	 * @param vt value type
+	 * @return object of value type
+	 */
+	public Object parseToObject(int i, ValueType vt) {
+		switch( vt ) {
+			case STRING:  return getString(i);
+			case BOOLEAN: return parseBoolean(i);
+			case INT32:   return parseInt(i);
+			case INT64:   return parseLong(i);
+			case FP64:    return parseDouble(i);
+			case FP32:    return Float.parseFloat(getString(i));
+			default: throw new RuntimeException("Unsupported value type: "+vt);
+		}
+	}
+
+	/**
+	 * Gets the given (trimmed) token as string.
+	 *
+	 * @param i token index
+	 * @return string
+	 */
+	public String getString(int i) {
+		return new String(_buf, _tstart[i], _tend[i]-_tstart[i], StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Gets the current (trimmed) line as string, e.g., for error messages.
+	 *
+	 * @return string
+	 */
+	public String getLine() {
+		return new String(_buf, _start, _end-_start, StandardCharsets.UTF_8);
+	}
+
+	private double parseDoubleSlow(int i) {
+		return Double.parseDouble(getString(i));
+	}
+
+	private void tokenizeUnquoted() {
+		//split by whole delimiter, preserving all tokens
+		int from = 0;
+		while( true ) {
+			int to = indexOfDelim(from);
+			if( to < 0 ) {
+				addToken(_start+from, _end);
+				return;
+			}
+			addToken(_start+from, _start+to);
+			from = to + _delim.length;
+		}
+	}
+
+	private void tokenizeQuoted() {
+		//note: same special case handling as IOUtilFunctions.splitCSV,
+		//with positions relative to the line start (as in the trimmed string)
+		final byte[] b = _buf;
+		final int off = _start;
+		final int len = _end - _start;
+		int from = 0, to = 0;
+		while( from < len ) {
+			if( b[off+from] == QUOTE && indexOf(QUOTE, from+1) > 0 ) {
+				to = indexOf(QUOTE, from+1);
+				//handle escaped inner quotes, e.g. "aa""a"
+				while( to+1 < len && b[off+to+1] == QUOTE )
+					to = indexOf(QUOTE, to+2);
+				to += 1;
+				//handle remaining non-quoted characters "aa"a
+				if( to < len-1 && !matchesDelim(to) )
+					to = indexOfDelim(to+1);
+			}
+			else if( matchesDelim(from) )
+				to = from; //empty string
+			else //default: unquoted non-empty
+				to = indexOfDelim(from+1);
+			to = (to >= 0) ? to : len;
+			addToken(off+from, off+to);
+			from = to + _delim.length;
+		}
+		//handle empty string at end
+		if( from == len )
+			addToken(_end, _end);
+	}
+
+	private void addToken(int from, int to) {
+		if( _ntokens == _tstart.length ) {
+			_tstart = Arrays.copyOf(_tstart, 2 * _ntokens);
+			_tend = Arrays.copyOf(_tend, 2 * _ntokens);
+		}
+		int start = trimStart(_buf, from, to);
+		_tstart[_ntokens] = start;
+		_tend[_ntokens] = trimEnd(_buf, start, to);
+		_ntokens++;
+	}
+
+	private int indexOf(byte c, int from) {
+		//note: all positions relative to the line start
+		for( int i=Math.max(from, 0); i<_end-_start; i++ )
+			if( _buf[_start+i] == c )
+				return i;
+		return -1;
+	}
+
+	private int indexOfDelim(int from) {
+		final byte d0 = _delim[0];
+		for( int i=Math.max(from, 0); i<=_end-_start-_delim.length; i++ )
+			if( _buf[_start+i] == d0 && matchesDelim(i) )
+				return i;
+		return -1;
+	}
+
+	private boolean matchesDelim(int pos) {
+		if( pos < 0 || _start + pos + _delim.length > _end )
+			return false;
+		for( int j=0; j<_delim.length; j++ )
+			if( _buf[_start+pos+j] != _delim[j] )
+				return false;
+		return true;
+	}
+
+	private static int trimStart(byte[] buf, int from, int to) {
+		//consistent with String.trim (all ASCII control chars and space)
+		while( from < to && (buf[from] & 0xff) <= ' ' )
+			from++;
+		return from;
+	}
+
+	private static int trimEnd(byte[] buf, int from, int to) {
+		while( to > from && (buf[to-1] & 0xff) <= ' ' )
+			to--;
+		return to;
+	}
+}
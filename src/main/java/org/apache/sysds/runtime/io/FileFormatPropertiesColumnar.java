@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+
+/**
+ * Properties of the columnar frame format, which include the row group size
+ * for writing as well as the column projection, row range, and an optional
+ * value-range predicate that are pushed into the scan on reading.
+ */
+public class FileFormatPropertiesColumnar extends FileFormatProperties implements Serializable {
+	private static final long serialVersionUID = -2870393360885401604L;
+
+	public static final int DEFAULT_ROW_GROUP_SIZE = 64 * 1024;
+
+	private int _rowGroupSize = DEFAULT_ROW_GROUP_SIZE;
+	private int[] _columns = null; //0-based, null for all columns
+	private long _rl = -1; //0-based, inclusive
+	private long _ru = -1; //0-based, exclusive
+	private int _predCol = -1; //0-based, -1 for no predicate
+	private double _predLow = Double.NEGATIVE_INFINITY;
+	private double _predHigh = Double.POSITIVE_INFINITY;
+
+	public FileFormatPropertiesColumnar() {
+		super();
+	}
+
+	public FileFormatPropertiesColumnar(int rowGroupSize) {
+		if( rowGroupSize <= 0 )
+			throw new DMLRuntimeException("Invalid row group size: " + rowGroupSize);
+		_rowGroupSize = rowGroupSize;
+	}
+
+	/**
+	 * Creates the properties of a projected read as specified in read statements.
+	 *
+	 * @param select comma-separated list of 1-based column indexes, empty for all columns
+	 * @param rl     1-based lower row index (inclusive), or -1 for the first row
+	 * @param ru     1-based upper row index (inclusive), or -1 for the last row
+	 */
+	public FileFormatPropertiesColumnar(String select, long rl, long ru) {
+		if( select != null && !select.trim().isEmpty() )
+			setProjection(Arrays.stream(select.split(","))
+				.mapToInt(c -> Integer.parseInt(c.trim()) - 1).toArray());
+		if( rl > 0 || ru > 0 )
+			setRowRange(Math.max(rl, 1) - 1, (ru > 0) ? ru : -1);
+	}
+
+	public int getRowGroupSize() {
+		return _rowGroupSize;
+	}
+
+	public int[] getProjection() {
+		return _columns;
+	}
+
+	/**
+	 * Sets the column projection, i.e., the columns to read in the given order.
+	 *
+	 * @param columns 0-based column indexes, or null for all columns
+	 */
+	public void setProjection(int[] columns) {
+		if( columns != null )
+			for( int c : columns )
+				if( c < 0 )
+					throw new DMLRuntimeException("Invalid projected column index: " + (c + 1));
+		_columns = columns;
+	}
+
+	public long getRowLower() {
+		return _rl;
+	}
+
+	public long getRowUpper() {
+		return _ru;
+	}
+
+	/**
+	 * Sets the range of rows to read.
+	 *
+	 * @param rl 0-based lower row index (inclusive)
+	 * @param ru 0-based upper row index (exclusive), or -1 for all remaining rows
+	 */
+	public void setRowRange(long rl, long ru) {
+		if( rl < 0 || (ru >= 0 && ru < rl) )
+			throw new DMLRuntimeException("Invalid row range: [" + rl + ", " + ru + ")");
+		_rl = rl;
+		_ru = ru;
+	}
+
+	public boolean hasPredicate() {
+		return _predCol >= 0;
+	}
+
+	public int getPredicateColumn() {
+		return _predCol;
+	}
+
+	public double getPredicateLow() {
+		return _predLow;
+	}
+
+	public double getPredicateHigh() {
+		return _predHigh;
+	}
+
+	/**
+	 * Sets a value-range predicate low &lt;= X[,col] &lt;= high on a numeric
+	 * column, which skips row groups based on their min/max statistics and
+	 * only returns the qualifying rows of the remaining row groups.
+	 *
+	 * @param col  0-based column index
+	 * @param low  lower bound (inclusive)
+	 * @param high upper bound (inclusive)
+	 */
+	public void setPredicate(int col, double low, double high) {
+		_predCol = col;
+		_predLow = low;
+		_predHigh = high;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(" rowGroupSize " + _rowGroupSize);
+		if( _columns != null )
+			sb.append(" projection " + Arrays.toString(_columns));
+		if( _rl >= 0 )
+			sb.append(" rows [" + _rl + ", " + _ru + ")");
+		if( hasPredicate() )
+			sb.append(" predicate " + _predLow + " <= X[," + _predCol + "] <= " + _predHigh);
+		return sb.toString();
+	}
+}
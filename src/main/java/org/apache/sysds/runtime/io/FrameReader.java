@@ -92,6 +92,24 @@ public abstract class FrameReader {
 	 * @throws IOException if IOException occurs
 	 */
 	protected static FrameBlock createOutputFrameBlock(ValueType[] schema, String[] names, long nrow)
+		throws IOException {
+		return createOutputFrameBlock(schema, names, nrow, true);
+	}
+
+	/**
+	 * Creates the output frame block, where string columns are allocated as plain
+	 * arrays if not dictEncode. Multi-threaded readers set disjoint rows concurrently,
+	 * which is only safe for plain columns; such readers dictionary-encode the
+	 * output once after the read via {@link FrameBlock#dictEncodeStringColumns()}.
+	 * 
+	 * @param schema     schema as array of ValueTypes
+	 * @param names      column names
+	 * @param nrow       number of rows
+	 * @param dictEncode if true, allocate dictionary-encoded string columns
+	 * @return frame block
+	 * @throws IOException if IOException occurs
+	 */
+	protected static FrameBlock createOutputFrameBlock(ValueType[] schema, String[] names, long nrow, boolean dictEncode)
 		throws IOException {
 		// check schema and column names
 		if(!OptimizerUtils.isValidCPDimensions(schema, names))
@@ -99,7 +117,7 @@ public abstract class FrameReader {
 
 		// prepare result frame block
 		FrameBlock ret = new FrameBlock(schema, names);
-		ret.ensureAllocatedColumns((int) nrow);
+		ret.ensureAllocatedColumns((int) nrow, dictEncode);
 		return ret;
 	}
 
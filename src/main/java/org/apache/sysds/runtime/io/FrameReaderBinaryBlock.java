@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.function.BiConsumer;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -46,7 +47,7 @@ public class FrameReaderBinaryBlock extends FrameReader
 		//allocate output frame block
 		ValueType[] lschema = createOutputSchema(schema, clen);
 		String[] lnames = createOutputNames(names, clen);
-		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
+		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen, false);
 		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
@@ -58,6 +59,7 @@ public class FrameReaderBinaryBlock extends FrameReader
 	
 		//core read (sequential/parallel)
 		readBinaryBlockFrameFromHDFS(path, job, fs, ret, rlen, clen);
+		ret.dictEncodeStringColumns();
 		
 		return ret;
 	}
@@ -118,6 +120,51 @@ public class FrameReaderBinaryBlock extends FrameReader
 		}
 	}	
 	
+	/**
+	 * Reads the individual blocks of a binary block frame one at a time, without
+	 * materializing the entire frame in memory (e.g., for streaming operations over
+	 * frames larger than the memory budget). The passed frame block is reused across
+	 * calls and must not be referenced after the consumer returns.
+	 * 
+	 * @param fname file name
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param consumer function of zero-based row offset and frame block
+	 * @throws IOException if IOException occurs
+	 */
+	@SuppressWarnings("deprecation")
+	public void readFrameBlocksFromHDFS(String fname, long rlen, long clen, BiConsumer<Integer, FrameBlock> consumer)
+		throws IOException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		checkValidInputFile(fs, path);
+		
+		LongWritable key = new LongWritable(-1L);
+		FrameBlock value = new FrameBlock();
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) {
+			SequenceFile.Reader reader = new SequenceFile.Reader(fs,lpath,job);
+			try {
+				while( reader.next(key, value) ) {
+					int row_offset = (int)(key.get()-1);
+					int rows = value.getNumRows();
+					if(rows == 0 || value.getNumColumns() == 0) //Empty block, ignore it.
+						continue;
+					if( row_offset + rows < 0 || row_offset + rows > rlen || value.getNumColumns() != clen ) {
+						throw new IOException("Frame block ["+(row_offset+1)+":"+(row_offset+rows)+","+":"+"] " +
+							"out of overall frame range [1:"+rlen+",1:"+clen+"].");
+					}
+					consumer.accept(row_offset, value);
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+	}
+	
 	/**
 	 * Specific functionality of FrameReaderBinaryBlock, mostly used for testing.
 	 * 
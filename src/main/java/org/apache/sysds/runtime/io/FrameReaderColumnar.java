@@ -0,0 +1,441 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.CompilerConfig.ConfigType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Reader of the columnar frame format (see {@link FrameWriterColumnar}). The
+ * column projection, row range, and value-range predicate of the given
+ * properties are pushed into the scan: only the chunks of projected columns
+ * are fetched, row groups outside the row range or with min/max statistics
+ * that cannot satisfy the predicate are skipped, and the remaining chunks are
+ * decoded in parallel directly into the output columns.
+ */
+public class FrameReaderColumnar extends FrameReader {
+	protected final FileFormatPropertiesColumnar _props;
+	protected final int _numThreads;
+
+	public FrameReaderColumnar() {
+		this(null);
+	}
+
+	public FrameReaderColumnar(FileFormatPropertiesColumnar props) {
+		_props = (props != null) ? props : new FileFormatPropertiesColumnar();
+		_numThreads = ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) ?
+			OptimizerUtils.getParallelBinaryReadParallelism() : 1;
+	}
+
+	@Override
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException {
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		// check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		// core read of footer and required chunks
+		long flen = fs.getFileStatus(path).getLen();
+		FSDataInputStream in = fs.open(path);
+		try {
+			return readColumnarFrame(new ChunkSource() {
+				@Override
+				public byte[] read(long off, int len) throws IOException {
+					byte[] ret = new byte[len];
+					synchronized(in) {
+						in.readFully(off, ret);
+					}
+					return ret;
+				}
+			}, flen);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+			IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+		}
+	}
+
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen,
+		long clen) throws IOException {
+		// footer at the end of the stream requires materialization
+		byte[] buff = IOUtils.toByteArray(is);
+		return readColumnarFrame((off, len) -> Arrays.copyOfRange(buff, (int) off, (int) off + len), buff.length);
+	}
+
+	protected FrameBlock readColumnarFrame(ChunkSource src, long flen) throws IOException {
+		Footer ft = readFooter(src, flen);
+		final int[] cols = getProjectedColumns(ft);
+		final int ngroups = ft.rows.length;
+
+		// prune row groups by row range and predicate statistics
+		final long rl = Math.max(_props.getRowLower(), 0);
+		final long ru = (_props.getRowUpper() >= 0) ? Math.min(_props.getRowUpper(), ft.nrow) : ft.nrow;
+		final int pcol = _props.getPredicateColumn();
+		if(_props.hasPredicate() && (pcol >= ft.ncol || ft.schema[pcol] == ValueType.STRING))
+			throw new DMLRuntimeException("Invalid predicate column for columnar read: " + (pcol + 1));
+		int[] from = new int[ngroups];
+		int[] to = new int[ngroups];
+		boolean[] skip = new boolean[ngroups];
+		long gstart = 0;
+		for(int g = 0; g < ngroups; g++) {
+			from[g] = (int) Math.max(rl - gstart, 0);
+			to[g] = (int) Math.max(Math.min(ru - gstart, ft.rows[g]), 0);
+			skip[g] = from[g] >= to[g] || (_props.hasPredicate() && !mayQualify(ft, g, pcol));
+			gstart += ft.rows[g];
+		}
+
+		ExecutorService pool = (_numThreads > 1) ? CommonThreadPool.get(_numThreads) : null;
+		try {
+			// evaluate predicate over remaining row groups
+			boolean[][] sel = new boolean[ngroups][];
+			if(_props.hasPredicate()) {
+				List<Callable<Object>> tasks = new ArrayList<>();
+				for(int g = 0; g < ngroups; g++) {
+					final int gix = g;
+					if(!skip[g])
+						tasks.add(() -> sel[gix] = evalPredicate(src, ft, gix, pcol, from[gix], to[gix]));
+				}
+				execute(pool, tasks);
+			}
+
+			// compute output offsets of row groups
+			int[] offsets = new int[ngroups];
+			int nrow = 0;
+			for(int g = 0; g < ngroups; g++) {
+				offsets[g] = nrow;
+				nrow += skip[g] ? 0 : (sel[g] != null) ? count(sel[g]) : to[g] - from[g];
+			}
+
+			// decode projected chunks into output columns
+			Object[] out = new Object[cols.length];
+			for(int j = 0; j < cols.length; j++)
+				out[j] = allocateColumn(ft.schema[cols[j]], nrow);
+			List<Callable<Object>> tasks = new ArrayList<>();
+			for(int g = 0; g < ngroups; g++) {
+				if(skip[g] || (sel[g] != null && count(sel[g]) == 0))
+					continue;
+				for(int j = 0; j < cols.length; j++) {
+					final int gix = g, c = cols[j];
+					final Object col = out[j];
+					tasks.add(() -> {
+						byte[] data = src.read(ft.offsets[gix][c], ft.lengths[gix][c]);
+						decodeChunk(data, ft.schema[c], ft.encodings[gix][c], from[gix], to[gix], sel[gix], col,
+							offsets[gix]);
+						return null;
+					});
+				}
+			}
+			execute(pool, tasks);
+
+			// create output frame block
+			FrameBlock ret = new FrameBlock();
+			String[] names = new String[cols.length];
+			for(int j = 0; j < cols.length; j++) {
+				appendColumn(ret, ft.schema[cols[j]], out[j]);
+				names[j] = ft.names[cols[j]];
+			}
+			ret.setColumnNames(names);
+			return ret;
+		}
+		finally {
+			if(pool != null)
+				pool.shutdown();
+		}
+	}
+
+	private static Footer readFooter(ChunkSource src, long flen) throws IOException {
+		final int mlen = FrameWriterColumnar.MAGIC.length;
+		if(flen < 2L * mlen + 4)
+			throw new IOException("Invalid columnar frame file of length " + flen + ".");
+		ByteBuffer tail = ByteBuffer.wrap(src.read(flen - mlen - 4, mlen + 4));
+		int footerLen = tail.getInt();
+		byte[] magic = new byte[mlen];
+		tail.get(magic);
+		if(!Arrays.equals(magic, FrameWriterColumnar.MAGIC))
+			throw new IOException("Invalid columnar frame file: missing magic number.");
+
+		DataInputStream in = new DataInputStream(
+			new ByteArrayInputStream(src.read(flen - mlen - 4 - footerLen, footerLen)));
+		Footer ft = new Footer();
+		int version = in.readInt();
+		if(version != FrameWriterColumnar.VERSION)
+			throw new IOException("Unsupported columnar frame file version: " + version);
+		ft.nrow = in.readLong();
+		ft.ncol = in.readInt();
+		ft.schema = new ValueType[ft.ncol];
+		ft.names = new String[ft.ncol];
+		for(int j = 0; j < ft.ncol; j++) {
+			ft.schema[j] = ValueType.values()[in.readByte()];
+			ft.names[j] = in.readUTF();
+		}
+		int ngroups = in.readInt();
+		ft.rows = new int[ngroups];
+		ft.offsets = new long[ngroups][ft.ncol];
+		ft.lengths = new int[ngroups][ft.ncol];
+		ft.encodings = new byte[ngroups][ft.ncol];
+		ft.nulls = new int[ngroups][ft.ncol];
+		ft.min = new double[ngroups][ft.ncol];
+		ft.max = new double[ngroups][ft.ncol];
+		for(int g = 0; g < ngroups; g++) {
+			ft.rows[g] = in.readInt();
+			for(int j = 0; j < ft.ncol; j++) {
+				ft.offsets[g][j] = in.readLong();
+				ft.lengths[g][j] = in.readInt();
+				ft.encodings[g][j] = in.readByte();
+				ft.nulls[g][j] = in.readInt();
+				ft.min[g][j] = in.readDouble();
+				ft.max[g][j] = in.readDouble();
+			}
+		}
+		return ft;
+	}
+
+	private int[] getProjectedColumns(Footer ft) throws IOException {
+		int[] cols = _props.getProjection();
+		if(cols == null) {
+			cols = new int[ft.ncol];
+			for(int j = 0; j < ft.ncol; j++)
+				cols[j] = j;
+		}
+		for(int c : cols)
+			if(c >= ft.ncol)
+				throw new IOException("Projected column " + (c + 1) + " out of range [1, " + ft.ncol + "].");
+		return cols;
+	}
+
+	private boolean mayQualify(Footer ft, int g, int c) {
+		//all-null chunks or disjoint value ranges cannot qualify
+		return ft.nulls[g][c] < ft.rows[g] && ft.max[g][c] >= _props.getPredicateLow()
+			&& ft.min[g][c] <= _props.getPredicateHigh();
+	}
+
+	private boolean[] evalPredicate(ChunkSource src, Footer ft, int g, int c, int from, int to) throws IOException {
+		final int n = to - from;
+		final double low = _props.getPredicateLow();
+		final double high = _props.getPredicateHigh();
+		double[] tmp = new double[n];
+		if(ft.schema[c] == ValueType.BOOLEAN) {
+			boolean[] btmp = new boolean[n];
+			decodeChunk(src.read(ft.offsets[g][c], ft.lengths[g][c]), ValueType.BOOLEAN, ft.encodings[g][c], from,
+				to, null, btmp, 0);
+			for(int i = 0; i < n; i++)
+				tmp[i] = btmp[i] ? 1 : 0;
+		}
+		else {
+			byte[] data = src.read(ft.offsets[g][c], ft.lengths[g][c]);
+			ByteBuffer bb = ByteBuffer.wrap(data);
+			for(int i = 0; i < n; i++) {
+				int ix = from + i;
+				switch(ft.schema[c]) {
+					case FP64: tmp[i] = bb.getDouble(ix * 8); break;
+					case FP32: tmp[i] = bb.getFloat(ix * 4); break;
+					case INT64: tmp[i] = bb.getLong(ix * 8); break;
+					case INT32: tmp[i] = bb.getInt(ix * 4); break;
+					default: throw new DMLRuntimeException("Unsupported predicate value type: " + ft.schema[c]);
+				}
+			}
+		}
+		boolean[] ret = new boolean[n];
+		for(int i = 0; i < n; i++)
+			ret[i] = tmp[i] >= low && tmp[i] <= high;
+		return ret;
+	}
+
+	private static void decodeChunk(byte[] data, ValueType vt, byte enc, int from, int to, boolean[] sel, Object out,
+		int pos) throws IOException {
+		ByteBuffer bb = ByteBuffer.wrap(data);
+		switch(vt) {
+			case FP64: {
+				double[] col = (double[]) out;
+				for(int i = from; i < to; i++)
+					if(sel == null || sel[i - from])
+						col[pos++] = bb.getDouble(i * 8);
+				break;
+			}
+			case FP32: {
+				float[] col = (float[]) out;
+				for(int i = from; i < to; i++)
+					if(sel == null || sel[i - from])
+						col[pos++] = bb.getFloat(i * 4);
+				break;
+			}
+			case INT64: {
+				long[] col = (long[]) out;
+				for(int i = from; i < to; i++)
+					if(sel == null || sel[i - from])
+						col[pos++] = bb.getLong(i * 8);
+				break;
+			}
+			case INT32: {
+				int[] col = (int[]) out;
+				for(int i = from; i < to; i++)
+					if(sel == null || sel[i - from])
+						col[pos++] = bb.getInt(i * 4);
+				break;
+			}
+			case BOOLEAN: {
+				boolean[] col = (boolean[]) out;
+				for(int i = from; i < to; i++)
+					if(sel == null || sel[i - from])
+						col[pos++] = ((data[i / 8] >>> (i % 8)) & 1) != 0;
+				break;
+			}
+			case STRING: {
+				String[] col = (String[]) out;
+				if(enc == FrameWriterColumnar.ENC_DICT) {
+					// dictionary page and fixed-width codes
+					String[] dict = new String[bb.getInt() + 1];
+					for(int k = 1; k < dict.length; k++)
+						dict[k] = readString(bb);
+					int width = bb.get();
+					int base = bb.position();
+					for(int i = from; i < to; i++) {
+						if(sel != null && !sel[i - from])
+							continue;
+						int ix = base + i * width;
+						int code = (width == 1) ? bb.get(ix) & 0xFF :
+							(width == 2) ? bb.getShort(ix) & 0xFFFF : bb.getInt(ix);
+						col[pos++] = dict[code];
+					}
+				}
+				else {
+					// plain length-prefixed values (sequential scan)
+					for(int i = 0; i < to; i++) {
+						if(i < from || (sel != null && !sel[i - from])) {
+							int len = bb.getInt();
+							bb.position(bb.position() + Math.max(len, 0));
+						}
+						else
+							col[pos++] = readString(bb);
+					}
+				}
+				break;
+			}
+			default:
+				throw new IOException("Unsupported value type for columnar frame format: " + vt);
+		}
+	}
+
+	private static String readString(ByteBuffer bb) {
+		int len = bb.getInt();
+		if(len < 0)
+			return null;
+		String ret = new String(bb.array(), bb.position(), len, StandardCharsets.UTF_8);
+		bb.position(bb.position() + len);
+		return ret;
+	}
+
+	private static Object allocateColumn(ValueType vt, int n) {
+		switch(vt) {
+			case FP64: return new double[n];
+			case FP32: return new float[n];
+			case INT64: return new long[n];
+			case INT32: return new int[n];
+			case BOOLEAN: return new boolean[n];
+			case STRING: return new String[n];
+			default: throw new DMLRuntimeException("Unsupported value type for columnar frame format: " + vt);
+		}
+	}
+
+	private static void appendColumn(FrameBlock fb, ValueType vt, Object col) {
+		switch(vt) {
+			case FP64: fb.appendColumn((double[]) col); break;
+			case FP32: fb.appendColumn((float[]) col); break;
+			case INT64: fb.appendColumn((long[]) col); break;
+			case INT32: fb.appendColumn((int[]) col); break;
+			case BOOLEAN: fb.appendColumn((boolean[]) col); break;
+			case STRING: fb.appendColumn((String[]) col); break;
+			default: throw new DMLRuntimeException("Unsupported value type for columnar frame format: " + vt);
+		}
+	}
+
+	private static int count(boolean[] sel) {
+		int ret = 0;
+		for(boolean b : sel)
+			ret += b ? 1 : 0;
+		return ret;
+	}
+
+	private static void execute(ExecutorService pool, List<Callable<Object>> tasks) throws IOException {
+		try {
+			if(pool != null) {
+				for(Future<Object> task : pool.invokeAll(tasks))
+					task.get();
+			}
+			else {
+				for(Callable<Object> task : tasks)
+					task.call();
+			}
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of columnar frame.", ex);
+		}
+	}
+
+	private interface ChunkSource {
+		public byte[] read(long off, int len) throws IOException;
+	}
+
+	private static class Footer {
+		private long nrow;
+		private int ncol;
+		private ValueType[] schema;
+		private String[] names;
+		private int[] rows;
+		private long[][] offsets;
+		private int[][] lengths;
+		private byte[][] encodings;
+		private int[][] nulls;
+		private double[][] min;
+		private double[][] max;
+	}
+}
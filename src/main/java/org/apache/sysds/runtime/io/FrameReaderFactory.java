@@ -69,6 +69,12 @@ public class FrameReaderFactory {
 				reader = new FrameReaderProto();
 				break;
 
+			case COLUMNAR:
+				// generic properties (e.g., of write instructions) use the defaults
+				reader = new FrameReaderColumnar((props instanceof FileFormatPropertiesColumnar) ?
+					(FileFormatPropertiesColumnar) props : null);
+				break;
+
 			default:
 				throw new DMLRuntimeException("Failed to create frame reader for unknown format: " + fmt.toString());
 		}
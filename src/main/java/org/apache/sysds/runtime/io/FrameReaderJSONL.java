@@ -56,9 +56,10 @@ public class FrameReaderJSONL
 
 		Types.ValueType[] lschema = createOutputSchema(schema, clen);
 		String[] lnames = createOutputNamesFromSchemaMap(schemaMap);
-		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
+		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen, false);
 
 		readJSONLFrameFromHDFS(path, jobConf, fileSystem, ret, schema, schemaMap);
+		ret.dictEncodeStringColumns();
 		return ret;
 	}
 
@@ -21,6 +21,8 @@ package org.apache.sysds.runtime.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Set;
 
 import org.apache.hadoop.fs.FileSystem;
@@ -48,6 +50,9 @@ import org.apache.sysds.runtime.util.UtilFunctions;
  * 
  */
 public class FrameReaderTextCSV extends FrameReader {
+	private static final byte[] MVPREFIX = TfUtils.TXMTD_MVPREFIX.getBytes(StandardCharsets.UTF_8);
+	private static final byte[] NDPREFIX = TfUtils.TXMTD_NDPREFIX.getBytes(StandardCharsets.UTF_8);
+
 	protected final FileFormatPropertiesCSV _props;
 
 	public FrameReaderTextCSV(FileFormatPropertiesCSV props) {
@@ -78,10 +83,11 @@ public class FrameReaderTextCSV extends FrameReader {
 		// allocate output frame block
 		ValueType[] lschema = createOutputSchema(schema, clen);
 		String[] lnames = createOutputNames(names, clen);
-		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
+		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen, false);
 
 		// core read (sequential/parallel)
 		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
+		ret.dictEncodeStringColumns();
 
 		return ret;
 	}
@@ -137,18 +143,18 @@ public class FrameReaderTextCSV extends FrameReader {
 			dest.setColumnNames(value.toString().split(delim));
 		}
 
-		// Read the data
+		// Read the data (tokenized in place over the line bytes)
+		CSVTokenizer tok = new CSVTokenizer(delim, true, naValues);
 		boolean emptyValuesFound = false;
 		try {
 			while(reader.next(key, value)) // foreach line
 			{
-				String cellStr = value.toString().trim();
+				int ncol = tok.tokenize(value);
 				emptyValuesFound = false;
-				col = 0;
-				String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
 
 				// parse frame meta data (missing values / num distinct)
-				if(parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX)) {
+				if(tok.equals(0, MVPREFIX) || tok.equals(0, NDPREFIX)) {
+					String[] parts = IOUtilFunctions.splitCSV(tok.getLine(), delim);
 					if(parts[0].equals(TfUtils.TXMTD_MVPREFIX))
 						for(int j = 0; j < dest.getNumColumns(); j++)
 							dest.getColumnMetadata(j).setMvValue(parts[j + 1]);
@@ -158,23 +164,25 @@ public class FrameReaderTextCSV extends FrameReader {
 					continue;
 				}
 
-				for(String part : parts) // foreach cell
+				// sanity check for number of columns (before in-place parsing)
+				if(ncol != clen)
+					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", tok.getLine(), ncol, clen);
+
+				for(col = 0; col < ncol; col++) // foreach cell
 				{
-					part = part.trim();
-					if(part.isEmpty() || (naValues != null && naValues.contains(part))) {
+					if(tok.isEmpty(col) || tok.isNA(col)) {
 						if(isFill && dfillValue != 0)
 							dest.set(row, col, UtilFunctions.stringToObject(schema[col], sfillValue));
 						emptyValuesFound = true;
 					}
 					else {
-						dest.set(row, col, UtilFunctions.stringToObject(schema[col], part));
+						dest.set(row, col, tok.parseToObject(col, schema[col]));
 					}
-					col++;
 				}
 
-				// sanity checks for empty values and number of columns
-				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
+				// sanity check for empty values
+				if(emptyValuesFound)
+					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(tok.getLine(), isFill, emptyValuesFound);
 				row++;
 			}
 		}
@@ -208,8 +216,7 @@ public class FrameReaderTextCSV extends FrameReader {
 
 				// count remaining number of rows, ignore meta data
 				while(reader.next(key, value)) {
-					String val = value.toString();
-					nrow += (val.startsWith(TfUtils.TXMTD_MVPREFIX) || val.startsWith(TfUtils.TXMTD_NDPREFIX)) ? 0 : 1;
+					nrow += isMetaDataLine(value) ? 0 : 1;
 				}
 			}
 			finally {
@@ -218,4 +225,20 @@ public class FrameReaderTextCSV extends FrameReader {
 		}
 		return new Pair<>(nrow, ncol);
 	}
+
+	/**
+	 * Indicates if the given line is a frame meta data line (missing values / num distinct),
+	 * checked on the raw line bytes without string conversion.
+	 *
+	 * @param value line of text
+	 * @return true if meta data line
+	 */
+	protected static boolean isMetaDataLine(Text value) {
+		return startsWith(value, MVPREFIX) || startsWith(value, NDPREFIX);
+	}
+
+	private static boolean startsWith(Text value, byte[] prefix) {
+		return value.getLength() >= prefix.length
+			&& Arrays.equals(value.getBytes(), 0, prefix.length, prefix, 0, prefix.length);
+	}
 }
@@ -39,7 +39,6 @@ import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.Pair;
-import org.apache.sysds.runtime.transform.TfUtils;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 
 /**
@@ -157,9 +156,7 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 				if ( _firstSplit && _hasHeader )
 					reader.next(key, value);
 				while ( reader.next(key, value) ) {
-					String val = value.toString();
-					nrows += ( val.startsWith(TfUtils.TXMTD_MVPREFIX)
-						|| val.startsWith(TfUtils.TXMTD_NDPREFIX)) ? 0 : 1; 
+					nrows += isMetaDataLine(value) ? 0 : 1; 
 				}
 			} 
 			finally {
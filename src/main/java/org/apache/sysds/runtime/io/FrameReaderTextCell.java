@@ -55,7 +55,7 @@ public class FrameReaderTextCell extends FrameReader
 		//allocate output frame block
 		ValueType[] lschema = createOutputSchema(schema, clen);
 		String[] lnames = createOutputNames(names, clen);
-		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
+		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen, false);
 		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
@@ -67,6 +67,7 @@ public class FrameReaderTextCell extends FrameReader
 	
 		//core read (sequential/parallel)
 		readTextCellFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
+		ret.dictEncodeStringColumns();
 		
 		return ret;
 	}
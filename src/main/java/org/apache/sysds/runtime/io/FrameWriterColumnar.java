@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.CompilerConfig.ConfigType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.StringIntHashMap;
+
+/**
+ * Writer of the columnar frame format. The rows are partitioned into row
+ * groups, and each row group stores one chunk per column. String chunks are
+ * dictionary-encoded (dictionary page and fixed-width codes) if the number of
+ * distinct values is small, and all other chunks use a plain fixed-width
+ * encoding (bit-packed for booleans). A footer at the end of the file holds
+ * the schema, column names, and per-chunk offsets and statistics (min, max,
+ * number of nulls), which allows readers to only fetch the required chunks.
+ *
+ * File layout: MAGIC, chunks, footer, footer length (int), MAGIC.
+ */
+public class FrameWriterColumnar extends FrameWriter {
+	protected static final byte[] MAGIC = "SDSCOL01".getBytes(StandardCharsets.US_ASCII);
+	protected static final int VERSION = 1;
+	protected static final byte ENC_PLAIN = 0;
+	protected static final byte ENC_DICT = 1;
+
+	protected final FileFormatPropertiesColumnar _props;
+	protected final int _numThreads;
+
+	public FrameWriterColumnar() {
+		this(null);
+	}
+
+	public FrameWriterColumnar(FileFormatPropertiesColumnar props) {
+		_props = (props != null) ? props : new FileFormatPropertiesColumnar();
+		_numThreads = ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) ?
+			OptimizerUtils.getParallelBinaryWriteParallelism() : 1;
+	}
+
+	@Override
+	public void writeFrameToHDFS(FrameBlock src, String fname, long rlen, long clen) throws IOException {
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+
+		// if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		// validity check frame dimensions
+		if(src.getNumRows() != rlen || src.getNumColumns() != clen) {
+			throw new IOException("Frame dimensions mismatch with metadata: " + src.getNumRows() + "x"
+				+ src.getNumColumns() + " vs " + rlen + "x" + clen + ".");
+		}
+
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		FSDataOutputStream out = fs.create(path, true);
+		try {
+			writeColumnarFrame(out, src);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	protected void writeColumnarFrame(FSDataOutputStream out, FrameBlock src) throws IOException {
+		final int nrow = src.getNumRows();
+		final int ncol = src.getNumColumns();
+		final int rgsize = _props.getRowGroupSize();
+		final int ngroups = (nrow + rgsize - 1) / rgsize;
+		final ValueType[] schema = src.getSchema();
+
+		// footer of schema and per-chunk metadata
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream footer = new DataOutputStream(bos);
+		footer.writeInt(VERSION);
+		footer.writeLong(nrow);
+		footer.writeInt(ncol);
+		for(int j = 0; j < ncol; j++) {
+			footer.writeByte(schema[j].ordinal());
+			footer.writeUTF(src.getColumnName(j));
+		}
+		footer.writeInt(ngroups);
+
+		// dictionaries of dict-encoded string columns (reused for all row groups)
+		String[][] dicts = new String[ncol][];
+		for(int j = 0; j < ncol; j++)
+			if(schema[j] == ValueType.STRING && src.isColumnDictEncoded(j))
+				dicts[j] = src.getColumnDictionary(j);
+
+		out.write(MAGIC);
+		ExecutorService pool = (_numThreads > 1 && ncol > 1) ? CommonThreadPool.get(_numThreads) : null;
+		try {
+			for(int g = 0; g < ngroups; g++) {
+				final int rl = g * rgsize;
+				final int ru = Math.min(rl + rgsize, nrow);
+
+				// encode all column chunks of the row group (in parallel)
+				List<ColumnChunk> chunks = new ArrayList<>();
+				if(pool != null) {
+					List<Callable<ColumnChunk>> tasks = new ArrayList<>();
+					for(int j = 0; j < ncol; j++) {
+						final int col = j;
+						tasks.add(() -> encodeChunk(src, col, rl, ru, dicts[col]));
+					}
+					for(Future<ColumnChunk> task : pool.invokeAll(tasks))
+						chunks.add(task.get());
+				}
+				else {
+					for(int j = 0; j < ncol; j++)
+						chunks.add(encodeChunk(src, j, rl, ru, dicts[j]));
+				}
+
+				// append chunks and their metadata
+				footer.writeInt(ru - rl);
+				for(ColumnChunk chunk : chunks) {
+					footer.writeLong(out.getPos());
+					footer.writeInt(chunk.data.length);
+					footer.writeByte(chunk.encoding);
+					footer.writeInt(chunk.nulls);
+					footer.writeDouble(chunk.min);
+					footer.writeDouble(chunk.max);
+					out.write(chunk.data);
+				}
+			}
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed to encode columnar frame chunks.", ex);
+		}
+		finally {
+			if(pool != null)
+				pool.shutdown();
+		}
+
+		footer.flush();
+		out.write(bos.toByteArray());
+		out.writeInt(bos.size());
+		out.write(MAGIC);
+	}
+
+	private static ColumnChunk encodeChunk(FrameBlock src, int c, int rl, int ru, String[] dict) {
+		final int n = ru - rl;
+		final ValueType vt = src.getSchema()[c];
+		ColumnChunk ret = new ColumnChunk();
+		switch(vt) {
+			case FP64:
+			case FP32: {
+				double[] tmp = new double[n];
+				src.getColumnAsDouble(c, rl, ru, tmp, 0);
+				ByteBuffer bb = ByteBuffer.allocate(n * (vt == ValueType.FP64 ? 8 : 4));
+				for(int i = 0; i < n; i++) {
+					if(vt == ValueType.FP64)
+						bb.putDouble(tmp[i]);
+					else
+						bb.putFloat((float) tmp[i]);
+					ret.addStats(tmp[i]);
+				}
+				ret.data = bb.array();
+				break;
+			}
+			case INT64: {
+				long[] data = (long[]) src.getColumnData(c);
+				ByteBuffer bb = ByteBuffer.allocate(n * 8);
+				for(int i = rl; i < ru; i++) {
+					bb.putLong(data[i]);
+					ret.addStats(data[i]);
+				}
+				ret.data = bb.array();
+				break;
+			}
+			case INT32: {
+				int[] data = (int[]) src.getColumnData(c);
+				ByteBuffer bb = ByteBuffer.allocate(n * 4);
+				for(int i = rl; i < ru; i++) {
+					bb.putInt(data[i]);
+					ret.addStats(data[i]);
+				}
+				ret.data = bb.array();
+				break;
+			}
+			case BOOLEAN: {
+				double[] tmp = new double[n];
+				src.getColumnAsDouble(c, rl, ru, tmp, 0);
+				byte[] data = new byte[(n + 7) / 8];
+				for(int i = 0; i < n; i++) {
+					if(tmp[i] != 0)
+						data[i / 8] |= 1 << (i % 8);
+					ret.addStats(tmp[i]);
+				}
+				ret.data = data;
+				break;
+			}
+			case STRING:
+				encodeStringChunk(src, c, rl, ru, dict, ret);
+				break;
+			default:
+				throw new DMLRuntimeException("Unsupported value type for columnar frame format: " + vt);
+		}
+		return ret;
+	}
+
+	private static void encodeStringChunk(FrameBlock src, int c, int rl, int ru, String[] dict, ColumnChunk ret) {
+		final int n = ru - rl;
+		String[] vals = new String[n];
+		for(int i = rl; i < ru; i++)
+			vals[i - rl] = (dict != null) ? dict[src.getColumnDictCode(i, c)] : (String) src.get(i, c);
+
+		// chunk-local dictionary of distinct non-null values
+		StringIntHashMap map = new StringIntHashMap();
+		int nulls = 0;
+		for(String val : vals) {
+			if(val == null)
+				nulls++;
+			else
+				map.putIfAbsent(val, map.size() + 1);
+		}
+		ret.nulls = nulls;
+		ret.min = ret.max = Double.NaN;
+
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			DataOutputStream dos = new DataOutputStream(bos);
+			if(map.size() * 2 <= n) {
+				// dictionary page and fixed-width codes (0 for nulls)
+				ret.encoding = ENC_DICT;
+				dos.writeInt(map.size());
+				for(int k = 0; k < map.size(); k++)
+					writeString(dos, map.getKey(k));
+				int width = getCodeWidth(map.size());
+				dos.writeByte(width);
+				for(String val : vals) {
+					int code = (val != null) ? map.get(val) : 0;
+					if(width == 1)
+						dos.writeByte(code);
+					else if(width == 2)
+						dos.writeShort(code);
+					else
+						dos.writeInt(code);
+				}
+			}
+			else {
+				// plain length-prefixed values
+				ret.encoding = ENC_PLAIN;
+				for(String val : vals)
+					writeString(dos, val);
+			}
+			dos.flush();
+			ret.data = bos.toByteArray();
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private static void writeString(DataOutputStream dos, String val) throws IOException {
+		if(val == null) {
+			dos.writeInt(-1);
+			return;
+		}
+		byte[] tmp = val.getBytes(StandardCharsets.UTF_8);
+		dos.writeInt(tmp.length);
+		dos.write(tmp);
+	}
+
+	protected static int getCodeWidth(int ndict) {
+		return (ndict < 0xFF) ? 1 : (ndict < 0xFFFF) ? 2 : 4;
+	}
+
+	private static class ColumnChunk {
+		private byte[] data;
+		private byte encoding = ENC_PLAIN;
+		private int nulls = 0;
+		private double min = Double.NaN;
+		private double max = Double.NaN;
+
+		private void addStats(double v) {
+			if(Double.isNaN(v))
+				nulls++;
+			else {
+				min = Double.isNaN(min) ? v : Math.min(min, v);
+				max = Double.isNaN(max) ? v : Math.max(max, v);
+			}
+		}
+	}
+}
@@ -60,6 +60,12 @@ public class FrameWriterFactory
 				// TODO performance improvement: add parallel reader
 				writer = new FrameWriterProto();
 				break;
+
+			case COLUMNAR:
+				// generic properties (e.g., of write instructions) use the defaults
+				writer = new FrameWriterColumnar((props instanceof FileFormatPropertiesColumnar) ?
+					(FileFormatPropertiesColumnar)props : null);
+				break;
 			
 			default:
 				throw new DMLRuntimeException("Failed to create frame writer for unknown format: " + fmt.toString());
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Memory-mappable single-file layout of binary matrices on the local file system.
+ *
+ * In contrast to the binary block format (sequence files of serialized blocks), the
+ * file stores the entire matrix as contiguous little-endian arrays (dense row-major
+ * values, or CSR row pointers, column indexes and values) behind a fixed-size header.
+ * Reads map the file and bulk-copy the arrays directly into the dense or CSR block of
+ * the output matrix, without stream buffers, per-block deserialization and reblocking.
+ *
+ * Files in this layout are only readable by the local binary block readers
+ * ({@link ReaderBinaryBlock}, {@link ReaderBinaryBlockParallel}), which detect
+ * them by their magic number and otherwise fall back to sequence files.
+ */
+public class MappedBinaryBlock
+{
+	//header: magic, version, sparse flag, rows, cols, nnz (padded to 64 bytes)
+	public static final long MAGIC = 0x50414d4453595353L; //"SSYSDMAP" in little endian
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 64;
+
+	//max size of mapped regions and write buffers
+	private static final int MAX_REGION = 1 << 30;
+	private static final int WRITE_BUFFER = 1 << 20;
+
+	private MappedBinaryBlock() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Indicates if the given path refers to a single local file in the memory-mappable layout.
+	 *
+	 * @param fs file system
+	 * @param path file path
+	 * @return true if local mapped file
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean isMappedFile(FileSystem fs, Path path) throws IOException {
+		if( !(fs instanceof LocalFileSystem) )
+			return false;
+		File file = ((LocalFileSystem)fs).pathToFile(path);
+		if( !file.isFile() || file.length() < HEADER_SIZE )
+			return false;
+		try( FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ) ) {
+			ByteBuffer buf = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+			while( buf.hasRemaining() && ch.read(buf) >= 0 );
+			buf.flip();
+			return buf.getLong() == MAGIC;
+		}
+	}
+
+	/**
+	 * Indicates if the given matrix block can be written in the memory-mappable layout
+	 * (uncompressed, and CSR-representable if sparse).
+	 *
+	 * @param mb matrix block
+	 * @return true if writable
+	 */
+	public static boolean isWritable(MatrixBlock mb) {
+		return !(mb instanceof CompressedMatrixBlock)
+			&& (!mb.isInSparseFormat() || mb.getNonZeros() < Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Writes the given matrix block to the given local file in the memory-mappable layout.
+	 *
+	 * @param fs file system
+	 * @param path file path
+	 * @param src matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeMatrixBlock(FileSystem fs, Path path, MatrixBlock src) throws IOException {
+		File file = ((LocalFileSystem)fs).pathToFile(path);
+		boolean sparse = src.isInSparseFormat();
+		long nnz = src.recomputeNonZeros();
+		if( path.getParent() != null )
+			fs.mkdirs(path.getParent());
+
+		try( RandomAccessFile raf = new RandomAccessFile(file, "rw") ) {
+			FileChannel ch = raf.getChannel();
+			ByteBuffer buf = ByteBuffer.allocateDirect(WRITE_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+			buf.putLong(MAGIC).putInt(VERSION).putInt(sparse ? 1 : 0);
+			buf.putLong(src.getNumRows()).putLong(src.getNumColumns()).putLong(nnz);
+			buf.position(HEADER_SIZE);
+
+			if( sparse )
+				writeSparse(ch, buf, src.getSparseBlock(), src.getNumRows());
+			else
+				writeDense(ch, buf, src.getDenseBlock());
+			flush(ch, buf);
+			raf.setLength(ch.position());
+		}
+	}
+
+	/**
+	 * Reads a matrix block from the given local file in the memory-mappable layout
+	 * via bulk copies of mapped regions into the dense or CSR output block.
+	 *
+	 * @param fs file system
+	 * @param path file path
+	 * @param rlen expected number of rows
+	 * @param clen expected number of columns
+	 * @return matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public static MatrixBlock readMatrixBlock(FileSystem fs, Path path, long rlen, long clen) throws IOException {
+		File file = ((LocalFileSystem)fs).pathToFile(path);
+		try( FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ) ) {
+			ByteBuffer header = ch.map(MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			if( header.getLong() != MAGIC || header.getInt() != VERSION )
+				throw new IOException("Invalid mapped binary block file: "+file);
+			boolean sparse = header.getInt() == 1;
+			int rows = (int) header.getLong();
+			int cols = (int) header.getLong();
+			long nnz = header.getLong();
+			if( rows != rlen || cols != clen ) {
+				throw new IOException("Matrix dimensions mismatch with metadata: ("
+					+rows+" x "+cols+") vs ("+rlen+" x "+clen+").");
+			}
+
+			MatrixBlock ret = null;
+			if( sparse ) {
+				int[] rptr = new int[rows+1];
+				int[] cix = new int[(int)nnz];
+				double[] vals = new double[(int)nnz];
+				long off = readInts(ch, HEADER_SIZE, rptr);
+				off = readInts(ch, off, cix);
+				readDoubles(ch, off, vals, 0, vals.length);
+				ret = new MatrixBlock(rows, cols, nnz, new SparseBlockCSR(rptr, cix, vals, (int)nnz));
+			}
+			else {
+				ret = new MatrixBlock(rows, cols, false);
+				if( nnz > 0 ) {
+					DenseBlock c = ret.allocateDenseBlock().getDenseBlock();
+					long off = HEADER_SIZE;
+					for( int bix=0; bix<c.numBlocks(); bix++ ) {
+						int len = c.blockSize(bix) * cols;
+						off = readDoubles(ch, off, c.valuesAt(bix), 0, len);
+					}
+				}
+				ret.setNonZeros(nnz);
+			}
+			return ret;
+		}
+	}
+
+	private static void writeDense(FileChannel ch, ByteBuffer buf, DenseBlock a) throws IOException {
+		if( a == null ) //empty block
+			return;
+		for( int bix=0; bix<a.numBlocks(); bix++ ) {
+			int len = a.blockSize(bix) * a.getDim(1);
+			putDoubles(ch, buf, a.valuesAt(bix), 0, len);
+		}
+	}
+
+	private static void writeSparse(FileChannel ch, ByteBuffer buf, SparseBlock a, int rlen) throws IOException {
+		//row pointers, column indexes, and values in three passes over the rows
+		int pos = 0;
+		buf.putInt(0);
+		for( int i=0; i<rlen; i++ ) {
+			pos += (a != null) ? a.size(i) : 0;
+			if( buf.remaining() < 4 )
+				flush(ch, buf);
+			buf.putInt(pos);
+		}
+		if( a == null ) //empty block
+			return;
+		for( int i=0; i<rlen; i++ )
+			if( !a.isEmpty(i) )
+				putInts(ch, buf, a.indexes(i), a.pos(i), a.size(i));
+		for( int i=0; i<rlen; i++ )
+			if( !a.isEmpty(i) )
+				putDoubles(ch, buf, a.values(i), a.pos(i), a.size(i));
+	}
+
+	private static void putInts(FileChannel ch, ByteBuffer buf, int[] src, int pos, int len) throws IOException {
+		for( int end=pos+len; pos<end; ) {
+			if( buf.remaining() < 4 )
+				flush(ch, buf);
+			int blen = Math.min(end-pos, buf.remaining()/4);
+			buf.asIntBuffer().put(src, pos, blen);
+			buf.position(buf.position() + 4*blen);
+			pos += blen;
+		}
+	}
+
+	private static void putDoubles(FileChannel ch, ByteBuffer buf, double[] src, int pos, int len) throws IOException {
+		for( int end=pos+len; pos<end; ) {
+			if( buf.remaining() < 8 )
+				flush(ch, buf);
+			int blen = Math.min(end-pos, buf.remaining()/8);
+			buf.asDoubleBuffer().put(src, pos, blen);
+			buf.position(buf.position() + 8*blen);
+			pos += blen;
+		}
+	}
+
+	private static void flush(FileChannel ch, ByteBuffer buf) throws IOException {
+		buf.flip();
+		while( buf.hasRemaining() )
+			ch.write(buf);
+		buf.clear();
+	}
+
+	private static long readInts(FileChannel ch, long off, int[] dst) throws IOException {
+		for( int pos=0; pos<dst.length; ) {
+			int len = Math.min(dst.length-pos, MAX_REGION/4);
+			ch.map(MapMode.READ_ONLY, off, 4L*len).order(ByteOrder.LITTLE_ENDIAN)
+				.asIntBuffer().get(dst, pos, len);
+			off += 4L*len;
+			pos += len;
+		}
+		return off;
+	}
+
+	private static long readDoubles(FileChannel ch, long off, double[] dst, int pos, int len) throws IOException {
+		for( int end=pos+len; pos<end; ) {
+			int blen = Math.min(end-pos, MAX_REGION/8);
+			ch.map(MapMode.READ_ONLY, off, 8L*blen).order(ByteOrder.LITTLE_ENDIAN)
+				.asDoubleBuffer().get(dst, pos, blen);
+			off += 8L*blen;
+			pos += blen;
+		}
+		return off;
+	}
+}
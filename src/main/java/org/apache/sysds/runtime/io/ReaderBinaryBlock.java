@@ -57,9 +57,6 @@ public class ReaderBinaryBlock extends MatrixReader
 		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
 			return new MatrixBlock((int)rlen, (int)clen, true);
 		
-		//allocate output matrix block
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, false, false);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
@@ -67,6 +64,13 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//read memory-mappable local file (otherwise sequence files)
+		if( MappedBinaryBlock.isMappedFile(fs, path) )
+			return readMappedMatrixFromHDFS(fs, path, rlen, clen);
+		
+		//allocate output matrix block
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, false, false);
 	
 		//core read 
 		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, blen);
@@ -106,6 +110,14 @@ public class ReaderBinaryBlock extends MatrixReader
 		return ret;
 	}
 	
+	protected static MatrixBlock readMappedMatrixFromHDFS(FileSystem fs, Path path, long rlen, long clen)
+		throws IOException
+	{
+		MatrixBlock ret = MappedBinaryBlock.readMatrixBlock(fs, path, rlen, clen);
+		ret.examSparsity();
+		return ret;
+	}
+	
 	protected static MatrixBlock getReuseBlock(int blen, boolean sparse) {
 		//note: we allocate the reuse block in CSR because this avoids unnecessary
 		//reallocations in the presence of a mix of sparse and ultra-sparse blocks,
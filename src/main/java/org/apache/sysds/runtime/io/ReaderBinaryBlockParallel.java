@@ -21,18 +21,27 @@ package org.apache.sysds.runtime.io;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.CacheDataInput;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -45,6 +54,10 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 {	
 	private static int _numThreads = 1;
 	
+	//size of raw record batches and max number of batches in flight per decode thread
+	private static final long PREFETCH_BATCH_SIZE = 4L * 1024 * 1024;
+	private static final int PREFETCH_BATCHES_PER_THREAD = 2;
+	
 	public ReaderBinaryBlockParallel( boolean localFS )
 	{
 		super(localFS);
@@ -59,9 +72,6 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
 			return new MatrixBlock((int)rlen, (int)clen, true);
 		
-		//allocate output matrix block (incl block allocation for parallel)
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
@@ -70,6 +80,13 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
 		
+		//read memory-mappable local file (single bulk copy, no partfiles)
+		if( MappedBinaryBlock.isMappedFile(fs, path) )
+			return readMappedMatrixFromHDFS(fs, path, rlen, clen);
+		
+		//allocate output matrix block (incl block allocation for parallel)
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
+		
 		//core read
 		int numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
 		long numBlocks = (long)Math.ceil((double)rlen / blen);
@@ -94,21 +111,29 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		
 		try 
 		{
-			//create read tasks for all files
 			ExecutorService pool = CommonThreadPool.get(_numThreads);
-			ArrayList<ReadFileTask> tasks = new ArrayList<>();
-			for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ){
-				ReadFileTask t = new ReadFileTask(lpath, job, dest, rlen, clen, blen, syncBlock);
-				tasks.add(t);
+			Path[] files = IOUtilFunctions.getSequenceFilePaths(fs, path);
+			long lnnz = 0;
+			
+			if( ConfigurationManager.isPipelinedBinaryRead() ) {
+				//pipelined read w/ overlapped I/O and deserialization
+				lnnz = readBinaryBlockPipelined(files, job, dest, rlen, clen, blen, syncBlock);
 			}
+			else {
+				//create read tasks for all files
+				ArrayList<ReadFileTask> tasks = new ArrayList<>();
+				for( Path lpath : files ){
+					ReadFileTask t = new ReadFileTask(lpath, job, dest, rlen, clen, blen, syncBlock);
+					tasks.add(t);
+				}
 
-			//wait until all tasks have been executed
-			List<Future<Object>> rt = pool.invokeAll(tasks);
-			
-			//check for exceptions and aggregate nnz
-			long lnnz = 0;
-			for( Future<Object> task : rt )
-				lnnz += (Long)task.get();
+				//wait until all tasks have been executed
+				List<Future<Object>> rt = pool.invokeAll(tasks);
+				
+				//check for exceptions and aggregate nnz
+				for( Future<Object> task : rt )
+					lnnz += (Long)task.get();
+			}
 			
 			//post-processing
 			dest.setNonZeros( lnnz );
@@ -122,6 +147,134 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		}
 	}
 
+	/**
+	 * Pipelined read of binary block files, where a pool of I/O threads reads
+	 * the raw (uncompressed) records of all part files into a bounded queue of
+	 * batches, while a pool of decode threads concurrently deserializes these
+	 * batches into matrix blocks and copies them into the output. In contrast to
+	 * one task per file with synchronous I/O and deserialization, this overlaps
+	 * disk and CPU phases and balances the decoding of skewed part files.
+	 * 
+	 * @param files sequence files
+	 * @param job job configuration
+	 * @param dest output matrix block
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param blen block size
+	 * @param syncBlock synchronization per block (instead of per row)
+	 * @return number of non-zeros
+	 * @throws Exception if the read fails
+	 */
+	private static long readBinaryBlockPipelined(Path[] files, JobConf job,
+		MatrixBlock dest, long rlen, long clen, int blen, boolean syncBlock) throws Exception
+	{
+		//bounded queue of raw batches to limit the memory in flight
+		int numDecode = _numThreads;
+		int numIO = Math.max(Math.min(files.length, numDecode/2), 1);
+		BlockingQueue<RawBatch> queue = new ArrayBlockingQueue<>(PREFETCH_BATCHES_PER_THREAD*numDecode);
+		AtomicBoolean abort = new AtomicBoolean(false);
+		
+		//start decode tasks (blocking on the queue) with a dedicated pool, because
+		//the shared pool might be the fork-join common pool of other operations
+		ExecutorService decpool = Executors.newFixedThreadPool(numDecode);
+		List<Future<Long>> decoders = new ArrayList<>();
+		for( int i=0; i<numDecode; i++ )
+			decoders.add(decpool.submit(new DecodeTask(queue, abort, dest, rlen, clen, blen, syncBlock)));
+		decpool.shutdown(); //terminate threads once decode tasks finished
+		
+		//read all files with a dedicated I/O pool (avoid starvation of decoders)
+		ExecutorService iopool = Executors.newFixedThreadPool(numIO);
+		Exception err = null;
+		try {
+			List<Future<Object>> readers = new ArrayList<>();
+			for( Path lpath : files )
+				readers.add(iopool.submit(new PrefetchFileTask(lpath, job, queue, abort)));
+			for( Future<Object> task : readers )
+				task.get();
+		}
+		catch(Exception ex) {
+			abort.set(true);
+			err = ex;
+		}
+		finally {
+			iopool.shutdown();
+		}
+		
+		//terminate decode tasks via end-of-stream markers
+		for( int i=0; i<numDecode; i++ )
+			while( !queue.offer(RawBatch.EOS, 100, TimeUnit.MILLISECONDS) )
+				if( abort.get() ) //e.g., failed decode tasks
+					queue.removeIf(b -> b != RawBatch.EOS);
+		long lnnz = 0;
+		for( Future<Long> task : decoders )
+			lnnz += task.get();
+		if( err != null )
+			throw err;
+		return lnnz;
+	}
+
+	private static long copyBlockToResult(MatrixBlock dest, MatrixIndexes key, MatrixBlock value,
+		long rlen, long clen, int blen, boolean syncBlocks) throws IOException
+	{
+		//empty block filter (skip entire block)
+		if( value.isEmptyBlock(false) )
+			return 0;
+		
+		boolean sparse = dest.isInSparseFormat();
+		int row_offset = (int)(key.getRowIndex()-1)*blen;
+		int col_offset = (int)(key.getColumnIndex()-1)*blen;
+		int rows = value.getNumRows();
+		int cols = value.getNumColumns();
+		
+		//bound check per block
+		if( row_offset + rows < 0 || row_offset + rows > rlen 
+			|| col_offset + cols<0 || col_offset + cols > clen ) {
+			throw new IOException("Matrix block ["+(row_offset+1)+":"
+				+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+				"out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+
+		//copy block to result
+		if( sparse )
+		{
+			//note: append requires final sort
+			if (cols < clen ) {
+				//sparse requires lock, when matrix is wider than one block
+				//(fine-grained locking of block rows instead of the entire matrix)
+				//NOTE: fine-grained locking depends on MCSR SparseRow objects 
+				SparseBlock sblock = dest.getSparseBlock();
+				if( sblock instanceof SparseBlockMCSR && sblock.get(row_offset) != null ) {
+					if( syncBlocks ) {
+						synchronized( sblock.get(row_offset) ){ 
+							dest.appendToSparse(value, row_offset, col_offset);
+						}
+					}
+					else {
+						for( int i=0; i<rows; i++ ) 
+							synchronized( sblock.get(row_offset+i) ) {
+								dest.appendRowToSparse(sblock, value, i, row_offset, col_offset, true);
+							}
+					}
+				}
+				else {
+					synchronized( dest ){ 
+						dest.appendToSparse(value, row_offset, col_offset);
+					}
+				}
+			}
+			else { //quickpath (no synchronization)
+				dest.appendToSparse(value, row_offset, col_offset);
+			}
+		} 
+		else {
+			dest.copy( row_offset, row_offset+rows-1, 
+				col_offset, col_offset+cols-1, value, false );
+		}
+		
+		//aggregate nnz
+		return value.getNonZeros();
+	}
+
 	private static class ReadFileTask implements Callable<Object> 
 	{
 		private final Path _path;
@@ -157,70 +310,128 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			{
 				//note: next(key, value) does not yet exploit the given serialization classes, record reader does but is generally slower.
 				while( reader.next(key, value) )
-				{	
-					//empty block filter (skip entire block)
-					if( value.isEmptyBlock(false) )
-						continue;
-					
-					int row_offset = (int)(key.getRowIndex()-1)*_blen;
-					int col_offset = (int)(key.getColumnIndex()-1)*_blen;
-					int rows = value.getNumRows();
-					int cols = value.getNumColumns();
-					
-					//bound check per block
-					if( row_offset + rows < 0 || row_offset + rows > _rlen 
-						|| col_offset + cols<0 || col_offset + cols > _clen ) {
-						throw new IOException("Matrix block ["+(row_offset+1)+":"
-							+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
-							"out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
-					}
+					lnnz += copyBlockToResult(_dest, key, value, _rlen, _clen, _blen, _syncBlocks);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
 			
-					//copy block to result
-					if( sparse )
-					{
-						//note: append requires final sort
-						if (cols < _clen ) {
-							//sparse requires lock, when matrix is wider than one block
-							//(fine-grained locking of block rows instead of the entire matrix)
-							//NOTE: fine-grained locking depends on MCSR SparseRow objects 
-							SparseBlock sblock = _dest.getSparseBlock();
-							if( sblock instanceof SparseBlockMCSR && sblock.get(row_offset) != null ) {
-								if( _syncBlocks ) {
-									synchronized( sblock.get(row_offset) ){ 
-										_dest.appendToSparse(value, row_offset, col_offset);
-									}
-								}
-								else {
-									for( int i=0; i<rows; i++ ) 
-										synchronized( sblock.get(row_offset+i) ) {
-											_dest.appendRowToSparse(sblock, value, i, row_offset, col_offset, true);
-										}
-								}
-							}
-							else {
-								synchronized( _dest ){ 
-									_dest.appendToSparse(value, row_offset, col_offset);
-								}
-							}
-						}
-						else { //quickpath (no synchronization)
-							_dest.appendToSparse(value, row_offset, col_offset);
-						}
-					} 
-					else {
-						_dest.copy( row_offset, row_offset+rows-1, 
-							col_offset, col_offset+cols-1, value, false );
+			return lnnz;
+		}
+	}
+
+	private static class PrefetchFileTask implements Callable<Object> 
+	{
+		private final Path _path;
+		private final JobConf _job;
+		private final BlockingQueue<RawBatch> _queue;
+		private final AtomicBoolean _abort;
+		
+		public PrefetchFileTask(Path path, JobConf job, BlockingQueue<RawBatch> queue, AtomicBoolean abort) {
+			_path = path;
+			_job = job;
+			_queue = queue;
+			_abort = abort;
+		}
+
+		@Override
+		public Object call() throws Exception 
+		{
+			SequenceFile.Reader reader = new SequenceFile
+				.Reader(_job, SequenceFile.Reader.file(_path));
+			
+			try
+			{
+				//read raw records (w/o deserialization, but w/ decompression)
+				DataOutputBuffer kbuff = new DataOutputBuffer();
+				DataOutputBuffer vbuff = new DataOutputBuffer();
+				DataInputBuffer kin = new DataInputBuffer();
+				SequenceFile.ValueBytes vbytes = reader.createValueBytes();
+				RawBatch batch = new RawBatch();
+				while( !_abort.get() && reader.nextRaw(kbuff, vbytes) >= 0 ) {
+					MatrixIndexes key = new MatrixIndexes();
+					kin.reset(kbuff.getData(), kbuff.getLength());
+					key.readFields(kin);
+					vbytes.writeUncompressedBytes(vbuff);
+					batch.add(key, Arrays.copyOf(vbuff.getData(), vbuff.getLength()));
+					kbuff.reset();
+					vbuff.reset();
+					if( batch.size >= PREFETCH_BATCH_SIZE ) {
+						enqueue(batch);
+						batch = new RawBatch();
 					}
-					
-					//aggregate nnz
-					lnnz += value.getNonZeros();
 				}
+				if( !batch.keys.isEmpty() )
+					enqueue(batch);
 			}
 			finally {
 				IOUtilFunctions.closeSilently(reader);
 			}
-			
+			return null;
+		}
+		
+		private void enqueue(RawBatch batch) throws InterruptedException {
+			//bounded wait to react to failures of decode tasks
+			while( !_abort.get() && !_queue.offer(batch, 100, TimeUnit.MILLISECONDS) );
+		}
+	}
+
+	private static class DecodeTask implements Callable<Long> 
+	{
+		private final BlockingQueue<RawBatch> _queue;
+		private final AtomicBoolean _abort;
+		private final MatrixBlock _dest;
+		private final long _rlen, _clen;
+		private final int _blen;
+		private final boolean _syncBlocks;
+		
+		public DecodeTask(BlockingQueue<RawBatch> queue, AtomicBoolean abort, MatrixBlock dest,
+			long rlen, long clen, int blen, boolean syncBlocks)
+		{
+			_queue = queue;
+			_abort = abort;
+			_dest = dest;
+			_rlen = rlen;
+			_clen = clen;
+			_blen = blen;
+			_syncBlocks = syncBlocks;
+		}
+
+		@Override
+		public Long call() throws Exception 
+		{
+			MatrixBlock value = getReuseBlock(_blen, _dest.isInSparseFormat());
+			long lnnz = 0; //aggregate block nnz
+			try {
+				for( RawBatch batch = _queue.take(); batch != RawBatch.EOS; batch = _queue.take() ) {
+					if( _abort.get() )
+						continue; //drain until end-of-stream
+					for( int i=0; i<batch.keys.size(); i++ ) {
+						value.readFields(new CacheDataInput(batch.values.get(i)));
+						lnnz += copyBlockToResult(_dest, batch.keys.get(i), value, _rlen, _clen, _blen, _syncBlocks);
+					}
+				}
+			}
+			catch(Exception ex) {
+				_abort.set(true);
+				throw ex;
+			}
 			return lnnz;
 		}
 	}
+
+	private static class RawBatch
+	{
+		private static final RawBatch EOS = new RawBatch();
+		
+		private final List<MatrixIndexes> keys = new ArrayList<>();
+		private final List<byte[]> values = new ArrayList<>();
+		private long size = 0;
+		
+		private void add(MatrixIndexes key, byte[] value) {
+			keys.add(key);
+			values.add(value);
+			size += value.length;
+		}
+	}
 }
@@ -31,10 +31,9 @@ import java.io.BufferedInputStream;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
-import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.io.hdf5.H5;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
-import org.apache.sysds.runtime.io.hdf5.H5ContiguousDataset;
+import org.apache.sysds.runtime.io.hdf5.H5Dataset;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
@@ -80,7 +79,8 @@ public class ReaderHDF5 extends MatrixReader {
 		//core read
 		String datasetName = _props.getDatasetName();
 
-		BufferedInputStream bis = new BufferedInputStream(is, (int) (H5Constants.STATIC_HEADER_SIZE + (clen * rlen * 8)));
+		int bufferSize = (int) Math.max(H5Constants.STATIC_HEADER_SIZE + (clen * rlen * 8), is.available());
+		BufferedInputStream bis = new BufferedInputStream(is, bufferSize);
 		long lnnz = readMatrixFromHDF5(bis, datasetName, ret, 0, rlen, clen, blen);
 
 		//finally check if change of sparse/dense block representation required
@@ -115,7 +115,7 @@ public class ReaderHDF5 extends MatrixReader {
 		long lnnz = 0;
 		for(int fileNo = 0; fileNo < files.size(); fileNo++) {
 			BufferedInputStream bis = new BufferedInputStream(fs.open(files.get(fileNo)),
-				(int) (H5Constants.STATIC_HEADER_SIZE + (clen * rlen * 8)));
+				getBufferSize(fs, files.get(fileNo), rlen, clen));
 			lnnz += readMatrixFromHDF5(bis, datasetName, dest, 0, rlen, clen, blen);
 		}
 		//post processing
@@ -126,30 +126,29 @@ public class ReaderHDF5 extends MatrixReader {
 
 	public static long readMatrixFromHDF5(BufferedInputStream bis, String datasetName, MatrixBlock dest,
 		int row, long rlen, long clen, int blen) {
+		return readMatrixFromHDF5(bis, datasetName, dest, row, rlen, clen, blen, 1);
+	}
+
+	public static long readMatrixFromHDF5(BufferedInputStream bis, String datasetName, MatrixBlock dest,
+		int row, long rlen, long clen, int blen, int k) {
 		bis.mark(0);
-		long lnnz = 0;
 		H5RootObject rootObject = H5.H5Fopen(bis);
-		H5ContiguousDataset contiguousDataset = H5.H5Dopen(rootObject, datasetName);
-
-		int[] dims = rootObject.getDimensions();
-		int ncol = dims[1];
-
-		DenseBlock denseBlock = dest.getDenseBlock();
-		double[] data = new double[ncol];
-		for(int i = row; i < rlen; i++) {
-			H5.H5Dread(contiguousDataset, i, data);
-			for(int j = 0; j < ncol; j++) {
-				if(data[j] != 0) {
-					denseBlock.set(i, j, data[j]);
-					lnnz++;
-				}
-			}
-			row++;
-		}
+		H5Dataset dataset = H5.H5Dopen(rootObject, datasetName);
+
+		//read rows [row, rlen) of contiguous or chunked dataset
+		int ru = (int) Math.min(rlen, dataset.getNumRows());
+		long lnnz = dataset.readRows(dest.getDenseBlock(), row, ru, k);
 		IOUtilFunctions.closeSilently(bis);
 		return lnnz;
 	}
 
+	protected static int getBufferSize(FileSystem fs, Path path, long rlen, long clen) throws IOException {
+		//entire file is buffered for random access, where chunked
+		//datasets might exceed the size of the raw FP64 data
+		long size = Math.max(H5Constants.STATIC_HEADER_SIZE + (clen * rlen * 8), fs.getFileStatus(path).getLen());
+		return (int) Math.min(size, Integer.MAX_VALUE - 8);
+	}
+
 	public static MatrixBlock computeHDF5Size(List<Path> files, FileSystem fs, String datasetName)
 		throws IOException, DMLRuntimeException {
 		int nrow = 0;
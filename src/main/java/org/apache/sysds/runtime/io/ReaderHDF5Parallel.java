@@ -27,7 +27,8 @@ import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
-import org.apache.sysds.runtime.io.hdf5.H5Constants;
+import org.apache.sysds.runtime.io.hdf5.H5;
+import org.apache.sysds.runtime.io.hdf5.H5ChunkedDataset;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import java.io.BufferedInputStream;
@@ -71,12 +72,19 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 		files.add(path);
 		MatrixBlock src = computeHDF5Size(files, fs, _props.getDatasetName());
 
+		int bufferSize = getBufferSize(fs, path, src.getNumRows(), src.getNumColumns());
+		rlen = src.getNumRows();
+		if(isChunkedHDF5(fs, path, _props.getDatasetName())) {
+			//chunked datasets are read via a single stream, but decoded in parallel
+			BufferedInputStream bis = new BufferedInputStream(fs.open(path), bufferSize);
+			src.setNonZeros(readMatrixFromHDF5(bis, _props.getDatasetName(), src, 0, rlen, clen, blen, _numThreads));
+			return src;
+		}
+
 		//create and execute tasks
 		try {
 			ExecutorService pool = CommonThreadPool.get(_numThreads);
-			int bufferSize = (src.getNumColumns() * src.getNumRows()) * 8 + H5Constants.STATIC_HEADER_SIZE;
 			ArrayList<ReadHDF5Task> tasks = new ArrayList<>();
-			rlen = src.getNumRows();
 			int blklen = (int) Math.ceil((double) rlen / _numThreads);
 			for(int i = 0; i < _numThreads & i * blklen < rlen; i++) {
 				int rl = i * blklen;
@@ -101,6 +109,17 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 		return src;
 	}
 
+	private static boolean isChunkedHDF5(FileSystem fs, Path path, String datasetName) throws IOException {
+		//only reads the headers (as in computeHDF5Size)
+		BufferedInputStream bis = new BufferedInputStream(fs.open(path));
+		try {
+			return H5.H5Dopen(H5.H5Fopen(bis), datasetName) instanceof H5ChunkedDataset;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(bis);
+		}
+	}
+
 	@Override
 	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
 		throws IOException, DMLRuntimeException {
@@ -46,7 +46,6 @@ import org.apache.sysds.runtime.data.SparseRow;
 import org.apache.sysds.runtime.io.IOUtilFunctions.CountRowsTask;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
-import org.apache.sysds.runtime.util.UtilFunctions;
 
 /**
  * Parallel version of ReaderTextCSV.java. To summarize, we do two passes in order to compute row offsets and the actual
@@ -317,6 +316,17 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		protected abstract long parse(RecordReader<LongWritable, Text> reader, LongWritable key, Text value)
 			throws IOException;
 
+		protected void checkNumColumns(CSVTokenizer tok, int ncol) throws IOException {
+			//note: line string only created on errors
+			if(ncol != _cLen)
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), tok.getLine(), ncol, _cLen);
+		}
+
+		protected void checkEmptyField(CSVTokenizer tok, boolean noFillEmpty) throws IOException {
+			if(noFillEmpty)
+				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(tok.getLine(), _props.isFill(), noFillEmpty);
+		}
+
 		protected void verifyRows(Text value) throws IOException {
 			if(_row != (_offsets.getOffsetPerSplit(_splitCount) + _offsets.getLenghtPerSplit(_splitCount))) {
 				throw new IOException("Incorrect number of rows (" + _row + ") found in delimited file ("
@@ -334,32 +344,31 @@ public class ReaderTextCSVParallel extends MatrixReader {
 
 		protected long parse(RecordReader<LongWritable, Text> reader, LongWritable key, Text value) throws IOException {
 			DenseBlock a = _dest.getDenseBlock();
+			CSVTokenizer tok = new CSVTokenizer(_props.getDelim(), false, null);
 			double cellValue = 0;
 			long nnz = 0;
 			boolean noFillEmpty = false;
 
 			while(reader.next(key, value)) { // foreach line
-				final String cellStr = value.toString().trim();
-				final String[] parts = IOUtilFunctions.split(cellStr, _props.getDelim());
+				// sanity check (number of columns) before in-place parsing
+				checkNumColumns(tok, tok.tokenize(value));
 				double[] avals = a.values(_row);
 				int apos = a.pos(_row);
 				for(int j = 0; j < _cLen; j++) { // foreach cell
-					String part = parts[j].trim();
-					if(part.isEmpty()) {
+					if(tok.isEmpty(j)) {
 						noFillEmpty |= !_props.isFill();
 						cellValue = _props.getFillValue();
 					}
 					else {
-						cellValue = Double.parseDouble(part);
+						cellValue = tok.parseDouble(j);
 					}
 					if(cellValue != 0) {
 						avals[apos+j] = cellValue;
 						nnz++;
 					}
 				}
-				// sanity checks (number of columns, fill values)
-				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _props.isFill(), noFillEmpty);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _cLen);
+				// sanity check (fill values)
+				checkEmptyField(tok, noFillEmpty);
 				_row++;
 			}
 
@@ -376,31 +385,30 @@ public class ReaderTextCSVParallel extends MatrixReader {
 
 		protected long parse(RecordReader<LongWritable, Text> reader, LongWritable key, Text value) throws IOException {
 			DenseBlock a = _dest.getDenseBlock();
+			CSVTokenizer tok = new CSVTokenizer(_props.getDelim(), false, _props.getNAStrings());
 			double cellValue = 0;
 			boolean noFillEmpty = false;
 			long nnz = 0;
 			while(reader.next(key, value)) { // foreach line
-				String cellStr = value.toString().trim();
-				String[] parts = IOUtilFunctions.split(cellStr, _props.getDelim());
+				// sanity check (number of columns) before in-place parsing
+				checkNumColumns(tok, tok.tokenize(value));
 				double[] avals = a.values(_row);
 				int apos = a.pos(_row);
 				for(int j = 0; j < _cLen; j++) { // foreach cell
-					String part = parts[j].trim();
-					if(part.isEmpty()) {
+					if(tok.isEmpty(j)) {
 						noFillEmpty |= !_props.isFill();
 						cellValue = _props.getFillValue();
 					}
 					else
-						cellValue = UtilFunctions.parseToDouble(part, _props.getNAStrings());
+						cellValue = tok.parseDoubleNA(j);
 
 					if(cellValue != 0) {
 						avals[apos+j] = cellValue;
 						nnz++;
 					}
 				}
-				// sanity checks (number of columns, fill values)
-				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _props.isFill(), noFillEmpty);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _cLen);
+				// sanity check (fill values)
+				checkEmptyField(tok, noFillEmpty);
 				_row++;
 			}
 			return nnz;
@@ -417,35 +425,31 @@ public class ReaderTextCSVParallel extends MatrixReader {
 			boolean noFillEmpty = false;
 			double cellValue = 0;
 			final SparseBlock sb = _dest.getSparseBlock();
+			CSVTokenizer tok = new CSVTokenizer(_props.getDelim(), false, _props.getNAStrings());
 			long nnz = 0;
 			while(reader.next(key, value)) {
-
-				final String cellStr = value.toString().trim();
-				final String[] parts = IOUtilFunctions.split(cellStr, _props.getDelim());
-				_col = 0;
+				// sanity check (number of columns) before in-place parsing
+				checkNumColumns(tok, tok.tokenize(value));
 				sb.allocate(_row);
 				SparseRow r = sb.get(_row);
 
-				for(String part : parts) {
-					part = part.trim();
-					if(part.isEmpty()) {
+				for(_col = 0; _col < _cLen; _col++) {
+					if(tok.isEmpty(_col)) {
 						noFillEmpty |= !_props.isFill();
 						cellValue = _props.getFillValue();
 					}
 					else {
-						cellValue = UtilFunctions.parseToDouble(part, _props.getNAStrings());
+						cellValue = tok.parseDoubleNA(_col);
 					}
 
 					if(cellValue != 0) {
 						r.append(_col, cellValue);
 						nnz++;
 					}
-					_col++;
 				}
 
-				// sanity checks (number of columns, fill values)
-				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _props.isFill(), noFillEmpty);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _cLen);
+				// sanity check (fill values)
+				checkEmptyField(tok, noFillEmpty);
 
 				_row++;
 			}
@@ -460,35 +464,32 @@ public class ReaderTextCSVParallel extends MatrixReader {
 
 		protected long parse(RecordReader<LongWritable, Text> reader, LongWritable key, Text value) throws IOException {
 			final SparseBlock sb = _dest.getSparseBlock();
+			CSVTokenizer tok = new CSVTokenizer(_props.getDelim(), false, null);
 			long nnz = 0;
 			double cellValue = 0;
 			boolean noFillEmpty = false;
 			while(reader.next(key, value)) {
-				_col = 0;
-				final String cellStr = value.toString().trim();
-				final String[] parts = IOUtilFunctions.split(cellStr, _props.getDelim());
+				// sanity check (number of columns) before in-place parsing
+				checkNumColumns(tok, tok.tokenize(value));
 				sb.allocate(_row);
 				SparseRow r = sb.get(_row);
-				for(String part : parts) {
-					part = part.trim();
-					if(part.isEmpty()) {
+				for(_col = 0; _col < _cLen; _col++) {
+					if(tok.isEmpty(_col)) {
 						noFillEmpty |= !_props.isFill();
 						cellValue = _props.getFillValue();
 					}
 					else {
-						cellValue = Double.parseDouble(part);
+						cellValue = tok.parseDouble(_col);
 					}
 
 					if(cellValue != 0) {
 						r.append(_col, cellValue);
 						nnz++;
 					}
-					_col++;
 				}
 
-				// sanity checks (number of columns, fill values)
-				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _props.isFill(), noFillEmpty);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _cLen);
+				// sanity check (fill values)
+				checkEmptyField(tok, noFillEmpty);
 
 				_row++;
 			}
@@ -504,27 +505,24 @@ public class ReaderTextCSVParallel extends MatrixReader {
 
 		protected long parse(RecordReader<LongWritable, Text> reader, LongWritable key, Text value) throws IOException {
 			final SparseBlock sb = _dest.getSparseBlock();
+			CSVTokenizer tok = new CSVTokenizer(_props.getDelim(), false, null);
 			long nnz = 0;
 			double cellValue = 0;
 			while(reader.next(key, value)) {
-				_col = 0;
-				final String cellStr = value.toString().trim();
-				final String[] parts = IOUtilFunctions.split(cellStr, _props.getDelim());
+				// sanity check (number of columns) before in-place parsing
+				checkNumColumns(tok, tok.tokenize(value));
 				sb.allocate(_row);
 				SparseRow r = sb.get(_row);
-				for(String part : parts) {
-					if(!part.isEmpty()) {
-						cellValue = Double.parseDouble(part);
+				for(_col = 0; _col < _cLen; _col++) {
+					if(!tok.isEmpty(_col)) {
+						cellValue = tok.parseDouble(_col);
 						if(cellValue != 0) {
 							r.append(_col, cellValue);
 							nnz++;
 						}
 					}
-					_col++;
 				}
 
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _cLen);
-
 				_row++;
 			}
 			return nnz;
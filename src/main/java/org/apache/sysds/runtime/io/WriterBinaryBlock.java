@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.io;
 import java.io.IOException;
 
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
@@ -55,8 +56,11 @@ public class WriterBinaryBlock extends MatrixWriter
 		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
 			HDFSTool.addBinaryBlockSerializationFramework( job );
 		
-		//core write sequential/parallel
-		if( diag )
+		//core write sequential/parallel, or memory-mappable single file
+		if( !diag && ConfigurationManager.isMappedBinaryBlock()
+			&& fs instanceof LocalFileSystem && MappedBinaryBlock.isWritable(src) )
+			MappedBinaryBlock.writeMatrixBlock(fs, path, src);
+		else if( diag )
 			writeDiagBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, blen);
 		else
 			writeBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, blen);
@@ -110,7 +110,7 @@ public class H5 {
 	}
 
 	// Open a Data Space
-	public static H5ContiguousDataset H5Dopen(H5RootObject rootObject, String datasetName) {
+	public static H5Dataset H5Dopen(H5RootObject rootObject, String datasetName) {
 		try {
 			H5SymbolTableEntry symbolTableEntry = new H5SymbolTableEntry(rootObject,
 				rootObject.getSuperblock().rootGroupSymbolTableAddress - rootObject.getSuperblock().baseAddressByte);
@@ -137,8 +137,7 @@ public class H5 {
 			}
 
 			final H5ObjectHeader header = new H5ObjectHeader(rootObject, symbolTableEntry.getObjectHeaderAddress());
-			final H5ContiguousDataset contiguousDataset = new H5ContiguousDataset(rootObject, header);
-			return contiguousDataset;
+			return H5Dataset.create(rootObject, header);
 
 		}
 		catch(Exception exception) {
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage.H5Filter;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Dataset with chunked storage layout, where the chunks are indexed by a version 1
+ * B-tree and optionally compressed via the deflate, shuffle and fletcher32 filters.
+ * The chunks are read sequentially (as the input stream is shared), but decoded in
+ * parallel straight into the destination dense block.
+ */
+public class H5ChunkedDataset extends H5Dataset {
+
+	private static final byte[] BTREE_NODE_SIGNATURE = "TREE".getBytes(StandardCharsets.US_ASCII);
+	private static final int BTREE_NODE_TYPE_CHUNK = 1;
+
+	private final int[] chunkDims; // row, col, element size
+	private final List<H5Filter> filters;
+
+	public H5ChunkedDataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+		super(rootObject, objectHeader);
+		this.chunkDims = dataLayoutMessage.getChunkDimensions();
+		if(chunkDims.length != 3) {
+			throw new H5RuntimeException("Just support Matrix! Chunk dimensionality is: " + (chunkDims.length - 1));
+		}
+		this.filters = objectHeader.hasMessageOfType(H5FilterPipelineMessage.class) ?
+			objectHeader.getMessageOfType(H5FilterPipelineMessage.class).getFilters() : new ArrayList<>();
+		for(H5Filter filter : filters) {
+			if(filter.getId() != H5Constants.FILTER_DEFLATE && filter.getId() != H5Constants.FILTER_SHUFFLE &&
+				filter.getId() != H5Constants.FILTER_FLETCHER32) {
+				throw new H5RuntimeException("Unsupported HDF5 filter: " + filter);
+			}
+		}
+	}
+
+	@Override
+	public long readRows(DenseBlock dest, int rl, int ru, int k) {
+		// collect and read all chunks that overlap with the row range
+		List<H5Chunk> chunks = new ArrayList<>();
+		if(dataLayoutMessage.getAddress() != H5Constants.UNDEFINED_ADDRESS) {
+			collectChunks(dataLayoutMessage.getAddress(), rl, ru, chunks);
+		}
+		for(H5Chunk chunk : chunks) {
+			chunk.data = rootObject.readBufferFromAddressNoOrder(chunk.address, chunk.size).array();
+		}
+
+		// decode chunks into the destination (disjoint cells per chunk)
+		if(k <= 1 || chunks.size() <= 1) {
+			return new DecodeTask(chunks, dest, rl, ru, 0, 1).call();
+		}
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<DecodeTask> tasks = new ArrayList<>();
+			for(int i = 0; i < k && i < chunks.size(); i++)
+				tasks.add(new DecodeTask(chunks, dest, rl, ru, i, k));
+			long lnnz = 0;
+			for(Future<Long> task : pool.invokeAll(tasks))
+				lnnz += task.get();
+			pool.shutdown();
+			return lnnz;
+		}
+		catch(Exception e) {
+			throw new H5RuntimeException("Failed parallel decoding of HDF5 chunks", e);
+		}
+	}
+
+	private void collectChunks(long address, int rl, int ru, List<H5Chunk> chunks) {
+		final int sizeOfOffsets = rootObject.getSuperblock().sizeOfOffsets;
+		final int keySize = 8 + 8 * chunkDims.length;
+
+		ByteBuffer header = rootObject.readBufferFromAddress(address, 8 + 2 * sizeOfOffsets);
+		byte[] signature = new byte[4];
+		header.get(signature);
+		if(!Arrays.equals(BTREE_NODE_SIGNATURE, signature)) {
+			throw new H5RuntimeException("B tree node signature not matched");
+		}
+		final int nodeType = header.get();
+		if(nodeType != BTREE_NODE_TYPE_CHUNK) {
+			throw new H5RuntimeException("B tree type is not chunk. Type is: " + nodeType);
+		}
+		final int nodeLevel = header.get();
+		final int entriesUsed = Utils.readBytesAsUnsignedInt(header, 2);
+
+		// keys and child pointers, where the chunk of entry i is described by key i
+		// and (in internal nodes) keys i and i+1 bound the chunks of the subtree i
+		ByteBuffer bb = rootObject.readBufferFromAddress(address + header.capacity(),
+			entriesUsed * (keySize + sizeOfOffsets) + keySize);
+		int chunkSize = Utils.readBytesAsUnsignedInt(bb, 4);
+		int filterMask = bb.getInt();
+		long[] offsets = readKeyOffsets(bb);
+		for(int i = 0; i < entriesUsed; i++) {
+			final long childAddress = Utils.readBytesAsUnsignedLong(bb, sizeOfOffsets);
+			final int nextChunkSize = Utils.readBytesAsUnsignedInt(bb, 4);
+			final int nextFilterMask = bb.getInt();
+			final long[] nextOffsets = readKeyOffsets(bb);
+
+			// prune chunks (and subtrees) whose row range does not overlap, where the
+			// last subtree is bounded by the parent only (final key not relied upon)
+			if(nodeLevel > 0) {
+				if(offsets[0] < ru && (i == entriesUsed - 1 || nextOffsets[0] + chunkDims[0] > rl))
+					collectChunks(childAddress, rl, ru, chunks);
+			}
+			else if(offsets[0] < ru && offsets[0] + chunkDims[0] > rl) {
+				chunks.add(new H5Chunk((int) offsets[0], (int) offsets[1], chunkSize, filterMask, childAddress));
+			}
+			chunkSize = nextChunkSize;
+			filterMask = nextFilterMask;
+			offsets = nextOffsets;
+		}
+	}
+
+	private long[] readKeyOffsets(ByteBuffer bb) {
+		final long[] offsets = new long[chunkDims.length];
+		for(int j = 0; j < offsets.length; j++)
+			offsets[j] = bb.getLong();
+		return offsets;
+	}
+
+	private long decodeChunk(H5Chunk chunk, DenseBlock dest, int rl, int ru, double[] buff) {
+		final int elemSize = chunkDims[2];
+		byte[] data = chunk.data;
+		for(int i = filters.size() - 1; i >= 0; i--) {
+			if((chunk.filterMask & (1 << i)) != 0)
+				continue; // filter skipped on write
+			H5Filter filter = filters.get(i);
+			switch(filter.getId()) {
+				case H5Constants.FILTER_DEFLATE:
+					data = inflate(data, chunkDims[0] * chunkDims[1] * elemSize);
+					break;
+				case H5Constants.FILTER_SHUFFLE:
+					int[] cd = filter.getClientData();
+					data = unshuffle(data, cd.length > 0 ? cd[0] : elemSize);
+					break;
+				case H5Constants.FILTER_FLETCHER32:
+					data = Arrays.copyOf(data, data.length - 4); // strip checksum
+					break;
+				default:
+					throw new H5RuntimeException("Unsupported HDF5 filter: " + filter);
+			}
+		}
+
+		// convert rows of the chunk, clipped to the dataset and row range
+		ByteBuffer bb = ByteBuffer.wrap(data);
+		H5DoubleDataType type = dataTypeMessage.getDoubleDataType();
+		final int r0 = Math.max(chunk.row, rl);
+		final int r1 = Math.min(Math.min(chunk.row + chunkDims[0], getNumRows()), ru);
+		final int len = Math.min(chunkDims[1], getNumCols() - chunk.col);
+		long lnnz = 0;
+		for(int r = r0; r < r1; r++) {
+			type.convert(bb, (r - chunk.row) * chunkDims[1] * elemSize, buff, 0, len);
+			lnnz += copyNonZeros(buff, 0, dest, r, chunk.col, len);
+		}
+		return lnnz;
+	}
+
+	protected static byte[] inflate(byte[] data, int expectedSize) {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(data);
+			byte[] out = new byte[Math.max(expectedSize, 1)];
+			int len = 0;
+			while(!inflater.finished()) {
+				if(len == out.length)
+					out = Arrays.copyOf(out, out.length * 2);
+				int n = inflater.inflate(out, len, out.length - len);
+				if(n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					throw new H5RuntimeException("Truncated deflate stream in HDF5 chunk");
+				len += n;
+			}
+			return (len == out.length) ? out : Arrays.copyOf(out, len);
+		}
+		catch(DataFormatException e) {
+			throw new H5RuntimeException("Failed to inflate HDF5 chunk", e);
+		}
+		finally {
+			inflater.end();
+		}
+	}
+
+	protected static byte[] unshuffle(byte[] data, int elemSize) {
+		// shuffle stores the i-th bytes of all elements consecutively
+		if(elemSize <= 1)
+			return data;
+		final int n = data.length / elemSize;
+		byte[] out = new byte[data.length];
+		for(int b = 0; b < elemSize; b++)
+			for(int i = 0, pos = b * n; i < n; i++, pos++)
+				out[i * elemSize + b] = data[pos];
+		// trailing bytes are not shuffled
+		System.arraycopy(data, n * elemSize, out, n * elemSize, data.length - n * elemSize);
+		return out;
+	}
+
+	public int[] getChunkDimensions() {
+		return chunkDims;
+	}
+
+	public List<H5Filter> getFilters() {
+		return filters;
+	}
+
+	private static class H5Chunk {
+		private final int row;
+		private final int col;
+		private final int size;
+		private final int filterMask;
+		private final long address;
+		private byte[] data;
+
+		private H5Chunk(int row, int col, int size, int filterMask, long address) {
+			this.row = row;
+			this.col = col;
+			this.size = size;
+			this.filterMask = filterMask;
+			this.address = address;
+		}
+	}
+
+	private class DecodeTask implements Callable<Long> {
+		private final List<H5Chunk> _chunks;
+		private final DenseBlock _dest;
+		private final int _rl;
+		private final int _ru;
+		private final int _off;
+		private final int _stride;
+
+		protected DecodeTask(List<H5Chunk> chunks, DenseBlock dest, int rl, int ru, int off, int stride) {
+			_chunks = chunks;
+			_dest = dest;
+			_rl = rl;
+			_ru = ru;
+			_off = off;
+			_stride = stride;
+		}
+
+		@Override
+		public Long call() {
+			double[] buff = new double[chunkDims[1]];
+			long lnnz = 0;
+			for(int i = _off; i < _chunks.size(); i += _stride) {
+				H5Chunk chunk = _chunks.get(i);
+				lnnz += decodeChunk(chunk, _dest, _rl, _ru, buff);
+				chunk.data = null; // allow early garbage collection
+			}
+			return lnnz;
+		}
+	}
+}
@@ -28,6 +28,15 @@ public final class H5Constants {
 	public static final int DATA_TYPE_MESSAGE = 3;
 	public static final int FILL_VALUE_MESSAGE = 5;
 	public static final int DATA_LAYOUT_MESSAGE = 8;
+	public static final int FILTER_PIPELINE_MESSAGE = 11;
 	public static final int SYMBOL_TABLE_MESSAGE = 17;
 	public static final int OBJECT_MODIFICATION_TIME_MESSAGE = 18;
+
+	public static final int LAYOUT_CLASS_COMPACT = 0;
+	public static final int LAYOUT_CLASS_CONTIGUOUS = 1;
+	public static final int LAYOUT_CLASS_CHUNKED = 2;
+
+	public static final int FILTER_DEFLATE = 1;
+	public static final int FILTER_SHUFFLE = 2;
+	public static final int FILTER_FLETCHER32 = 3;
 }
@@ -20,27 +20,20 @@
 
 package org.apache.sysds.runtime.io.hdf5;
 
-import org.apache.sysds.runtime.io.hdf5.message.H5DataLayoutMessage;
+import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.io.hdf5.message.H5DataSpaceMessage;
-import org.apache.sysds.runtime.io.hdf5.message.H5DataTypeMessage;
 
 import java.nio.ByteBuffer;
 
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 
-public class H5ContiguousDataset {
+public class H5ContiguousDataset extends H5Dataset {
 
-	private final H5RootObject rootObject;
-	private final H5DataLayoutMessage dataLayoutMessage;
-	private final H5DataTypeMessage dataTypeMessage;
 	@SuppressWarnings("unused")
 	private final H5DataSpaceMessage dataSpaceMessage;
 
 	public H5ContiguousDataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
-
-		this.rootObject = rootObject;
-		this.dataLayoutMessage = objectHeader.getMessageOfType(H5DataLayoutMessage.class);
-		this.dataTypeMessage = objectHeader.getMessageOfType(H5DataTypeMessage.class);
+		super(rootObject, objectHeader);
 		this.dataSpaceMessage = objectHeader.getMessageOfType(H5DataSpaceMessage.class);
 	}
 
@@ -57,7 +50,17 @@ public class H5ContiguousDataset {
 			throw new H5RuntimeException("Failed to map data buffer for dataset", e);
 		}
 	}
-	public H5DataTypeMessage getDataType() {
-		return dataTypeMessage;
+
+	@Override
+	public long readRows(DenseBlock dest, int rl, int ru, int k) {
+		// sequential read, because all rows share the underlying input stream
+		int ncol = getNumCols();
+		double[] data = new double[ncol];
+		long lnnz = 0;
+		for(int i = rl; i < ru; i++) {
+			H5.H5Dread(this, i, data);
+			lnnz += copyNonZeros(data, 0, dest, i, 0, ncol);
+		}
+		return lnnz;
 	}
 }
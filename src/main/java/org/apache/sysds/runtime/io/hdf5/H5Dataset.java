@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.io.hdf5.message.H5DataLayoutMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5DataTypeMessage;
+
+public abstract class H5Dataset {
+
+	protected final H5RootObject rootObject;
+	protected final H5DataLayoutMessage dataLayoutMessage;
+	protected final H5DataTypeMessage dataTypeMessage;
+
+	protected H5Dataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+		this.rootObject = rootObject;
+		this.dataLayoutMessage = objectHeader.getMessageOfType(H5DataLayoutMessage.class);
+		this.dataTypeMessage = objectHeader.getMessageOfType(H5DataTypeMessage.class);
+	}
+
+	public static H5Dataset create(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+		H5DataLayoutMessage layout = objectHeader.getMessageOfType(H5DataLayoutMessage.class);
+		switch(layout.getLayoutClass()) {
+			case H5Constants.LAYOUT_CLASS_CONTIGUOUS:
+				return new H5ContiguousDataset(rootObject, objectHeader);
+			case H5Constants.LAYOUT_CLASS_CHUNKED:
+				return new H5ChunkedDataset(rootObject, objectHeader);
+			default:
+				throw new H5RuntimeException("Unsupported data layout class = " + layout.getLayoutClass());
+		}
+	}
+
+	/**
+	 * Reads the rows [rl, ru) of the 2D dataset into the given dense block, where
+	 * only non-zero values are written.
+	 *
+	 * @param dest destination dense block
+	 * @param rl   row lower bound (inclusive)
+	 * @param ru   row upper bound (exclusive)
+	 * @param k    degree of parallelism for decoding
+	 * @return number of non-zeros
+	 */
+	public abstract long readRows(DenseBlock dest, int rl, int ru, int k);
+
+	public H5DataTypeMessage getDataType() {
+		return dataTypeMessage;
+	}
+
+	public int getNumRows() {
+		return rootObject.getDimensions()[0];
+	}
+
+	public int getNumCols() {
+		return rootObject.getDimensions()[1];
+	}
+
+	protected static long copyNonZeros(double[] src, int srcPos, DenseBlock dest, int row, int col, int len) {
+		double[] values = dest.values(row);
+		int pos = dest.pos(row, col);
+		long lnnz = 0;
+		for(int j = 0; j < len; j++) {
+			double v = src[srcPos + j];
+			if(v != 0) {
+				values[pos + j] = v;
+				lnnz++;
+			}
+		}
+		return lnnz;
+	}
+}
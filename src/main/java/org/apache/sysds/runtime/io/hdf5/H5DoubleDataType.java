@@ -21,11 +21,18 @@ package org.apache.sysds.runtime.io.hdf5;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.DoubleBuffer;
 import java.util.BitSet;
 
+/**
+ * Numeric data type of HDF5 datasets, which covers the floating-point (FP32, FP64)
+ * and fixed-point (signed/unsigned 8, 16, 32, 64 bit integer) classes. All values
+ * are converted to doubles on read, while the writer always uses FP64.
+ */
 public class H5DoubleDataType {
 
+	private static final int CLASS_FIXED_POINT = 0;
+	private static final int CLASS_FLOATING_POINT = 1;
+
 	private int version;
 	private int dataClass;
 	private int size;
@@ -37,6 +44,7 @@ public class H5DoubleDataType {
 	private boolean internalPadding;
 	private int mantissaNormalization;
 	private int signLocation;
+	private boolean signed;
 
 	// Properties
 	private short bitOffset;
@@ -64,7 +72,10 @@ public class H5DoubleDataType {
 		// Size
 		size = Utils.readBytesAsUnsignedInt(bb, 4);
 
-		if(classBits.get(6)) {
+		if(dataClass != CLASS_FIXED_POINT && dataClass != CLASS_FLOATING_POINT) {
+			throw new H5RuntimeException("Unsupported data type class = " + dataClass);
+		}
+		if(dataClass == CLASS_FLOATING_POINT && classBits.get(6)) {
 			throw new H5RuntimeException("VAX endian is not supported");
 		}
 		if(classBits.get(0)) {
@@ -76,7 +87,23 @@ public class H5DoubleDataType {
 
 		lowPadding = classBits.get(1);
 		highPadding = classBits.get(2);
+
+		if(dataClass == CLASS_FIXED_POINT) {
+			if(size != 1 && size != 2 && size != 4 && size != 8) {
+				throw new H5RuntimeException("Unsupported fixed-point size = " + size);
+			}
+			signed = classBits.get(3);
+
+			// Properties
+			bitOffset = bb.getShort();
+			bitPrecision = bb.getShort();
+			return;
+		}
+		if(size != 4 && size != 8) {
+			throw new H5RuntimeException("Unsupported floating-point size = " + size);
+		}
 		internalPadding = classBits.get(3);
+		signed = true;
 
 		// Mask the 4+5 bits and shift to the end
 		mantissaNormalization = Utils.bitsToInt(classBits, 4, 2);
@@ -128,8 +155,64 @@ public class H5DoubleDataType {
 	}
 
 	public void fillData(ByteBuffer buffer, double[] data) {
-		DoubleBuffer db = buffer.asDoubleBuffer();
-		db.get(data);
+		convert(buffer, 0, data, 0, data.length);
+	}
+
+	/**
+	 * Converts a sequence of data elements of this type into doubles.
+	 *
+	 * @param buffer  source buffer (the byte order is set according to this type)
+	 * @param pos     byte position of the first element in the source buffer
+	 * @param dest    destination array
+	 * @param destPos position of the first element in the destination array
+	 * @param len     number of elements
+	 */
+	public void convert(ByteBuffer buffer, int pos, double[] dest, int destPos, int len) {
+		buffer.order(order == null ? ByteOrder.LITTLE_ENDIAN : order);
+		if(dataClass == CLASS_FLOATING_POINT) {
+			if(size == 4) {
+				for(int i = 0; i < len; i++)
+					dest[destPos + i] = buffer.getFloat(pos + i * 4);
+			}
+			else {
+				for(int i = 0; i < len; i++)
+					dest[destPos + i] = buffer.getDouble(pos + i * 8);
+			}
+			return;
+		}
+		switch(size) {
+			case 1:
+				for(int i = 0; i < len; i++) {
+					byte v = buffer.get(pos + i);
+					dest[destPos + i] = signed ? v : Byte.toUnsignedInt(v);
+				}
+				break;
+			case 2:
+				for(int i = 0; i < len; i++) {
+					short v = buffer.getShort(pos + i * 2);
+					dest[destPos + i] = signed ? v : Short.toUnsignedInt(v);
+				}
+				break;
+			case 4:
+				for(int i = 0; i < len; i++) {
+					int v = buffer.getInt(pos + i * 4);
+					dest[destPos + i] = signed ? v : Integer.toUnsignedLong(v);
+				}
+				break;
+			default:
+				for(int i = 0; i < len; i++) {
+					long v = buffer.getLong(pos + i * 8);
+					dest[destPos + i] = (signed || v >= 0) ? v : ((double) (v >>> 1)) * 2 + (v & 1);
+				}
+		}
+	}
+
+	public boolean isFloatingPoint() {
+		return dataClass == CLASS_FLOATING_POINT;
+	}
+
+	public boolean isSigned() {
+		return signed;
 	}
 
 	public int getVersion() {
@@ -23,6 +23,7 @@ package org.apache.sysds.runtime.io.hdf5.message;
 import org.apache.sysds.runtime.io.hdf5.H5BufferBuilder;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
 import org.apache.sysds.runtime.io.hdf5.Utils;
 
 import java.nio.ByteBuffer;
@@ -30,21 +31,71 @@ import java.util.BitSet;
 
 public class H5DataLayoutMessage extends H5Message {
 
+	private final int layoutClass;
 	private final long address;
 	private final long size;
+	private final int[] chunkDimensions;
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
 		super(rootObject, flags);
+		final int sizeOfOffsets = rootObject.getSuperblock().sizeOfOffsets;
 		rootObject.setDataLayoutVersion(bb.get());
-		rootObject.setDataLayoutClass(bb.get());
-		this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
-		this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+		if(rootObject.getDataLayoutVersion() == 3) {
+			layoutClass = bb.get();
+			rootObject.setDataLayoutClass((byte) layoutClass);
+			switch(layoutClass) {
+				case H5Constants.LAYOUT_CLASS_COMPACT:
+					this.size = Utils.readBytesAsUnsignedInt(bb, 2);
+					this.address = H5Constants.UNDEFINED_ADDRESS;
+					this.chunkDimensions = null;
+					break;
+				case H5Constants.LAYOUT_CLASS_CONTIGUOUS:
+					this.address = Utils.readBytesAsUnsignedLong(bb, sizeOfOffsets);
+					this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+					this.chunkDimensions = null;
+					break;
+				case H5Constants.LAYOUT_CLASS_CHUNKED:
+					// dimensionality includes the trailing dimension of the element size
+					final int dimensionality = Utils.readBytesAsUnsignedInt(bb, 1);
+					this.address = Utils.readBytesAsUnsignedLong(bb, sizeOfOffsets);
+					this.chunkDimensions = readChunkDimensions(bb, dimensionality);
+					this.size = -1;
+					break;
+				default:
+					throw new H5RuntimeException("Unsupported data layout class = " + layoutClass);
+			}
+		}
+		else if(rootObject.getDataLayoutVersion() == 1 || rootObject.getDataLayoutVersion() == 2) {
+			final int dimensionality = Utils.readBytesAsUnsignedInt(bb, 1);
+			layoutClass = bb.get();
+			rootObject.setDataLayoutClass((byte) layoutClass);
+
+			// Skip 5 reserved bytes
+			bb.position(bb.position() + 5);
+			this.address = (layoutClass != H5Constants.LAYOUT_CLASS_COMPACT) ?
+				Utils.readBytesAsUnsignedLong(bb, sizeOfOffsets) : H5Constants.UNDEFINED_ADDRESS;
+			int[] dims = readChunkDimensions(bb, dimensionality);
+			this.chunkDimensions = (layoutClass == H5Constants.LAYOUT_CLASS_CHUNKED) ? dims : null;
+			this.size = (layoutClass == H5Constants.LAYOUT_CLASS_COMPACT) ? Utils.readBytesAsUnsignedInt(bb, 4) : -1;
+		}
+		else {
+			throw new H5RuntimeException("Unsupported data layout version = " + rootObject.getDataLayoutVersion());
+		}
 	}
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, long address, long size) {
 		super(rootObject, flags);
+		this.layoutClass = H5Constants.LAYOUT_CLASS_CONTIGUOUS;
 		this.address = address;
 		this.size = size;
+		this.chunkDimensions = null;
+	}
+
+	private static int[] readChunkDimensions(ByteBuffer bb, int dimensionality) {
+		int[] dims = new int[dimensionality];
+		for(int i = 0; i < dimensionality; i++)
+			dims[i] = Utils.readBytesAsUnsignedInt(bb, 4);
+		return dims;
 	}
 
 	@Override
@@ -75,4 +126,17 @@ public class H5DataLayoutMessage extends H5Message {
 		return size;
 	}
 
+	public int getLayoutClass() {
+		return layoutClass;
+	}
+
+	/**
+	 * Gets the chunk dimensions of chunked layouts, where the last dimension is the size of a data element.
+	 *
+	 * @return chunk dimensions, or null for non-chunked layouts
+	 */
+	public int[] getChunkDimensions() {
+		return chunkDimensions;
+	}
+
 }
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5.message;
+
+import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
+import org.apache.sysds.runtime.io.hdf5.Utils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public class H5FilterPipelineMessage extends H5Message {
+
+	private final List<H5Filter> filters;
+
+	public H5FilterPipelineMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
+		super(rootObject, flags);
+
+		final int version = bb.get();
+		if(version != 1 && version != 2) {
+			throw new H5RuntimeException("Unsupported filter pipeline version = " + version);
+		}
+		final int numberOfFilters = Utils.readBytesAsUnsignedInt(bb, 1);
+
+		// Skip 6 reserved bytes (version 1 only)
+		if(version == 1) {
+			bb.position(bb.position() + 6);
+		}
+
+		filters = new ArrayList<>(numberOfFilters);
+		for(int i = 0; i < numberOfFilters; i++) {
+			final int id = Utils.readBytesAsUnsignedInt(bb, 2);
+
+			// Version 2 omits the name length of predefined filters
+			final int nameLength = (version == 1 || id >= 256) ? Utils.readBytesAsUnsignedInt(bb, 2) : 0;
+			final BitSet filterFlags = BitSet.valueOf(new byte[] {bb.get(), bb.get()});
+			final int numberOfValues = Utils.readBytesAsUnsignedInt(bb, 2);
+
+			// Name is null terminated, and padded to a multiple of eight in version 1
+			String name = null;
+			if(nameLength > 0) {
+				final int pos = bb.position();
+				name = Utils.readUntilNull(bb);
+				bb.position(pos + nameLength);
+			}
+
+			final int[] clientData = new int[numberOfValues];
+			for(int j = 0; j < numberOfValues; j++) {
+				clientData[j] = bb.getInt();
+			}
+			// Skip padding of odd number of values (version 1 only)
+			if(version == 1 && numberOfValues % 2 != 0) {
+				bb.position(bb.position() + 4);
+			}
+			filters.add(new H5Filter(id, name, filterFlags.get(0), clientData));
+		}
+	}
+
+	/**
+	 * Gets the filters in the order they were applied when writing, i.e., decoding
+	 * requires applying the inverse filters in reverse order.
+	 *
+	 * @return list of filters
+	 */
+	public List<H5Filter> getFilters() {
+		return filters;
+	}
+
+	public static class H5Filter {
+		private final int id;
+		private final String name;
+		private final boolean optional;
+		private final int[] clientData;
+
+		public H5Filter(int id, String name, boolean optional, int[] clientData) {
+			this.id = id;
+			this.name = name;
+			this.optional = optional;
+			this.clientData = clientData;
+		}
+
+		public int getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public boolean isOptional() {
+			return optional;
+		}
+
+		public int[] getClientData() {
+			return clientData;
+		}
+
+		@Override
+		public String toString() {
+			return "H5Filter[id=" + id + ", name=" + name + "]";
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.iogen;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Template of the line parsers generated by {@link FrameCodeGenReader}. The
+ * generated subclasses specialize {@link #parseLine(String, int)} for the
+ * inferred format (delimiters, NA strings, and index offsets are inlined as
+ * constants), and set the parsed cells into a pre-allocated output frame.
+ * A parser instance is used by a single read task.
+ */
+public abstract class FrameCodeGenParser {
+	protected FrameBlock _dest;
+	protected ValueType[] _schema;
+	protected int _clen;
+
+	/**
+	 * Binds the parser to the pre-allocated output frame.
+	 *
+	 * @param dest   output frame block (w/ plain columns for concurrent updates)
+	 * @param schema schema of the output frame
+	 * @param clen   number of columns
+	 */
+	public void init(FrameBlock dest, ValueType[] schema, int clen) {
+		_dest = dest;
+		_schema = schema;
+		_clen = clen;
+	}
+
+	/**
+	 * Parses a single line and sets its cells.
+	 *
+	 * @param line input line
+	 * @param row  row index of the line (ignored for formats with explicit row indexes)
+	 */
+	public abstract void parseLine(String line, int row);
+
+	protected final void set(int r, int c, String v) {
+		_dest.set(r, c, UtilFunctions.stringToObject(_schema[c], v));
+	}
+}
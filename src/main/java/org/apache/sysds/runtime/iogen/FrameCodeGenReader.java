@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.iogen;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.codegen.CodegenUtils;
+import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysds.runtime.io.FrameReader;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.IOUtilFunctions.CountRowsTask;
+import org.apache.sysds.runtime.iogen.MatrixCodeGenReader.MaxRowTask;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Generated frame reader for custom text formats. Similar to the
+ * {@link MatrixCodeGenReader}, this reader emits a specialized line parser
+ * (see {@link FrameCodeGenParser}) instead of interpreting the inferred
+ * {@link CustomProperties} per line (see {@link FrameGenerateReader}), and
+ * reads the input splits in parallel. The parsed cells are converted according
+ * to the schema and set into an output frame with plain (not dictionary-encoded)
+ * string columns, which is encoded once after the read.
+ */
+public class FrameCodeGenReader extends FrameReader {
+
+	//cache of compiled parsers by generated source (w/o class name)
+	private static final ConcurrentHashMap<String, Class<?>> _parsers = new ConcurrentHashMap<>();
+	private static final IDSequence _idSeq = new IDSequence();
+
+	private final int _numThreads;
+	private final CustomProperties _props;
+	private final boolean _rowIndexed;
+	private final Class<?> _parser;
+
+	public FrameCodeGenReader(CustomProperties props) {
+		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+		_props = props;
+		_rowIndexed = props.getRowPattern() == CustomProperties.GRPattern.Irregular;
+		_parser = compileParser(props);
+	}
+
+	@Override
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = IOUtilFunctions.sortInputSplits(informat.getSplits(job, _numThreads));
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			//first pass: row offsets per split or max row index
+			int[] offsets = new int[splits.length];
+			int nrow = 0;
+			if( _rowIndexed ) {
+				if( rlen <= 0 ) {
+					ArrayList<MaxRowTask> tasks = new ArrayList<>();
+					for( InputSplit split : splits )
+						tasks.add(new MaxRowTask(split, informat, job, _props.getDelim()));
+					for( Future<Long> rt : pool.invokeAll(tasks) )
+						nrow = (int) Math.max(nrow, rt.get() - _props.getFirstRowIndex() + 1);
+				}
+			}
+			else {
+				ArrayList<CountRowsTask> tasks = new ArrayList<>();
+				for( InputSplit split : splits )
+					tasks.add(new CountRowsTask(split, informat, job));
+				int i = 0;
+				for( Future<Long> rt : pool.invokeAll(tasks) ) {
+					offsets[i++] = nrow;
+					nrow += (int) rt.get().longValue();
+				}
+			}
+			rlen = Math.max(rlen, nrow);
+
+			//allocate output (w/ plain string columns for concurrent updates)
+			ValueType[] lschema = createOutputSchema(schema, clen);
+			String[] lnames = createOutputNames(names, clen);
+			FrameBlock dest = createOutputFrameBlock(lschema, lnames, rlen, false);
+
+			//second pass: parallel read of all splits
+			ArrayList<ReadTask> tasks = new ArrayList<>();
+			for( int i = 0; i < splits.length; i++ )
+				tasks.add(new ReadTask(splits[i], informat, job, dest, lschema, (int) clen, offsets[i]));
+			for( Future<Object> rt : pool.invokeAll(tasks) )
+				rt.get();
+
+			dest.dictEncodeStringColumns();
+			return dest;
+		}
+		catch(DMLRuntimeException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of generated reader.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		//single pass over the stream, which requires known dimensions
+		if( rlen < 0 || clen < 0 )
+			throw new DMLRuntimeException("Generated reader requires the dimensions for reading input streams.");
+		ValueType[] lschema = createOutputSchema(schema, clen);
+		String[] lnames = createOutputNames(names, clen);
+		FrameBlock dest = createOutputFrameBlock(lschema, lnames, rlen);
+		FrameCodeGenParser parser = createParser(dest, lschema, (int) clen);
+		BufferedReader br = new BufferedReader(new InputStreamReader(is));
+		int row = 0;
+		try {
+			String line;
+			while( (line = br.readLine()) != null )
+				parser.parseLine(line, row++);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(br);
+		}
+		return dest;
+	}
+
+	private FrameCodeGenParser createParser(FrameBlock dest, ValueType[] schema, int clen) {
+		try {
+			FrameCodeGenParser ret = (FrameCodeGenParser) _parser.getDeclaredConstructor().newInstance();
+			ret.init(dest, schema, clen);
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private class ReadTask implements Callable<Object> {
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final FrameBlock _dest;
+		private final ValueType[] _schema;
+		private final int _clen;
+		private final int _offset;
+
+		public ReadTask(InputSplit split, TextInputFormat informat, JobConf job,
+			FrameBlock dest, ValueType[] schema, int clen, int offset)
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_dest = dest;
+			_schema = schema;
+			_clen = clen;
+			_offset = offset;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			//concurrent sets of disjoint cells into plain columns
+			FrameCodeGenParser parser = createParser(_dest, _schema, _clen);
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			int row = _offset;
+			try {
+				while( reader.next(key, value) ) {
+					parser.parseLine(value.toString(), row);
+					row++;
+				}
+			}
+			catch(Exception ex) {
+				throw new IOException("Unable to read line " + (row + 1) + " of generated reader: " + value, ex);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return null;
+		}
+	}
+
+	////////////////////////////
+	// Code generation of line parsers
+
+	private static final String TEMPLATE =
+		  "package codegen;\n"
+		+ "import org.apache.sysds.runtime.iogen.FrameCodeGenParser;\n"
+		+ "import org.apache.sysds.runtime.util.UtilFunctions;\n"
+		+ "\n"
+		+ "public final class %TMP% extends FrameCodeGenParser {\n"
+		+ "  public %TMP%() {\n"
+		+ "    super();\n"
+		+ "  }\n"
+		+ "  @Override\n"
+		+ "  public void parseLine(String line, int row) {\n"
+		+ "    final int len = line.length();\n"
+		+ "    int pos = 0;\n"
+		+ "    int end = 0;\n"
+		+ "%BODY%"
+		+ "  }\n"
+		+ "}\n";
+
+	//row regular, col regular (e.g., csv w/ NA strings): cells w/ column index by position
+	private static final String BODY_RR_CR =
+		  "    int col = 0;\n"
+		+ "    while( true ) {\n"
+		+ "      while( %SKIP% ) { pos += %DLEN%; col++; }\n"
+		+ "      if( pos >= len ) break;\n"
+		+ "      end = %FIND%; if( end < 0 ) end = len;\n"
+		+ "      String tok = line.substring(pos, end);\n"
+		+ "      if( !(%NA%) )\n"
+		+ "        set(row, col, tok);\n"
+		+ "      pos = end;\n"
+		+ "    }\n";
+
+	//row regular, col irregular (e.g., libsvm): label and index-value pairs
+	private static final String BODY_RR_CI =
+		  "    while( %SKIP% ) pos += %DLEN%;\n"
+		+ "    if( pos >= len ) return;\n"
+		+ "    end = %FIND%; if( end < 0 ) end = len;\n"
+		+ "    set(row, _clen - 1, line.substring(pos, end));\n"
+		+ "    pos = end;\n"
+		+ "    while( true ) {\n"
+		+ "      while( %SKIP% ) pos += %DLEN%;\n"
+		+ "      if( pos >= len ) break;\n"
+		+ "      end = %FIND%; if( end < 0 ) end = len;\n"
+		+ "      int sep = %FIND_IX%;\n"
+		+ "      int col = UtilFunctions.parseToInt(line.substring(pos, sep)) - %FIRST_COL%;\n"
+		+ "      set(row, col, line.substring(sep + %IXLEN%, end));\n"
+		+ "      pos = end;\n"
+		+ "    }\n";
+
+	//row irregular (e.g., matrix market): row-col-value triples
+	private static final String BODY_RI =
+		  "    while( %SKIP% ) pos += %DLEN%;\n"
+		+ "    if( pos >= len ) return;\n"
+		+ "    end = %FIND%; if( end < 0 ) end = len;\n"
+		+ "    int r = UtilFunctions.parseToInt(line.substring(pos, end)) - %FIRST_ROW%;\n"
+		+ "    pos = end;\n"
+		+ "    while( %SKIP% ) pos += %DLEN%;\n"
+		+ "    end = %FIND%; if( end < 0 ) end = len;\n"
+		+ "    int c = UtilFunctions.parseToInt(line.substring(pos, end)) - %FIRST_COL%;\n"
+		+ "    pos = end;\n"
+		+ "    while( %SKIP% ) pos += %DLEN%;\n"
+		+ "    if( pos >= len ) return;\n"
+		+ "    end = %FIND%; if( end < 0 ) end = len;\n"
+		+ "    String tok = line.substring(pos, end);\n"
+		+ "    if( !(%NA%) )\n"
+		+ "      set(r, c, tok);\n";
+
+	private static Class<?> compileParser(CustomProperties props) {
+		String src = generateSource(props);
+		return _parsers.computeIfAbsent(src, s -> {
+			String name = "IOGenFrameParser" + _idSeq.getNextID();
+			return CodegenUtils.compileClass("codegen." + name, s.replace("%TMP%", name));
+		});
+	}
+
+	protected static String generateSource(CustomProperties props) {
+		String body;
+		if( props.getRowPattern() == CustomProperties.GRPattern.Irregular )
+			body = BODY_RI;
+		else if( props.getColPattern() == CustomProperties.GRPattern.Irregular )
+			body = BODY_RR_CI
+				.replace("%FIND_IX%", MatrixCodeGenReader.getFind(props.getIndexDelim(), "pos"))
+				.replace("%IXLEN%", String.valueOf(props.getIndexDelim().length()));
+		else
+			body = BODY_RR_CR;
+
+		//inline delimiters, NA strings, and index offsets as constants
+		String delim = props.getDelim();
+		body = body.replace("%NA%", MatrixCodeGenReader.getNACheck(props.getNaStrings()))
+			.replace("%SKIP%", MatrixCodeGenReader.getSkip(delim))
+			.replace("%DLEN%", String.valueOf(delim.length()))
+			.replace("%FIND%", MatrixCodeGenReader.getFind(delim, "pos"))
+			.replace("%FIRST_ROW%", String.valueOf(props.getFirstRowIndex()))
+			.replace("%FIRST_COL%", String.valueOf(props.getFirstColIndex()));
+		return TEMPLATE.replace("%BODY%", body);
+	}
+}
@@ -219,8 +219,8 @@ public abstract class FrameGenerateReader extends FrameReader {
 					String cellStr = value.toString();
 					fastStringTokenizerDelim.reset(cellStr);
 					String cellValueString = fastStringTokenizerDelim.nextToken();
-					dest.set(row, (int) clen - 1 - _props.getFirstColIndex(),
-						UtilFunctions.stringToObject(schema[(int) clen - 1 - _props.getFirstColIndex()], cellValueString));
+					dest.set(row, (int) clen - 1,
+						UtilFunctions.stringToObject(schema[(int) clen - 1], cellValueString));
 
 					while(col != -1) {
 						String nt = fastStringTokenizerDelim.nextToken();
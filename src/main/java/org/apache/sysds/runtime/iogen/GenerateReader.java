@@ -21,6 +21,8 @@ package org.apache.sysds.runtime.iogen;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.CompilerConfig;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.io.MatrixReader;
 import org.apache.sysds.runtime.io.FrameReader;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
@@ -74,7 +76,11 @@ public abstract class GenerateReader {
 				throw new Exception("The file format couldn't recognize!!");
 			}
 			// 2. Generate a Matrix Reader:
-			if(ffp.getRowPattern().equals(CustomProperties.GRPattern.Regular)) {
+			// compiled, parallel reader if parallel text read is enabled
+			if(ConfigurationManager.getCompilerConfigFlag(CompilerConfig.ConfigType.PARALLEL_CP_READ_TEXTFORMATS)) {
+				matrixReader = new MatrixCodeGenReader(ffp);
+			}
+			else if(ffp.getRowPattern().equals(CustomProperties.GRPattern.Regular)) {
 				if(ffp.getColPattern().equals(CustomProperties.GRPattern.Regular)) {
 					matrixReader = new MatrixGenerateReader.MatrixReaderRowRegularColRegular(ffp);
 				}
@@ -114,7 +120,11 @@ public abstract class GenerateReader {
 				throw new Exception("The file format couldn't recognize!!");
 			}
 			// 2. Generate a Frame Reader:
-			if(ffp.getRowPattern().equals(CustomProperties.GRPattern.Regular)) {
+			// compiled, parallel reader if parallel text read is enabled
+			if(ConfigurationManager.getCompilerConfigFlag(CompilerConfig.ConfigType.PARALLEL_CP_READ_TEXTFORMATS)) {
+				frameReader = new FrameCodeGenReader(ffp);
+			}
+			else if(ffp.getRowPattern().equals(CustomProperties.GRPattern.Regular)) {
 				if(ffp.getColPattern().equals(CustomProperties.GRPattern.Regular)) {
 					frameReader = new FrameGenerateReader.FrameReaderRowRegularColRegular(ffp);
 				}
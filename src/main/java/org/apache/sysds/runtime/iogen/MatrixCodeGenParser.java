@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.iogen;
+
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Template of the line parsers generated by {@link MatrixCodeGenReader}. The
+ * generated subclasses specialize {@link #parseLine(String, int)} for the
+ * inferred format (delimiters, NA strings, and index offsets are inlined as
+ * constants), and append the parsed cells into a pre-allocated output block.
+ * A parser instance is used by a single read task.
+ */
+public abstract class MatrixCodeGenParser {
+	protected DenseBlock _dense;
+	protected SparseBlock _sparse;
+	protected boolean _sync;
+	protected int _clen;
+
+	/**
+	 * Binds the parser to the pre-allocated output block.
+	 *
+	 * @param dest   output matrix block (allocated dense or sparse)
+	 * @param clen   number of columns
+	 * @param sync   synchronize sparse appends (if rows are not partitioned across tasks)
+	 */
+	public void init(MatrixBlock dest, int clen, boolean sync) {
+		_dense = dest.isInSparseFormat() ? null : dest.getDenseBlock();
+		_sparse = dest.isInSparseFormat() ? dest.getSparseBlock() : null;
+		_sync = sync;
+		_clen = clen;
+	}
+
+	/**
+	 * Parses a single line and appends its non-zero cells.
+	 *
+	 * @param line input line
+	 * @param row  row index of the line (ignored for formats with explicit row indexes)
+	 * @return number of appended non-zeros
+	 */
+	public abstract long parseLine(String line, int row);
+
+	protected final void append(int r, int c, double v) {
+		if( _dense != null )
+			_dense.set(r, c, v);
+		else if( _sync ) {
+			synchronized( _sparse ) { //sparse requires lock
+				_sparse.append(r, c, v);
+			}
+		}
+		else
+			_sparse.append(r, c, v);
+	}
+
+	protected final void sortRow(int r) {
+		//only used for row-partitioned inserts (no lock)
+		if( _sparse != null )
+			_sparse.sort(r);
+	}
+}
@@ -0,0 +1,410 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.iogen;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang.StringEscapeUtils;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.codegen.CodegenUtils;
+import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.IOUtilFunctions.CountRowsTask;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Generated matrix reader for custom text formats. Instead of interpreting the
+ * inferred {@link CustomProperties} per line (see {@link MatrixGenerateReader}),
+ * this reader emits a specialized line parser (see {@link MatrixCodeGenParser}),
+ * compiles it via {@link CodegenUtils#compileClass(String, String)}, and reads
+ * the input splits in parallel. Similar to the parallel CSV reader, we do two
+ * passes in order to compute the row offsets per split (or the number of rows
+ * for formats with explicit row indexes) and the actual read.
+ */
+public class MatrixCodeGenReader extends MatrixReader {
+
+	//cache of compiled parsers by generated source (w/o class name)
+	private static final ConcurrentHashMap<String, Class<?>> _parsers = new ConcurrentHashMap<>();
+	private static final IDSequence _idSeq = new IDSequence();
+
+	private final int _numThreads;
+	private final CustomProperties _props;
+	private final boolean _rowIndexed;
+	private final Class<?> _parser;
+
+	public MatrixCodeGenReader(CustomProperties props) {
+		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+		_props = props;
+		_rowIndexed = props.getRowPattern() == CustomProperties.GRPattern.Irregular;
+		_parser = compileParser(props);
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		if( clen < 0 )
+			throw new DMLRuntimeException("Generated reader requires the number of columns.");
+
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = IOUtilFunctions.sortInputSplits(informat.getSplits(job, _numThreads));
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			//first pass: row offsets per split or max row index
+			int[] offsets = new int[splits.length];
+			int nrow = 0;
+			if( _rowIndexed ) {
+				ArrayList<MaxRowTask> tasks = new ArrayList<>();
+				for( InputSplit split : splits )
+					tasks.add(new MaxRowTask(split, informat, job, _props.getDelim()));
+				for( Future<Long> rt : pool.invokeAll(tasks) )
+					nrow = (int) Math.max(nrow, rt.get() - _props.getFirstRowIndex() + 1);
+			}
+			else {
+				ArrayList<CountRowsTask> tasks = new ArrayList<>();
+				for( InputSplit split : splits )
+					tasks.add(new CountRowsTask(split, informat, job));
+				int i = 0;
+				for( Future<Long> rt : pool.invokeAll(tasks) ) {
+					offsets[i++] = nrow;
+					nrow += (int) rt.get().longValue();
+				}
+			}
+			if( rlen >= 0 && rlen < nrow )
+				throw new DMLRuntimeException("Read matrix dimensions differ from meta data: ["
+					+ nrow + "x" + clen + "] vs. [" + rlen + "x" + clen + "].");
+			rlen = Math.max(rlen, nrow);
+
+			//allocate output (incl sparse rows for lock-free inserts)
+			long estnnz2 = (estnnz < 0) ? rlen * clen : estnnz;
+			MatrixBlock dest = createOutputMatrixBlock(rlen, clen, blen, estnnz2, true, true);
+
+			//second pass: parallel read of all splits
+			ArrayList<ReadTask> tasks = new ArrayList<>();
+			for( int i = 0; i < splits.length; i++ )
+				tasks.add(new ReadTask(splits[i], informat, job, dest, (int) clen, offsets[i]));
+			long lnnz = 0;
+			for( Future<Long> rt : pool.invokeAll(tasks) )
+				lnnz += rt.get();
+
+			//post-processing (sort rows of unordered cells)
+			if( _rowIndexed && dest.isInSparseFormat() )
+				sortSparseRowsParallel(dest, rlen, _numThreads, pool);
+			dest.setNonZeros(lnnz);
+			dest.examSparsity();
+			return dest;
+		}
+		catch(DMLRuntimeException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of generated reader.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//single pass over the stream, which requires known dimensions
+		if( rlen < 0 || clen < 0 )
+			throw new DMLRuntimeException("Generated reader requires the dimensions for reading input streams.");
+		MatrixBlock dest = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, false);
+		MatrixCodeGenParser parser = createParser(dest, (int) clen, false);
+		BufferedReader br = new BufferedReader(new InputStreamReader(is));
+		long lnnz = 0;
+		int row = 0;
+		try {
+			String line;
+			while( (line = br.readLine()) != null )
+				lnnz += parser.parseLine(line, row++);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(br);
+		}
+		if( _rowIndexed && dest.isInSparseFormat() )
+			dest.sortSparseRows();
+		dest.setNonZeros(lnnz);
+		dest.examSparsity();
+		return dest;
+	}
+
+	private MatrixCodeGenParser createParser(MatrixBlock dest, int clen, boolean sync) {
+		try {
+			MatrixCodeGenParser ret = (MatrixCodeGenParser) _parser.getDeclaredConstructor().newInstance();
+			ret.init(dest, clen, sync);
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private class ReadTask implements Callable<Long> {
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final MatrixBlock _dest;
+		private final int _clen;
+		private final int _offset;
+
+		public ReadTask(InputSplit split, TextInputFormat informat, JobConf job, MatrixBlock dest, int clen, int offset) {
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_dest = dest;
+			_clen = clen;
+			_offset = offset;
+		}
+
+		@Override
+		public Long call() throws Exception {
+			//rows with explicit indexes might be spread across splits
+			MatrixCodeGenParser parser = createParser(_dest, _clen, _rowIndexed);
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			long lnnz = 0;
+			int row = _offset;
+			try {
+				while( reader.next(key, value) ) {
+					lnnz += parser.parseLine(value.toString(), row);
+					row++;
+				}
+			}
+			catch(Exception ex) {
+				throw new IOException("Unable to read line " + (row + 1) + " of generated reader: " + value, ex);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return lnnz;
+		}
+	}
+
+	/**
+	 * Computes the maximum explicit row index (first token) of all lines in a split.
+	 */
+	static class MaxRowTask implements Callable<Long> {
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final String _delim;
+
+		public MaxRowTask(InputSplit split, TextInputFormat informat, JobConf job, String delim) {
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_delim = delim;
+		}
+
+		@Override
+		public Long call() throws Exception {
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			FastStringTokenizer st = new FastStringTokenizer(_delim);
+			long maxRow = -1;
+			try {
+				while( reader.next(key, value) ) {
+					st.reset(value.toString());
+					String tok = st.nextToken();
+					if( tok != null )
+						maxRow = Math.max(maxRow, UtilFunctions.parseToInt(tok));
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return maxRow;
+		}
+	}
+
+	////////////////////////////
+	// Code generation of line parsers
+
+	private static final String TEMPLATE =
+		  "package codegen;\n"
+		+ "import org.apache.sysds.runtime.iogen.MatrixCodeGenParser;\n"
+		+ "import org.apache.sysds.runtime.util.UtilFunctions;\n"
+		+ "\n"
+		+ "public final class %TMP% extends MatrixCodeGenParser {\n"
+		+ "  public %TMP%() {\n"
+		+ "    super();\n"
+		+ "  }\n"
+		+ "  @Override\n"
+		+ "  public long parseLine(String line, int row) {\n"
+		+ "    final int len = line.length();\n"
+		+ "    long lnnz = 0;\n"
+		+ "    int pos = 0;\n"
+		+ "    int end = 0;\n"
+		+ "%BODY%"
+		+ "    return lnnz;\n"
+		+ "  }\n"
+		+ "}\n";
+
+	//row regular, col regular (e.g., csv w/ NA strings): cells w/ column index by position
+	private static final String BODY_RR_CR =
+		  "    int col = 0;\n"
+		+ "    while( true ) {\n"
+		+ "      while( %SKIP% ) { pos += %DLEN%; col++; }\n"
+		+ "      if( pos >= len ) break;\n"
+		+ "      end = %FIND%; if( end < 0 ) end = len;\n"
+		+ "      String tok = line.substring(pos, end);\n"
+		+ "      if( !(%NA%) ) {\n"
+		+ "        double v = Double.parseDouble(tok);\n"
+		+ "        if( v != 0 ) { append(row, col, v); lnnz++; }\n"
+		+ "      }\n"
+		+ "      pos = end;\n"
+		+ "    }\n";
+
+	//row regular, col irregular (e.g., libsvm): label and index-value pairs, where
+	//the label (last column) is appended after the features to keep rows sorted
+	private static final String BODY_RR_CI =
+		  "    while( %SKIP% ) pos += %DLEN%;\n"
+		+ "    if( pos >= len ) return 0;\n"
+		+ "    end = %FIND%; if( end < 0 ) end = len;\n"
+		+ "    double label = Double.parseDouble(line.substring(pos, end));\n"
+		+ "    pos = end;\n"
+		+ "    int last = -1;\n"
+		+ "    boolean sorted = true;\n"
+		+ "    while( true ) {\n"
+		+ "      while( %SKIP% ) pos += %DLEN%;\n"
+		+ "      if( pos >= len ) break;\n"
+		+ "      end = %FIND%; if( end < 0 ) end = len;\n"
+		+ "      int sep = %FIND_IX%;\n"
+		+ "      int col = UtilFunctions.parseToInt(line.substring(pos, sep)) - %FIRST_COL%;\n"
+		+ "      double v = Double.parseDouble(line.substring(sep + %IXLEN%, end));\n"
+		+ "      if( v != 0 ) { append(row, col, v); lnnz++; sorted &= col > last; last = col; }\n"
+		+ "      pos = end;\n"
+		+ "    }\n"
+		+ "    if( label != 0 ) { append(row, _clen - 1, label); lnnz++; }\n"
+		+ "    if( !sorted ) sortRow(row);\n";
+
+	//row irregular (e.g., matrix market): row-col-value triples
+	private static final String BODY_RI =
+		  "    while( %SKIP% ) pos += %DLEN%;\n"
+		+ "    if( pos >= len ) return 0;\n"
+		+ "    end = %FIND%; if( end < 0 ) end = len;\n"
+		+ "    int r = UtilFunctions.parseToInt(line.substring(pos, end)) - %FIRST_ROW%;\n"
+		+ "    pos = end;\n"
+		+ "    while( %SKIP% ) pos += %DLEN%;\n"
+		+ "    end = %FIND%; if( end < 0 ) end = len;\n"
+		+ "    int c = UtilFunctions.parseToInt(line.substring(pos, end)) - %FIRST_COL%;\n"
+		+ "    pos = end;\n"
+		+ "    while( %SKIP% ) pos += %DLEN%;\n"
+		+ "    if( pos >= len ) return 0;\n"
+		+ "    end = %FIND%; if( end < 0 ) end = len;\n"
+		+ "    double v = Double.parseDouble(line.substring(pos, end));\n"
+		+ "    if( v != 0 ) { append(r, c, v); lnnz++; }\n";
+
+	private static Class<?> compileParser(CustomProperties props) {
+		String src = generateSource(props);
+		return _parsers.computeIfAbsent(src, s -> {
+			String name = "IOGenParser" + _idSeq.getNextID();
+			return CodegenUtils.compileClass("codegen." + name, s.replace("%TMP%", name));
+		});
+	}
+
+	protected static String generateSource(CustomProperties props) {
+		String body;
+		if( props.getRowPattern() == CustomProperties.GRPattern.Irregular )
+			body = BODY_RI;
+		else if( props.getColPattern() == CustomProperties.GRPattern.Irregular )
+			body = BODY_RR_CI
+				.replace("%FIND_IX%", getFind(props.getIndexDelim(), "pos"))
+				.replace("%IXLEN%", String.valueOf(props.getIndexDelim().length()));
+		else
+			body = BODY_RR_CR.replace("%NA%", getNACheck(props.getNaStrings()));
+
+		//inline delimiters and index offsets as constants
+		String delim = props.getDelim();
+		body = body.replace("%SKIP%", getSkip(delim))
+			.replace("%DLEN%", String.valueOf(delim.length()))
+			.replace("%FIND%", getFind(delim, "pos"))
+			.replace("%FIRST_ROW%", String.valueOf(props.getFirstRowIndex()))
+			.replace("%FIRST_COL%", String.valueOf(props.getFirstColIndex()));
+		return TEMPLATE.replace("%BODY%", body);
+	}
+
+	static String getSkip(String delim) {
+		//single-character delimiters are compared as chars
+		return (delim.length() == 1) ?
+			"pos < len && line.charAt(pos) == " + (int) delim.charAt(0) :
+			"line.startsWith(" + getLiteral(delim) + ", pos)";
+	}
+
+	static String getFind(String delim, String from) {
+		return (delim.length() == 1) ?
+			"line.indexOf(" + (int) delim.charAt(0) + ", " + from + ")" :
+			"line.indexOf(" + getLiteral(delim) + ", " + from + ")";
+	}
+
+	static String getNACheck(HashSet<String> naStrings) {
+		if( naStrings == null || naStrings.isEmpty() )
+			return "false";
+		StringBuilder sb = new StringBuilder();
+		for( String na : naStrings )
+			sb.append(sb.length() > 0 ? " || " : "").append(getLiteral(na)).append(".equals(tok)");
+		return sb.toString();
+	}
+
+	static String getLiteral(String str) {
+		return "\"" + StringEscapeUtils.escapeJava(str) + "\"";
+	}
+}
@@ -225,8 +225,7 @@ public abstract class MatrixGenerateReader extends MatrixReader {
 				{
 					fastStringTokenizerDelim.reset(value);
 					String cellValueString = fastStringTokenizerDelim.nextToken();
-					cellValue = UtilFunctions.parseToDouble(cellValueString, null);
-					dest.appendValue(row, (int) clen-_props.getFirstColIndex()-1, cellValue);
+					double label = UtilFunctions.parseToDouble(cellValueString, null);
 
 					while(col != -1) {
 						String nt = fastStringTokenizerDelim.nextToken();
@@ -240,6 +239,8 @@ public abstract class MatrixGenerateReader extends MatrixReader {
 							lnnz++;
 						}
 					}
+					//label into last column, after the features
+					dest.appendValue(row, (int) clen-1, label);
 					row++;
 					col = 0;
 				}
@@ -57,10 +57,11 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LineageCache
 {
-	private static final Map<LineageItem, LineageCacheEntry> _cache = new HashMap<>();
+	private static final Map<LineageItem, LineageCacheEntry> _cache = new ConcurrentHashMap<>();
 	protected static final boolean DEBUG = false;
 
 	static {
@@ -71,12 +72,18 @@ public class LineageCache
 	}
 	
 	// Cache Synchronization Approach:
-	//   The central static cache is only synchronized in a fine-grained manner
-	//   for short get, put, or remove calls or during eviction. All blocking of
-	//   threads for computing the values of placeholders is done on the individual
-	//   entry objects which reduces contention and prevents deadlocks in case of
-	//   function/statement block placeholders which computation itself might be
-	//   a complex workflow of operations that accesses the cache as well.
+	//   The central static cache is a concurrent hash map, which allows lock-free
+	//   probes and lookups of in-memory entries, as well as atomic creation of
+	//   placeholders (put-if-absent). The monitor of the cache is only held for
+	//   short critical sections that maintain the eviction data structures (i.e.,
+	//   placing values, moving/removing entries, spilling and restoring). Cache hits
+	//   only buffer their updates of the eviction order, which are applied on the
+	//   next eviction, such that eviction never blocks the probe path. All blocking
+	//   of threads for computing the values of placeholders is done on the individual
+	//   entry objects (acting as per-entry futures), which reduces contention and
+	//   prevents deadlocks in case of function/statement block placeholders which
+	//   computation itself might be a complex workflow of operations that accesses
+	//   the cache as well.
 	
 	
 	//--------------- PUBLIC CACHE API (keep it narrow) ----------------//
@@ -108,36 +115,38 @@ public class LineageCache
 			else
 				liList = Arrays.asList(MutablePair.of(instLI, null));
 			
-			//atomic try reuse full/partial and set placeholder, without
-			//obtaining value to avoid blocking in critical section
+			//try reuse full/partial and atomically set placeholder, without
+			//obtaining value to avoid blocking on other threads' placeholders
 			LineageCacheEntry e = null;
 			boolean reuseAll = true;
-			synchronized( _cache ) {
-				//try to reuse full or partial intermediates
-				for (MutablePair<LineageItem,LineageCacheEntry> item : liList) {
-					if (LineageCacheConfig.getCacheType().isFullReuse())
-						e = LineageCache.probe(item.getKey()) ? getIntern(item.getKey()) : null;
-					//TODO need to also move execution of compensation plan out of here
-					//(create lazily evaluated entry)
-					if (e == null && LineageCacheConfig.getCacheType().isPartialReuse())
-						if( LineageRewriteReuse.executeRewrites(inst, ec) )
-							e = getIntern(item.getKey());
-					//TODO: MultiReturnBuiltin and partial rewrites
-					reuseAll &= (e != null);
-					item.setValue(e);
-					
-					//create a placeholder if no reuse to avoid redundancy
-					//(e.g., concurrent threads that try to start the computation)
-					if(e == null && isMarkedForCaching(inst, ec)) {
-						if (cinst != null)
-							putIntern(item.getKey(), cinst.output.getDataType(), null, null,  0);
-						else if (cfinst != null)
-							putIntern(item.getKey(), cfinst.output.getDataType(), null, null,  0);
-						else if (gpuinst != null)
-							putIntern(item.getKey(), gpuinst._output.getDataType(), null, null,  0);
-						//FIXME: different o/p datatypes for MultiReturnBuiltins.
-					}
+			//try to reuse full or partial intermediates
+			for (MutablePair<LineageItem,LineageCacheEntry> item : liList) {
+				e = null;
+				if (LineageCacheConfig.getCacheType().isFullReuse()) {
+					e = LineageCache.probe(item.getKey()) ? getIntern(item.getKey()) : null;
+					if (e == null && gpuinst == null)
+						e = getPersistent(item.getKey());
+				}
+				//TODO: create lazily evaluated entry for compensation plans
+				if (e == null && LineageCacheConfig.getCacheType().isPartialReuse())
+					if( LineageRewriteReuse.executeRewrites(inst, ec) )
+						e = getIntern(item.getKey());
+				//TODO: MultiReturnBuiltin and partial rewrites
+				
+				//create a placeholder if no reuse to avoid redundancy
+				//(e.g., concurrent threads that try to start the computation),
+				//or reuse the placeholder of a concurrent thread
+				if(e == null && isMarkedForCaching(inst, ec)) {
+					if (cinst != null)
+						e = putPlaceholder(item.getKey(), cinst.output.getDataType());
+					else if (cfinst != null)
+						e = putPlaceholder(item.getKey(), cfinst.output.getDataType());
+					else if (gpuinst != null)
+						e = putPlaceholder(item.getKey(), gpuinst._output.getDataType());
+					//FIXME: different o/p datatypes for MultiReturnBuiltins.
 				}
+				reuseAll &= (e != null);
+				item.setValue(e);
 			}
 			reuse = reuseAll;
 			
@@ -158,18 +167,18 @@ public class LineageCache
 						outName = gpuinst._output.getName();
 					
 					if (e.isMatrixValue() && e._gpuObject == null) {
-						MatrixBlock mb = e.getMBValue(); //wait if another thread is executing the same inst.
-						if (mb == null && e.getCacheStatus() == LineageCacheStatus.NOTCACHED)
+						MatrixBlock mb = getMBValue(e); //wait if another thread is executing the same inst.
+						if (mb == null)
 							return false;  //the executing thread removed this entry from cache
 						else
-							ec.setMatrixOutput(outName, e.getMBValue());
+							ec.setMatrixOutput(outName, mb);
 					}
 					else if (e.isScalarValue()) {
 						ScalarObject so = e.getSOValue(); //wait if another thread is executing the same inst.
 						if (so == null && e.getCacheStatus() == LineageCacheStatus.NOTCACHED)
 							return false;  //the executing thread removed this entry from cache
 						else
-							ec.setScalarOutput(outName, e.getSOValue());
+							ec.setScalarOutput(outName, so);
 					}
 					else { //TODO handle locks on gpu objects
 						//shallow copy the cached GPUObj to the output MatrixObject
@@ -216,17 +225,14 @@ public class LineageCache
 			// set _distLeaf2Node for this special lineage item to 1
 			// to save it from early eviction if DAGHEIGHT policy is selected
 			li.setDistLeaf2Node(1);
-			LineageCacheEntry e = null;
-			synchronized(_cache) {
-				if (LineageCache.probe(li)) {
-					e = LineageCache.getIntern(li);
-				}
-				else {
-					//create a placeholder if no reuse to avoid redundancy
-					//(e.g., concurrent threads that try to start the computation)
-					putIntern(li, outParams.get(i).getDataType(), null, null, 0);
-				}
-			}
+			LineageCacheEntry e = LineageCache.probe(li) ? getIntern(li) : null;
+			if (e == null)
+				e = getPersistent(li);
+			if (e == null)
+				//create a placeholder if no reuse to avoid redundancy
+				//(e.g., concurrent threads that try to start the computation),
+				//or reuse the placeholder of a concurrent thread
+				e = putPlaceholder(li, outParams.get(i).getDataType());
 			//TODO: handling of recursive calls
 			
 			if (e != null) {
@@ -234,13 +240,13 @@ public class LineageCache
 				Data boundValue = null;
 				//convert to matrix object
 				if (e.isMatrixValue()) {
-					MatrixBlock mb = e.getMBValue();
-					if (mb == null && e.getCacheStatus() == LineageCacheStatus.NOTCACHED)
+					MatrixBlock mb = getMBValue(e);
+					if (mb == null)
 						return false;  //the executing thread removed this entry from cache
 					MetaDataFormat md = new MetaDataFormat(
-						e.getMBValue().getDataCharacteristics(),FileFormat.BINARY);
+						mb.getDataCharacteristics(),FileFormat.BINARY);
 					boundValue = new MatrixObject(ValueType.FP64, boundVarName, md);
-					((MatrixObject)boundValue).acquireModify(e.getMBValue());
+					((MatrixObject)boundValue).acquireModify(mb);
 					((MatrixObject)boundValue).release();
 				}
 				else {
@@ -250,8 +256,9 @@ public class LineageCache
 				}
 
 				funcOutputs.put(boundVarName, boundValue);
+				//entries of the persistent cache have no original item
 				LineageItem orig = e._origItem;
-				funcLIs.put(boundVarName, orig);
+				funcLIs.put(boundVarName, orig != null ? orig : li);
 				//all the entries have the same computeTime
 				savedComputeTime = e._computeTime;
 			}
@@ -301,29 +308,25 @@ public class LineageCache
 
 		LineageItem li = udf.getLineageItem(ec).getValue();
 		li.setDistLeaf2Node(1); //to save from early eviction
-		LineageCacheEntry e = null;
-		synchronized(_cache) {
-			if (probe(li))
-				e = LineageCache.getIntern(li);
-			else
-				//for now allow only matrix blocks
-				putIntern(li, DataType.MATRIX, null, null, 0);
-		}
+		LineageCacheEntry e = probe(li) ? getIntern(li) : null;
+		if (e == null)
+			//for now allow only matrix blocks
+			e = putPlaceholder(li, DataType.MATRIX);
 		
 		if (e != null) {
 			String outName = String.valueOf(outIds.get(0));
 			Data outValue = null;
 			//convert to matrix object
 			if (e.isMatrixValue()) {
-				MatrixBlock mb = e.getMBValue();
-				if (mb == null && e.getCacheStatus() == LineageCacheStatus.NOTCACHED)
+				MatrixBlock mb = getMBValue(e);
+				if (mb == null)
 					//the executing thread removed this entry from cache
 					return new FederatedResponse(FederatedResponse.ResponseType.ERROR);
 
 				MetaDataFormat md = new MetaDataFormat(
-					e.getMBValue().getDataCharacteristics(),FileFormat.BINARY);
+					mb.getDataCharacteristics(),FileFormat.BINARY);
 				outValue = new MatrixObject(ValueType.FP64, outName, md);
-				((MatrixObject)outValue).acquireModify(e.getMBValue());
+				((MatrixObject)outValue).acquireModify(mb);
 				((MatrixObject)outValue).release();
 			}
 			else {
@@ -379,7 +382,9 @@ public class LineageCache
 		boolean p = _cache.containsKey(key);
 		if (!p) return;
 		synchronized(_cache) {
-			LineageCacheEntry e = getEntry(key);
+			LineageCacheEntry e = _cache.get(key);
+			if (e == null)
+				return;
 			long size = e.getSize();
 			if (e._origItem == null)
 				_cache.remove(e._key);
@@ -397,19 +402,12 @@ public class LineageCache
 	}
 	
 	public static MatrixBlock getMatrix(LineageItem key) {
-		LineageCacheEntry e = null;
-		synchronized( _cache ) {
-			e = getIntern(key);
-		}
-		return e.getMBValue();
+		LineageCacheEntry e = getIntern(key);
+		return (e != null) ? getMBValue(e) : null;
 	}
 
 	public static LineageCacheEntry getEntry(LineageItem key) {
-		LineageCacheEntry e = null;
-		synchronized( _cache ) {
-			e = getIntern(key);
-		}
-		return e;
+		return getIntern(key);
 	}
 	
 	//NOTE: safe to pin the object in memory as coming from CPInstruction
@@ -421,8 +419,9 @@ public class LineageCache
 			MatrixObject mo = inst instanceof ComputationCPInstruction ? 
 					ec.getMatrixObject(((ComputationCPInstruction) inst).output) :
 					ec.getMatrixObject(((ComputationFEDInstruction) inst).output);
+			MatrixBlock mb = mo.acquireReadAndRelease();
 			synchronized( _cache ) {
-				putIntern(item, DataType.MATRIX, mo.acquireReadAndRelease(), null, computetime);
+				putIntern(item, DataType.MATRIX, mb, null, computetime);
 			}
 		}
 	}
@@ -475,58 +474,31 @@ public class LineageCache
 	
 	private static void putValueCPU(Instruction inst, List<Pair<LineageItem, Data>> liData, long computetime)
 	{
-		synchronized( _cache ) {
-			for (Pair<LineageItem, Data> entry : liData) {
-				LineageItem item = entry.getKey();
-				Data data = entry.getValue();
-
-				if (!probe(item))
-					continue;
-
-				LineageCacheEntry centry = _cache.get(item);
-
-				if (!(data instanceof MatrixObject) && !(data instanceof ScalarObject)) {
-					// Reusable instructions can return a frame (rightIndex). Remove placeholders.
-					removePlaceholder(item);
-					continue;
-				}
-
-				if (LineageCacheConfig.isOutputFederated(inst, data)) {
-					// Do not cache federated outputs (in the coordinator)
-					// Cannot skip putting the placeholder as the above is only known after execution
-					removePlaceholder(item);
-					continue;
-				}
-
-				MatrixBlock mb = (data instanceof MatrixObject) ? 
-						((MatrixObject)data).acquireReadAndRelease() : null;
-				long size = mb != null ? mb.getInMemorySize() : ((ScalarObject)data).getSize();
-
-				//remove the placeholder if the entry is bigger than the cache.
-				if (size > LineageCacheEviction.getCacheLimit()) {
-					removePlaceholder(item);
-					continue; 
-				}
+		for (Pair<LineageItem, Data> entry : liData) {
+			LineageItem item = entry.getKey();
+			Data data = entry.getValue();
 
-				//make space for the data
-				if (!LineageCacheEviction.isBelowThreshold(size))
-					LineageCacheEviction.makeSpace(_cache, size);
-				LineageCacheEviction.updateSize(size, true);
+			if (!probe(item))
+				continue;
 
-				//place the data
-				if (data instanceof MatrixObject)
-					centry.setValue(mb, computetime);
-				else if (data instanceof ScalarObject)
-					centry.setValue((ScalarObject)data, computetime);
+			LineageCacheEntry centry = _cache.get(item);
+			if (centry == null)
+				continue;
 
-				if (DMLScript.STATISTICS && LineageCacheEviction._removelist.containsKey(centry._key)) {
-					// Add to missed compute time
-					LineageCacheStatistics.incrementMissedComputeTime(centry._computeTime);
-				}
+			if (!(data instanceof MatrixObject) && !(data instanceof ScalarObject)) {
+				// Reusable instructions can return a frame (rightIndex). Remove placeholders.
+				removePlaceholder(item);
+				continue;
+			}
 
-				//maintain order for eviction
-				LineageCacheEviction.addEntry(centry);
+			if (LineageCacheConfig.isOutputFederated(inst, data)) {
+				// Do not cache federated outputs (in the coordinator)
+				// Cannot skip putting the placeholder as the above is only known after execution
+				removePlaceholder(item);
+				continue;
 			}
+
+			placeValue(item, centry, data, computetime);
 		}
 	}
 	
@@ -590,44 +562,21 @@ public class LineageCache
 		if (udf.getLineageItem(ec) == null)
 			//TODO: trace all UDFs
 			return;
-		synchronized (_cache) {
-			LineageItem item = udf.getLineageItem(ec).getValue();
-			if (!probe(item))
-				return;
-			LineageCacheEntry entry = _cache.get(item);
-			Data data = ec.getVariable(String.valueOf(outIds.get(0)));
-			if (!(data instanceof MatrixObject) && !(data instanceof ScalarObject)) {
-				// Don't cache if the udf outputs frames
-				removePlaceholder(item);
-				return;
-			}
-			
-			MatrixBlock mb = (data instanceof MatrixObject) ? 
-					((MatrixObject)data).acquireReadAndRelease() : null;
-			long size = mb != null ? mb.getInMemorySize() : ((ScalarObject)data).getSize();
-
-			//remove the placeholder if the entry is bigger than the cache.
-			if (size > LineageCacheEviction.getCacheLimit()) {
-				removePlaceholder(item);
-				return;
-			}
-
-			//make space for the data
-			if (!LineageCacheEviction.isBelowThreshold(size))
-				LineageCacheEviction.makeSpace(_cache, size);
-			LineageCacheEviction.updateSize(size, true);
-
-			//place the data
-			if (data instanceof MatrixObject)
-				entry.setValue(mb, computetime);
-			else if (data instanceof ScalarObject)
-				entry.setValue((ScalarObject)data, computetime);
-
-			//TODO: maintain statistics, lineage estimate
-
-			//maintain order for eviction
-			LineageCacheEviction.addEntry(entry);
+		LineageItem item = udf.getLineageItem(ec).getValue();
+		if (!probe(item))
+			return;
+		LineageCacheEntry entry = _cache.get(item);
+		if (entry == null)
+			return;
+		Data data = ec.getVariable(String.valueOf(outIds.get(0)));
+		if (!(data instanceof MatrixObject) && !(data instanceof ScalarObject)) {
+			// Don't cache if the udf outputs frames
+			removePlaceholder(item);
+			return;
 		}
+		
+		placeValue(item, entry, data, computetime);
+		//TODO: maintain lineage estimate
 	}
 	
 	public static void resetCache() {
@@ -646,6 +595,7 @@ public class LineageCache
 	//----------------- INTERNAL CACHE LOGIC IMPLEMENTATION --------------//
 	
 	private static void putIntern(LineageItem key, DataType dt, MatrixBlock Mval, ScalarObject Sval, long computetime) {
+		//Caller should hold the monitor on _cache
 		if (_cache.containsKey(key))
 			//can come here if reuse_partial option is enabled
 			return;
@@ -654,37 +604,117 @@ public class LineageCache
 		LineageCacheEntry newItem = new LineageCacheEntry(key, dt, Mval, Sval, computetime);
 		
 		// Make space by removing or spilling entries.
-		if( Mval != null || Sval != null ) {
-			long size = newItem.getSize();
-			if( size > LineageCacheEviction.getCacheLimit())
-				return; //not applicable
-			if( !LineageCacheEviction.isBelowThreshold(size) ) 
-				LineageCacheEviction.makeSpace(_cache, size);
-			LineageCacheEviction.updateSize(size, true);
-		}
+		long size = newItem.getSize();
+		if( size > LineageCacheEviction.getCacheLimit())
+			return; //not applicable
+		if( !LineageCacheEviction.isBelowThreshold(size) ) 
+			LineageCacheEviction.makeSpace(_cache, size);
+		
+		// Place the entry, unless a concurrent placeholder exists
+		if (_cache.putIfAbsent(key, newItem) != null)
+			return;
+		LineageCacheEviction.updateSize(size, true);
 		
 		// Place the entry in the weighted queue.
 		LineageCacheEviction.addEntry(newItem);
-		
-		_cache.put(key, newItem);
 		if (DMLScript.STATISTICS)
 			LineageCacheStatistics.incrementMemWrites();
 	}
 	
+	private static LineageCacheEntry putPlaceholder(LineageItem key, DataType dt) {
+		// Atomically create a placeholder without holding the monitor on _cache.
+		// Placeholders don't participate in eviction, so no further maintenance needed.
+		LineageCacheEntry newItem = new LineageCacheEntry(key, dt, null, null, 0);
+		LineageCacheEntry e = _cache.putIfAbsent(key, newItem);
+		if (e == null && DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementMemWrites();
+		//return the entry of a concurrent thread, if any
+		return e;
+	}
+	
+	private static void placeValue(LineageItem item, LineageCacheEntry centry, Data data, long computetime) {
+		// Obtain the value and size outside the critical section
+		MatrixBlock mb = (data instanceof MatrixObject) ? 
+			((MatrixObject)data).acquireReadAndRelease() : null;
+		long size = mb != null ? mb.getInMemorySize() : ((ScalarObject)data).getSize();
+
+		//remove the placeholder if the entry is bigger than the cache.
+		if (size > LineageCacheEviction.getCacheLimit()) {
+			removePlaceholder(item);
+			return;
+		}
+
+		synchronized( _cache ) {
+			//wake up waiting threads if the placeholder was removed concurrently
+			if (_cache.get(item) != centry) {
+				centry.removeAndNotify();
+				return;
+			}
+
+			//make space for the data
+			if (!LineageCacheEviction.isBelowThreshold(size))
+				LineageCacheEviction.makeSpace(_cache, size);
+			LineageCacheEviction.updateSize(size, true);
+
+			//place the data
+			if (data instanceof MatrixObject)
+				centry.setValue(mb, computetime);
+			else if (data instanceof ScalarObject)
+				centry.setValue((ScalarObject)data, computetime);
+
+			if (DMLScript.STATISTICS && LineageCacheEviction._removelist.containsKey(centry._key)) {
+				// Add to missed compute time
+				LineageCacheStatistics.incrementMissedComputeTime(centry._computeTime);
+			}
+
+			//maintain order for eviction
+			LineageCacheEviction.addEntry(centry);
+		}
+	}
+	
 	private static LineageCacheEntry getIntern(LineageItem key) {
-		// This method is called only when entry is present either in cache or in local FS.
+		// Returns null if the entry is not present either in cache or in local FS.
 		LineageCacheEntry e = _cache.get(key);
-		if (e != null && e.getCacheStatus() != LineageCacheStatus.SPILLED) {
+		if (e == null)
+			return null;
+		if (e.getCacheStatus() != LineageCacheStatus.SPILLED) {
 			if (DMLScript.STATISTICS)
 				// Increment hit count.
 				LineageCacheStatistics.incrementMemHits();
 
-			// Maintain order for eviction
+			// Maintain order for eviction (buffered, w/o blocking)
 			LineageCacheEviction.getEntry(e);
 			return e;
 		}
-		else
+		synchronized( _cache ) {
 			return LineageCacheEviction.readFromLocalFS(_cache, key);
+		}
+	}
+	
+	private static LineageCacheEntry getPersistent(LineageItem key) {
+		// Probe the persistent cache on in-memory misses, and keep the
+		// values of hits in memory for subsequent reuse.
+		if (!LineagePersistentCache.isEnabled())
+			return null;
+		LineageCacheEntry pe = LineagePersistentCache.get(key);
+		if (pe == null)
+			return null;
+		synchronized( _cache ) {
+			putIntern(key, pe._dt, pe._MBval, pe._SOval, pe._computeTime);
+		}
+		//return the in-memory entry (or concurrent placeholder), if any
+		LineageCacheEntry e = _cache.get(key);
+		return (e != null) ? e : pe;
+	}
+	
+	private static MatrixBlock getMBValue(LineageCacheEntry e) {
+		// Wait if another thread is executing the same instruction, and
+		// restore the value if the entry got spilled in the meantime.
+		MatrixBlock mb = e.getMBValue();
+		while (mb == null && e.getCacheStatus() == LineageCacheStatus.SPILLED
+			&& getIntern(e._key) == e)
+			mb = e.getMBValue();
+		return mb;
 	}
 	
 	private static void mvIntern(LineageItem item, LineageItem probeItem, long computetime) {
@@ -695,6 +725,8 @@ public class LineageCache
 		if (LineageCache.probe(probeItem)) {
 			LineageCacheEntry oe = getIntern(probeItem);
 			LineageCacheEntry e = _cache.get(item);
+			if (oe == null || e == null)
+				return;
 			boolean exists = !e.isNullVal();
 			if (oe.isMatrixValue())
 				e.setValue(oe.getMBValue(), computetime); 
@@ -724,12 +756,11 @@ public class LineageCache
 	}
 	
 	private static void removePlaceholder(LineageItem item) {
-		//Caller should hold the monitor on _cache
-		if (!_cache.containsKey(item))
-			return;
 		LineageCacheEntry centry = _cache.get(item);
+		if (centry == null)
+			return;
 		centry.removeAndNotify();
-		_cache.remove(item);
+		_cache.remove(item, centry);
 	}
 	
 	private static boolean isMarkedForCaching (Instruction inst, ExecutionContext ec) {
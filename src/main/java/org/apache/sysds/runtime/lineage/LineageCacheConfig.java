@@ -349,4 +349,16 @@ public class LineageCacheConfig
 		DMLConfig conf = ConfigurationManager.getDMLConfig();
 		return conf.getBooleanValue(DMLConfig.LINEAGECACHESPILL);
 	}
+
+	public static String getPersistDir() {
+		// Directory of the persistent lineage cache (default empty, i.e., disabled)
+		String dir = ConfigurationManager.getDMLConfig().getTextValue(DMLConfig.LINEAGE_PERSIST_DIR);
+		return (dir != null && !dir.trim().isEmpty()) ? dir.trim() : null;
+	}
+	
+	public static long getPersistSize() {
+		// Max size of the persistent lineage cache in bytes
+		return (long) ConfigurationManager.getDMLConfig()
+			.getIntValue(DMLConfig.LINEAGE_PERSIST_SIZE) * 1024 * 1024;
+	}
 }
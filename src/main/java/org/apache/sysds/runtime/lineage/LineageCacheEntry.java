@@ -57,6 +57,8 @@ public class LineageCacheEntry {
 	
 	protected synchronized void setCacheStatus(LineageCacheStatus st) {
 		_status = st;
+		//resume all threads waiting for a spilled or removed value
+		notifyAll();
 	}
 
 	public synchronized MatrixBlock getMBValue() {
@@ -20,9 +20,12 @@
 package org.apache.sysds.runtime.lineage;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.OptimizerUtils;
@@ -37,15 +40,22 @@ public class LineageCacheEviction
 	private static long _cachesize = 0;
 	private static long CACHE_LIMIT; //limit in bytes
 	private static long _startTimestamp = 0;
-	protected static final Map<LineageItem, Integer> _removelist = new HashMap<>();
+	protected static final Map<LineageItem, Integer> _removelist = new ConcurrentHashMap<>();
 	private static String _outdir = null;
 	private static TreeSet<LineageCacheEntry> weightedQueue = new TreeSet<>(LineageCacheConfig.LineageCacheComparator);
+	//buffer of cache hits, applied to the weighted queue on eviction
+	//(lossy if full, which only degrades the accuracy of the eviction order)
+	private static final Queue<LineageCacheEntry> _hitBuffer = new ConcurrentLinkedQueue<>();
+	private static final AtomicInteger _hitBufferSize = new AtomicInteger(0);
+	private static final int MAX_HIT_BUFFER = 4096;
 	
 	protected static void resetEviction() {
 		// reset cache size, otherwise the cache clear leads to unusable 
 		// space which means evictions could run into endless loops
 		_cachesize = 0;
 		weightedQueue.clear();
+		_hitBuffer.clear();
+		_hitBufferSize.set(0);
 		_outdir = null;
 		_removelist.clear();
 	}
@@ -79,19 +89,35 @@ public class LineageCacheEviction
 	}
 	
 	protected static void getEntry(LineageCacheEntry entry) {
-		// Reset the timestamp to maintain the LRU component of the scoring function
-		if (LineageCacheConfig.isTimeBased()) { 
-			if (weightedQueue.remove(entry)) {
-				entry.updateTimestamp();
-				weightedQueue.add(entry);
+		// Buffer the cache hit without holding the monitor on the cache,
+		// and update the weighted queue before the next eviction
+		if (!LineageCacheConfig.isTimeBased() && !LineageCacheConfig.isCostNsize())
+			return;
+		if (_hitBufferSize.incrementAndGet() <= MAX_HIT_BUFFER)
+			_hitBuffer.add(entry);
+		else
+			_hitBufferSize.decrementAndGet(); //drop hit
+	}
+	
+	private static void applyHits() {
+		//Caller should hold the monitor on the cache
+		LineageCacheEntry entry = null;
+		while ((entry = _hitBuffer.poll()) != null) {
+			_hitBufferSize.decrementAndGet();
+			// Reset the timestamp to maintain the LRU component of the scoring function
+			if (LineageCacheConfig.isTimeBased()) { 
+				if (weightedQueue.remove(entry)) {
+					entry.updateTimestamp();
+					weightedQueue.add(entry);
+				}
 			}
-		}
-		// Scale score of the sought entry after every cache hit
-		// FIXME: avoid when called from partial reuse methods
-		if (LineageCacheConfig.isCostNsize()) {
-			if (weightedQueue.remove(entry)) {
-				entry.updateScore();
-				weightedQueue.add(entry);
+			// Scale score of the sought entry after every cache hit
+			// FIXME: avoid when called from partial reuse methods
+			if (LineageCacheConfig.isCostNsize()) {
+				if (weightedQueue.remove(entry)) {
+					entry.updateScore();
+					weightedQueue.add(entry);
+				}
 			}
 		}
 	}
@@ -196,6 +222,9 @@ public class LineageCacheEviction
 	}
 
 	protected static void makeSpace(Map<LineageItem, LineageCacheEntry> cache, long spaceNeeded) {
+		//Bring the eviction order up-to-date
+		applyHits();
+		
 		//Cost based eviction
 		while ((spaceNeeded + _cachesize) > CACHE_LIMIT)
 		{
@@ -364,10 +393,11 @@ public class LineageCacheEviction
 	}
 
 	protected static LineageCacheEntry readFromLocalFS(Map<LineageItem, LineageCacheEntry> cache, LineageItem key) {
-		if (cache.get(key) == null)
-			throw new DMLRuntimeException ("Spilled item should present in cache. Key: "+key);
-
+		//Caller should hold the monitor on the cache
 		LineageCacheEntry e = cache.get(key);
+		if (e == null || e.getCacheStatus() != LineageCacheStatus.SPILLED)
+			return e; //removed or restored by a concurrent thread
+
 		long t0 = System.nanoTime();
 		MatrixBlock mb = null;
 		// Read from local FS
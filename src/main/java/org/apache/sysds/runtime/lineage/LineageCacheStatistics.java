@@ -36,6 +36,9 @@ public class LineageCacheStatistics {
 	private static final LongAdder _numWritesFS     = new LongAdder();
 	private static final LongAdder _numMemDel       = new LongAdder();
 	private static final LongAdder _numRewrites     = new LongAdder();
+	private static final LongAdder _numHitsPersist  = new LongAdder();
+	private static final LongAdder _numWritesPersist= new LongAdder();
+	private static final LongAdder _numDelPersist   = new LongAdder();
 	// All the time measurements are in nanoseconds
 	private static final LongAdder _ctimeFSRead     = new LongAdder();
 	private static final LongAdder _ctimeFSWrite    = new LongAdder();
@@ -57,6 +60,9 @@ public class LineageCacheStatistics {
 		_numWritesFS.reset();
 		_numMemDel.reset();
 		_numRewrites.reset();
+		_numHitsPersist.reset();
+		_numWritesPersist.reset();
+		_numDelPersist.reset();
 		_ctimeFSRead.reset();
 		_ctimeFSWrite.reset();
 		_ctimeSaved.reset();
@@ -154,6 +160,29 @@ public class LineageCacheStatistics {
 		return _numHitsSB.longValue();
 	}
 
+	public static void incrementPersistentHits() {
+		// Number of times values are read from the persistent cache.
+		_numHitsPersist.increment();
+	}
+
+	public static long getPersistentHits() {
+		return _numHitsPersist.longValue();
+	}
+
+	public static void incrementPersistentWrites() {
+		// Number of values written to the persistent cache.
+		_numWritesPersist.increment();
+	}
+
+	public static long getPersistentWrites() {
+		return _numWritesPersist.longValue();
+	}
+
+	public static void incrementPersistentDeletes() {
+		// Number of entries evicted from the persistent cache.
+		_numDelPersist.increment();
+	}
+
 	public static void incrementGpuHits() {
 		// Number of times single instruction results are reused in the gpu.
 		_numHitsGpu.increment();
@@ -199,6 +228,16 @@ public class LineageCacheStatistics {
 		return sb.toString();
 	}
 
+	public static String displayPersistent() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numHitsPersist.longValue());
+		sb.append("/");
+		sb.append(_numWritesPersist.longValue());
+		sb.append("/");
+		sb.append(_numDelPersist.longValue());
+		return sb.toString();
+	}
+
 	public static String displayRewrites() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numRewrites.longValue());
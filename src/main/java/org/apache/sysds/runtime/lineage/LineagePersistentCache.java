@@ -0,0 +1,567 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.lineage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.runtime.instructions.cp.ScalarObjectFactory;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.LineageCacheStatus;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+
+/**
+ * Persistent, cross-process lineage cache on local disk, which allows reusing
+ * expensive intermediates across script invocations.
+ *
+ * Entries are keyed by a strong digest (SHA-256) over the lineage DAG, where read
+ * leaves are identified by the qualified file name and its modification time. The
+ * cheap lineage hash codes of all entries are kept in memory to avoid computing the
+ * digests on the probe path of non-matching items. Qualifying entries of the
+ * in-memory cache are persisted at the end of a run, under a file lock to serialize
+ * concurrent processes sharing the same directory, followed by an LRU eviction down
+ * to the configured size bound. On load, entries with missing or truncated data
+ * files and entries of modified inputs are dropped.
+ */
+public class LineagePersistentCache
+{
+	private static final Log LOG = LogFactory.getLog(LineagePersistentCache.class.getName());
+
+	private static final String INDEX_FILE = "lineage.idx";
+	private static final String LOCK_FILE = "lineage.lock";
+	private static final String DATA_PREFIX = "lc_";
+	private static final String DATA_SUFFIX = ".dat";
+	private static final String HEADER = "SYSDS-LINEAGE-CACHE 1";
+	private static final String DELIM = "\t";
+	private static final String NONE = "-";
+
+	private static volatile String _dir = null;
+	private static long _limit = 0;
+	private static long _startTime = 0;
+	//index of persisted entries and their lineage hash codes
+	//(concurrent for lock-free probes of parfor workers)
+	private static final Map<String, PersistentEntry> _index = new ConcurrentHashMap<>();
+	private static final Set<Integer> _hashes = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Initializes the persistent cache according to the current configuration,
+	 * and loads the index of the configured directory.
+	 */
+	public static synchronized void init() {
+		_index.clear();
+		_hashes.clear();
+		_dir = LineageCacheConfig.getPersistDir();
+		if( _dir == null )
+			return;
+		_limit = LineageCacheConfig.getPersistSize();
+		_startTime = System.currentTimeMillis();
+		try {
+			LocalFileUtils.createLocalFileIfNotExist(_dir);
+			try( FileChannel ch = openLockFile(); FileLock lock = ch.lock() ) {
+				setIndex(readIndex());
+			}
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to load persistent lineage cache '"+_dir+"', disabling it.", ex);
+			_dir = null;
+		}
+	}
+
+	public static boolean isEnabled() {
+		return _dir != null;
+	}
+
+	/**
+	 * Probes the persistent cache for the given lineage item, and reads the value
+	 * of matching entries from disk.
+	 *
+	 * @param key lineage item
+	 * @return cache entry with value (not placed in the in-memory cache), or null
+	 */
+	public static LineageCacheEntry get(LineageItem key) {
+		String dir = _dir;
+		if( dir == null || !_hashes.contains(key.hashCode()) )
+			return null;
+		String digest = computeDigest(key, new IdentityHashMap<>());
+		PersistentEntry pe = (digest != null) ? _index.get(digest) : null;
+		if( pe == null )
+			return null;
+
+		try {
+			long t0 = System.nanoTime();
+			LineageCacheEntry ret = null;
+			if( pe._dt == DataType.MATRIX ) {
+				MatrixBlock mb = LocalFileUtils.readMatrixBlockFromLocal(dir + File.separator + pe._fname);
+				ret = new LineageCacheEntry(key, pe._dt, mb, null, pe._computeTime);
+			}
+			else {
+				ScalarObject so = ScalarObjectFactory.createScalarObject(pe._vt, pe._value);
+				ret = new LineageCacheEntry(key, pe._dt, null, so, pe._computeTime);
+			}
+			pe._lastAccess = System.currentTimeMillis();
+			if( DMLScript.STATISTICS ) {
+				LineageCacheStatistics.incrementPersistentHits();
+				LineageCacheStatistics.incrementFSReadTime(System.nanoTime() - t0);
+			}
+			return ret;
+		}
+		catch(IOException | DMLRuntimeException ex) {
+			//drop unreadable entries from the probed index
+			LOG.warn("Failed to read persistent lineage cache entry '"+pe._fname+"'.", ex);
+			_index.remove(digest);
+			return null;
+		}
+	}
+
+	/**
+	 * Persists all qualifying entries of the given in-memory cache (values with a
+	 * compute time above the spilling threshold and inputs unmodified since the start
+	 * of the run), and evicts least recently used entries down to the size bound.
+	 *
+	 * @param cache in-memory lineage cache
+	 */
+	public static synchronized void persist(Map<LineageItem, LineageCacheEntry> cache) {
+		if( _dir == null )
+			return;
+		try( FileChannel ch = openLockFile(); FileLock lock = ch.lock() ) {
+			//merge with the entries of concurrent processes
+			Map<String, PersistentEntry> index = readIndex();
+			for( PersistentEntry pe : _index.values() ) {
+				PersistentEntry pe2 = index.get(pe._digest);
+				if( pe2 != null )
+					pe2._lastAccess = Math.max(pe2._lastAccess, pe._lastAccess);
+			}
+
+			//write new entries (shared digests of common sub-DAGs)
+			Map<LineageItem, byte[]> memo = new IdentityHashMap<>();
+			for( LineageCacheEntry e : new ArrayList<>(cache.values()) ) {
+				if( !isPersistable(e) )
+					continue;
+				String digest = computeDigest(e._key, memo);
+				if( digest == null || index.containsKey(digest) )
+					continue;
+				Map<String, Long> inputs = collectInputs(e._key);
+				if( inputs.values().stream().anyMatch(t -> t < 0 || t > _startTime) )
+					continue;
+				PersistentEntry pe = writeEntry(e, digest, inputs);
+				if( pe != null )
+					index.put(digest, pe);
+			}
+
+			evict(index);
+			writeIndex(index);
+			deleteOrphans(index);
+			setIndex(index);
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to persist lineage cache '"+_dir+"'.", ex);
+		}
+	}
+
+	//----------------- INTERNAL IMPLEMENTATION --------------//
+
+	private static boolean isPersistable(LineageCacheEntry e) {
+		//only expensive matrix and non-string scalar values
+		if( e._computeTime / 1000000 < LineageCacheConfig.MIN_SPILL_TIME_ESTIMATE
+			|| e._key.isPlaceholder() )
+			return false;
+		LineageCacheStatus st = e.getCacheStatus();
+		if( st != LineageCacheStatus.CACHED && st != LineageCacheStatus.RELOADED
+			&& st != LineageCacheStatus.PINNED && st != LineageCacheStatus.SPILLED )
+			return false;
+		return e.isMatrixValue() || (e.isScalarValue() && e._SOval != null
+			&& e._SOval.getValueType() != ValueType.STRING);
+	}
+
+	private static PersistentEntry writeEntry(LineageCacheEntry e, String digest, Map<String, Long> inputs) {
+		long t0 = System.nanoTime();
+		PersistentEntry pe = new PersistentEntry(digest, e._key.hashCode(),
+			e._dt, e._computeTime, System.currentTimeMillis(), inputs);
+		try {
+			if( e.isMatrixValue() ) {
+				pe._fname = DATA_PREFIX + digest + DATA_SUFFIX;
+				File file = new File(_dir, pe._fname);
+				if( e.getCacheStatus() == LineageCacheStatus.SPILLED )
+					Files.copy(new File(e.getOutfile()).toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				else
+					LocalFileUtils.writeMatrixBlockToLocal(file.getPath(), e.getMBValue());
+				pe._size = file.length();
+				if( pe._size > _limit ) {
+					Files.delete(file.toPath());
+					return null;
+				}
+			}
+			else {
+				pe._vt = e._SOval.getValueType();
+				pe._value = e._SOval.getStringValue();
+			}
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to write persistent lineage cache entry '"+pe._fname+"'.", ex);
+			return null;
+		}
+		if( DMLScript.STATISTICS ) {
+			LineageCacheStatistics.incrementPersistentWrites();
+			LineageCacheStatistics.incrementFSWriteTime(System.nanoTime() - t0);
+		}
+		return pe;
+	}
+
+	private static void evict(Map<String, PersistentEntry> index) {
+		long size = index.values().stream().mapToLong(pe -> pe._size).sum();
+		if( size <= _limit )
+			return;
+		List<PersistentEntry> entries = new ArrayList<>(index.values());
+		entries.sort(Comparator.comparingLong(pe -> pe._lastAccess));
+		for( int i=0; i<entries.size() && size > _limit; i++ ) {
+			PersistentEntry pe = entries.get(i);
+			index.remove(pe._digest);
+			size -= pe._size;
+			if( DMLScript.STATISTICS )
+				LineageCacheStatistics.incrementPersistentDeletes();
+		}
+	}
+
+	private static void deleteOrphans(Map<String, PersistentEntry> index) {
+		Set<String> fnames = new HashSet<>();
+		index.values().forEach(pe -> fnames.add(pe._fname));
+		File[] files = new File(_dir).listFiles();
+		if( files == null )
+			return;
+		for( File f : files )
+			if( f.getName().startsWith(DATA_PREFIX) && !fnames.contains(f.getName()) )
+				LocalFileUtils.deleteFileIfExists(f.getPath());
+	}
+
+	private static void setIndex(Map<String, PersistentEntry> index) {
+		_index.clear();
+		_index.putAll(index);
+		_hashes.clear();
+		index.values().forEach(pe -> _hashes.add(pe._hash));
+	}
+
+	private static FileChannel openLockFile() throws IOException {
+		//lock file to serialize index updates of concurrent processes
+		return FileChannel.open(new File(_dir, LOCK_FILE).toPath(),
+			StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+	}
+
+	private static Map<String, PersistentEntry> readIndex() throws IOException {
+		Map<String, PersistentEntry> ret = new HashMap<>();
+		File file = new File(_dir, INDEX_FILE);
+		if( !file.exists() )
+			return ret;
+		Map<String, Long> mtimes = new HashMap<>();
+		try( BufferedReader br = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8) ) {
+			if( !HEADER.equals(br.readLine()) ) {
+				LOG.warn("Invalid persistent lineage cache index '"+file+"', ignoring all entries.");
+				return ret;
+			}
+			String line = null;
+			while( (line = br.readLine()) != null ) {
+				PersistentEntry pe = PersistentEntry.parse(line);
+				if( pe != null && isValid(pe, mtimes) )
+					ret.put(pe._digest, pe);
+			}
+		}
+		return ret;
+	}
+
+	private static boolean isValid(PersistentEntry pe, Map<String, Long> mtimes) {
+		//data file exists with the expected size
+		if( pe._dt == DataType.MATRIX ) {
+			File file = new File(_dir, pe._fname);
+			if( !file.exists() || file.length() != pe._size )
+				return false;
+		}
+		//inputs unmodified
+		for( Entry<String, Long> in : pe._inputs.entrySet() ) {
+			Long mtime = mtimes.computeIfAbsent(in.getKey(), p -> getModificationTime(p));
+			if( mtime != in.getValue().longValue() )
+				return false;
+		}
+		return true;
+	}
+
+	private static void writeIndex(Map<String, PersistentEntry> index) throws IOException {
+		//write to temporary file and atomic rename
+		File tmp = new File(_dir, INDEX_FILE + ".tmp");
+		try( BufferedWriter bw = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8) ) {
+			bw.write(HEADER);
+			bw.newLine();
+			for( PersistentEntry pe : index.values() ) {
+				bw.write(pe.toString());
+				bw.newLine();
+			}
+		}
+		Files.move(tmp.toPath(), new File(_dir, INDEX_FILE).toPath(),
+			StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Computes a strong Merkle digest of the given lineage DAG (non-recursive for
+	 * robustness with regard to stack overflow errors). Read leaves include the
+	 * qualified file name and its modification time.
+	 *
+	 * @param root root lineage item
+	 * @param memo memo table of digests of already processed items
+	 * @return hex string of the digest, or null if not applicable
+	 */
+	private static String computeDigest(LineageItem root, Map<LineageItem, byte[]> memo) {
+		MessageDigest md = null;
+		try {
+			md = MessageDigest.getInstance("SHA-256");
+		}
+		catch(NoSuchAlgorithmException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		Deque<LineageItem> stack = new ArrayDeque<>();
+		stack.push(root);
+		while( !stack.isEmpty() ) {
+			LineageItem li = stack.peek();
+			if( memo.containsKey(li) ) {
+				stack.pop();
+				continue;
+			}
+			//dedup items and unbound placeholders are not self-contained
+			if( li.isDedup() || (li.isPlaceholder() && li.isLeaf()) )
+				return null;
+			LineageItem[] in = li.isPlaceholder() ?
+				new LineageItem[] {li.getInputs()[0]} : li.getInputs();
+			boolean ready = true;
+			if( in != null )
+				for( LineageItem c : in )
+					if( !memo.containsKey(c) ) {
+						stack.push(c);
+						ready = false;
+					}
+			if( !ready )
+				continue;
+			stack.pop();
+			byte[] d = li.isPlaceholder() ? memo.get(in[0]) :
+				computeDigest(md, li, in, memo);
+			if( d == null )
+				return null;
+			memo.put(li, d);
+		}
+		StringBuilder sb = new StringBuilder();
+		for( byte b : memo.get(root) )
+			sb.append(String.format("%02x", b));
+		return sb.toString();
+	}
+
+	private static byte[] computeDigest(MessageDigest md, LineageItem li,
+		LineageItem[] in, Map<LineageItem, byte[]> memo)
+	{
+		md.reset();
+		md.update(li.getOpcode().getBytes(StandardCharsets.UTF_8));
+		md.update((byte) 0);
+		md.update(li.getData().getBytes(StandardCharsets.UTF_8));
+		md.update((byte) 0);
+		if( isRead(li) ) {
+			String fname = getReadFileName(li);
+			long mtime = (fname != null) ? getModificationTime(fname) : -1;
+			if( mtime < 0 )
+				return null;
+			md.update(fname.getBytes(StandardCharsets.UTF_8));
+			md.update(Long.toString(mtime).getBytes(StandardCharsets.UTF_8));
+		}
+		if( in != null )
+			for( LineageItem c : in )
+				md.update(memo.get(c));
+		return md.digest();
+	}
+
+	private static Map<String, Long> collectInputs(LineageItem root) {
+		//input file names and modification times, for validation on load
+		Map<String, Long> inputs = new HashMap<>();
+		Set<LineageItem> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<LineageItem> stack = new ArrayDeque<>();
+		stack.push(root);
+		while( !stack.isEmpty() ) {
+			LineageItem li = stack.pop();
+			if( !visited.add(li) )
+				continue;
+			if( isRead(li) ) {
+				String fname = getReadFileName(li);
+				inputs.put(fname, getModificationTime(fname));
+			}
+			if( li.getInputs() != null )
+				for( LineageItem c : li.getInputs() )
+					stack.push(c);
+		}
+		return inputs;
+	}
+
+	private static boolean isRead(LineageItem li) {
+		return li.isLeaf() && (li.getOpcode().equals("createvar") || li.getOpcode().equals("read"));
+	}
+
+	private static String getReadFileName(LineageItem li) {
+		//e.g., CP°createvar°pREADxxx°./in/X°false°MATRIX°text°...
+		String[] parts = li.getData().split(Lop.OPERAND_DELIMITOR);
+		if( parts.length < 4 )
+			return null;
+		String fname = parts[3].split(Lop.VALUETYPE_PREFIX)[0];
+		try {
+			Path path = new Path(fname);
+			return IOUtilFunctions.getFileSystem(path).makeQualified(path).toString();
+		}
+		catch(IOException ex) {
+			return null;
+		}
+	}
+
+	private static long getModificationTime(String fname) {
+		//max modification time of file or directory of part files
+		try {
+			Path path = new Path(fname);
+			FileSystem fs = IOUtilFunctions.getFileSystem(path);
+			if( !fs.exists(path) )
+				return -1;
+			FileStatus stat = fs.getFileStatus(path);
+			long ret = stat.getModificationTime();
+			if( stat.isDirectory() )
+				for( FileStatus s : fs.listStatus(path) )
+					ret = Math.max(ret, s.getModificationTime());
+			return ret;
+		}
+		catch(IOException ex) {
+			return -1;
+		}
+	}
+
+	private static class PersistentEntry {
+		private final String _digest;
+		private final int _hash;
+		private final DataType _dt;
+		private final long _computeTime;
+		private final Map<String, Long> _inputs;
+		private volatile long _lastAccess;
+		private long _size = 0;
+		private String _fname = NONE;
+		private ValueType _vt = null;
+		private String _value = NONE;
+
+		private PersistentEntry(String digest, int hash, DataType dt,
+			long computeTime, long lastAccess, Map<String, Long> inputs)
+		{
+			_digest = digest;
+			_hash = hash;
+			_dt = dt;
+			_computeTime = computeTime;
+			_lastAccess = lastAccess;
+			_inputs = inputs;
+		}
+
+		@Override
+		public String toString() {
+			//digest, hash, data type, value type, value, file name, size, compute time, last access, inputs
+			StringBuilder sb = new StringBuilder();
+			sb.append(_digest).append(DELIM).append(_hash).append(DELIM);
+			sb.append(_dt.name()).append(DELIM);
+			sb.append(_vt != null ? _vt.name() : NONE).append(DELIM);
+			sb.append(_value).append(DELIM).append(_fname).append(DELIM);
+			sb.append(_size).append(DELIM).append(_computeTime).append(DELIM);
+			sb.append(_lastAccess).append(DELIM);
+			boolean first = true;
+			for( Entry<String, Long> in : _inputs.entrySet() ) {
+				sb.append(first ? "" : ",").append(encode(in.getKey())).append("@").append(in.getValue());
+				first = false;
+			}
+			return sb.toString();
+		}
+
+		private static PersistentEntry parse(String line) {
+			try {
+				String[] parts = line.split(DELIM, -1);
+				if( parts.length != 10 )
+					return null;
+				Map<String, Long> inputs = new HashMap<>();
+				if( !parts[9].isEmpty() )
+					for( String in : parts[9].split(",") ) {
+						int pos = in.lastIndexOf('@');
+						inputs.put(URLDecoder.decode(in.substring(0, pos), "UTF-8"),
+							Long.parseLong(in.substring(pos + 1)));
+					}
+				PersistentEntry pe = new PersistentEntry(parts[0], Integer.parseInt(parts[1]),
+					DataType.valueOf(parts[2]), Long.parseLong(parts[7]), Long.parseLong(parts[8]), inputs);
+				pe._vt = parts[3].equals(NONE) ? null : ValueType.valueOf(parts[3]);
+				pe._value = parts[4];
+				pe._fname = parts[5];
+				pe._size = Long.parseLong(parts[6]);
+				if( (pe._dt == DataType.MATRIX) == pe._fname.equals(NONE)
+					|| (pe._dt == DataType.SCALAR && pe._vt == null) )
+					return null;
+				return pe;
+			}
+			catch(RuntimeException | UnsupportedEncodingException ex) {
+				return null;
+			}
+		}
+
+		private static String encode(String fname) {
+			try {
+				return URLEncoder.encode(fname, "UTF-8");
+			}
+			catch(UnsupportedEncodingException ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+	}
+}
@@ -36,6 +36,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.stream.IntStream;
@@ -50,6 +51,7 @@ import org.apache.hadoop.io.Writable;
 import org.apache.sysds.api.DMLException;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.codegen.CodegenUtils;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
@@ -68,6 +70,7 @@ import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.DMVUtils;
 import org.apache.sysds.runtime.util.EMAUtils;
 import org.apache.sysds.runtime.util.IndexRange;
+import org.apache.sysds.runtime.util.StringIntHashMap;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
 @SuppressWarnings({"rawtypes","unchecked"}) //allow generic native arrays
@@ -80,6 +83,8 @@ public class FrameBlock implements CacheBlock, Externalizable {
 
 	//internal configuration
 	private static final boolean REUSE_RECODE_MAPS = true;
+	private static final int DICT_MIN_DISTINCT = 4096;
+	private static final byte DICT_FLAG = 0x40; //serialized type flag
 
 	/** The number of rows of the FrameBlock */
 	private int _numRows = -1;
@@ -161,6 +166,8 @@ public class FrameBlock implements CacheBlock, Externalizable {
 
 	@Override
 	public double getDouble(int r, int c) {
+		if( _schema[c] != ValueType.STRING ) //primitive access w/o boxing
+			return _coldata[c].getAsDouble(r);
 		Object o = get(r, c);
 		if(o == null || (getSchema()[c] == ValueType.STRING && o.toString().isEmpty()))
 			return 0;
@@ -169,6 +176,8 @@ public class FrameBlock implements CacheBlock, Externalizable {
 
 	@Override
 	public double getDoubleNaN(int r, int c) {
+		if( _schema[c] != ValueType.STRING ) //primitive access w/o boxing
+			return _coldata[c].getAsDouble(r);
 		Object o = get(r, c);
 		if(o == null || (getSchema()[c] == ValueType.STRING && o.toString().isEmpty()))
 			return Double.NaN;
@@ -318,6 +327,19 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	 * @param numRows number of rows
 	 */
 	public void ensureAllocatedColumns(int numRows) {
+		ensureAllocatedColumns(numRows, ConfigurationManager.isDictEncodedFrames());
+	}
+
+	/**
+	 * Allocate column data structures if necessary, where string columns are
+	 * only dictionary-encoded if requested. Plain string columns allow concurrent
+	 * updates of disjoint rows (e.g., in multi-threaded readers), and can be
+	 * encoded afterwards via {@link #dictEncodeStringColumns()}.
+	 *
+	 * @param numRows number of rows
+	 * @param dictEncode if true, allocate dictionary-encoded string columns
+	 */
+	public void ensureAllocatedColumns(int numRows, boolean dictEncode) {
 		_msize = -1;
 		//early abort if already allocated
 		if( _coldata != null && _schema.length == _coldata.length ) {
@@ -340,8 +362,8 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		_coldata = new Array[_schema.length];
 		for( int j=0; j<_schema.length; j++ ) {
 			switch( _schema[j] ) {
-				case STRING:  _coldata[j] = new StringArray(new String[numRows]); break;
-				case BOOLEAN: _coldata[j] = new BooleanArray(new boolean[numRows]); break;
+				case STRING:  _coldata[j] = createStringArray(numRows, dictEncode); break;
+				case BOOLEAN: _coldata[j] = new BooleanArray(numRows); break;
 				case INT32:   _coldata[j] = new IntegerArray(new int[numRows]); break;
 				case INT64:   _coldata[j] = new LongArray(new long[numRows]); break;
 				case FP32:   _coldata[j] = new FloatArray(new float[numRows]); break;
@@ -422,6 +444,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	 */
 	public void set(int r, int c, Object val) {
 		_coldata[c].set(r, UtilFunctions.objectToObject(_schema[c], val));
+		checkDictEncoding(c);
 		_msize = -1;
 	}
 
@@ -455,8 +478,10 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	 */
 	public void appendRow(Object[] row) {
 		ensureAllocatedColumns(0);
-		for( int j=0; j<row.length; j++ )
+		for( int j=0; j<row.length; j++ ) {
 			_coldata[j].append(row[j]);
+			checkDictEncoding(j);
+		}
 		_numRows++;
 	}
 
@@ -468,8 +493,10 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	 */
 	public void appendRow(String[] row) {
 		ensureAllocatedColumns(0);
-		for( int j=0; j<row.length; j++ )
+		for( int j=0; j<row.length; j++ ) {
 			_coldata[j].append(row[j]);
+			checkDictEncoding(j);
+		}
 		_numRows++;
 	}
 
@@ -488,13 +515,14 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		_coldata = (_coldata==null) ? new Array[]{new StringArray(col)} :
 			(Array[]) ArrayUtils.add(_coldata, new StringArray(col));
 		_numRows = col.length;
+		_colmeta = appendColumnMetadata(_colmeta, _schema.length);
 		_msize = -1;
 	}
 
 	/**
 	 * Append a column of value type BOOLEAN as the last column of
-	 * the data frame. The given array is wrapped but not copied
-	 * and hence might be updated in the future.
+	 * the data frame. The given array is copied into a bit-packed
+	 * representation and hence not affected by future updates.
 	 *
 	 * @param col array of booleans
 	 */
@@ -506,6 +534,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		_coldata = (_coldata==null) ? new Array[]{new BooleanArray(col)} :
 			(Array[]) ArrayUtils.add(_coldata, new BooleanArray(col));
 		_numRows = col.length;
+		_colmeta = appendColumnMetadata(_colmeta, _schema.length);
 		_msize = -1;
 	}
 
@@ -524,6 +553,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		_coldata = (_coldata==null) ? new Array[]{new IntegerArray(col)} :
 			(Array[]) ArrayUtils.add(_coldata, new IntegerArray(col));
 		_numRows = col.length;
+		_colmeta = appendColumnMetadata(_colmeta, _schema.length);
 		_msize = -1;
 	}
 	/**
@@ -541,6 +571,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		_coldata = (_coldata==null) ? new Array[]{new LongArray(col)} :
 			(Array[]) ArrayUtils.add(_coldata, new LongArray(col));
 		_numRows = col.length;
+		_colmeta = appendColumnMetadata(_colmeta, _schema.length);
 		_msize = -1;
 	}
 
@@ -559,6 +590,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		_coldata = (_coldata==null) ? new Array[]{new FloatArray(col)} :
 				(Array[]) ArrayUtils.add(_coldata, new FloatArray(col));
 		_numRows = col.length;
+		_colmeta = appendColumnMetadata(_colmeta, _schema.length);
 		_msize = -1;
 	}
 	/**
@@ -576,6 +608,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		_coldata = (_coldata==null) ? new Array[]{new DoubleArray(col)} :
 			(Array[]) ArrayUtils.add(_coldata, new DoubleArray(col));
 		_numRows = col.length;
+		_colmeta = appendColumnMetadata(_colmeta, _schema.length);
 		_msize = -1;
 	}
 
@@ -601,10 +634,18 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		_msize = -1;
 	}
 
+	private static ColumnMetadata[] appendColumnMetadata(ColumnMetadata[] colmeta, int ncol) {
+		//default meta data for appended columns (e.g., on empty frame blocks)
+		ColumnMetadata[] ret = (colmeta == null) ? new ColumnMetadata[ncol] : Arrays.copyOf(colmeta, ncol);
+		for( int j=(colmeta == null) ? 0 : Math.min(colmeta.length, ncol); j<ncol; j++ )
+			ret[j] = new ColumnMetadata(0);
+		return ret;
+	}
+
 	public void appendColumn(ValueType vt, Array col) {
 		switch (vt) {
 			case STRING:
-				appendColumn(((StringArray) col).get());
+				appendColumn(toStringArray(col).get());
 				break;
 			case BOOLEAN:
 				appendColumn(((BooleanArray) col).get());
@@ -628,8 +669,8 @@ public class FrameBlock implements CacheBlock, Externalizable {
 
 	public Object getColumnData(int c) {
 		switch(_schema[c]) {
-			case STRING:  return ((StringArray)_coldata[c])._data;
-			case BOOLEAN: return ((BooleanArray)_coldata[c])._data;
+			case STRING:  return toStringArray(_coldata[c])._data; //copy if dict
+			case BOOLEAN: return ((BooleanArray)_coldata[c]).get(); //copy
 			case INT64:   return ((LongArray)_coldata[c])._data;
 			case INT32:   return ((IntegerArray)_coldata[c])._data;
 			case FP64:    return ((DoubleArray)_coldata[c])._data;
@@ -662,9 +703,9 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	public byte[] getIndexAsBytes(int c, int r){
 		switch(_schema[c]){
 			case STRING:
-				String[] col = ((StringArray)_coldata[c])._data;
-				if(col[r] != null)
-					return col[r].getBytes();
+				String val = (String) _coldata[c].get(r);
+				if(val != null)
+					return val.getBytes();
 				else
 					return null;
 			default:
@@ -704,12 +745,12 @@ public class FrameBlock implements CacheBlock, Externalizable {
 					floatBuffer.putDouble(colFloat[i]);
 				return floatBuffer.array();
 			case BOOLEAN:
-				boolean[] colBool = ((BooleanArray)_coldata[c])._data;
+				BooleanArray colBool = (BooleanArray)_coldata[c];
 				// over allocating here.. we could maybe bit pack?
 				ByteBuffer booleanBuffer = ByteBuffer.allocate(nRow);
 				booleanBuffer.order(ByteOrder.nativeOrder());
 				for(int i = 0; i < nRow; i++)
-					booleanBuffer.put((byte)(colBool[i]? 1:0));
+					booleanBuffer.put((byte)(colBool.getBoolean(i)? 1:0));
 				return booleanBuffer.array();
 			default:
 				throw new NotImplementedException();
@@ -720,6 +761,21 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		return _coldata[c];
 	}
 
+	/**
+	 * Copies the values of a row range of the given column as primitive
+	 * doubles into the given output array, without boxing of individual
+	 * cells. Null values are returned as NaN, empty strings as 0.
+	 *
+	 * @param c column index, 0-based
+	 * @param rl row lower index, inclusive, 0-based
+	 * @param ru row upper index, exclusive, 0-based
+	 * @param ret output array
+	 * @param pos start position in output array
+	 */
+	public void getColumnAsDouble(int c, int rl, int ru, double[] ret, int pos) {
+		_coldata[c].getAsDouble(rl, ru, ret, pos);
+	}
+
 	public void setColumn(int c, Array column) {
 		if( _coldata == null )
 			_coldata = new Array[getNumColumns()];
@@ -727,6 +783,40 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		_msize = -1;
 	}
 
+	/**
+	 * Indicates if the given column is a dictionary-encoded string column,
+	 * i.e., stores per-row codes into a table of distinct values.
+	 *
+	 * @param c column index, 0-based
+	 * @return true if dictionary-encoded
+	 */
+	public boolean isColumnDictEncoded(int c) {
+		return _coldata != null && _coldata[c] instanceof DictStringArray;
+	}
+
+	/**
+	 * Gets the distinct values of a dictionary-encoded string column, where the
+	 * position of a value is its code and code 0 represents null values.
+	 *
+	 * @param c column index, 0-based
+	 * @return array of distinct values
+	 */
+	public String[] getColumnDictionary(int c) {
+		return ((DictStringArray)_coldata[c]).getDictionary();
+	}
+
+	/**
+	 * Gets the code of the value in position (r,c) of a dictionary-encoded
+	 * string column, which indexes into {@link #getColumnDictionary(int)}.
+	 *
+	 * @param r row index, 0-based
+	 * @param c column index, 0-based
+	 * @return dictionary code
+	 */
+	public int getColumnDictCode(int r, int c) {
+		return ((DictStringArray)_coldata[c]).getCode(r);
+	}
+
 	/**
 	 * Get a row iterator over the frame where all fields are encoded
 	 * as strings independent of their value types.
@@ -877,6 +967,8 @@ public class FrameBlock implements CacheBlock, Externalizable {
 			byte type = (byte)_schema[j].ordinal();
 			if( _coldata == null || _coldata[j] == null )
 				type *= -1; //negative to indicate non-existence
+			else if( _coldata[j] instanceof DictStringArray )
+				type |= DICT_FLAG; //flag to indicate dictionary encoding
 			out.writeByte(type);
 			if( !isDefaultMeta ) {
 				out.writeUTF(getColumnName(j));
@@ -907,6 +999,9 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		//read columns (value type, meta, data)
 		for( int j=0; j<numCols; j++ ) {
 			byte type = in.readByte();
+			boolean dict = type > 0 && (type & DICT_FLAG) != 0;
+			if( dict )
+				type &= ~DICT_FLAG;
 			ValueType vt = ValueType.values()[Math.abs(type)];
 			String name = isDefaultMeta ? createColName(j) : in.readUTF();
 			long ndistinct = isDefaultMeta ? 0 : in.readLong();
@@ -914,8 +1009,9 @@ public class FrameBlock implements CacheBlock, Externalizable {
 			Array arr = null;
 			if( type > 0 ) { //non-empty column
 				switch( vt ) {
-					case STRING:  arr = new StringArray(new String[_numRows]); break;
-					case BOOLEAN: arr = new BooleanArray(new boolean[_numRows]); break;
+					case STRING:  arr = dict ? new DictStringArray(_numRows) :
+						new StringArray(new String[_numRows]); break;
+					case BOOLEAN: arr = new BooleanArray(_numRows); break;
 					case INT64:     arr = new LongArray(new long[_numRows]); break;
 					case FP64:  arr = new DoubleArray(new double[_numRows]); break;
 					case INT32: arr = new IntegerArray(new int[_numRows]); break;
@@ -977,10 +1073,14 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		size += 8 + 32 + clen * (16+4+8+32);
 		for( int j=0; j<clen; j++ ) {
 			switch( _schema[j] ) {
-				case BOOLEAN: size += _numRows; break;
+				case BOOLEAN: size += 8*BooleanArray.longSize(_numRows); break;
 				case INT64:
 				case FP64: size += 8*_numRows; break;
 				case STRING:
+					if( _coldata[j] instanceof DictStringArray ) {
+						size += ((DictStringArray)_coldata[j]).getInMemorySize();
+						break;
+					}
 					StringArray arr = (StringArray)_coldata[j];
 					for( int i=0; i<_numRows; i++ )
 						size += getInMemoryStringSize(arr.get(i));
@@ -1012,6 +1112,10 @@ public class FrameBlock implements CacheBlock, Externalizable {
 				case INT64:
 				case FP64: size += 8*_numRows; break;
 				case STRING:
+					if( _coldata[j] instanceof DictStringArray ) {
+						size += ((DictStringArray)_coldata[j]).getExactSerializedSize();
+						break;
+					}
 					StringArray arr = (StringArray)_coldata[j];
 					for( int i=0; i<_numRows; i++ )
 						size += IOUtilFunctions.getUTFSize(arr.get(i));
@@ -1191,6 +1295,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 				}
 			}
 			ret._coldata[j] = tmp;
+			ret.checkDictEncoding(j);
 		}
 
 		return ret;
@@ -1383,8 +1488,10 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		//copy values
 		for( int j=cl; j<=cu; j++ ) {
 			//special case: column memcopy
-			if( _schema[j].equals(src._schema[j-cl]) )
+			if( _schema[j].equals(src._schema[j-cl]) ) {
 				_coldata[j].set(rl, ru, src._coldata[j-cl]);
+				checkDictEncoding(j);
+			}
 			//general case w/ schema transformation
 			else
 				for( int i=rl; i<=ru; i++ ) {
@@ -1406,22 +1513,22 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	 * @param col	is the column # from frame data which contains Recode map generated earlier.
 	 * @return map of token and code for every element in the input column of a frame containing Recode map
 	 */
-	public HashMap<String,Long> getRecodeMap(int col) {
+	public StringIntHashMap getRecodeMap(int col) {
 		//probe cache for existing map
 		if( REUSE_RECODE_MAPS ) {
-			SoftReference<HashMap<String,Long>> tmp = _coldata[col]._rcdMapCache;
-			HashMap<String,Long> map = (tmp!=null) ? tmp.get() : null;
+			SoftReference<StringIntHashMap> tmp = _coldata[col]._rcdMapCache;
+			StringIntHashMap map = (tmp!=null) ? tmp.get() : null;
 			if( map != null ) return map;
 		}
 
 		//construct recode map
-		HashMap<String,Long> map = new HashMap<>();
+		StringIntHashMap map = new StringIntHashMap();
 		Array ldata = _coldata[col];
 		for( int i=0; i<getNumRows(); i++ ) {
 			Object val = ldata.get(i);
 			if( val != null ) {
 				String[] tmp = ColumnEncoderRecode.splitRecodeMapEntry(val.toString());
-				map.put(tmp[0], Long.parseLong(tmp[1]));
+				map.put(tmp[0], (int) Long.parseLong(tmp[1]));
 			}
 		}
 
@@ -1457,8 +1564,10 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		//with column-wide access pattern
 		for( int j=0; j<getNumColumns(); j++ ) {
 			//special case: copy non-zeros of column
-			if( _schema[j].equals(that._schema[j]) )
+			if( _schema[j].equals(that._schema[j]) ) {
 				_coldata[j].setNz(0, _numRows-1, that._coldata[j]);
+				checkDictEncoding(j);
+			}
 			//general case w/ schema transformation
 			else {
 				for( int i=0; i<_numRows; i++ ) {
@@ -1534,6 +1643,53 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		return fb;
 	}
 
+	/**
+	 * Creates a string column array of the given size, which is dictionary-encoded
+	 * by default until the number of distinct values shows low redundancy.
+	 *
+	 * @param size number of rows
+	 * @return string array
+	 */
+	private static Array createStringArray(int size) {
+		return createStringArray(size, ConfigurationManager.isDictEncodedFrames());
+	}
+
+	private static Array createStringArray(int size, boolean dictEncode) {
+		return dictEncode ?
+			new DictStringArray(size) : new StringArray(new String[size]);
+	}
+
+	private static StringArray toStringArray(Array arr) {
+		return (arr instanceof DictStringArray) ?
+			((DictStringArray)arr).toStringArray() : (StringArray) arr;
+	}
+
+	/**
+	 * Falls back from dictionary encoding to a plain string array for the given
+	 * column once the dictionary grows too large to save space.
+	 *
+	 * @param c column index, 0-based
+	 */
+	private void checkDictEncoding(int c) {
+		if( _coldata[c] instanceof DictStringArray
+			&& !((DictStringArray)_coldata[c]).isCompact() )
+			_coldata[c] = ((DictStringArray)_coldata[c]).toStringArray();
+	}
+
+	/**
+	 * Dictionary-encodes all plain string columns whose number of distinct values
+	 * is small enough to save space, if dictionary encoding is enabled. This is
+	 * used after multi-threaded updates into plain columns.
+	 */
+	public void dictEncodeStringColumns() {
+		if( _coldata == null || !ConfigurationManager.isDictEncodedFrames() )
+			return;
+		for( int j=0; j<_coldata.length; j++ )
+			if( _coldata[j] instanceof StringArray )
+				_coldata[j] = DictStringArray.encode((StringArray)_coldata[j]);
+		_msize = -1;
+	}
+
 	///////
 	// row iterators (over strings and boxed objects)
 
@@ -1637,13 +1793,34 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	 * in order to avoid unnecessary dependencies.
 	 */
 	private abstract static class Array<T> implements Writable {
-		protected SoftReference<HashMap<String,Long>> _rcdMapCache = null;
+		protected SoftReference<StringIntHashMap> _rcdMapCache = null;
 
 		protected int _size = 0;
 		protected int newSize() {
 			return Math.max(_size*2, 4);
 		}
 		public abstract T get(int index);
+		/**
+		 * Gets the value at the given index as a primitive double,
+		 * where null values are returned as NaN.
+		 *
+		 * @param index index
+		 * @return double value
+		 */
+		public abstract double getAsDouble(int index);
+		/**
+		 * Copies the values in the index range [rl, ru) as primitive
+		 * doubles into the given output array.
+		 *
+		 * @param rl lower index, inclusive
+		 * @param ru upper index, exclusive
+		 * @param ret output array
+		 * @param pos start position in output array
+		 */
+		public void getAsDouble(int rl, int ru, double[] ret, int pos) {
+			for( int i=rl; i<ru; i++ )
+				ret[pos++] = getAsDouble(i);
+		}
 		public abstract void set(int index, T value);
 		public abstract void set(int rl, int ru, Array value);
 		public abstract void set(int rl, int ru, Array value, int rlSrc);
@@ -1659,6 +1836,12 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		public String toString(){
 			return this.getClass().getSimpleName().toString() + ":" + _size;
 		}
+
+		protected static double stringToDouble(String value) {
+			//consistent with UtilFunctions.objectToDouble
+			return (value == null) ? Double.NaN :
+				!value.isEmpty() ? Double.parseDouble(value) : 0;
+		}
 	}
 
 	private static class StringArray extends Array<String> {
@@ -1674,6 +1857,10 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		public String get(int index) {
 			return _data[index];
 		}
+		@Override
+		public double getAsDouble(int index) {
+			return stringToDouble(_data[index]);
+		}
 
 		@Override
 		public void set(int index, String value) {
@@ -1685,14 +1872,19 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		}
 		@Override
 		public void set(int rl, int ru, Array value, int rlSrc) {
-			System.arraycopy(((StringArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			if( value instanceof StringArray )
+				System.arraycopy(((StringArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			else //dictionary-encoded source
+				for( int i=rl; i<ru+1; i++ )
+					_data[i] = (String) value.get(rlSrc+i-rl);
 		}
 		@Override
 		public void setNz(int rl, int ru, Array value) {
-			String[] data2 = ((StringArray)value)._data;
-			for( int i=rl; i<ru+1; i++ )
-				if( data2[i]!=null )
-					_data[i] = data2[i];
+			for( int i=rl; i<ru+1; i++ ) {
+				String tmp = (String) value.get(i);
+				if( tmp!=null )
+					_data[i] = tmp;
+			}
 		}
 		@Override
 		public void append(String value) {
@@ -1729,23 +1921,364 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		}
 	}
 
+	/**
+	 * Dictionary-encoded string array for low-cardinality columns, which stores
+	 * every distinct value once and per-row codes of minimal width (byte, char,
+	 * or int). Code 0 is reserved for null values.
+	 */
+	private static class DictStringArray extends Array<String> {
+		private String[] _dict = null;
+		private int _ndict = 0;
+		//exactly one of the code arrays is allocated
+		private byte[] _bcodes = null;
+		private char[] _ccodes = null;
+		private int[] _icodes = null;
+		//lookup of codes, lazily (re)built on updates
+		private HashMap<String,Integer> _map = null;
+		private long _nupdates = 0;
+
+		public DictStringArray(int size) {
+			_dict = new String[16];
+			_ndict = 1;
+			_bcodes = new byte[size];
+			_size = size;
+		}
+
+		/**
+		 * Encodes the given plain string array, or returns it unchanged
+		 * if dictionary encoding would not save space.
+		 *
+		 * @param arr plain string array
+		 * @return dictionary-encoded or given array
+		 */
+		public static Array encode(StringArray arr) {
+			DictStringArray ret = new DictStringArray(arr._size);
+			for( int i=0; i<arr._size; i++ ) {
+				ret.setCode(i, ret.getOrAddCode(arr._data[i]));
+				//early abort on high number of distinct values
+				if( ret._ndict > DICT_MIN_DISTINCT && ret._ndict > arr._size/2 )
+					return arr;
+			}
+			return ret.isCompact() ? ret : arr;
+		}
+
+		public String[] getDictionary() {
+			return Arrays.copyOf(_dict, _ndict);
+		}
+
+		public int getCode(int index) {
+			return (_bcodes != null) ? _bcodes[index] & 0xFF :
+				(_ccodes != null) ? _ccodes[index] : _icodes[index];
+		}
+
+		private void setCode(int index, int code) {
+			if( _bcodes != null )
+				_bcodes[index] = (byte) code;
+			else if( _ccodes != null )
+				_ccodes[index] = (char) code;
+			else
+				_icodes[index] = code;
+		}
+
+		private int capacity() {
+			return (_bcodes != null) ? _bcodes.length :
+				(_ccodes != null) ? _ccodes.length : _icodes.length;
+		}
+
+		private void resizeCodes(int len) {
+			if( _bcodes != null )
+				_bcodes = Arrays.copyOf(_bcodes, len);
+			else if( _ccodes != null )
+				_ccodes = Arrays.copyOf(_ccodes, len);
+			else
+				_icodes = Arrays.copyOf(_icodes, len);
+		}
+
+		private int getOrAddCode(String value) {
+			_nupdates++;
+			if( value == null )
+				return 0;
+			if( _map == null ) {
+				_map = new HashMap<>();
+				for( int k=1; k<_ndict; k++ )
+					_map.putIfAbsent(_dict[k], k);
+			}
+			Integer code = _map.get(value);
+			if( code == null ) {
+				code = _ndict;
+				if( _dict.length <= _ndict )
+					_dict = Arrays.copyOf(_dict, _ndict*2);
+				_dict[_ndict++] = value;
+				_map.put(value, code);
+				widenCodes(code);
+			}
+			return code;
+		}
+
+		private void widenCodes(int code) {
+			if( _bcodes != null && code > 0xFF ) {
+				_ccodes = new char[_bcodes.length];
+				for( int i=0; i<_bcodes.length; i++ )
+					_ccodes[i] = (char) (_bcodes[i] & 0xFF);
+				_bcodes = null;
+			}
+			if( _ccodes != null && code > Character.MAX_VALUE ) {
+				_icodes = new int[_ccodes.length];
+				for( int i=0; i<_ccodes.length; i++ )
+					_icodes[i] = _ccodes[i];
+				_ccodes = null;
+			}
+		}
+
+		/**
+		 * Indicates if the dictionary encoding is still beneficial, i.e., if the
+		 * number of distinct values is small or well below the number of values.
+		 *
+		 * @return true if compact
+		 */
+		public boolean isCompact() {
+			return _ndict <= DICT_MIN_DISTINCT
+				|| (_ndict <= _size / 2 && _ndict <= _nupdates * 9 / 10);
+		}
+
+		public StringArray toStringArray() {
+			String[] data = new String[_size];
+			for( int i=0; i<_size; i++ )
+				data[i] = _dict[getCode(i)];
+			return new StringArray(data);
+		}
+
+		public long getInMemorySize() {
+			long size = 16 + 4 + 8 //object, size, ref
+				+ 32 + (long)capacity() * ((_bcodes!=null) ? 1 : (_ccodes!=null) ? 2 : 4)
+				+ 32 + 8L * _dict.length;
+			for( int k=1; k<_ndict; k++ )
+				size += getInMemoryStringSize(_dict[k]);
+			if( _map != null ) //hash map entries and integer codes
+				size += 64 + (long)_ndict * (32 + 8 + 16);
+			return size;
+		}
+
+		public long getExactSerializedSize() {
+			long size = 4; //num distinct
+			for( int k=1; k<_ndict; k++ )
+				size += IOUtilFunctions.getUTFSize(_dict[k]);
+			return size + (long)_size * getCodeWidth(_ndict);
+		}
+
+		private static int getCodeWidth(int ndict) {
+			return (ndict <= 0x100) ? 1 : (ndict <= 0x10000) ? 2 : 4;
+		}
+
+		@Override
+		public String get(int index) {
+			return _dict[getCode(index)];
+		}
+		@Override
+		public double getAsDouble(int index) {
+			return stringToDouble(get(index));
+		}
+		@Override
+		public void getAsDouble(int rl, int ru, double[] ret, int pos) {
+			//parse every referenced distinct value only once
+			double[] vals = new double[_ndict];
+			boolean[] parsed = new boolean[_ndict];
+			for( int i=rl; i<ru; i++ ) {
+				int code = getCode(i);
+				if( !parsed[code] ) {
+					vals[code] = stringToDouble(_dict[code]);
+					parsed[code] = true;
+				}
+				ret[pos++] = vals[code];
+			}
+		}
+		@Override
+		public void set(int index, String value) {
+			setCode(index, getOrAddCode(value));
+		}
+		@Override
+		public void set(int rl, int ru, Array value) {
+			set(rl, ru, value, 0);
+		}
+		@Override
+		public void set(int rl, int ru, Array value, int rlSrc) {
+			if( value instanceof DictStringArray ) {
+				//translate codes of distinct values instead of per-row lookups
+				DictStringArray that = (DictStringArray) value;
+				int[] xlate = new int[that._ndict];
+				Arrays.fill(xlate, -1);
+				for( int i=rl; i<ru+1; i++ ) {
+					int scode = that.getCode(rlSrc+i-rl);
+					if( xlate[scode] < 0 )
+						xlate[scode] = getOrAddCode(that._dict[scode]);
+					setCode(i, xlate[scode]);
+				}
+				_nupdates += ru-rl+1;
+			}
+			else {
+				for( int i=rl; i<ru+1; i++ )
+					set(i, (String) value.get(rlSrc+i-rl));
+			}
+		}
+		@Override
+		public void setNz(int rl, int ru, Array value) {
+			for( int i=rl; i<ru+1; i++ ) {
+				String tmp = (String) value.get(i);
+				if( tmp!=null )
+					set(i, tmp);
+			}
+		}
+		@Override
+		public void append(String value) {
+			if( capacity() <= _size )
+				resizeCodes(newSize());
+			setCode(_size++, getOrAddCode(value));
+		}
+		@Override
+		public void write(DataOutput out) throws IOException {
+			//distinct values once, followed by codes of minimal width
+			out.writeInt(_ndict);
+			for( int k=1; k<_ndict; k++ )
+				out.writeUTF((_dict[k]!=null)?_dict[k]:"");
+			int width = getCodeWidth(_ndict);
+			for( int i=0; i<_size; i++ ) {
+				int code = getCode(i);
+				if( width == 1 )
+					out.writeByte(code);
+				else if( width == 2 )
+					out.writeChar(code);
+				else
+					out.writeInt(code);
+			}
+		}
+		@Override
+		public void readFields(DataInput in) throws IOException {
+			_size = capacity();
+			_ndict = in.readInt();
+			_dict = new String[Math.max(_ndict, 16)];
+			for( int k=1; k<_ndict; k++ ) {
+				String tmp = in.readUTF();
+				_dict[k] = (!tmp.isEmpty()) ? tmp : null;
+			}
+			_map = null;
+			_nupdates = _size;
+			_bcodes = null;
+			_ccodes = null;
+			_icodes = null;
+			int width = getCodeWidth(_ndict);
+			if( width == 1 ) {
+				_bcodes = new byte[_size];
+				in.readFully(_bcodes);
+			}
+			else if( width == 2 ) {
+				_ccodes = new char[_size];
+				for( int i=0; i<_size; i++ )
+					_ccodes[i] = in.readChar();
+			}
+			else {
+				_icodes = new int[_size];
+				for( int i=0; i<_size; i++ )
+					_icodes[i] = in.readInt();
+			}
+		}
+		@Override
+		public Array clone() {
+			return slice(0, _size-1);
+		}
+		@Override
+		public Array slice(int rl, int ru) {
+			DictStringArray ret = new DictStringArray(0);
+			ret._dict = Arrays.copyOf(_dict, _dict.length);
+			ret._ndict = _ndict;
+			ret._bcodes = (_bcodes != null) ? Arrays.copyOfRange(_bcodes, rl, ru+1) : null;
+			ret._ccodes = (_ccodes != null) ? Arrays.copyOfRange(_ccodes, rl, ru+1) : null;
+			ret._icodes = (_icodes != null) ? Arrays.copyOfRange(_icodes, rl, ru+1) : null;
+			ret._size = ru-rl+1;
+			ret._nupdates = ret._size;
+			return ret;
+		}
+		@Override
+		public void reset(int size) {
+			if( capacity() < size )
+				resizeCodes(size);
+			_size = size;
+		}
+	}
+
+	/**
+	 * Boolean array, bit-packed into 64-bit words. Bits beyond the
+	 * logical size are undefined and ignored. Since neighboring rows share
+	 * words, all updates are atomic (compare-and-set) to allow concurrent
+	 * writers of disjoint row ranges such as multi-threaded readers.
+	 */
 	private static class BooleanArray extends Array<Boolean> {
-		private boolean[] _data = null;
+		private AtomicLongArray _data = null;
 
+		public BooleanArray(int size) {
+			_data = new AtomicLongArray(longSize(size));
+			_size = size;
+		}
 		public BooleanArray(boolean[] data) {
+			this(data.length);
+			for( int i=0; i<_size; i++ )
+				if( data[i] )
+					setBoolean(i, true);
+		}
+		private BooleanArray(AtomicLongArray data, int size) {
 			_data = data;
-			_size = _data.length;
+			_size = size;
+		}
+		public boolean[] get() {
+			boolean[] ret = new boolean[_size];
+			for( int i=0; i<_size; i++ )
+				ret[i] = getBoolean(i);
+			return ret;
+		}
+		public static int longSize(int size) {
+			return (size + 63) >>> 6;
+		}
+		public boolean getBoolean(int index) {
+			return (_data.get(index >>> 6) & (1L << index)) != 0;
+		}
+		public void setBoolean(int index, boolean value) {
+			if( value )
+				orWord(index >>> 6, 1L << index);
+			else
+				andWord(index >>> 6, ~(1L << index));
+		}
+		private void orWord(int w, long mask) {
+			long old = _data.get(w);
+			while( (old | mask) != old && !_data.compareAndSet(w, old, old | mask) )
+				old = _data.get(w);
+		}
+		private void andWord(int w, long mask) {
+			long old = _data.get(w);
+			while( (old & mask) != old && !_data.compareAndSet(w, old, old & mask) )
+				old = _data.get(w);
+		}
+		private static AtomicLongArray copyOf(AtomicLongArray data, int len) {
+			AtomicLongArray ret = new AtomicLongArray(len);
+			for( int w=0; w<Math.min(len, data.length()); w++ )
+				ret.lazySet(w, data.get(w));
+			return ret;
 		}
-		public boolean[] get() { return _data; }
 
 		@Override
 		public Boolean get(int index) {
-			return _data[index];
+			return getBoolean(index);
+		}
+		@Override
+		public double getAsDouble(int index) {
+			return getBoolean(index) ? 1 : 0;
+		}
+		@Override
+		public void getAsDouble(int rl, int ru, double[] ret, int pos) {
+			for( int i=rl; i<ru; i++ )
+				ret[pos++] = (_data.get(i >>> 6) >>> i) & 1L;
 		}
-
 		@Override
 		public void set(int index, Boolean value) {
-			_data[index] = (value!=null) ? value : false;
+			setBoolean(index, (value!=null) ? value : false);
 		}
 		@Override
 		public void set(int rl, int ru, Array value) {
@@ -1753,14 +2286,33 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		}
 		@Override
 		public void set(int rl, int ru, Array value, int rlSrc) {
-			System.arraycopy(((BooleanArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			AtomicLongArray data2 = ((BooleanArray)value)._data;
+			int len = ru-rl+1;
+			int i = 0;
+			if( ((rl|rlSrc) & 63) == 0 ) { //word-aligned copy of owned words
+				for( int w=0; w<len>>>6; w++ )
+					_data.set((rl>>>6)+w, data2.get((rlSrc>>>6)+w));
+				i = len & ~63;
+			}
+			for( ; i<len; i++ ) {
+				int ix = rlSrc+i;
+				setBoolean(rl+i, (data2.get(ix >>> 6) & (1L << ix)) != 0);
+			}
 		}
 		@Override
 		public void setNz(int rl, int ru, Array value) {
-			boolean[] data2 = ((BooleanArray)value)._data;
-			for( int i=rl; i<ru+1; i++ )
-				if( data2[i] )
-					_data[i] = data2[i];
+			//word-level OR of the masked range
+			if( ru < rl )
+				return;
+			AtomicLongArray data2 = ((BooleanArray)value)._data;
+			for( int w=rl>>>6; w<=ru>>>6; w++ ) {
+				long mask = -1L;
+				if( w == rl>>>6 )
+					mask &= -1L << rl;
+				if( w == ru>>>6 )
+					mask &= -1L >>> (63 - (ru & 63));
+				orWord(w, data2.get(w) & mask);
+			}
 		}
 		@Override
 		public void append(String value) {
@@ -1768,33 +2320,34 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		}
 		@Override
 		public void append(Boolean value) {
-			if( _data.length <= _size )
-				_data = Arrays.copyOf(_data, newSize());
-			_data[_size++] = (value!=null) ? value : false;
+			if( ((long)_data.length() << 6) <= _size )
+				_data = copyOf(_data, longSize(newSize()));
+			setBoolean(_size++, (value!=null) ? value : false);
 		}
 		@Override
 		public void write(DataOutput out) throws IOException {
 			for( int i=0; i<_size; i++ )
-				out.writeBoolean(_data[i]);
+				out.writeBoolean(getBoolean(i));
 		}
 		@Override
 		public void readFields(DataInput in) throws IOException {
-			_size = _data.length;
 			for( int i=0; i<_size; i++ )
-				_data[i] = in.readBoolean();
+				setBoolean(i, in.readBoolean());
 		}
 		@Override
 		public Array clone() {
-			return new BooleanArray(Arrays.copyOf(_data, _size));
+			return new BooleanArray(copyOf(_data, longSize(_size)), _size);
 		}
 		@Override
 		public Array slice(int rl, int ru) {
-			return new BooleanArray(Arrays.copyOfRange(_data,rl,ru+1));
+			BooleanArray ret = new BooleanArray(ru-rl+1);
+			ret.set(0, ru-rl, this, rl);
+			return ret;
 		}
 		@Override
 		public void reset(int size) {
-			if( _data.length < size )
-				_data = new boolean[size];
+			if( ((long)_data.length() << 6) < size )
+				_data = new AtomicLongArray(longSize(size));
 			_size = size;
 		}
 	}
@@ -1812,6 +2365,15 @@ public class FrameBlock implements CacheBlock, Externalizable {
 			return _data[index];
 		}
 		@Override
+		public double getAsDouble(int index) {
+			return _data[index];
+		}
+		@Override
+		public void getAsDouble(int rl, int ru, double[] ret, int pos) {
+			for( int i=rl; i<ru; i++ )
+				ret[pos++] = _data[i];
+		}
+		@Override
 		public void set(int index, Long value) {
 			_data[index] = (value!=null) ? value : 0L;
 		}
@@ -1880,6 +2442,15 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		public Integer get(int index) {
 			return _data[index];
 		}
+		@Override
+		public double getAsDouble(int index) {
+			return _data[index];
+		}
+		@Override
+		public void getAsDouble(int rl, int ru, double[] ret, int pos) {
+			for( int i=rl; i<ru; i++ )
+				ret[pos++] = _data[i];
+		}
 
 		@Override
 		public void set(int index, Integer value) { _data[index] = (value!=null) ? value : 0;}
@@ -1948,6 +2519,15 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		public Float get(int index) {
 			return _data[index];
 		}
+		@Override
+		public double getAsDouble(int index) {
+			return _data[index];
+		}
+		@Override
+		public void getAsDouble(int rl, int ru, double[] ret, int pos) {
+			for( int i=rl; i<ru; i++ )
+				ret[pos++] = _data[i];
+		}
 
 		@Override
 		public void set(int index, Float value) { _data[index] = (value!=null) ? value : 0f; }
@@ -2016,6 +2596,14 @@ public class FrameBlock implements CacheBlock, Externalizable {
 			return _data[index];
 		}
 		@Override
+		public double getAsDouble(int index) {
+			return _data[index];
+		}
+		@Override
+		public void getAsDouble(int rl, int ru, double[] ret, int pos) {
+			System.arraycopy(_data, rl, ret, pos, ru-rl);
+		}
+		@Override
 		public void set(int index, Double value) {
 			_data[index] = (value!=null) ? value : 0d;
 		}
@@ -2350,7 +2938,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		double[] maxColLength = new double[this.getNumColumns()];
 
 		for(int k = 0; k < this.getNumColumns(); k++) {
-			String[] data = ((StringArray) this.getColumn(k))._data;
+			String[] data = (String[]) getColumnData(k);
 
 			double minLength = Arrays.stream(data).filter(Objects::nonNull).mapToDouble(String::length).min().orElse(Double.NaN);
 			double maxLength = Arrays.stream(data).filter(Objects::nonNull).mapToDouble(String::length).max().orElse(Double.NaN);
@@ -34,6 +34,7 @@ import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator.CountDistinctTypes;
+import org.apache.sysds.runtime.util.DoubleIntHashMap;
 import org.apache.sysds.utils.Hash;
 import org.apache.sysds.utils.Hash.HashType;
 
@@ -110,7 +111,7 @@ public class LibMatrixCountDistinct {
 	 * @return The absolute distinct count
 	 */
 	private static int countDistinctValuesNaive(MatrixBlock in) {
-		Set<Double> distinct = new HashSet<>();
+		DoubleIntHashMap distinct = new DoubleIntHashMap();
 		double[] data;
 		if(in.isEmpty())
 			return 1;
@@ -120,7 +121,7 @@ public class LibMatrixCountDistinct {
 		long nonZeros = in.getNonZeros();
 
 		if(nonZeros != -1 && nonZeros < in.getNumColumns() * in.getNumRows()) {
-			distinct.add(0d);
+			distinct.putIfAbsent(0d, 0);
 		}
 
 		if(in.sparseBlock != null) {
@@ -150,9 +151,9 @@ public class LibMatrixCountDistinct {
 		return distinct.size();
 	}
 
-	private static Set<Double> countDistinctValuesNaive(double[] valuesPart, Set<Double> distinct) {
+	private static DoubleIntHashMap countDistinctValuesNaive(double[] valuesPart, DoubleIntHashMap distinct) {
 		for(double v : valuesPart) {
-			distinct.add(v);
+			distinct.putIfAbsent(v, 0);
 		}
 		return distinct;
 	}
@@ -73,6 +73,17 @@ public class LibMatrixMult
 	private static final long PAR_MINFLOP_THRESHOLD2 = 128L*1024; //MIN 2 MFLOP
 	public static final int L2_CACHESIZE = 256 * 1024; //256KB (common size)
 	public static final int L3_CACHESIZE = 16 * 1024 * 1024; //16MB (common size)
+	//packed dense-dense matrix mult (min dims, min flops, min sparsity of lhs, block sizes)
+	private static final boolean PACKED_MATRIX_MULT = true;
+	private static final int PACKED_MIN_DIM = 128;
+	private static final long PACKED_MIN_FLOPS = 16L*1024*1024; //256^3
+	private static final double PACKED_MIN_SPARSITY = 0.6;
+	private static final int PACKED_MR = 4;   //rows of register block
+	private static final int PACKED_NR = 8;   //cols of wide register block (4 for narrow outputs)
+	private static final int PACKED_NR_MIN_COLS = 64; //min output cols for wide register block
+	private static final int PACKED_MC = 128; //128x256 a block (256KB, L2)
+	private static final int PACKED_KC = 256; //256x8 b panel (16KB, L1)
+	private static final int PACKED_NC = 2048;//256x2048 b block (4MB, L3)
 	private static final Log LOG = LogFactory.getLog(LibMatrixMult.class.getName());
 
 	private LibMatrixMult() {
@@ -119,6 +130,10 @@ public class LibMatrixMult
 	}
 	
 	public static void matrixMult(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int rl, int ru, boolean fixedRet) {
+		matrixMult(m1, m2, ret, rl, ru, fixedRet, PACKED_MATRIX_MULT);
+	}
+	
+	private static void matrixMult(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int rl, int ru, boolean fixedRet, boolean packed) {
 		//check inputs / outputs
 		if( m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) {
 			ret.examSparsity(); //turn empty dense into sparse
@@ -148,7 +163,7 @@ public class LibMatrixMult
 		if( ultraSparse )
 			matrixMultUltraSparse(m1, m2, ret, m1Perm, 0, ru2);
 		else if(!m1.sparse && !m2.sparse)
-			matrixMultDenseDense(m1, m2, ret, tm2, pm2, 0, ru2, 0, cu);
+			matrixMultDenseDense(m1, m2, ret, tm2, pm2, 0, ru2, 0, cu, packed, null);
 		else if(m1.sparse && m2.sparse)
 			matrixMultSparseSparse(m1, m2, ret, pm2, sparse, 0, ru2);
 		else if(m1.sparse)
@@ -177,6 +192,21 @@ public class LibMatrixMult
 	 * @param k maximum parallelism
 	 */
 	public static void matrixMult(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int k) {
+		matrixMult(m1, m2, ret, k, PACKED_MATRIX_MULT);
+	}
+	
+	/**
+	 * Performs a multi-threaded matrix multiplication, where the packed dense-dense
+	 * kernel is used for applicable inputs only if enabled (e.g., for comparisons
+	 * with the default kernels in tests and benchmarks).
+	 * 
+	 * @param m1 first matrix
+	 * @param m2 second matrix
+	 * @param ret result matrix
+	 * @param k maximum parallelism
+	 * @param packed enable the packed dense-dense matrix mult
+	 */
+	public static void matrixMult(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int k, boolean packed) {
 		//check inputs / outputs
 		if( m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) {
 			ret.examSparsity(); //turn empty dense into sparse
@@ -185,7 +215,7 @@ public class LibMatrixMult
 		
 		//check too small workload and fallback to sequential if needed
 		if( !satisfiesMultiThreadingConstraints(m1, m2, m1.rlen==1, true, 2, k) ) {
-			matrixMult(m1, m2, ret);
+			matrixMult(m1, m2, ret, 0, m1.rlen, false, packed);
 			return;
 		}
 		
@@ -202,7 +232,7 @@ public class LibMatrixMult
 		ret.allocateBlock();
 		
 		if (!ret.isThreadSafe()) {
-			matrixMult(m1, m2, ret);
+			matrixMult(m1, m2, ret, 0, m1.rlen, false, packed);
 			return;
 		}
 		
@@ -211,6 +241,11 @@ public class LibMatrixMult
 		boolean pm2c = !ultraSparse && checkParMatrixMultRightInputCols(m1, m2, k, pm2r);
 		int num = pm2r ? m2.rlen : pm2c ? m2.clen : m1.rlen; 
 		
+		//pack rhs panels of packed matrix mult once, shared by all row partitions
+		double[][] bpack = (!ret.sparse && !pm2r && !pm2c && !tm2 && !m1.sparse && !m2.sparse
+			&& LOW_LEVEL_OPTIMIZATION && packed && isPackedMatrixMult(m1, m2)) ?
+			packRhsBlocks(m2.getDenseBlock(), m1.clen, m2.clen) : null;
+		
 		//core multi-threaded matrix mult computation
 		//(currently: always parallelization over number of rows)
 		try {
@@ -218,7 +253,7 @@ public class LibMatrixMult
 			ArrayList<MatrixMultTask> tasks = new ArrayList<>();
 			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(num, k, (pm2r||pm2c));
 			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
-				tasks.add(new MatrixMultTask(m1, m2, ret, tm2, pm2r, pm2c, m1Perm, sparse, lb, lb+blklens.get(i)));
+				tasks.add(new MatrixMultTask(m1, m2, ret, tm2, pm2r, pm2c, m1Perm, sparse, packed, bpack, lb, lb+blklens.get(i)));
 			//execute tasks
 			List<Future<Object>> taskret = pool.invokeAll(tasks);
 			pool.shutdown();
@@ -901,7 +936,7 @@ public class LibMatrixMult
 	// optimized matrix mult implementation //
 	//////////////////////////////////////////
 
-	private static void matrixMultDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean tm2, boolean pm2, int rl, int ru, int cl, int cu) {
+	private static void matrixMultDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean tm2, boolean pm2, int rl, int ru, int cl, int cu, boolean packed, double[][] bpack) {
 		DenseBlock a = m1.getDenseBlock();
 		DenseBlock b = m2.getDenseBlock();
 		DenseBlock c = ret.getDenseBlock();
@@ -949,6 +984,9 @@ public class LibMatrixMult
 			else if( tm2 ) {                //MATRIX-MATRIX (skinny rhs)
 				matrixMultDenseDenseMMSkinnyRHS(a, b, c, m2.rlen, cd, rl, ru);
 			}
+			else if( packed && isPackedMatrixMult(m1, m2) ) { //MATRIX-MATRIX (packed)
+				matrixMultDenseDenseMMPacked(a, b, c, cd, rl, ru, cl, cu, bpack);
+			}
 			else {                          //MATRIX-MATRIX
 				matrixMultDenseDenseMM(a, b, c, n, cd, rl, ru, cl, cu);
 			}
@@ -1127,6 +1165,234 @@ public class LibMatrixMult
 				}
 	}
 
+	private static boolean isPackedMatrixMult(MatrixBlock m1, MatrixBlock m2) {
+		//medium-to-large dense matrix multiplications, where the packing costs
+		//are amortized (and the lhs is too dense to benefit from skipping zeros)
+		return m1.rlen >= PACKED_MIN_DIM && m1.clen >= PACKED_MIN_DIM && m2.clen >= PACKED_MIN_DIM
+			&& (long)m1.rlen * m1.clen * m2.clen >= PACKED_MIN_FLOPS
+			&& m1.nonZeros >= PACKED_MIN_SPARSITY * m1.rlen * m1.clen;
+	}
+	
+	/**
+	 * Packed and cache-blocked dense-dense matrix multiplication (GotoBLAS-style),
+	 * which copies blocks of b (KCxNC) and a (MCxKC) into contiguous panels of NR
+	 * columns and MR rows, respectively, such that the register-blocked microkernel
+	 * streams through both panels sequentially. The microkernel is selected by the
+	 * width of the output column range (4x8 register blocks, or 4x4 for narrow outputs
+	 * to reduce padding), and partial panels at the boundaries are padded with zeros
+	 * and handled by a separate edge microkernel.
+	 * 
+	 * @param a dense lhs block
+	 * @param b dense rhs block
+	 * @param c dense output block
+	 * @param cd common dimension
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 * @param cl column lower bound (inclusive)
+	 * @param cu column upper bound (exclusive)
+	 */
+	public static void matrixMultDenseDenseMMPacked(DenseBlock a, DenseBlock b, DenseBlock c, int cd, int rl, int ru, int cl, int cu) {
+		matrixMultDenseDenseMMPacked(a, b, c, cd, rl, ru, cl, cu, null);
+	}
+	
+	/**
+	 * Packed and cache-blocked dense-dense matrix multiplication with optionally
+	 * pre-packed blocks of b (see {@link #packRhsBlocks(DenseBlock, int, int)}),
+	 * which are shared read-only by all row partitions of a multi-threaded
+	 * matrix multiplication instead of being re-packed by every task.
+	 * 
+	 * @param a dense lhs block
+	 * @param b dense rhs block
+	 * @param c dense output block
+	 * @param cd common dimension
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 * @param cl column lower bound (inclusive, 0 if pre-packed)
+	 * @param cu column upper bound (exclusive, number of columns if pre-packed)
+	 * @param bpack pre-packed blocks of b, or null to pack thread-locally
+	 */
+	public static void matrixMultDenseDenseMMPacked(DenseBlock a, DenseBlock b, DenseBlock c, int cd, int rl, int ru, int cl, int cu, double[][] bpack) {
+		final int MR = PACKED_MR;
+		final int NR = getPackedNR(cu-cl);
+		final int mc = Math.min(PACKED_MC, roundUp(ru-rl, MR));
+		final int kc = Math.min(PACKED_KC, cd);
+		final int nc = Math.min(PACKED_NC, roundUp(cu-cl, NR));
+		final int nbk = (cd + PACKED_KC - 1) / PACKED_KC;
+		
+		//thread-local pack buffers and edge tile
+		double[] apack = new double[mc * kc];
+		double[] bbuff = (bpack == null) ? new double[kc * nc] : null;
+		double[] ctmp = new double[MR * NR];
+		double[][] cvals = new double[MR][];
+		int[] cix = new int[MR];
+		
+		for( int bj = cl, bjix = 0; bj < cu; bj += PACKED_NC, bjix++ ) {
+			int bjlen = Math.min(cu, bj+PACKED_NC) - bj;
+			for( int bk = 0, bkix = 0; bk < cd; bk += PACKED_KC, bkix++ ) {
+				int bklen = Math.min(cd, bk+PACKED_KC) - bk;
+				double[] bpanels = (bpack != null) ? bpack[bjix*nbk + bkix] : bbuff;
+				if( bpack == null )
+					packRhsPanels(b, bbuff, bk, bklen, bj, bjlen, NR);
+				for( int bi = rl; bi < ru; bi += PACKED_MC ) {
+					int bilen = Math.min(ru, bi+PACKED_MC) - bi;
+					packLhsPanels(a, apack, bi, bilen, bk, bklen, MR);
+					
+					//register-blocked microkernels over packed panels
+					for( int i = 0; i < bilen; i += MR ) {
+						int mr = Math.min(MR, bilen-i);
+						for( int ii = 0; ii < mr; ii++ ) {
+							cvals[ii] = c.values(bi+i+ii);
+							cix[ii] = c.pos(bi+i+ii, bj);
+						}
+						int aix = i * bklen;
+						for( int j = 0; j < bjlen; j += NR ) {
+							int nr = Math.min(NR, bjlen-j);
+							int bix = j * bklen;
+							if( mr == MR && nr == NR && NR == 8 )
+								microKernel4x8(apack, aix, bpanels, bix, bklen, cvals, cix, j);
+							else if( mr == MR && nr == NR )
+								microKernel4x4(apack, aix, bpanels, bix, bklen, cvals, cix, j);
+							else
+								microKernelEdge(apack, aix, bpanels, bix, bklen, cvals, cix, j, mr, nr, NR, ctmp);
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Packs all KCxNC blocks of b into panels of NR columns, in the layout of
+	 * the packed matrix multiplication over the full column range of b, indexed
+	 * by column block and then row block.
+	 * 
+	 * @param b dense rhs block
+	 * @param cd common dimension (rows of b)
+	 * @param n number of columns of b
+	 * @return packed blocks of b
+	 */
+	public static double[][] packRhsBlocks(DenseBlock b, int cd, int n) {
+		final int NR = getPackedNR(n);
+		final int nbk = (cd + PACKED_KC - 1) / PACKED_KC;
+		final int nbj = (n + PACKED_NC - 1) / PACKED_NC;
+		double[][] ret = new double[nbj * nbk][];
+		for( int bj = 0, bjix = 0; bj < n; bj += PACKED_NC, bjix++ ) {
+			int bjlen = Math.min(n, bj+PACKED_NC) - bj;
+			for( int bk = 0, bkix = 0; bk < cd; bk += PACKED_KC, bkix++ ) {
+				int bklen = Math.min(cd, bk+PACKED_KC) - bk;
+				ret[bjix*nbk + bkix] = new double[bklen * roundUp(bjlen, NR)];
+				packRhsPanels(b, ret[bjix*nbk + bkix], bk, bklen, bj, bjlen, NR);
+			}
+		}
+		return ret;
+	}
+	
+	private static int getPackedNR(int ncol) {
+		//narrow register blocks for narrow outputs to reduce padding
+		return (ncol >= PACKED_NR_MIN_COLS) ? PACKED_NR : PACKED_NR/2;
+	}
+	
+	private static void packRhsPanels(DenseBlock b, double[] bpack, int bk, int bklen, int bj, int bjlen, int NR) {
+		//layout: panels of NR columns, each stored row-major (bklen x NR)
+		for( int j = 0, off = 0; j < bjlen; j += NR, off += bklen*NR ) {
+			int nr = Math.min(NR, bjlen-j);
+			for( int k = 0; k < bklen; k++ ) {
+				double[] bvals = b.values(bk+k);
+				int bix = b.pos(bk+k, bj+j);
+				int pix = off + k*NR;
+				for( int jj = 0; jj < nr; jj++ )
+					bpack[pix+jj] = bvals[bix+jj];
+				for( int jj = nr; jj < NR; jj++ )
+					bpack[pix+jj] = 0;
+			}
+		}
+	}
+	
+	private static void packLhsPanels(DenseBlock a, double[] apack, int bi, int bilen, int bk, int bklen, int MR) {
+		//layout: panels of MR rows, each stored column-major (bklen x MR)
+		for( int i = 0, off = 0; i < bilen; i += MR, off += bklen*MR ) {
+			int mr = Math.min(MR, bilen-i);
+			for( int ii = 0; ii < MR; ii++ ) {
+				if( ii < mr ) {
+					double[] avals = a.values(bi+i+ii);
+					int aix = a.pos(bi+i+ii, bk);
+					for( int k = 0; k < bklen; k++ )
+						apack[off + k*MR + ii] = avals[aix+k];
+				}
+				else {
+					for( int k = 0; k < bklen; k++ )
+						apack[off + k*MR + ii] = 0;
+				}
+			}
+		}
+	}
+	
+	private static void microKernel4x4(double[] apack, int aix, double[] bpack, int bix, int kc, double[][] cvals, int[] cix, int cj) {
+		//4x4 register block of accumulators, rank-1 updates per k
+		double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+		double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+		double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+		double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+		for( int k = 0; k < kc; k++, aix += 4, bix += 4 ) {
+			final double a0 = apack[aix], a1 = apack[aix+1], a2 = apack[aix+2], a3 = apack[aix+3];
+			final double b0 = bpack[bix], b1 = bpack[bix+1], b2 = bpack[bix+2], b3 = bpack[bix+3];
+			c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+			c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+			c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+			c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+		}
+		double[] c0 = cvals[0], c1 = cvals[1], c2 = cvals[2], c3 = cvals[3];
+		int ix0 = cix[0]+cj, ix1 = cix[1]+cj, ix2 = cix[2]+cj, ix3 = cix[3]+cj;
+		c0[ix0] += c00; c0[ix0+1] += c01; c0[ix0+2] += c02; c0[ix0+3] += c03;
+		c1[ix1] += c10; c1[ix1+1] += c11; c1[ix1+2] += c12; c1[ix1+3] += c13;
+		c2[ix2] += c20; c2[ix2+1] += c21; c2[ix2+2] += c22; c2[ix2+3] += c23;
+		c3[ix3] += c30; c3[ix3+1] += c31; c3[ix3+2] += c32; c3[ix3+3] += c33;
+	}
+	
+	private static void microKernel4x8(double[] apack, int aix, double[] bpack, int bix, int kc, double[][] cvals, int[] cix, int cj) {
+		//4x8 register block of accumulators, rank-1 updates per k
+		double c00 = 0, c01 = 0, c02 = 0, c03 = 0, c04 = 0, c05 = 0, c06 = 0, c07 = 0;
+		double c10 = 0, c11 = 0, c12 = 0, c13 = 0, c14 = 0, c15 = 0, c16 = 0, c17 = 0;
+		double c20 = 0, c21 = 0, c22 = 0, c23 = 0, c24 = 0, c25 = 0, c26 = 0, c27 = 0;
+		double c30 = 0, c31 = 0, c32 = 0, c33 = 0, c34 = 0, c35 = 0, c36 = 0, c37 = 0;
+		for( int k = 0; k < kc; k++, aix += 4, bix += 8 ) {
+			final double a0 = apack[aix], a1 = apack[aix+1], a2 = apack[aix+2], a3 = apack[aix+3];
+			final double b0 = bpack[bix], b1 = bpack[bix+1], b2 = bpack[bix+2], b3 = bpack[bix+3];
+			final double b4 = bpack[bix+4], b5 = bpack[bix+5], b6 = bpack[bix+6], b7 = bpack[bix+7];
+			c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3; c04 += a0 * b4; c05 += a0 * b5; c06 += a0 * b6; c07 += a0 * b7;
+			c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3; c14 += a1 * b4; c15 += a1 * b5; c16 += a1 * b6; c17 += a1 * b7;
+			c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3; c24 += a2 * b4; c25 += a2 * b5; c26 += a2 * b6; c27 += a2 * b7;
+			c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3; c34 += a3 * b4; c35 += a3 * b5; c36 += a3 * b6; c37 += a3 * b7;
+		}
+		double[] c0 = cvals[0], c1 = cvals[1], c2 = cvals[2], c3 = cvals[3];
+		int ix0 = cix[0]+cj, ix1 = cix[1]+cj, ix2 = cix[2]+cj, ix3 = cix[3]+cj;
+		c0[ix0] += c00; c0[ix0+1] += c01; c0[ix0+2] += c02; c0[ix0+3] += c03; c0[ix0+4] += c04; c0[ix0+5] += c05; c0[ix0+6] += c06; c0[ix0+7] += c07;
+		c1[ix1] += c10; c1[ix1+1] += c11; c1[ix1+2] += c12; c1[ix1+3] += c13; c1[ix1+4] += c14; c1[ix1+5] += c15; c1[ix1+6] += c16; c1[ix1+7] += c17;
+		c2[ix2] += c20; c2[ix2+1] += c21; c2[ix2+2] += c22; c2[ix2+3] += c23; c2[ix2+4] += c24; c2[ix2+5] += c25; c2[ix2+6] += c26; c2[ix2+7] += c27;
+		c3[ix3] += c30; c3[ix3+1] += c31; c3[ix3+2] += c32; c3[ix3+3] += c33; c3[ix3+4] += c34; c3[ix3+5] += c35; c3[ix3+6] += c36; c3[ix3+7] += c37;
+	}
+	
+	private static void microKernelEdge(double[] apack, int aix, double[] bpack, int bix, int kc,
+		double[][] cvals, int[] cix, int cj, int mr, int nr, int NR, double[] ctmp)
+	{
+		//generic kernel for partial register blocks (zero-padded panels)
+		final int MR = PACKED_MR;
+		Arrays.fill(ctmp, 0);
+		for( int k = 0; k < kc; k++, aix += MR, bix += NR )
+			for( int ii = 0; ii < MR; ii++ ) {
+				final double aval = apack[aix+ii];
+				for( int jj = 0; jj < NR; jj++ )
+					ctmp[ii*NR+jj] += aval * bpack[bix+jj];
+			}
+		for( int ii = 0; ii < mr; ii++ )
+			for( int jj = 0; jj < nr; jj++ )
+				cvals[ii][cix[ii]+cj+jj] += ctmp[ii*NR+jj];
+	}
+	
+	private static int roundUp(int len, int blen) {
+		return (len + blen - 1) / blen * blen;
+	}
+
 	private static void matrixMultDenseSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean pm2, int rl, int ru) {
 		DenseBlock a = m1.getDenseBlock();
 		DenseBlock c = ret.getDenseBlock();
@@ -4072,11 +4338,13 @@ public class LibMatrixMult
 		private final boolean _pm2c; //par over m2 rows
 		private final boolean _m1Perm; //sparse permutation
 		private final boolean _sparse; //sparse output
+		private final boolean _packed; //packed dense-dense
+		private final double[][] _bpack; //shared packed rhs
 		private final int _rl;
 		private final int _ru;
 
 		protected MatrixMultTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret,
-			boolean tm2, boolean pm2r, boolean pm2c, boolean m1Perm, boolean sparse, int rl, int ru )
+			boolean tm2, boolean pm2r, boolean pm2c, boolean m1Perm, boolean sparse, boolean packed, double[][] bpack, int rl, int ru )
 		{
 			_m1 = m1;
 			_m2 = m2;
@@ -4085,6 +4353,8 @@ public class LibMatrixMult
 			_pm2c = pm2c;
 			_m1Perm = m1Perm;
 			_sparse = sparse;
+			_packed = packed;
+			_bpack = bpack;
 			_rl = rl;
 			_ru = ru;
 			
@@ -4113,7 +4383,7 @@ public class LibMatrixMult
 			if( _ret.sparse ) //ultra-sparse
 				matrixMultUltraSparse(_m1, _m2, _ret, _m1Perm, rl, ru);
 			else if(!_m1.sparse && !_m2.sparse)
-				matrixMultDenseDense(_m1, _m2, _ret, _tm2, _pm2r, rl, ru, cl, cu);
+				matrixMultDenseDense(_m1, _m2, _ret, _tm2, _pm2r, rl, ru, cl, cu, _packed, _bpack);
 			else if(_m1.sparse && _m2.sparse)
 				matrixMultSparseSparse(_m1, _m2, _ret, _pm2r, _sparse, rl, ru);
 			else if(_m1.sparse)
@@ -3982,6 +3982,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				result.reset(rlen, clen, sp);
 			result.copy(this, sp);
 		}
+		else if( update == UpdateType.INPLACE_SHARED ) {
+			//write into the pre-allocated dense block shared by parallel writers
+			//w/o representation changes or nnz maintenance (disjoint cells but
+			//shared nnz, which are kept at the upper bound until result merge)
+			if( rhsMatrix.sparse || rhsMatrix.isEmptyBlock(false) )
+				denseBlock.set(rl, ru+1, cl, cu+1, 0);
+			copy(rl, ru, cl, cu, rhsMatrix, false);
+			return this;
+		}
 		else { //update in-place
 			//use current block as in-place result
 			result = this;
@@ -4055,7 +4064,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		double inVal = scalar.getDoubleValue();
 		boolean sp = estimateSparsityOnLeftIndexing(rlen, clen, nonZeros, 1, 1, (inVal!=0)?1:0);
 		
-		if( !update.isInPlace() ) { //general case
+		if( update == UpdateType.INPLACE_SHARED ) {
+			//write shared dense block w/o nnz maintenance (see above)
+			denseBlock.set(rl, cl, inVal);
+			return this;
+		}
+		else if( !update.isInPlace() ) { //general case
 			if(ret==null)
 				ret=new MatrixBlock(rlen, clen, sp);
 			else
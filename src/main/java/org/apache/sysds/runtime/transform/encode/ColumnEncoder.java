@@ -116,19 +116,63 @@ public abstract class ColumnEncoder implements Encoder, Comparable<ColumnEncoder
 
 	protected abstract double getCode(CacheBlock in, int row);
 
+	/**
+	 * Computes the codes of all distinct values of a dictionary-encoded column, indexed
+	 * by the dictionary codes of the frame column. Encoders that return a lookup table
+	 * apply dictionary-encoded columns without per-row string lookups.
+	 *
+	 * @param in dictionary-encoded frame block
+	 * @return array of codes (NaN for missing values), or null if not supported
+	 */
+	protected double[] getDictCodes(FrameBlock in) {
+		return null;
+	}
+
+	protected static boolean isDictEncoded(CacheBlock in, int colID) {
+		return in instanceof FrameBlock && ((FrameBlock) in).isColumnDictEncoded(colID - 1);
+	}
+
+	private double[] getDictCodesIfEncoded(CacheBlock in) {
+		return isDictEncoded(in, _colID) ? getDictCodes((FrameBlock) in) : null;
+	}
+
+	/**
+	 * Computes the codes of all rows of the encoded column.
+	 *
+	 * @param in input block
+	 * @return array of codes, NaN for missing values
+	 */
+	protected double[] getCodeCol(CacheBlock in) {
+		double[] codes = new double[in.getNumRows()];
+		double[] lookup = getDictCodesIfEncoded(in);
+		if(lookup != null) {
+			FrameBlock fin = (FrameBlock) in;
+			for(int i = 0; i < codes.length; i++)
+				codes[i] = lookup[fin.getColumnDictCode(i, _colID - 1)];
+			return codes;
+		}
+		for(int i = 0; i < codes.length; i++)
+			codes[i] = getCode(in, i);
+		return codes;
+	}
+
 
 	protected void applySparse(CacheBlock in, MatrixBlock out, int outputCol, int rowStart, int blk){
 		int index = _colID - 1;
+		double[] lookup = getDictCodesIfEncoded(in);
 		for(int r = rowStart; r < getEndIndex(in.getNumRows(), rowStart, blk); r++) {
 			SparseRowVector row = (SparseRowVector) out.getSparseBlock().get(r);
-			row.values()[index] = getCode(in, r);
+			row.values()[index] = (lookup != null) ?
+				lookup[((FrameBlock) in).getColumnDictCode(r, index)] : getCode(in, r);
 			row.indexes()[index] = outputCol;
 		}
 	}
 
 	protected void applyDense(CacheBlock in, MatrixBlock out, int outputCol, int rowStart, int blk){
+		double[] lookup = getDictCodesIfEncoded(in);
 		for(int i = rowStart; i < getEndIndex(in.getNumRows(), rowStart, blk); i++) {
-			out.quickSetValue(i, outputCol, getCode(in, i));
+			out.quickSetValue(i, outputCol, (lookup != null) ?
+				lookup[((FrameBlock) in).getColumnDictCode(i, _colID - 1)] : getCode(in, i));
 		}
 	}
 
@@ -168,6 +212,14 @@ public abstract class ColumnEncoder implements Encoder, Comparable<ColumnEncoder
 		// do nothing
 	}
 
+	/**
+	 * Finalizes the build of internal data structures from the partial build state, which
+	 * might have been obtained from multiple calls of buildPartial over row chunks of the input.
+	 */
+	public void buildFromPartial() {
+		// do nothing
+	}
+
 	/**
 	 * Merges another encoder, of a compatible type, in after a certain position. Resizes as necessary.
 	 * <code>ColumnEncoders</code> are compatible with themselves and <code>EncoderComposite</code> is compatible with
@@ -323,6 +375,10 @@ public abstract class ColumnEncoder implements Encoder, Comparable<ColumnEncoder
 		}
 	}
 
+	protected void clearSparseRowsWZeros(){
+		_sparseRowsWZeros = null;
+	}
+
 	protected int getNumApplyRowPartitions(){
 		return ConfigurationManager.getParallelApplyBlocks();
 	}
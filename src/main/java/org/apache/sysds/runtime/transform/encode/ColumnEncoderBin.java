@@ -156,9 +156,9 @@ public class ColumnEncoderBin extends ColumnEncoder {
 	}
 
 	public void prepareBuildPartial() {
-		// ensure allocated min/max arrays
-		_colMins = -1f;
-		_colMaxs = -1f;
+		// reset min/max for merging partial builds
+		_colMins = Double.POSITIVE_INFINITY;
+		_colMaxs = Double.NEGATIVE_INFINITY;
 	}
 
 	public void buildPartial(FrameBlock in) {
@@ -166,8 +166,15 @@ public class ColumnEncoderBin extends ColumnEncoder {
 			return;
 		// derive bin boundaries from min/max per column
 		double[] pairMinMax = getMinMaxOfCol(in, _colID, 0, -1);
-		_colMins = pairMinMax[0];
-		_colMaxs = pairMinMax[1];
+		_colMins = Math.min(_colMins, pairMinMax[0]);
+		_colMaxs = Math.max(_colMaxs, pairMinMax[1]);
+	}
+
+	@Override
+	public void buildFromPartial() {
+		if(!isApplicable())
+			return;
+		computeBins(_colMins, _colMaxs);
 	}
 
 	@Override
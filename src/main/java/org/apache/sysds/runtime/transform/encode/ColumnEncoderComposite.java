@@ -182,6 +182,13 @@ public class ColumnEncoderComposite extends ColumnEncoder {
 			columnEncoder.buildPartial(in);
 	}
 
+	@Override
+	public void buildFromPartial() {
+		for(ColumnEncoder columnEncoder : _columnEncoders)
+			columnEncoder.buildFromPartial();
+		updateAllDCEncoders();
+	}
+
 	@Override
 	public MatrixBlock apply(CacheBlock in, MatrixBlock out, int outputCol, int rowStart, int blk) {
 		try {
@@ -355,6 +362,12 @@ public class ColumnEncoderComposite extends ColumnEncoder {
 				}).collect(Collectors.toSet());
 	}
 
+	@Override
+	protected void clearSparseRowsWZeros(){
+		super.clearSparseRowsWZeros();
+		_columnEncoders.forEach(ColumnEncoder::clearSparseRowsWZeros);
+	}
+
 
 	private static class ColumnCompositeUpdateDCTask implements Callable<Object> {
 
@@ -71,6 +71,16 @@ public class ColumnEncoderFeatureHash extends ColumnEncoder {
 		return (key.hashCode() % _K) + 1;
 	}
 
+	@Override
+	protected double[] getDictCodes(FrameBlock in) {
+		// hash each distinct value once, instead of per row
+		String[] dict = in.getColumnDictionary(_colID - 1);
+		double[] codes = new double[dict.length];
+		for(int k = 0; k < dict.length; k++)
+			codes[k] = (dict[k] == null) ? Double.NaN : (dict[k].hashCode() % _K) + 1;
+		return codes;
+	}
+
 	@Override
 	public void build(CacheBlock in) {
 		// do nothing (no meta data other than K)
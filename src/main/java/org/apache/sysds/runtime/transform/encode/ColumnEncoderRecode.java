@@ -27,8 +27,7 @@ import java.io.ObjectOutput;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 
@@ -37,6 +36,7 @@ import org.apache.sysds.lops.Lop;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.StringIntHashMap;
 import org.apache.sysds.utils.Statistics;
 
 public class ColumnEncoderRecode extends ColumnEncoder {
@@ -46,7 +46,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	public static boolean SORT_RECODE_MAP = false;
 
 	// recode maps and custom map for partial recode maps
-	private HashMap<String, Long> _rcdMap = new HashMap<>();
+	private StringIntHashMap _rcdMap = new StringIntHashMap();
 	private HashSet<Object> _rcdMapPart = null;
 
 	public ColumnEncoderRecode(int colID) {
@@ -57,7 +57,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		this(-1);
 	}
 
-	private ColumnEncoderRecode(int colID, HashMap<String, Long> rcdMap) {
+	private ColumnEncoderRecode(int colID, StringIntHashMap rcdMap) {
 		super(colID);
 		_rcdMap = rcdMap;
 	}
@@ -74,9 +74,9 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		return constructRecodeMapEntry(token, code, sb);
 	}
 
-	private static String constructRecodeMapEntry(String token, Long code, StringBuilder sb) {
+	private static String constructRecodeMapEntry(String token, long code, StringBuilder sb) {
 		sb.setLength(0); // reset reused string builder
-		return sb.append(token).append(Lop.DATATYPE_PREFIX).append(code.longValue()).toString();
+		return sb.append(token).append(Lop.DATATYPE_PREFIX).append(code).toString();
 	}
 
 	/**
@@ -92,7 +92,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		return new String[] {value.substring(0, pos), value.substring(pos + 1)};
 	}
 
-	public HashMap<String, Long> getCPRecodeMaps() {
+	public StringIntHashMap getCPRecodeMaps() {
 		return _rcdMap;
 	}
 
@@ -104,19 +104,36 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		sortCPRecodeMaps(_rcdMap);
 	}
 
-	private static void sortCPRecodeMaps(HashMap<String, Long> map) {
-		String[] keys = map.keySet().toArray(new String[0]);
+	private static void sortCPRecodeMaps(StringIntHashMap map) {
+		String[] keys = map.getKeys();
 		Arrays.sort(keys);
 		map.clear();
 		for(String key : keys)
 			putCode(map, key);
 	}
 
-	private static void makeRcdMap(CacheBlock in, HashMap<String, Long> map, int colID, int startRow, int blk) {
-		for(int row = startRow; row < getEndIndex(in.getNumRows(), startRow, blk); row++){
-			String key = in.getString(row, colID - 1);
-			if(key != null && !key.isEmpty() && !map.containsKey(key))
-				putCode(map, key);
+	private static void makeRcdMap(CacheBlock in, StringIntHashMap map, int colID, int startRow, int blk) {
+		if(isDictEncoded(in, colID)) {
+			// probe each distinct value once, in order of first occurrence
+			FrameBlock fin = (FrameBlock) in;
+			String[] dict = fin.getColumnDictionary(colID - 1);
+			boolean[] seen = new boolean[dict.length];
+			for(int row = startRow; row < getEndIndex(in.getNumRows(), startRow, blk); row++) {
+				int code = fin.getColumnDictCode(row, colID - 1);
+				if(seen[code])
+					continue;
+				seen[code] = true;
+				String key = dict[code];
+				if(key != null && !key.isEmpty())
+					map.putIfAbsent(key, map.size() + 1);
+			}
+		}
+		else {
+			for(int row = startRow; row < getEndIndex(in.getNumRows(), startRow, blk); row++) {
+				String key = in.getString(row, colID - 1);
+				if(key != null && !key.isEmpty())
+					map.putIfAbsent(key, map.size() + 1);
+			}
 		}
 		if(SORT_RECODE_MAP) {
 			sortCPRecodeMaps(map);
@@ -124,8 +141,19 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	}
 
 	private long lookupRCDMap(String key) {
-		Long tmp = _rcdMap.get(key);
-		return (tmp != null) ? tmp : -1;
+		return _rcdMap.get(key);
+	}
+
+	@Override
+	protected double[] getDictCodes(FrameBlock in) {
+		String[] dict = in.getColumnDictionary(_colID - 1);
+		double[] codes = new double[dict.length];
+		for(int k = 0; k < dict.length; k++) {
+			String key = dict[k];
+			long code = (key == null || key.isEmpty()) ? -1 : lookupRCDMap(key);
+			codes[k] = (code < 0) ? Double.NaN : code;
+		}
+		return codes;
 	}
 
 	@Override
@@ -166,8 +194,8 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	 * @param map column map
 	 * @param key key for the new entry
 	 */
-	protected static void putCode(HashMap<String, Long> map, String key) {
-		map.put(key, (long) (map.size() + 1));
+	protected static void putCode(StringIntHashMap map, String key) {
+		map.put(key, map.size() + 1);
 	}
 
 	protected double getCode(CacheBlock in, int r){
@@ -179,25 +207,12 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		return (code < 0) ? Double.NaN : code;
 	}
 	
-	protected double[] getCodeCol(CacheBlock in) {
-		Object[] coldata = (Object[]) ((FrameBlock)in).getColumnData(_colID-1);
-		double codes[] = new double[in.getNumRows()];
-		for (int i=0; i<coldata.length; i++) {
-			Object okey = coldata[i]; 
-			String key = (okey != null) ? okey.toString() : null;
-			if(key == null || key.isEmpty())
-				codes[i] = Double.NaN;
-			long code = lookupRCDMap(key);
-			codes[i] = code;
-		}
-		return codes;
-	}
-
 	@Override
 	public void prepareBuildPartial() {
 		// ensure allocated partial recode map
+		// (linked to preserve the order of first occurrence)
 		if(_rcdMapPart == null)
-			_rcdMapPart = new HashSet<>();
+			_rcdMapPart = new LinkedHashSet<>();
 	}
 
 	@Override
@@ -207,13 +222,38 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 
 		// construct partial recode map (tokens w/o codes)
 		// probe and build column map
-		for(int i = 0; i < in.getNumRows(); i++)
-			_rcdMapPart.add(in.get(i, _colID - 1));
+		if(isDictEncoded(in, _colID)) {
+			String[] dict = in.getColumnDictionary(_colID - 1);
+			boolean[] seen = new boolean[dict.length];
+			for(int i = 0; i < in.getNumRows(); i++) {
+				int code = in.getColumnDictCode(i, _colID - 1);
+				if(!seen[code]) {
+					seen[code] = true;
+					_rcdMapPart.add(dict[code]);
+				}
+			}
+		}
+		else {
+			for(int i = 0; i < in.getNumRows(); i++)
+				_rcdMapPart.add(in.get(i, _colID - 1));
+		}
 		// cleanup unnecessary entries once
 		_rcdMapPart.remove(null);
 		_rcdMapPart.remove("");
 	}
 
+	@Override
+	public void buildFromPartial() {
+		if(!isApplicable() || _rcdMapPart == null)
+			return;
+		// assign codes to the merged distinct tokens
+		for(Object token : _rcdMapPart)
+			_rcdMap.putIfAbsent(token.toString(), _rcdMap.size() + 1);
+		if(SORT_RECODE_MAP)
+			sortCPRecodeMaps(_rcdMap);
+		_rcdMapPart = null;
+	}
+
 
 	@Override
 	protected ColumnApplyTask<? extends ColumnEncoder> 
@@ -230,15 +270,9 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		assert other._colID == _colID;
 		// merge together overlapping columns
 		ColumnEncoderRecode otherRec = (ColumnEncoderRecode) other;
-		HashMap<String, Long> otherMap = otherRec._rcdMap;
-		if(otherMap != null) {
+		if(otherRec._rcdMap != null) {
 			// for each column, add all non present recode values
-			for(Map.Entry<String, Long> entry : otherMap.entrySet()) {
-				if(lookupRCDMap(entry.getKey()) == -1) {
-					// key does not yet exist
-					putCode(_rcdMap, entry.getKey());
-				}
-			}
+			_rcdMap.mergeNewKeys(otherRec._rcdMap);
 		}
 	}
 
@@ -264,10 +298,9 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 
 		// create compact meta data representation
 		StringBuilder sb = new StringBuilder(); // for reuse
-		int rowID = 0;
-		for(Entry<String, Long> e : _rcdMap.entrySet()) {
-			meta.set(rowID++, _colID - 1, // 1-based
-				constructRecodeMapEntry(e.getKey(), e.getValue(), sb));
+		for(int i = 0; i < _rcdMap.size(); i++) {
+			meta.set(i, _colID - 1, // 1-based
+				constructRecodeMapEntry(_rcdMap.getKey(i), _rcdMap.getValue(i), sb));
 		}
 		meta.getColumnMetadata(_colID - 1).setNumDistinct(getNumDistinctValues());
 
@@ -290,9 +323,9 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	public void writeExternal(ObjectOutput out) throws IOException {
 		super.writeExternal(out);
 		out.writeInt(_rcdMap.size());
-		for(Entry<String, Long> e : _rcdMap.entrySet()) {
-			out.writeUTF(e.getKey());
-			out.writeLong(e.getValue());
+		for(int i = 0; i < _rcdMap.size(); i++) {
+			out.writeUTF(_rcdMap.getKey(i));
+			out.writeLong(_rcdMap.getValue(i));
 		}
 	}
 
@@ -302,7 +335,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		int size = in.readInt();
 		for(int j = 0; j < size; j++) {
 			String key = in.readUTF();
-			Long value = in.readLong();
+			int value = (int) in.readLong();
 			_rcdMap.put(key, value);
 		}
 	}
@@ -322,7 +355,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		return Objects.hash(_rcdMap);
 	}
 
-	public HashMap<String, Long> getRcdMap() {
+	public StringIntHashMap getRcdMap() {
 		return _rcdMap;
 	}
 
@@ -376,9 +409,9 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		}
 
 		@Override
-		public HashMap<String, Long> call() throws Exception {
+		public StringIntHashMap call() throws Exception {
 			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
-			HashMap<String, Long> partialMap = new HashMap<>();
+			StringIntHashMap partialMap = new StringIntHashMap();
 			makeRcdMap(_input, partialMap, _colID, _startRow, _blockSize);
 			synchronized(_partialMaps) {
 				_partialMaps.put(_startRow, partialMap);
@@ -408,14 +441,14 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		@Override
 		public Object call() throws Exception {
 			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
-			HashMap<String, Long> rcdMap = _encoder.getRcdMap();
-			_partialMaps.forEach((start_row, map) -> {
-				((HashMap<?, ?>) map).forEach((k, v) -> {
-					if(!rcdMap.containsKey((String) k))
-						putCode(rcdMap, (String) k);
-				});
-			});
-			_encoder._rcdMap = rcdMap;
+			// merge partial maps in row order, for codes in order of first occurrence
+			StringIntHashMap rcdMap = _encoder.getRcdMap();
+			Integer[] startRows = _partialMaps.keySet().toArray(new Integer[0]);
+			Arrays.sort(startRows);
+			for(Integer startRow : startRows)
+				rcdMap.mergeNewKeys((StringIntHashMap) _partialMaps.get(startRow));
+			if(SORT_RECODE_MAP)
+				sortCPRecodeMaps(rcdMap);
 			if(DMLScript.STATISTICS){
 				Statistics.incTransformRecodeBuildTime(System.nanoTime() - t0);
 			}
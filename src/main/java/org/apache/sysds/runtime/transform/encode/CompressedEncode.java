@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.transform.encode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Transform encode of frames directly into compressed matrix blocks. Recoded and binned
+ * columns become DDC column groups (a mapping of rows to codes and a dictionary of code
+ * values), and dummycoded columns become DDC column groups with identity dictionaries,
+ * such that one-hot encoded outputs are never materialized as wide sparse matrices.
+ * Pass-through columns are combined into a single uncompressed column group.
+ */
+public class CompressedEncode {
+	protected static final Log LOG = LogFactory.getLog(CompressedEncode.class.getName());
+
+	private CompressedEncode() {
+		// prevent instantiation via private constructor
+	}
+
+	/**
+	 * Indicates if the given encoder and input support compressed outputs, i.e., if the
+	 * input is a frame and all columns are recoded, binned (both optionally dummycoded),
+	 * or passed through.
+	 *
+	 * @param enc multi-column encoder
+	 * @param in  input block
+	 * @return true if compressed encode is supported
+	 */
+	public static boolean isSupported(MultiColumnEncoder enc, CacheBlock in) {
+		if(!(in instanceof FrameBlock) || in.getNumRows() == 0 || enc.hasLegacyEncoder())
+			return false;
+		for(ColumnEncoderComposite c : enc.getColumnEncoders()) {
+			boolean codes = c.hasEncoder(ColumnEncoderRecode.class) || c.hasEncoder(ColumnEncoderBin.class);
+			for(ColumnEncoder e : c.getEncoders()) {
+				boolean valid = e instanceof ColumnEncoderRecode || e instanceof ColumnEncoderBin
+					|| e instanceof ColumnEncoderPassThrough || (e instanceof ColumnEncoderDummycode && codes);
+				if(!valid)
+					return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Builds the given encoder and applies it to the input frame, producing a compressed
+	 * matrix block. If the built encoder has degenerate column domains (e.g., columns
+	 * with only missing values), the output falls back to an uncompressed apply.
+	 *
+	 * @param enc multi-column encoder
+	 * @param in  input frame
+	 * @param k   degree of parallelism
+	 * @return compressed matrix block, or uncompressed block as fallback
+	 */
+	public static MatrixBlock encode(MultiColumnEncoder enc, FrameBlock in, int k) {
+		enc.build(in, k);
+		final int nrow = in.getNumRows();
+		final int ncol = in.getNumColumns() + enc.getNumExtraCols();
+
+		// compute output column offsets analogous to apply
+		List<ColumnEncoderComposite> encoders = enc.getColumnEncoders();
+		List<Callable<AColGroup>> tasks = new ArrayList<>();
+		List<ColumnEncoderComposite> passThrough = new ArrayList<>();
+		List<Integer> passThroughCols = new ArrayList<>();
+		int offset = 0;
+		for(ColumnEncoderComposite c : encoders) {
+			final int outCol = c._colID - 1 + offset;
+			if(c.hasEncoder(ColumnEncoderRecode.class) || c.hasEncoder(ColumnEncoderBin.class))
+				tasks.add(() -> encodeColumn(c, in, outCol));
+			else {
+				passThrough.add(c);
+				passThroughCols.add(outCol);
+			}
+			if(c.hasEncoder(ColumnEncoderDummycode.class))
+				offset += c.getEncoder(ColumnEncoderDummycode.class)._domainSize - 1;
+		}
+		if(!passThrough.isEmpty())
+			tasks.add(() -> encodePassThrough(passThrough, passThroughCols, in));
+
+		List<AColGroup> groups = execute(tasks, k);
+		if(groups == null) {
+			LOG.debug("Fallback to uncompressed transform apply due to invalid column domains");
+			return enc.apply(in, k);
+		}
+
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(nrow, ncol);
+		ret.allocateColGroupList(groups);
+		long nnz = 0;
+		for(AColGroup g : groups)
+			nnz += g.getNumberNonZeros(nrow);
+		ret.setNonZeros(nnz);
+		return ret;
+	}
+
+	private static List<AColGroup> execute(List<Callable<AColGroup>> tasks, int k) {
+		List<AColGroup> groups = new ArrayList<>(tasks.size());
+		try {
+			if(k > 1 && tasks.size() > 1) {
+				ExecutorService pool = CommonThreadPool.get(k);
+				List<Future<AColGroup>> rt = pool.invokeAll(tasks);
+				pool.shutdown();
+				for(Future<AColGroup> f : rt)
+					groups.add(f.get());
+			}
+			else {
+				for(Callable<AColGroup> t : tasks)
+					groups.add(t.call());
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		return groups.contains(null) ? null : groups;
+	}
+
+	private static AColGroup encodeColumn(ColumnEncoderComposite c, FrameBlock in, int outCol) {
+		// obtain codes in [1, domain] and NaN for missing values
+		ColumnEncoderRecode rc = c.getEncoder(ColumnEncoderRecode.class);
+		ColumnEncoder base = (rc != null) ? rc : c.getEncoder(ColumnEncoderBin.class);
+		final int domain = (rc != null) ? rc.getNumDistinctValues() : ((ColumnEncoderBin) base)._numBin;
+		final boolean dummy = c.hasEncoder(ColumnEncoderDummycode.class);
+		if(domain <= 0 || (dummy && c.getEncoder(ColumnEncoderDummycode.class)._domainSize != domain))
+			return null;
+		double[] codes = base.getCodeCol(in);
+		boolean missing = false;
+		for(double v : codes) {
+			if(Double.isNaN(v))
+				missing = true;
+			else if(v < 1 || v > domain)
+				return null;
+		}
+
+		// dummycoding w/ dictionaries larger than the one-hot encoded block
+		final int nrow = codes.length;
+		if(dummy && 8L * domain * domain > MatrixBlock.estimateSizeSparseInMemory(nrow, domain, 1d / domain))
+			return encodeOneHotUncompressed(codes, outCol, domain);
+
+		// mapping of rows to codes, w/ missing values as extra tuple
+		AMapToData map = MapToFactory.create(nrow, domain + (missing ? 1 : 0));
+		for(int i = 0; i < nrow; i++)
+			map.set(i, Double.isNaN(codes[i]) ? domain : (int) codes[i] - 1);
+
+		if(dummy) {
+			// identity dictionary, w/ zero tuple for missing values
+			double[] vals = new double[(domain + (missing ? 1 : 0)) * domain];
+			for(int j = 0; j < domain; j++)
+				vals[j * domain + j] = 1;
+			return ColGroupDDC.create(colIndexes(outCol, domain), nrow, new Dictionary(vals), map);
+		}
+		else {
+			// code dictionary, w/ NaN tuple for missing values
+			double[] vals = new double[domain + (missing ? 1 : 0)];
+			for(int j = 0; j < domain; j++)
+				vals[j] = j + 1;
+			if(missing)
+				vals[domain] = Double.NaN;
+			return ColGroupDDC.create(colIndexes(outCol, 1), nrow, new Dictionary(vals), map);
+		}
+	}
+
+	private static AColGroup encodeOneHotUncompressed(double[] codes, int outCol, int domain) {
+		MatrixBlock mb = new MatrixBlock(codes.length, domain, true);
+		for(int i = 0; i < codes.length; i++)
+			if(!Double.isNaN(codes[i]))
+				mb.appendValue(i, (int) codes[i] - 1, 1);
+		return ColGroupUncompressed.create(colIndexes(outCol, domain), mb);
+	}
+
+	private static AColGroup encodePassThrough(List<ColumnEncoderComposite> encoders, List<Integer> outCols,
+		FrameBlock in) {
+		final int nrow = in.getNumRows();
+		final int ncol = encoders.size();
+		MatrixBlock mb = new MatrixBlock(nrow, ncol, false);
+		double[] c = mb.allocateBlock().getDenseBlockValues();
+		double[] tmp = new double[nrow];
+		int[] cols = new int[ncol];
+		for(int j = 0; j < ncol; j++) {
+			int colID = encoders.get(j)._colID - 1;
+			if(in.getSchema()[colID] != ValueType.STRING)
+				in.getColumnAsDouble(colID, 0, nrow, tmp, 0);
+			else
+				for(int i = 0; i < nrow; i++)
+					tmp[i] = in.getDoubleNaN(i, colID);
+			for(int i = 0, cix = j; i < nrow; i++, cix += ncol)
+				c[cix] = tmp[i];
+			cols[j] = outCols.get(j);
+		}
+		return ColGroupUncompressed.create(cols, mb);
+	}
+
+	private static int[] colIndexes(int start, int len) {
+		int[] ret = new int[len];
+		for(int j = 0; j < len; j++)
+			ret[j] = start + j;
+		return ret;
+	}
+}
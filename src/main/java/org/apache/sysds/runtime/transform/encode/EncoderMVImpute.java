@@ -322,11 +322,11 @@ public class EncoderMVImpute extends LegacyEncoder {
 			int colID = _colList[j];
 			String mvVal = UtilFunctions.unquote(meta.getColumnMetadata(colID - 1).getMvValue());
 			if(_rcList.contains(colID)) {
-				Long mvVal2 = meta.getRecodeMap(colID - 1).get(mvVal);
-				if(mvVal2 == null)
+				int mvVal2 = meta.getRecodeMap(colID - 1).get(mvVal);
+				if(mvVal2 < 0)
 					throw new RuntimeException(
 						"Missing recode value for impute value '" + mvVal + "' (colID=" + colID + ").");
-				_replacementList[j] = mvVal2.toString();
+				_replacementList[j] = String.valueOf(mvVal2);
 			}
 			else {
 				_replacementList[j] = mvVal;
@@ -87,6 +87,21 @@ public class MultiColumnEncoder implements Encoder {
 		return encode(in, 1);
 	}
 
+	/**
+	 * Builds and applies this encoder, optionally directly into a compressed matrix
+	 * block (if supported by the input and encoder types, see {@link CompressedEncode}).
+	 *
+	 * @param in input block
+	 * @param k degree of parallelism
+	 * @param compressedOut if true, try to create a compressed output
+	 * @return encoded matrix block
+	 */
+	public MatrixBlock encode(CacheBlock in, int k, boolean compressedOut) {
+		if(compressedOut && CompressedEncode.isSupported(this, in))
+			return CompressedEncode.encode(this, (FrameBlock) in, k);
+		return encode(in, k);
+	}
+
 	public MatrixBlock encode(CacheBlock in, int k) {
 		MatrixBlock out;
 		try {
@@ -354,6 +369,8 @@ public class MultiColumnEncoder implements Encoder {
 				output.getSparseBlock().get(row).compact();
 			}
 		}
+		// reset row indexes for subsequent applies (e.g., streaming over row chunks)
+		_columnEncoders.forEach(ColumnEncoderComposite::clearSparseRowsWZeros);
 		output.recomputeNonZeros();
 		if(DMLScript.STATISTICS)
 			Statistics.incTransformOutMatrixPostProcessingTime(System.nanoTime()-t0);
@@ -429,6 +446,15 @@ public class MultiColumnEncoder implements Encoder {
 			encoder.buildPartial(in);
 	}
 
+	/**
+	 * Finalizes the build of all column encoders from their partial build states,
+	 * i.e., after prepareBuildPartial and one or many calls of buildPartial.
+	 */
+	public void buildFromPartial() {
+		for(ColumnEncoderComposite columnEncoder : _columnEncoders)
+			columnEncoder.buildFromPartial();
+	}
+
 	/**
 	 * Obtain the column mapping of encoded frames based on the passed meta data frame.
 	 *
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.transform.encode;
+
+import java.io.IOException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysds.runtime.io.FrameReaderBinaryBlock;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+
+/**
+ * Streaming transform encode of binary block frames on disk, which reads the input
+ * block by block in two passes: a partial build per block merged into the encoder
+ * meta data, and a chunk-wise apply into a pre-sized output matrix. Accordingly, the
+ * peak memory is bounded by the output, meta data, and a single input block, but
+ * independent of the size of the input frame.
+ */
+public class StreamingEncode {
+	protected static final Log LOG = LogFactory.getLog(StreamingEncode.class.getName());
+
+	private StreamingEncode() {
+		// prevent instantiation via private constructor
+	}
+
+	/**
+	 * Indicates if the given frame can be encoded in a streaming manner, i.e., if the
+	 * frame is not in memory but would be read from a binary block file.
+	 *
+	 * @param fo frame object
+	 * @return true if streaming encode is supported
+	 */
+	public static boolean isSupported(FrameObject fo) {
+		return fo.isPendingHDFSRead() && fo.getMetaData() instanceof MetaDataFormat
+			&& ((MetaDataFormat) fo.getMetaData()).getFileFormat() == FileFormat.BINARY
+			&& fo.getNumRows() > 0 && fo.getNumColumns() > 0;
+	}
+
+	/**
+	 * Indicates if the given encoder supports streaming encode, which excludes the
+	 * legacy omit and missing value imputation encoders.
+	 *
+	 * @param enc multi-column encoder
+	 * @return true if streaming encode is supported
+	 */
+	public static boolean isSupported(MultiColumnEncoder enc) {
+		return !enc.hasLegacyEncoder();
+	}
+
+	/**
+	 * Reads the column names of a binary block frame from its first block.
+	 *
+	 * @param fname file name
+	 * @return column names
+	 */
+	public static String[] readColumnNames(String fname) {
+		try {
+			return new FrameReaderBinaryBlock().readFirstBlock(fname).getColumnNames();
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Builds and applies the given encoder over the binary block frame file, block by block.
+	 *
+	 * @param enc   multi-column encoder
+	 * @param fname file name of the binary block frame
+	 * @param rlen  number of rows
+	 * @param clen  number of columns
+	 * @param k     degree of parallelism for applying individual blocks
+	 * @return encoded matrix block
+	 */
+	public static MatrixBlock encode(MultiColumnEncoder enc, String fname, long rlen, long clen, int k) {
+		if(!isSupported(enc))
+			throw new DMLRuntimeException("Streaming transform encode does not support legacy encoders.");
+		FrameReaderBinaryBlock reader = new FrameReaderBinaryBlock();
+		try {
+			// pass 1: build meta data via merged partial builds
+			long t0 = System.nanoTime();
+			enc.prepareBuildPartial();
+			reader.readFrameBlocksFromHDFS(fname, rlen, clen, (off, blk) -> enc.buildPartial(blk));
+			enc.buildFromPartial();
+			long t1 = System.nanoTime();
+			LOG.debug("Elapsed time for streaming build phase: " + ((double) t1 - t0) / 1000000 + " ms");
+
+			// pass 2: apply into pre-sized output, with output layout as in apply
+			final int ncol = (int) clen + enc.getNumExtraCols();
+			final long estNNz = rlen * clen;
+			boolean sparse = MatrixBlock.evalSparseFormatInMemory(rlen, ncol, estNNz);
+			MatrixBlock out = new MatrixBlock((int) rlen, ncol, sparse, estNNz);
+			out.allocateBlock();
+			reader.readFrameBlocksFromHDFS(fname, rlen, clen, (off, blk) -> applyBlock(enc, blk, out, off, k));
+			out.recomputeNonZeros();
+			out.examSparsity();
+			LOG.debug("Elapsed time for streaming apply phase: " + ((double) System.nanoTime() - t1) / 1000000 + " ms");
+			return out;
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private static void applyBlock(MultiColumnEncoder enc, FrameBlock blk, MatrixBlock out, int rowOffset, int k) {
+		MatrixBlock tmp = enc.apply(blk, k);
+		out.copy(rowOffset, rowOffset + blk.getNumRows() - 1, 0, out.getNumColumns() - 1, tmp, false);
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.caching.CacheDataInput;
+import org.apache.sysds.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.utils.Statistics;
+
+/**
+ * Pluggable fast block codec for serialized cache blocks, shared by the federated
+ * transport and the buffer pool spill/restore of local files. Blocks below a minimum
+ * size, dense blocks with many distinct values, and blocks whose sample compression
+ * ratio is poor are left uncompressed.
+ */
+public abstract class BlockCodec
+{
+	public enum CodecType {
+		NONE,
+		LZ4,
+	}
+
+	//min serialized size for compression
+	public static final int MIN_SIZE = 64 * 1024;
+	//max ratio of compressed and uncompressed size
+	public static final double MAX_RATIO = 0.8;
+	//size of the prefix used for estimating the compression ratio
+	public static final int SAMPLE_SIZE = 64 * 1024;
+	//number of sampled values of dense matrix blocks
+	private static final int DENSE_SAMPLE_SIZE = 1024;
+	private static final double DENSE_MAX_DISTINCT = 0.5;
+
+	private static final BlockCodec LZ4 = new LZ4BlockCodec();
+
+	//codec of buffer pool spill files (set on caching initialization)
+	private static volatile CodecType _spillCodec = CodecType.NONE;
+
+	public abstract CodecType getType();
+
+	/**
+	 * Returns the maximum size of the compressed representation.
+	 *
+	 * @param len length of the input in bytes
+	 * @return max size of the compressed output in bytes
+	 */
+	public abstract int maxCompressedLength(int len);
+
+	/**
+	 * Compresses the given byte range into the given output array,
+	 * which needs to have at least maxCompressedLength(slen) bytes.
+	 *
+	 * @param src input array
+	 * @param soff offset in input array
+	 * @param slen length of input
+	 * @param dst output array
+	 * @param doff offset in output array
+	 * @return length of compressed output
+	 */
+	public abstract int compress(byte[] src, int soff, int slen, byte[] dst, int doff);
+
+	/**
+	 * Decompresses the given byte range into the given output array.
+	 *
+	 * @param src compressed input array
+	 * @param soff offset in input array
+	 * @param slen length of compressed input
+	 * @param dst output array
+	 * @param doff offset in output array
+	 * @param dlen length of uncompressed output
+	 * @return length of uncompressed output
+	 */
+	public abstract int decompress(byte[] src, int soff, int slen, byte[] dst, int doff, int dlen);
+
+	public static BlockCodec get(CodecType type) {
+		switch( type ) {
+			case LZ4: return LZ4;
+			default: return null;
+		}
+	}
+
+	public static CodecType getSpillCodec() {
+		return _spillCodec;
+	}
+
+	public static void setSpillCodec(CodecType type) {
+		_spillCodec = type;
+	}
+
+	/**
+	 * Cheap check if a cache block is a candidate for compression, without
+	 * serializing it (size threshold and distinct values of dense blocks).
+	 *
+	 * @param cb cache block
+	 * @return true if the block should be serialized and compressed
+	 */
+	public static boolean isCompressible(CacheBlock cb) {
+		if( !(cb instanceof MatrixBlock || cb instanceof FrameBlock)
+			|| cb.getExactSerializedSize() < MIN_SIZE )
+			return false;
+		if( cb instanceof MatrixBlock && !((MatrixBlock) cb).isInSparseFormat() ) {
+			//sample values of dense blocks, which compress poorly if mostly distinct
+			DenseBlock db = ((MatrixBlock) cb).getDenseBlock();
+			long len = (long) cb.getNumRows() * cb.getNumColumns();
+			if( db == null || len == 0 )
+				return false;
+			int n = (int) Math.min(len, DENSE_SAMPLE_SIZE);
+			long step = len / n;
+			HashSet<Double> distinct = new HashSet<>();
+			for( int i=0; i<n; i++ ) {
+				long ix = i * step;
+				distinct.add(db.get((int)(ix / cb.getNumColumns()), (int)(ix % cb.getNumColumns())));
+			}
+			return distinct.size() <= n * DENSE_MAX_DISTINCT;
+		}
+		return true;
+	}
+
+	/**
+	 * Compresses the given serialized block if it exceeds the size threshold
+	 * and a compression of its prefix indicates a good compression ratio.
+	 *
+	 * @param type codec type
+	 * @param data serialized block
+	 * @return compressed block, or null if compression was skipped
+	 */
+	public static byte[] compress(CodecType type, byte[] data) {
+		BlockCodec codec = get(type);
+		if( codec == null || data.length < MIN_SIZE )
+			return null;
+		long t0 = System.nanoTime();
+		byte[] tmp = new byte[codec.maxCompressedLength(data.length)];
+		int len = -1;
+		if( data.length > 2 * SAMPLE_SIZE ) {
+			//estimate ratio via compressed prefix
+			int slen = codec.compress(data, 0, SAMPLE_SIZE, tmp, 0);
+			if( slen > SAMPLE_SIZE * MAX_RATIO )
+				len = Integer.MAX_VALUE;
+		}
+		if( len < 0 )
+			len = codec.compress(data, 0, data.length, tmp, 0);
+		boolean skip = len > data.length * MAX_RATIO;
+		Statistics.incBlockCodecCompress(data.length, skip ? data.length : len, System.nanoTime() - t0);
+		return skip ? null : Arrays.copyOf(tmp, len);
+	}
+
+	public static byte[] decompress(CodecType type, byte[] data, int rawLen) {
+		long t0 = System.nanoTime();
+		byte[] ret = new byte[rawLen];
+		get(type).decompress(data, 0, data.length, ret, 0, rawLen);
+		Statistics.accBlockCodecDecompressTime(System.nanoTime() - t0);
+		return ret;
+	}
+
+	public static byte[] serialize(CacheBlock cb) throws IOException {
+		long size = cb.getExactSerializedSize();
+		if( size > Integer.MAX_VALUE )
+			throw new IOException("Cache block too large for serialization: "+size);
+		CacheDataOutput dout = new CacheDataOutput((int) size);
+		cb.write(dout);
+		return dout.getBytes();
+	}
+
+	public static CacheBlock deserialize(byte[] data, boolean matrix) throws IOException {
+		DataInput din = matrix ? new CacheDataInput(data) :
+			new DataInputStream(new ByteArrayInputStream(data));
+		CacheBlock ret = matrix ? new MatrixBlock() : new FrameBlock();
+		ret.readFields(din);
+		return ret;
+	}
+}
@@ -638,12 +638,18 @@ public class DataConverter {
 			mb.setNonZeros(lnnz);
 		}
 		else {
-			//general case
-			for( int i=0; i<frame.getNumRows(); i++ )
-				for( int j=0; j<frame.getNumColumns(); j++ ) {
-					mb.appendValue(i, j, UtilFunctions.objectToDouble(
-						schema[j], frame.get(i, j)));
+			//general case (bulk conversion of column segments
+			//without cell-object creation)
+			int blocksizeI = 1024;
+			double[] tmp = new double[Math.min(m, blocksizeI)];
+			for( int bi=0; bi<m; bi+=blocksizeI ) {
+				int bimin = Math.min(bi+blocksizeI, m);
+				for( int j=0; j<n; j++ ) {
+					frame.getColumnAsDouble(j, bi, bimin, tmp, 0);
+					for( int i=bi; i<bimin; i++ )
+						mb.appendValue(i, j, tmp[i-bi]);
 				}
+			}
 		}
 
 		//post-processing
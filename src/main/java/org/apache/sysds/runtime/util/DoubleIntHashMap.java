@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.util;
+
+/**
+ * This native double - int hashmap is a thin wrapper of the {@link LongIntHashMap}
+ * over the bit representations of the keys. Keys are compared as in
+ * {@link Double#equals(Object)}, i.e., all NaNs are equal but 0.0 and -0.0 are not.
+ */
+public class DoubleIntHashMap
+{
+	private final LongIntHashMap _map;
+
+	public DoubleIntHashMap() {
+		_map = new LongIntHashMap();
+	}
+
+	public DoubleIntHashMap(int capacity) {
+		_map = new LongIntHashMap(capacity);
+	}
+
+	public int size() {
+		return _map.size();
+	}
+
+	public boolean isEmpty() {
+		return _map.isEmpty();
+	}
+
+	/**
+	 * Gets the value of the given key.
+	 *
+	 * @param key key
+	 * @return value, or -1 if the key does not exist
+	 */
+	public int get(double key) {
+		return _map.get(Double.doubleToLongBits(key));
+	}
+
+	public boolean containsKey(double key) {
+		return _map.containsKey(Double.doubleToLongBits(key));
+	}
+
+	/**
+	 * Puts the given key-value pair, and overwrites the value of existing keys.
+	 *
+	 * @param key key
+	 * @param value value
+	 * @return previous value, or -1 if the key did not exist
+	 */
+	public int put(double key, int value) {
+		return _map.put(Double.doubleToLongBits(key), value);
+	}
+
+	/**
+	 * Puts the given key-value pair if the key does not exist yet.
+	 *
+	 * @param key key
+	 * @param value value
+	 * @return existing value, or -1 if the key-value pair was added
+	 */
+	public int putIfAbsent(double key, int value) {
+		return _map.putIfAbsent(Double.doubleToLongBits(key), value);
+	}
+
+	/**
+	 * Adds all keys of the other map that do not exist yet, in the other map's
+	 * insertion order and with consecutive values size()+1.
+	 *
+	 * @param that partial map
+	 */
+	public void mergeNewKeys(DoubleIntHashMap that) {
+		_map.mergeNewKeys(that._map);
+	}
+
+	public double getKey(int pos) {
+		return Double.longBitsToDouble(_map.getKey(pos));
+	}
+
+	public int getValue(int pos) {
+		return _map.getValue(pos);
+	}
+
+	public void clear() {
+		_map.clear();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof DoubleIntHashMap && _map.equals(((DoubleIntHashMap) o)._map);
+	}
+
+	@Override
+	public int hashCode() {
+		return _map.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		for( int i=0; i<size(); i++ )
+			sb.append((i > 0) ? ", " : "").append(getKey(i)).append('=').append(getValue(i));
+		return sb.append('}').toString();
+	}
+}
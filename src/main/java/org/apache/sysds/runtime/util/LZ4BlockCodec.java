@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.util;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+
+/**
+ * Pure Java implementation of the LZ4 block format (greedy single-pass
+ * matching with a hash table of recent 4-byte sequences), without any
+ * native or third-party dependencies.
+ */
+public class LZ4BlockCodec extends BlockCodec
+{
+	private static final int MIN_MATCH = 4;
+	private static final int HASH_LOG = 14;
+	private static final int LAST_LITERALS = 5;
+	private static final int MF_LIMIT = 12;
+	private static final int MAX_DISTANCE = 65535;
+	private static final int SKIP_TRIGGER = 6;
+
+	@Override
+	public CodecType getType() {
+		return CodecType.LZ4;
+	}
+
+	@Override
+	public int maxCompressedLength(int len) {
+		return len + len / 255 + 16;
+	}
+
+	@Override
+	public int compress(byte[] src, int soff, int slen, byte[] dst, int doff) {
+		final int send = soff + slen;
+		final int mflimit = send - MF_LIMIT;
+		final int matchlimit = send - LAST_LITERALS;
+		//hash table of positions (+1, 0 indicates empty)
+		final int[] table = new int[1 << HASH_LOG];
+
+		int anchor = soff;
+		int ip = soff;
+		int op = doff;
+		int attempts = 1 << SKIP_TRIGGER;
+		while( ip < mflimit ) {
+			int seq = readInt(src, ip);
+			int h = hash(seq);
+			int ref = table[h] - 1 + soff;
+			table[h] = ip - soff + 1;
+			if( ref < soff || ip - ref > MAX_DISTANCE || readInt(src, ref) != seq ) {
+				//accelerate over incompressible regions
+				ip += attempts++ >>> SKIP_TRIGGER;
+				continue;
+			}
+			attempts = 1 << SKIP_TRIGGER;
+
+			//extend match backwards and forwards
+			while( ip > anchor && ref > soff && src[ip-1] == src[ref-1] ) {
+				ip--; ref--;
+			}
+			int mlen = MIN_MATCH;
+			while( ip + mlen < matchlimit && src[ref+mlen] == src[ip+mlen] )
+				mlen++;
+
+			op = writeSequence(src, anchor, ip - anchor, ip - ref, mlen, dst, op);
+			ip += mlen;
+			anchor = ip;
+			if( ip < mflimit )
+				table[hash(readInt(src, ip-2))] = ip - 2 - soff + 1;
+		}
+
+		//write remaining literals
+		int llen = send - anchor;
+		op = writeToken(llen, 0, dst, op);
+		System.arraycopy(src, anchor, dst, op, llen);
+		return op + llen - doff;
+	}
+
+	@Override
+	public int decompress(byte[] src, int soff, int slen, byte[] dst, int doff, int dlen) {
+		final int send = soff + slen;
+		final int dend = doff + dlen;
+		int ip = soff;
+		int op = doff;
+		try {
+			while( ip < send ) {
+				int token = src[ip++] & 0xFF;
+
+				//copy literals
+				int llen = token >>> 4;
+				if( llen == 15 ) {
+					int b;
+					do { b = src[ip++] & 0xFF; llen += b; } while( b == 255 );
+				}
+				System.arraycopy(src, ip, dst, op, llen);
+				ip += llen;
+				op += llen;
+				if( ip >= send ) //last sequence
+					break;
+
+				//copy match (potentially overlapping)
+				int offset = (src[ip] & 0xFF) | ((src[ip+1] & 0xFF) << 8);
+				ip += 2;
+				int mlen = token & 0x0F;
+				if( mlen == 15 ) {
+					int b;
+					do { b = src[ip++] & 0xFF; mlen += b; } while( b == 255 );
+				}
+				mlen += MIN_MATCH;
+				int ref = op - offset;
+				if( offset == 0 || ref < doff || op + mlen > dend )
+					throw new DMLRuntimeException("Corrupted LZ4 block at offset "+(ip-soff)+".");
+				if( offset >= mlen )
+					System.arraycopy(dst, ref, dst, op, mlen);
+				else
+					for( int i=0; i<mlen; i++ )
+						dst[op+i] = dst[ref+i];
+				op += mlen;
+			}
+		}
+		catch(ArrayIndexOutOfBoundsException ex) {
+			throw new DMLRuntimeException("Corrupted LZ4 block.", ex);
+		}
+		if( op != dend )
+			throw new DMLRuntimeException("Invalid decompressed LZ4 block size: "+(op-doff)+" vs "+dlen+".");
+		return dlen;
+	}
+
+	private static int writeSequence(byte[] src, int lpos, int llen, int offset, int mlen, byte[] dst, int op) {
+		op = writeToken(llen, mlen - MIN_MATCH, dst, op);
+		System.arraycopy(src, lpos, dst, op, llen);
+		op += llen;
+		dst[op++] = (byte) offset;
+		dst[op++] = (byte) (offset >>> 8);
+		if( mlen - MIN_MATCH >= 15 )
+			op = writeLength(mlen - MIN_MATCH - 15, dst, op);
+		return op;
+	}
+
+	private static int writeToken(int llen, int mlen, byte[] dst, int op) {
+		dst[op++] = (byte) ((Math.min(llen, 15) << 4) | Math.min(mlen, 15));
+		if( llen >= 15 )
+			op = writeLength(llen - 15, dst, op);
+		return op;
+	}
+
+	private static int writeLength(int len, byte[] dst, int op) {
+		while( len >= 255 ) {
+			dst[op++] = (byte) 255;
+			len -= 255;
+		}
+		dst[op++] = (byte) len;
+		return op;
+	}
+
+	private static int readInt(byte[] a, int pos) {
+		return (a[pos] & 0xFF) | ((a[pos+1] & 0xFF) << 8)
+			| ((a[pos+2] & 0xFF) << 16) | ((a[pos+3] & 0xFF) << 24);
+	}
+
+	private static int hash(int seq) {
+		return (seq * -1640531535) >>> (32 - HASH_LOG);
+	}
+}
@@ -50,6 +50,7 @@ import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.matrix.data.MatrixValue;
 import org.apache.sysds.runtime.matrix.data.Pair;
+import org.apache.sysds.runtime.util.BlockCodec.CodecType;
 
 public class LocalFileUtils 
 {
@@ -110,7 +111,24 @@ public class LocalFileUtils
 	 * @throws IOException if IOException occurs
 	 */
 	public static CacheBlock readCacheBlockFromLocal(String fname, boolean matrix) throws IOException {
-		return (CacheBlock) readWritableFromLocal(fname, matrix?new MatrixBlock():new FrameBlock());
+		if( BlockCodec.getSpillCodec() == CodecType.NONE )
+			return (CacheBlock) readWritableFromLocal(fname, matrix?new MatrixBlock():new FrameBlock());
+		
+		//read codec header and compressed or uncompressed block
+		FileInputStream fis = new FileInputStream(fname);
+		try {
+			CodecType codec = CodecType.values()[fis.read()];
+			if( codec == CodecType.NONE )
+				return (CacheBlock) readWritableFromStream(fis, matrix?new MatrixBlock():new FrameBlock());
+			DataInputStream in = new DataInputStream(new BufferedInputStream(fis, BUFFER_SIZE));
+			int rawLen = in.readInt();
+			byte[] data = new byte[in.readInt()];
+			in.readFully(data);
+			return BlockCodec.deserialize(BlockCodec.decompress(codec, data, rawLen), matrix);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(fis);
+		}
 	}
 	
 	/**
@@ -217,7 +235,45 @@ public class LocalFileUtils
 	 * @throws IOException if IOException occurs
 	 */
 	public static void writeCacheBlockToLocal(String fname, CacheBlock cb) throws IOException {
-		writeWritableToLocal(fname, cb);
+		CodecType codec = BlockCodec.getSpillCodec();
+		if( codec == CodecType.NONE )
+			writeWritableToLocal(fname, cb);
+		else if( BlockCodec.isCompressible(cb) )
+			writeCacheBlockToLocal(fname, BlockCodec.serialize(cb));
+		else
+			writeWritableToLocal(fname, cb, true);
+	}
+	
+	/** Writes a serialized matrix/frame block to local file system, which is
+	 * compressed according to the spill codec if beneficial.
+	 * 
+	 * @param fname file name to write
+	 * @param data serialized cache block
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeCacheBlockToLocal(String fname, byte[] data) throws IOException {
+		CodecType codec = BlockCodec.getSpillCodec();
+		if( codec == CodecType.NONE ) {
+			writeByteArrayToLocal(fname, data);
+			return;
+		}
+		
+		//write codec header and compressed or uncompressed block
+		byte[] cdata = BlockCodec.compress(codec, data);
+		ByteBuffer header = ByteBuffer.allocate(cdata != null ? 9 : 1);
+		header.put((byte)(cdata != null ? codec : CodecType.NONE).ordinal());
+		if( cdata != null )
+			header.putInt(data.length).putInt(cdata.length);
+		header.flip();
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.CREATE, 
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			channel.write(new ByteBuffer[] {header, ByteBuffer.wrap(cdata != null ? cdata : data)});
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
 	}
 	
 	/**
@@ -230,11 +286,19 @@ public class LocalFileUtils
 	 */
 	public static void writeWritableToLocal(String fname, Writable mb)
 		throws IOException
+	{
+		writeWritableToLocal(fname, mb, false);
+	}
+	
+	private static void writeWritableToLocal(String fname, Writable mb, boolean codecHeader)
+		throws IOException
 	{	
 		FileOutputStream fos = new FileOutputStream( fname );
 		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(fos, BUFFER_SIZE);
 		
 		try {
+			if( codecHeader ) //uncompressed
+				out.writeByte(CodecType.NONE.ordinal());
 			mb.write(out);
 		}
 		finally {
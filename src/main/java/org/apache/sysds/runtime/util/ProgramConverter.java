@@ -194,7 +194,13 @@ public class ProgramConverter
 			if( dat instanceof MatrixObject && ((MatrixObject)dat).getUpdateType().isInPlace() ) {
 				MatrixObject mo = (MatrixObject)dat;
 				MatrixObject moNew = new MatrixObject(mo); 
-				if( mo.getNnz() != 0 ){
+				if( mo.getUpdateType() == UpdateType.INPLACE_SHARED ) {
+					//reference the pre-allocated output block shared by all workers
+					//(disjoint writes, hence no copy and no subsequent compare merge)
+					moNew.acquireModify(mo.acquireRead());
+					mo.release();
+				}
+				else if( mo.getNnz() != 0 ){
 					// If output matrix is not empty (NNZ != 0), then local copy is created so that 
 					// update in place operation can be applied.
 					MatrixBlock mbVar = mo.acquireRead();
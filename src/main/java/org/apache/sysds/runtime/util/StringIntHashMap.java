@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.util;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+
+/**
+ * This native string - int hashmap is specifically designed for recode maps
+ * and distinct counting, which only require get/put semantics w/o removal.
+ * Entries are stored in insertion order in primitive arrays, and an open
+ * addressing table (with linear probing) holds the entry positions. Compared
+ * to a default hashmap, this avoids entry objects and boxed values, and
+ * allows iterating the entries in insertion order (e.g., for recode codes).
+ * Lookups are thread-safe as long as there are no concurrent modifications.
+ */
+public class StringIntHashMap
+{
+	private static final int INIT_CAPACITY = 8;
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private String[] _keys; //entries in insertion order
+	private int[] _vals;
+	private int[] _table; //entry positions + 1, 0 for empty slots
+	private int _size;
+
+	public StringIntHashMap() {
+		this(INIT_CAPACITY);
+	}
+
+	public StringIntHashMap(int capacity) {
+		long need = Math.max((long)(capacity / LOAD_FACTOR), INIT_CAPACITY);
+		int tlen = (int) Math.min(Long.highestOneBit(need - 1) << 1, 1 << 30);
+		_table = new int[tlen];
+		_keys = new String[(int)(tlen * LOAD_FACTOR)];
+		_vals = new int[_keys.length];
+		_size = 0;
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	public boolean isEmpty() {
+		return _size == 0;
+	}
+
+	/**
+	 * Gets the value of the given key.
+	 *
+	 * @param key non-null key
+	 * @return value, or -1 if the key does not exist
+	 */
+	public int get(String key) {
+		int pos = find(key, hash(key));
+		return (pos >= 0) ? _vals[pos] : -1;
+	}
+
+	public boolean containsKey(String key) {
+		return find(key, hash(key)) >= 0;
+	}
+
+	/**
+	 * Puts the given key-value pair, and overwrites the value of existing keys.
+	 *
+	 * @param key non-null key
+	 * @param value value
+	 * @return previous value, or -1 if the key did not exist
+	 */
+	public int put(String key, int value) {
+		int h = hash(key);
+		int pos = find(key, h);
+		if( pos >= 0 ) {
+			int old = _vals[pos];
+			_vals[pos] = value;
+			return old;
+		}
+		append(key, value, h);
+		return -1;
+	}
+
+	/**
+	 * Puts the given key-value pair if the key does not exist yet.
+	 *
+	 * @param key non-null key
+	 * @param value value
+	 * @return existing value, or -1 if the key-value pair was added
+	 */
+	public int putIfAbsent(String key, int value) {
+		int h = hash(key);
+		int pos = find(key, h);
+		if( pos >= 0 )
+			return _vals[pos];
+		append(key, value, h);
+		return -1;
+	}
+
+	/**
+	 * Adds all keys of the other map that do not exist yet, in the other map's
+	 * insertion order and with consecutive values size()+1 (e.g., for merging
+	 * partial recode maps).
+	 *
+	 * @param that partial map
+	 */
+	public void mergeNewKeys(StringIntHashMap that) {
+		for( int i=0; i<that._size; i++ )
+			putIfAbsent(that._keys[i], _size + 1);
+	}
+
+	public String getKey(int pos) {
+		return _keys[pos];
+	}
+
+	public int getValue(int pos) {
+		return _vals[pos];
+	}
+
+	/**
+	 * Gets a copy of all keys in insertion order.
+	 *
+	 * @return array of keys
+	 */
+	public String[] getKeys() {
+		return Arrays.copyOf(_keys, _size);
+	}
+
+	public Set<String> keySet() {
+		return new HashSet<>(Arrays.asList(getKeys()));
+	}
+
+	public void clear() {
+		Arrays.fill(_table, 0);
+		Arrays.fill(_keys, 0, _size, null);
+		_size = 0;
+	}
+
+	private int find(String key, int h) {
+		int mask = _table.length - 1;
+		for( int ix = h & mask; _table[ix] != 0; ix = (ix + 1) & mask ) {
+			int pos = _table[ix] - 1;
+			if( key.equals(_keys[pos]) )
+				return pos;
+		}
+		return -1;
+	}
+
+	private void append(String key, int value, int h) {
+		if( _size >= _keys.length )
+			resize();
+		_keys[_size] = key;
+		_vals[_size] = value;
+		insert(h, ++_size);
+	}
+
+	private void insert(int h, int entry) {
+		int mask = _table.length - 1;
+		int ix = h & mask;
+		while( _table[ix] != 0 )
+			ix = (ix + 1) & mask;
+		_table[ix] = entry;
+	}
+
+	private void resize() {
+		if( _table.length >= (1 << 30) )
+			throw new DMLRuntimeException("StringIntHashMap exceeded maximum capacity.");
+		_table = new int[_table.length * 2];
+		_keys = Arrays.copyOf(_keys, (int)(_table.length * LOAD_FACTOR));
+		_vals = Arrays.copyOf(_vals, _keys.length);
+		for( int i=0; i<_size; i++ )
+			insert(hash(_keys[i]), i + 1);
+	}
+
+	private static int hash(String key) {
+		//spread the string hash code over all bits
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if( this == o )
+			return true;
+		if( !(o instanceof StringIntHashMap) )
+			return false;
+		StringIntHashMap that = (StringIntHashMap) o;
+		if( _size != that._size )
+			return false;
+		for( int i=0; i<_size; i++ )
+			if( that.get(_keys[i]) != _vals[i] )
+				return false;
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		//order-independent as equals
+		int h = 0;
+		for( int i=0; i<_size; i++ )
+			h += _keys[i].hashCode() ^ _vals[i];
+		return h;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		for( int i=0; i<_size; i++ )
+			sb.append((i > 0) ? ", " : "").append(_keys[i]).append('=').append(_vals[i]);
+		return sb.append('}').toString();
+	}
+}
@@ -35,6 +35,7 @@ import org.apache.sysds.runtime.instructions.cp.FunctionCallCPInstruction;
 import org.apache.sysds.runtime.instructions.spark.SPInstruction;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.runtime.lineage.LineagePersistentCache;
 import org.apache.sysds.runtime.privacy.CheckedConstraintsLog;
 
 import java.lang.management.CompilationMXBean;
@@ -50,6 +51,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 
 /**
  * This class captures all statistics.
@@ -134,6 +136,10 @@ public class Statistics
 	private static final LongAdder psBatchIndexTime = new LongAdder();
 	private static final LongAdder psRpcRequestTime = new LongAdder();
 	private static final LongAdder psValidationTime = new LongAdder();
+	private static final ConcurrentHashMap<Integer, LongAdder> psWorkerWaitTime = new ConcurrentHashMap<>();
+	private static final LongAdder psPushBytes = new LongAdder();
+	private static final LongAdder psPushBytesRaw = new LongAdder();
+	private static final LongAdder psPushEpochs = new LongAdder();
 	// Federated parameter server specifics (time is in milli sec)
 	private static final LongAdder fedPSDataPartitioningTime = new LongAdder();
 	private static final LongAdder fedPSWorkerComputingTime = new LongAdder();
@@ -178,6 +184,13 @@ public class Statistics
 	private static final LongAdder federatedExecuteInstructionCount = new LongAdder();
 	private static final LongAdder federatedExecuteUDFCount = new LongAdder();
 
+	// Block codec stats (federated transport, buffer pool spilling)
+	private static final LongAdder blockCodecCompressCount = new LongAdder();
+	private static final LongAdder blockCodecSkipCount = new LongAdder();
+	private static final LongAdder blockCodecSavedBytes = new LongAdder();
+	private static final LongAdder blockCodecCompressTime = new LongAdder(); //in nano sec
+	private static final LongAdder blockCodecDecompressTime = new LongAdder(); //in nano sec
+
 	private static LongAdder numNativeFailures = new LongAdder();
 	public static LongAdder numNativeLibMatrixMultCalls = new LongAdder();
 	public static LongAdder numNativeConv2dCalls = new LongAdder();
@@ -551,6 +564,12 @@ public class Statistics
 		federatedExecuteInstructionCount.reset();
 		federatedExecuteUDFCount.reset();
 
+		blockCodecCompressCount.reset();
+		blockCodecSkipCount.reset();
+		blockCodecSavedBytes.reset();
+		blockCodecCompressTime.reset();
+		blockCodecDecompressTime.reset();
+
 		DMLCompressionStatistics.reset();
 	}
 
@@ -574,6 +593,24 @@ public class Statistics
 		sparkCtxCreateTime = ns;
 	}
 	
+	public static void incBlockCodecCompress(long rawBytes, long compBytes, long t) {
+		if( compBytes < rawBytes ) {
+			blockCodecCompressCount.increment();
+			blockCodecSavedBytes.add(rawBytes - compBytes);
+		}
+		else
+			blockCodecSkipCount.increment();
+		blockCodecCompressTime.add(t);
+	}
+
+	public static void accBlockCodecDecompressTime(long t) {
+		blockCodecDecompressTime.add(t);
+	}
+
+	public static long getBlockCodecSavedBytes() {
+		return blockCodecSavedBytes.longValue();
+	}
+
 	public static void accSparkParallelizeTime(long t) {
 		sparkParallelize.add(t);
 	}
@@ -663,6 +700,27 @@ public class Statistics
 		psValidationTime.add(t);
 	}
 
+	public static void accPSWorkerWaitTime(int workerID, long t) {
+		psWorkerWaitTime.computeIfAbsent(workerID, k -> new LongAdder()).add(t);
+	}
+
+	public static long getPSPushBytes() {
+		return psPushBytes.longValue();
+	}
+
+	public static long getPSPushBytesRaw() {
+		return psPushBytesRaw.longValue();
+	}
+
+	public static void accPSPushBytes(long sent, long raw) {
+		psPushBytes.add(sent);
+		psPushBytesRaw.add(raw);
+	}
+
+	public static void accPSPushEpochs(long n) {
+		psPushEpochs.add(n);
+	}
+
 	public static void accFedPSDataPartitioningTime(long t) {
 		fedPSDataPartitioningTime.add(t);
 	}
@@ -1140,6 +1198,14 @@ public class Statistics
 			sb.append("Cache hits (Mem/Li/WB/FS/HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (Li/WB/FS/HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if( CacheStatistics.hasWorkerStats() )
+				sb.append("Cache worker partitions:\n" + CacheStatistics.displayWorkerStats());
+			if( blockCodecCompressCount.longValue() + blockCodecSkipCount.longValue() > 0 ) {
+				sb.append("Block codec (comp/skip, saved):\t" + blockCodecCompressCount.longValue() + "/"
+					+ blockCodecSkipCount.longValue() + ", " + byteCountToDisplaySize(blockCodecSavedBytes.longValue()) + ".\n");
+				sb.append("Block codec times (comp/dec):\t" + String.format("%.3f/%.3f",
+					blockCodecCompressTime.longValue()*1e-9, blockCodecDecompressTime.longValue()*1e-9) + " sec.\n");
+			}
 			if (DMLScript.JMLC_MEM_STATISTICS)
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
@@ -1156,6 +1222,8 @@ public class Statistics
 				sb.append("LinCache FStimes (Rd/Wr): \t" + LineageCacheStatistics.displayFSTime() + " sec.\n");
 				sb.append("LinCache Computetime (S/M): \t" + LineageCacheStatistics.displayComputeTime() + " sec.\n");
 				sb.append("LinCache Rewrites:    \t\t" + LineageCacheStatistics.displayRewrites() + ".\n");
+				if (LineagePersistentCache.isEnabled())
+					sb.append("LinCache persist (Hit/Wr/Del): \t" + LineageCacheStatistics.displayPersistent() + ".\n");
 			}
 			if( ConfigurationManager.isCodegenEnabled() ) {
 				sb.append("Codegen compile (DAG,CP,JC):\t" + getCodegenDAGCompile() + "/"
@@ -1203,6 +1271,14 @@ public class Statistics
 					sb.append(String.format("Paramserv batch slice time:\t%.3f secs.\n", psBatchIndexTime.doubleValue() / 1000));
 					sb.append(String.format("Paramserv RPC request time:\t%.3f secs.\n", psRpcRequestTime.doubleValue() / 1000));
 				}
+				if(!psWorkerWaitTime.isEmpty()) //per worker, in order of worker ids
+					sb.append(String.format("Paramserv worker wait time:\t%s secs.\n", psWorkerWaitTime.entrySet().stream()
+						.sorted(Entry.comparingByKey()).map(e -> String.format("%.3f", e.getValue().doubleValue() / 1000))
+						.collect(Collectors.joining("/"))));
+				if(psPushBytes.longValue() > 0) //sent/uncompressed push volume
+					sb.append(String.format("Paramserv push volume:\t\t%.3f/%.3f MB (%.3f MB/epoch).\n",
+						psPushBytes.doubleValue() / 1e6, psPushBytesRaw.doubleValue() / 1e6,
+						psPushBytes.doubleValue() / 1e6 / Math.max(psPushEpochs.longValue(), 1)));
 				sb.append(String.format("Paramserv valdiation time:\t%.3f secs.\n", psValidationTime.doubleValue() / 1000));
 			}
 			if( parforOptCount>0 ){
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.caching;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.apache.sysds.runtime.controlprogram.caching.UnifiedMemoryManager;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UnifiedMemoryManagerTest {
+	private static final String DIR = "target/testTemp/component/caching/UnifiedMemoryManagerTest/";
+	private static final int ROWS = 100;
+	private static final int COLS = 100;
+
+	private final long _blkSize = createBlock(1).getInMemorySize();
+	private UnifiedMemoryManager _umm;
+
+	@Before
+	public void setUp() {
+		LocalFileUtils.createLocalFileIfNotExist(DIR);
+		//capacity for 3.5 blocks, min buffer pool < 1 block
+		_umm = new UnifiedMemoryManager(_blkSize * 7 / 2);
+	}
+
+	@After
+	public void tearDown() {
+		_umm.deleteAll();
+		LocalFileUtils.deleteFileIfExists(DIR);
+	}
+
+	@Test
+	public void testDirtyBlocksEvictionLRU() throws Exception {
+		writeBlocks(3);
+		assertEquals(0, _umm.getNumEvicted());
+		//touch first block, which changes the LRU order
+		_umm.read(key(0), true);
+		writeBlocks(1, 3);
+		assertEquals(1, _umm.getNumEvicted());
+		assertTrue(_umm.isCached(key(0)));
+		assertTrue(_umm.isPersisted(key(1)));
+		assertTrue(new File(key(1)).exists());
+		assertTrue(_umm.getCachedSize() <= _umm.getCapacity());
+	}
+
+	@Test
+	public void testRestoreEvictedBlock() throws Exception {
+		writeBlocks(5);
+		assertEquals(2, _umm.getNumEvicted());
+		MatrixBlock mb = (MatrixBlock) _umm.read(key(0), true);
+		TestUtils.compareMatrices(createBlock(0), mb, 0);
+		MatrixBlock mb2 = (MatrixBlock) _umm.pin(key(1), null, false);
+		TestUtils.compareMatrices(createBlock(1), mb2, 0);
+		assertTrue(_umm.isPinned(key(1)));
+		_umm.unpin(key(1));
+		assertFalse(_umm.isPinned(key(1)));
+	}
+
+	@Test
+	public void testPinnedDirtyBlockNoDoubleCounting() {
+		writeBlocks(2);
+		long size = _umm.getPinnedSize() + _umm.getCachedSize();
+		_umm.pin(key(0), null, false);
+		assertEquals(size, _umm.getPinnedSize() + _umm.getCachedSize());
+		assertEquals(_blkSize, _umm.getPinnedSize());
+		assertFalse(_umm.isCached(key(0)));
+		_umm.unpin(key(0));
+		assertEquals(size, _umm.getCachedSize());
+		assertEquals(0, _umm.getPinnedSize());
+		assertTrue(_umm.isCached(key(0)));
+	}
+
+	@Test
+	public void testDynamicBoundaryOnPin() {
+		writeBlocks(3);
+		//pinning non-dirty blocks shrinks the buffer pool
+		_umm.pin("pinned1", createBlock(7), false);
+		_umm.pin("pinned2", createBlock(8), false);
+		assertEquals(2, _umm.getNumEvicted());
+		assertTrue(_umm.isCached(key(2)));
+		//unpinning non-dirty blocks drops them without eviction
+		_umm.unpin("pinned1");
+		_umm.unpin("pinned2");
+		assertEquals(0, _umm.getPinnedSize());
+		assertFalse(_umm.isPersisted("pinned1"));
+		writeBlocks(2, 3);
+		assertEquals(2, _umm.getNumEvicted());
+	}
+
+	@Test
+	public void testReservationAndDelete() {
+		_umm.pin(key(0), 3 * _blkSize, true);
+		assertEquals(3 * _blkSize, _umm.getPinnedSize());
+		_umm.unpin(key(0), createBlock(0));
+		assertEquals(0, _umm.getPinnedSize());
+		assertTrue(_umm.isCached(key(0)));
+		writeBlocks(4, 1);
+		assertTrue(_umm.isPersisted(key(0)));
+		_umm.delete(key(0));
+		assertFalse(_umm.isPersisted(key(0)));
+		assertEquals(3 * _blkSize, _umm.getCachedSize());
+	}
+
+	private void writeBlocks(int num) {
+		writeBlocks(num, 0);
+	}
+
+	private void writeBlocks(int num, int offset) {
+		for(int i = offset; i < offset + num; i++) {
+			_umm.pin(key(i), createBlock(i), true);
+			_umm.unpin(key(i));
+		}
+	}
+
+	private static String key(int i) {
+		return DIR + "cache" + i + ".dat";
+	}
+
+	private static MatrixBlock createBlock(int seed) {
+		return MatrixBlock.randOperations(ROWS, COLS, 1.0, 0, 1, "uniform", seed);
+	}
+}
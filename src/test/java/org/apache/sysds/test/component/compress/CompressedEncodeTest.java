@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CompressedEncodeTest {
+	private static final ValueType[] SCHEMA = new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.INT64,
+		ValueType.STRING, ValueType.FP64};
+	private static final int ROWS = 3000;
+
+	@Test
+	public void testRecode() {
+		runCompressedEncode("{ids: true, recode: [1, 4]}", 1, true);
+	}
+
+	@Test
+	public void testRecodeDummycode() {
+		runCompressedEncode("{ids: true, recode: [1, 3, 4], dummycode: [1, 3]}", 1, true);
+	}
+
+	@Test
+	public void testBinDummycode() {
+		runCompressedEncode("{ids: true, recode: [1, 4], bin: [{id: 2, method: equi-width, numbins: 7}], "
+			+ "dummycode: [2]}", 1, true);
+	}
+
+	@Test
+	public void testMixedParallel() {
+		runCompressedEncode("{ids: true, recode: [1, 3, 4], bin: [{id: 5, method: equi-width, numbins: 4}], "
+			+ "dummycode: [1, 5]}", 4, true);
+	}
+
+	@Test
+	public void testLargeDomainOneHot() {
+		//domain too large for a dense identity dictionary
+		runCompressedEncode("{ids: true, recode: [1, 4], dummycode: [4]}", 1, true);
+	}
+
+	@Test
+	public void testUnsupportedFeatureHash() {
+		runCompressedEncode("{ids: true, recode: [4], hash: [1], K: 10}", 1, false);
+	}
+
+	private static void runCompressedEncode(String spec, int k, boolean compressed) {
+		FrameBlock fb = createFrame(ROWS);
+		MultiColumnEncoder enc1 = EncoderFactory.createEncoder(spec, null, SCHEMA.length, null);
+		MatrixBlock expected = enc1.encode(fb, k);
+		MultiColumnEncoder enc2 = EncoderFactory.createEncoder(spec, null, SCHEMA.length, null);
+		MatrixBlock actual = enc2.encode(fb, k, true);
+		assertEquals(compressed, actual instanceof CompressedMatrixBlock);
+		assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		MatrixBlock actual2 = (actual instanceof CompressedMatrixBlock) ?
+			((CompressedMatrixBlock) actual).decompress() : actual;
+		compareMatrices(expected, actual2);
+
+		//compressed operations on encoded outputs
+		MatrixBlock v = MatrixBlock.randOperations(actual.getNumColumns(), 1, 1.0, -1, 1, "uniform", 7);
+		AggregateBinaryOperator op = InstructionUtils.getMatMultOperator(k);
+		MatrixBlock in1 = expected.replaceOperations(null, Double.NaN, 0);
+		MatrixBlock in2 = actual.replaceOperations(null, Double.NaN, 0);
+		MatrixBlock mv1 = in1.aggregateBinaryOperations(in1, v, new MatrixBlock(), op);
+		MatrixBlock mv2 = in2.aggregateBinaryOperations(in2, v, new MatrixBlock(), op);
+		TestUtils.compareMatrices(mv1, mv2, 1e-10);
+	}
+
+	private static FrameBlock createFrame(int rows) {
+		FrameBlock fb = new FrameBlock(SCHEMA);
+		Random rand = new Random(7);
+		for(int i = 0; i < rows; i++) {
+			int v = rand.nextInt(50);
+			fb.appendRow(new Object[] {(v % 13 == 0) ? null : "c" + (v % 17), (double) v, (long) (v % 5),
+				"u" + rand.nextInt(rows / 2), (v % 11 == 0) ? Double.NaN : v / 10d});
+		}
+		assertTrue(fb.isColumnDictEncoded(0));
+		return fb;
+	}
+
+	private static void compareMatrices(MatrixBlock expected, MatrixBlock actual) {
+		assertEquals(expected.getNumRows(), actual.getNumRows());
+		for(int i = 0; i < expected.getNumRows(); i++)
+			for(int j = 0; j < expected.getNumColumns(); j++) {
+				double v1 = expected.quickGetValue(i, j);
+				double v2 = actual.quickGetValue(i, j);
+				assertTrue(i + " " + j + ": " + v1 + " vs " + v2, v1 == v2 || Double.isNaN(v1) && Double.isNaN(v2));
+			}
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessageCodec;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessageCodec.Message;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.runtime.instructions.cp.StringObject;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.privacy.PrivacyConstraint;
+import org.apache.sysds.runtime.privacy.PrivacyConstraint.PrivacyLevel;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+public class FederatedMessageCodecTest {
+
+	@Test
+	public void testRequestDenseMatrix() throws Exception {
+		MatrixBlock mb = MatrixBlock.randOperations(300, 200, 1.0, -1, 1, "uniform", 7);
+		FederatedRequest req = new FederatedRequest(RequestType.PUT_VAR, 42, mb);
+		req.setTID(3);
+		FederatedRequest[] ret = roundtrip(new FederatedRequest[] {req});
+		assertEquals(1, ret.length);
+		assertEquals(RequestType.PUT_VAR, ret[0].getType());
+		assertEquals(42, ret[0].getID());
+		assertEquals(3, ret[0].getTID());
+		TestUtils.compareMatrices(mb, (MatrixBlock) ret[0].getParam(0), 0);
+	}
+
+	@Test
+	public void testRequestSparseMatrixAndScalars() throws Exception {
+		MatrixBlock mb = MatrixBlock.randOperations(500, 400, 0.01, -1, 1, "uniform", 13);
+		FederatedRequest req1 = new FederatedRequest(RequestType.PUT_VAR, 1, mb);
+		FederatedRequest req2 = new FederatedRequest(RequestType.EXEC_INST, 2,
+			"CP°+°_mVar1·MATRIX·FP64°1·SCALAR·INT64·true°_mVar2·MATRIX·FP64",
+			new IntObject(7), new DoubleObject(3.5), new StringObject("a"), 5L, null, true);
+		FederatedRequest[] ret = roundtrip(new FederatedRequest[] {req1, req2});
+		assertTrue(((MatrixBlock) ret[0].getParam(0)).isInSparseFormat());
+		TestUtils.compareMatrices(mb, (MatrixBlock) ret[0].getParam(0), 0);
+		assertEquals(req2.getParam(0), ret[1].getParam(0));
+		assertEquals(7, ((ScalarObject) ret[1].getParam(1)).getLongValue());
+		assertEquals(3.5, ((ScalarObject) ret[1].getParam(2)).getDoubleValue(), 0);
+		assertEquals("a", ((ScalarObject) ret[1].getParam(3)).getStringValue());
+		assertEquals(5L, ret[1].getParam(4));
+		assertNull(ret[1].getParam(5));
+		assertEquals(true, ret[1].getParam(6));
+	}
+
+	@Test
+	public void testRequestFrameAndJavaObjects() throws Exception {
+		FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.FP64});
+		for( int i=0; i<100; i++ )
+			fb.appendRow(new Object[] {"s" + i, (double) i});
+		IntObject priv = new IntObject(9);
+		priv.setPrivacyConstraints(new PrivacyConstraint(PrivacyLevel.Private));
+		FederatedRequest req = new FederatedRequest(RequestType.READ_VAR, 5,
+			fb, new MatrixCharacteristics(10, 20), priv);
+		FederatedRequest[] ret = roundtrip(new FederatedRequest[] {req});
+		FrameBlock fb2 = (FrameBlock) ret[0].getParam(0);
+		assertEquals(fb.getNumRows(), fb2.getNumRows());
+		for( int i=0; i<fb.getNumRows(); i++ )
+			for( int j=0; j<fb.getNumColumns(); j++ )
+				assertEquals(fb.get(i, j), fb2.get(i, j));
+		assertEquals(20, ((MatrixCharacteristics) ret[0].getParam(1)).getCols());
+		assertEquals(PrivacyLevel.Private,
+			((IntObject) ret[0].getParam(2)).getPrivacyConstraint().getPrivacyLevel());
+	}
+
+	@Test
+	public void testResponse() throws Exception {
+		MatrixBlock mb = MatrixBlock.randOperations(100, 10, 0.5, 0, 1, "uniform", 3);
+		FederatedResponse resp = new FederatedResponse(ResponseType.SUCCESS, new Object[] {mb, 1.5d});
+		FederatedResponse ret = (FederatedResponse) roundtrip(resp);
+		assertTrue(ret.isSuccessful());
+		TestUtils.compareMatrices(mb, (MatrixBlock) ret.getData()[0], 0);
+		assertEquals(1.5, (Double) ret.getData()[1], 0);
+	}
+
+	@Test
+	public void testErrorResponse() throws Exception {
+		FederatedResponse resp = new FederatedResponse(ResponseType.ERROR, "failed");
+		FederatedResponse ret = (FederatedResponse) roundtrip(resp);
+		assertFalse(ret.isSuccessful());
+		assertEquals("failed", ret.getErrorMessage());
+	}
+
+	@Test
+	public void testResponseCompressedBlocks() throws Exception {
+		MatrixBlock sparse = MatrixBlock.randOperations(1000, 1000, 0.05, 1, 1, "uniform", 7);
+		MatrixBlock dense = MatrixBlock.randOperations(200, 200, 1.0, 0, 1, "uniform", 7);
+		FederatedResponse resp = new FederatedResponse(ResponseType.SUCCESS, new Object[] {sparse, dense});
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		DMLConfig conf2 = new DMLConfig();
+		conf2.setTextValue(DMLConfig.BLOCK_CODEC, "lz4");
+		long saved = Statistics.getBlockCodecSavedBytes();
+		try {
+			ConfigurationManager.setLocalConfig(conf2);
+			FederatedResponse ret = (FederatedResponse) roundtrip(resp);
+			assertTrue(Statistics.getBlockCodecSavedBytes() > saved);
+			TestUtils.compareMatrices(sparse, (MatrixBlock) ret.getData()[0], 0);
+			TestUtils.compareMatrices(dense, (MatrixBlock) ret.getData()[1], 0);
+		}
+		finally {
+			ConfigurationManager.setLocalConfig(conf);
+		}
+	}
+
+	@Test
+	public void testPipelinedMessages() throws Exception {
+		FederatedRequest req = new FederatedRequest(RequestType.EXEC_UDF, 11, "udf", 3L);
+		Message ret1 = roundtrip(new Message(17, new FederatedRequest[] {req}));
+		assertEquals(17, ret1.getID());
+		FederatedRequest[] reqs = (FederatedRequest[]) ret1.getPayload();
+		assertEquals(RequestType.EXEC_UDF, reqs[0].getType());
+		assertEquals(3L, reqs[0].getParam(1));
+		Message ret2 = roundtrip(new Message(Long.MAX_VALUE,
+			new FederatedResponse(ResponseType.SUCCESS, new Object[] {"a"})));
+		assertEquals(Long.MAX_VALUE, ret2.getID());
+		assertEquals("a", ((FederatedResponse) ret2.getPayload()).getData()[0]);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T roundtrip(T msg) throws Exception {
+		ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer(64);
+		try {
+			FederatedMessageCodec.writeMessage(msg, buf);
+			Object ret = FederatedMessageCodec.readMessage(buf);
+			assertEquals(0, buf.readableBytes());
+			return (T) ret;
+		}
+		finally {
+			buf.release();
+		}
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.FrameReaderTextCSVParallel;
+import org.apache.sysds.runtime.io.FrameWriterTextCSV;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class FrameDictEncodingTest {
+	private static final ValueType[] SCHEMA = new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.STRING};
+	private static final int ROWS = 20000;
+
+	@Test
+	public void testAppendRowSelection() {
+		FrameBlock fb = createFrame(ROWS, 300, false);
+		assertTrue(fb.isColumnDictEncoded(0));
+		assertFalse(fb.isColumnDictEncoded(2)); //unique values
+		assertEquals(301, fb.getColumnDictionary(0).length);
+		for(int i = 0; i < ROWS; i++)
+			assertEquals(fb.getColumnDictionary(0)[fb.getColumnDictCode(i, 0)], fb.get(i, 0));
+	}
+
+	@Test
+	public void testSetSelectionWideCodes() {
+		FrameBlock fb = createFrame(ROWS, 3000, true);
+		assertTrue(fb.isColumnDictEncoded(0));
+		assertFalse(fb.isColumnDictEncoded(2));
+		compareFrames(createPlainFrame(ROWS, 3000), fb);
+	}
+
+	@Test
+	public void testSerialization() throws IOException {
+		for(int ndistinct : new int[] {1, 200, 3000, 70000}) {
+			FrameBlock fb = createFrame(100000, ndistinct, true);
+			FrameBlock plain = createPlainFrame(100000, ndistinct);
+			FrameBlock fb2 = serializeAndDeserialize(fb);
+			assertEquals(fb.isColumnDictEncoded(0), fb2.isColumnDictEncoded(0));
+			compareFrames(plain, fb2);
+			plain.getColumnNames();
+			if(fb.isColumnDictEncoded(0)) //at least 4 bytes per row saved
+				assertTrue(fb.getExactSerializedSize() < plain.getExactSerializedSize() - 4 * 100000);
+			assertTrue(fb.getInMemorySize() <= plain.getInMemorySize());
+		}
+	}
+
+	@Test
+	public void testSliceCopyAndIndexing() {
+		FrameBlock fb = createFrame(ROWS, 100, true);
+		FrameBlock plain = createPlainFrame(ROWS, 100);
+		compareFrames(plain.slice(17, 9999, 0, 2, true, null), fb.slice(17, 9999, 0, 2, true, null));
+		compareFrames(plain, new FrameBlock(fb));
+		FrameBlock rhs = createFrame(500, 7, true);
+		FrameBlock rhsPlain = createPlainFrame(500, 7);
+		FrameBlock out = fb.leftIndexingOperations(rhs, 100, 599, 0, 2, null);
+		compareFrames(plain.leftIndexingOperations(rhsPlain, 100, 599, 0, 2, null), out);
+		assertTrue(out.isColumnDictEncoded(0));
+		compareFrames(plain.append(rhsPlain, null, false), fb.append(rhs, null, false));
+	}
+
+	@Test
+	public void testRecodeEncodeApply() {
+		FrameBlock fb = createFrame(ROWS, 300, true);
+		fb.set(7, 0, null);
+		FrameBlock plain = createPlainFrame(ROWS, 300);
+		plain.set(7, 0, null);
+		String spec = "{ids: true, recode: [1, 3]}";
+
+		MultiColumnEncoder enc1 = EncoderFactory.createEncoder(spec, null, SCHEMA.length, null);
+		MatrixBlock out1 = enc1.encode(plain);
+		MultiColumnEncoder enc2 = EncoderFactory.createEncoder(spec, null, SCHEMA.length, null);
+		MatrixBlock out2 = enc2.encode(fb);
+		TestUtils.compareMatricesBitAvgDistance(out1, out2, 0, 0, "encode");
+
+		FrameBlock meta = enc1.getMetaData(new FrameBlock(SCHEMA.length, ValueType.STRING));
+		FrameBlock apply = createFrame(ROWS / 2, 400, true); //incl unseen values
+		FrameBlock applyPlain = createPlainFrame(ROWS / 2, 400);
+		assertTrue(apply.isColumnDictEncoded(0));
+		MatrixBlock a1 = EncoderFactory.createEncoder(spec, null, SCHEMA.length, meta).apply(applyPlain);
+		MatrixBlock a2 = EncoderFactory.createEncoder(spec, null, SCHEMA.length, meta).apply(apply);
+		TestUtils.compareMatricesBitAvgDistance(a1, a2, 0, 0, "apply");
+	}
+
+	@Test
+	public void testEncodeAfterPlainAllocation() {
+		FrameBlock fb = createPlainFrame(ROWS, 300);
+		fb.dictEncodeStringColumns();
+		assertTrue(fb.isColumnDictEncoded(0));
+		assertFalse(fb.isColumnDictEncoded(2)); //unique values
+		compareFrames(createPlainFrame(ROWS, 300), fb);
+	}
+
+	@Test
+	public void testColumnDataWithoutDecoding() {
+		FrameBlock fb = createFrame(ROWS, 300, true);
+		String[] data = (String[]) fb.getColumnData(0);
+		assertTrue(fb.isColumnDictEncoded(0));
+		for(int i = 0; i < ROWS; i++)
+			assertEquals(fb.get(i, 0), data[i]);
+	}
+
+	@Test
+	public void testParallelCSVRead() throws IOException {
+		FrameBlock plain = createPlainFrame(ROWS, 300);
+		String fname = "target/testTemp/component/frame/FrameDictEncodingTest/X.csv";
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(false, ",", false);
+		new FrameWriterTextCSV(props).writeFrameToHDFS(plain, fname, ROWS, SCHEMA.length);
+		FrameBlock fb = new FrameReaderTextCSVParallel(props)
+			.readFrameFromHDFS(fname, SCHEMA, ROWS, SCHEMA.length);
+		assertTrue(fb.isColumnDictEncoded(0));
+		assertFalse(fb.isColumnDictEncoded(2));
+		compareFrames(plain, fb);
+	}
+
+	private static FrameBlock createFrame(int rows, int ndistinct, boolean preallocate) {
+		return createFrame(rows, ndistinct, preallocate, true);
+	}
+
+	private static FrameBlock createFrame(int rows, int ndistinct, boolean preallocate, boolean dict) {
+		FrameBlock fb = new FrameBlock(SCHEMA);
+		Random rand = new Random(7);
+		if(preallocate)
+			fb.ensureAllocatedColumns(rows, dict);
+		for(int i = 0; i < rows; i++) {
+			Object[] row = createRow(rand, i, ndistinct);
+			if(preallocate)
+				for(int j = 0; j < row.length; j++)
+					fb.set(i, j, row[j]);
+			else
+				fb.appendRow(row);
+		}
+		return fb;
+	}
+
+	private static FrameBlock createPlainFrame(int rows, int ndistinct) {
+		FrameBlock fb = createFrame(rows, ndistinct, true, false);
+		assertFalse(fb.isColumnDictEncoded(0));
+		return fb;
+	}
+
+	private static Object[] createRow(Random rand, int i, int ndistinct) {
+		int v = rand.nextInt(ndistinct);
+		return new Object[] {"val" + v, (double) v, "id" + i};
+	}
+
+	private static FrameBlock serializeAndDeserialize(FrameBlock fb) throws IOException {
+		fb.getColumnNames(); //materialize default names
+		long size = fb.getExactSerializedSize();
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(bos);
+		fb.write(dos);
+		assertEquals(size, dos.size());
+		FrameBlock ret = new FrameBlock();
+		ret.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		return ret;
+	}
+
+	private static void compareFrames(FrameBlock expected, FrameBlock actual) {
+		assertEquals(expected.getNumRows(), actual.getNumRows());
+		assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		for(int i = 0; i < expected.getNumRows(); i++)
+			for(int j = 0; j < expected.getNumColumns(); j++)
+				assertEquals(expected.get(i, j), actual.get(i, j));
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.junit.Test;
+
+public class FramePrimitiveAccessTest {
+	private static final ValueType[] SCHEMA = new ValueType[] {ValueType.BOOLEAN, ValueType.INT32,
+		ValueType.INT64, ValueType.FP32, ValueType.FP64, ValueType.STRING, ValueType.STRING};
+	private static final int ROWS = 1000;
+
+	@Test
+	public void testBooleanAppendAndSet() {
+		boolean[] expected = createBooleans(ROWS, 3);
+		FrameBlock fb = createBooleanFrame(expected);
+		compareBooleans(expected, fb, 0);
+		for(int i = 0; i < ROWS; i += 7) {
+			expected[i] = !expected[i];
+			fb.set(i, 0, expected[i]);
+		}
+		fb.set(5, 0, null);
+		expected[5] = false;
+		compareBooleans(expected, fb, 0);
+		assertArrayEquals(expected, (boolean[]) fb.getColumnData(0));
+	}
+
+	@Test
+	public void testBooleanSliceAndIndexing() {
+		boolean[] expected = createBooleans(ROWS, 7);
+		FrameBlock fb = createBooleanFrame(expected);
+		//aligned and unaligned slices
+		for(int[] ix : new int[][] {{0, 127}, {64, 999}, {3, 70}, {17, 17}, {63, 64}}) {
+			FrameBlock out = fb.slice(ix[0], ix[1], 0, 0, new FrameBlock());
+			for(int i = ix[0]; i <= ix[1]; i++)
+				assertEquals(expected[i], out.get(i - ix[0], 0));
+		}
+		//aligned and unaligned left indexing
+		boolean[] rhsVals = createBooleans(200, 11);
+		FrameBlock rhs = createBooleanFrame(rhsVals);
+		for(int rl : new int[] {0, 128, 5, 777}) {
+			FrameBlock out = fb.leftIndexingOperations(rhs, rl, rl + 199, 0, 0, new FrameBlock());
+			boolean[] tmp = expected.clone();
+			System.arraycopy(rhsVals, 0, tmp, rl, 200);
+			compareBooleans(tmp, out, 0);
+		}
+		compareBooleans(expected, new FrameBlock(fb), 0);
+	}
+
+	@Test
+	public void testBooleanSerialization() throws IOException {
+		boolean[] expected = createBooleans(ROWS, 13);
+		FrameBlock fb = createBooleanFrame(expected);
+		fb.getColumnNames(); //materialize default names
+		long size = fb.getExactSerializedSize();
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(bos);
+		fb.write(dos);
+		assertEquals(size, dos.size());
+		FrameBlock fb2 = new FrameBlock();
+		fb2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		compareBooleans(expected, fb2, 0);
+		assertEquals(ROWS, fb2.getColumnAsBytes(0).length);
+	}
+
+	@Test
+	public void testPrimitiveAccessors() {
+		FrameBlock fb = createFrame(ROWS);
+		double[] tmp = new double[ROWS + 3];
+		for(int j = 0; j < SCHEMA.length; j++) {
+			fb.getColumnAsDouble(j, 0, ROWS, tmp, 3);
+			for(int i = 0; i < ROWS; i++) {
+				double expected = UtilFunctions.objectToDouble(SCHEMA[j], fb.get(i, j));
+				assertEquals(expected, tmp[i + 3], 0);
+				if(SCHEMA[j] != ValueType.STRING) {
+					assertEquals(expected, fb.getDouble(i, j), 0);
+					assertEquals(expected, fb.getDoubleNaN(i, j), 0);
+				}
+			}
+		}
+		//partial ranges
+		fb.getColumnAsDouble(0, 65, 130, tmp, 0);
+		for(int i = 65; i < 130; i++)
+			assertEquals(UtilFunctions.objectToDouble(SCHEMA[0], fb.get(i, 0)), tmp[i - 65], 0);
+	}
+
+	@Test
+	public void testConvertToMatrixBlock() {
+		FrameBlock fb = createFrame(3000);
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(fb);
+		for(int i = 0; i < fb.getNumRows(); i++)
+			for(int j = 0; j < fb.getNumColumns(); j++)
+				assertEquals(UtilFunctions.objectToDouble(SCHEMA[j], fb.get(i, j)), mb.quickGetValue(i, j), 0);
+		assertEquals(mb.recomputeNonZeros(), mb.getNonZeros());
+	}
+
+	@Test
+	public void testBooleanConcurrentWriters() throws Exception {
+		final int k = 4;
+		final int rows = 64 * 1000;
+		boolean[] expected = createBooleans(rows, 13);
+		boolean[] rhsVals = createBooleans(rows, 17);
+		FrameBlock rhs = createBooleanFrame(rhsVals);
+		for(int r = 0; r < 10; r++) {
+			FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.BOOLEAN});
+			fb.ensureAllocatedColumns(rows);
+			fb.set(0, 0, true); //initially set word
+			ExecutorService pool = Executors.newFixedThreadPool(k);
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int t = 0; t < k; t++) {
+				final int tid = t;
+				//interleaved rows (all threads share every word)
+				tasks.add(pool.submit(() -> {
+					for(int i = tid; i < rows / 2; i += k)
+						fb.set(i, 0, expected[i]);
+				}));
+				//unaligned row ranges (threads share boundary words)
+				int rl = rows / 2 + tid * (rows / 2 / k) + 3, ru = rl + rows / 2 / k - 1;
+				tasks.add(pool.submit(() -> fb.copy(rl, Math.min(ru, rows - 1), 0, 0,
+					rhs.slice(rl, Math.min(ru, rows - 1), 0, 0, new FrameBlock()))));
+			}
+			for(Future<?> task : tasks)
+				task.get();
+			pool.shutdown();
+			for(int i = 0; i < rows; i++)
+				assertEquals(i < rows / 2 ? expected[i] : (i < rows / 2 + 3) ? false : rhsVals[i], fb.get(i, 0));
+		}
+	}
+
+	private static FrameBlock createFrame(int rows) {
+		FrameBlock fb = new FrameBlock(SCHEMA);
+		Random rand = new Random(7);
+		for(int i = 0; i < rows; i++) {
+			int v = rand.nextInt(20) - 5;
+			fb.appendRow(new Object[] {v > 0, v, (long) v * 1000000007L, v / 4f, v / 3d,
+				(v == 0) ? null : (v == 1) ? "" : String.valueOf(v / 2d), String.valueOf(i * 0.5)});
+		}
+		return fb;
+	}
+
+	private static FrameBlock createBooleanFrame(boolean[] vals) {
+		FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.BOOLEAN});
+		for(int i = 0; i < vals.length; i++)
+			fb.appendRow(new Object[] {vals[i]});
+		return fb;
+	}
+
+	private static boolean[] createBooleans(int rows, int seed) {
+		Random rand = new Random(seed);
+		boolean[] ret = new boolean[rows];
+		for(int i = 0; i < rows; i++)
+			ret[i] = rand.nextBoolean();
+		return ret;
+	}
+
+	private static void compareBooleans(boolean[] expected, FrameBlock fb, int c) {
+		assertEquals(expected.length, fb.getNumRows());
+		for(int i = 0; i < expected.length; i++)
+			assertEquals(expected[i], fb.get(i, c));
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Random;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.StreamingEncode;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class FrameStreamingEncodeTest {
+	private static final String DIR = "target/testTemp/component/frame/FrameStreamingEncodeTest/";
+	private static final ValueType[] SCHEMA = new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.INT64,
+		ValueType.STRING, ValueType.FP64};
+	private static final int ROWS = 3500; //multiple blocks
+
+	@Test
+	public void testRecode() throws Exception {
+		runStreamingEncode("{ids: true, recode: [1, 3, 4]}", 1);
+	}
+
+	@Test
+	public void testRecodeDummycode() throws Exception {
+		runStreamingEncode("{ids: true, recode: [1, 3, 4], dummycode: [1, 3]}", 1);
+	}
+
+	@Test
+	public void testBinDummycode() throws Exception {
+		runStreamingEncode("{ids: true, recode: [1, 4], bin: [{id: 2, method: equi-width, numbins: 7}, "
+			+ "{id: 5, method: equi-width, numbins: 3}], dummycode: [2, 4]}", 1);
+	}
+
+	@Test
+	public void testFeatureHashDummycode() throws Exception {
+		runStreamingEncode("{ids: true, recode: [4], hash: [1], K: 10, dummycode: [1]}", 1);
+	}
+
+	@Test
+	public void testRecodeBinParallel() throws Exception {
+		runStreamingEncode("{ids: true, recode: [1, 4], bin: [{id: 2, method: equi-width, numbins: 5}], "
+			+ "dummycode: [1, 2]}", 4);
+	}
+
+	@Test
+	public void testUnsupportedOmit() {
+		assertFalse(StreamingEncode.isSupported(
+			EncoderFactory.createEncoder("{ids: true, recode: [1], omit: [2]}", null, SCHEMA.length, null)));
+	}
+
+	private static void runStreamingEncode(String spec, int k) throws Exception {
+		FrameBlock fb = createFrame(ROWS);
+		String fname = DIR + "in";
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+		FrameWriterFactory.createFrameWriter(FileFormat.BINARY).writeFrameToHDFS(fb, fname, ROWS, SCHEMA.length);
+
+		MultiColumnEncoder enc1 = EncoderFactory.createEncoder(spec, null, SCHEMA.length, null);
+		MatrixBlock expected = enc1.encode(fb, k);
+		FrameBlock meta1 = enc1.getMetaData(new FrameBlock(SCHEMA.length, ValueType.STRING));
+
+		MultiColumnEncoder enc2 = EncoderFactory.createEncoder(spec, null, SCHEMA.length, null);
+		MatrixBlock actual = StreamingEncode.encode(enc2, fname, ROWS, SCHEMA.length, k);
+		FrameBlock meta2 = enc2.getMetaData(new FrameBlock(SCHEMA.length, ValueType.STRING));
+
+		assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		TestUtils.compareMatricesBitAvgDistance(expected, actual, 0, 0, "encode");
+		for(int i = 0; i < meta1.getNumRows(); i++)
+			for(int j = 0; j < meta1.getNumColumns(); j++)
+				assertEquals(meta1.get(i, j), meta2.get(i, j));
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+	}
+
+	private static FrameBlock createFrame(int rows) {
+		FrameBlock fb = new FrameBlock(SCHEMA);
+		Random rand = new Random(7);
+		for(int i = 0; i < rows; i++) {
+			int v = rand.nextInt(50);
+			fb.appendRow(new Object[] {(v % 13 == 0) ? null : "c" + (v % 17), (double) v * i / rows,
+				(long) (v % 5), "u" + rand.nextInt(rows / 2), (v % 11 == 0) ? Double.NaN : v / 10d});
+		}
+		return fb;
+	}
+}
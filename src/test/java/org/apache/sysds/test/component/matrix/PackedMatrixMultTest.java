@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+@net.jcip.annotations.NotThreadSafe
+public class PackedMatrixMultTest {
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		ArrayList<Object[]> tests = new ArrayList<>();
+		//full panels (wide and narrow register blocks)
+		tests.add(new Object[] {256, 256, 256, 1});
+		tests.add(new Object[] {128, 1024, 132, 1});
+		//partial panels in all dimensions
+		tests.add(new Object[] {259, 261, 263, 1});
+		tests.add(new Object[] {301, 517, 203, 1});
+		//multiple cache blocks, multi-threaded row partitions
+		tests.add(new Object[] {517, 600, 2100, 1});
+		tests.add(new Object[] {517, 600, 300, 3});
+		tests.add(new Object[] {1000, 257, 150, 4});
+		//shared packed rhs w/ multiple column and row blocks
+		tests.add(new Object[] {300, 600, 2100, 4});
+		return tests;
+	}
+
+	@Parameterized.Parameter
+	public int m;
+	@Parameterized.Parameter(1)
+	public int cd;
+	@Parameterized.Parameter(2)
+	public int n;
+	@Parameterized.Parameter(3)
+	public int k;
+
+	@Test
+	public void testPackedMatrixMult() {
+		MatrixBlock m1 = MatrixBlock.randOperations(m, cd, 0.9, -1, 1, "uniform", 7);
+		MatrixBlock m2 = MatrixBlock.randOperations(cd, n, 1.0, -1, 1, "uniform", 3);
+		MatrixBlock expected = new MatrixBlock(m, n, false);
+		MatrixBlock actual = new MatrixBlock(m, n, false);
+		LibMatrixMult.matrixMult(m1, m2, expected, k, false);
+		LibMatrixMult.matrixMult(m1, m2, actual, k, true);
+		TestUtils.compareMatrices(expected, actual, 1e-10);
+		TestUtils.compareScalars(expected.getNonZeros(), actual.getNonZeros(), 0);
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Random;
+
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysds.runtime.util.BlockCodec;
+import org.apache.sysds.runtime.util.BlockCodec.CodecType;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class BlockCodecTest {
+	private static final String DIR = "target/testTemp/component/misc/BlockCodecTest/";
+
+	@Test
+	public void testRoundtripRandomBytes() {
+		byte[] data = new byte[100000];
+		new Random(7).nextBytes(data);
+		roundtrip(data);
+	}
+
+	@Test
+	public void testRoundtripRepetitiveBytes() {
+		byte[] data = new byte[300000];
+		for( int i=0; i<data.length; i++ )
+			data[i] = (byte) ((i % 17 == 0) ? i : i % 5);
+		int clen = roundtrip(data);
+		assertTrue(clen < data.length / 4);
+	}
+
+	@Test
+	public void testRoundtripSmallAndEmpty() {
+		roundtrip(new byte[0]);
+		roundtrip(new byte[] {1, 2, 3});
+		roundtrip(new byte[] {1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 2});
+	}
+
+	@Test
+	public void testSkipPoorRatio() {
+		byte[] data = new byte[4 * BlockCodec.SAMPLE_SIZE];
+		new Random(3).nextBytes(data);
+		assertNull(BlockCodec.compress(CodecType.LZ4, data));
+		assertNull(BlockCodec.compress(CodecType.LZ4, new byte[BlockCodec.MIN_SIZE - 1]));
+		assertNull(BlockCodec.compress(CodecType.NONE, new byte[BlockCodec.MIN_SIZE]));
+	}
+
+	@Test
+	public void testCompressibleBlocks() throws Exception {
+		MatrixBlock sparse = MatrixBlock.randOperations(1000, 1000, 0.05, 1, 1, "uniform", 7);
+		MatrixBlock dense = MatrixBlock.randOperations(1000, 1000, 1.0, 0, 1, "uniform", 7);
+		MatrixBlock lowCard = MatrixBlock.randOperations(1000, 1000, 1.0, 0, 3, "uniform", 7);
+		lowCard = lowCard.unaryOperations(new UnaryOperator(
+			Builtin.getBuiltinFnObject(BuiltinCode.ROUND)), new MatrixBlock());
+		assertTrue(BlockCodec.isCompressible(sparse));
+		assertFalse(BlockCodec.isCompressible(dense));
+		assertTrue(BlockCodec.isCompressible(lowCard));
+		assertFalse(BlockCodec.isCompressible(new MatrixBlock(10, 10, 1.0)));
+
+		byte[] data = BlockCodec.serialize(lowCard);
+		byte[] cdata = BlockCodec.compress(CodecType.LZ4, data);
+		assertNotNull(cdata);
+		MatrixBlock ret = (MatrixBlock) BlockCodec.deserialize(
+			BlockCodec.decompress(CodecType.LZ4, cdata, data.length), true);
+		TestUtils.compareMatrices(lowCard, ret, 0);
+	}
+
+	@Test
+	public void testSpillRoundtrip() throws Exception {
+		LocalFileUtils.createLocalFileIfNotExist(DIR);
+		CodecType old = BlockCodec.getSpillCodec();
+		try {
+			BlockCodec.setSpillCodec(CodecType.LZ4);
+			MatrixBlock sparse = MatrixBlock.randOperations(1000, 1000, 0.05, 1, 1, "uniform", 3);
+			MatrixBlock dense = MatrixBlock.randOperations(300, 300, 1.0, 0, 1, "uniform", 3);
+			String fname1 = DIR + "sparse.dat", fname2 = DIR + "dense.dat", fname3 = DIR + "bytes.dat";
+			LocalFileUtils.writeCacheBlockToLocal(fname1, sparse);
+			LocalFileUtils.writeCacheBlockToLocal(fname2, dense);
+			LocalFileUtils.writeCacheBlockToLocal(fname3, BlockCodec.serialize(sparse));
+			assertTrue(new File(fname1).length() < sparse.getExactSerializedSize() * BlockCodec.MAX_RATIO);
+			assertEquals(dense.getExactSerializedSize() + 1, new File(fname2).length());
+			TestUtils.compareMatrices(sparse, (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(fname1, true), 0);
+			TestUtils.compareMatrices(dense, (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(fname2, true), 0);
+			TestUtils.compareMatrices(sparse, (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(fname3, true), 0);
+		}
+		finally {
+			BlockCodec.setSpillCodec(old);
+			LocalFileUtils.deleteFileIfExists(DIR);
+		}
+	}
+
+	private static int roundtrip(byte[] data) {
+		BlockCodec codec = BlockCodec.get(CodecType.LZ4);
+		byte[] cdata = new byte[codec.maxCompressedLength(data.length)];
+		int clen = codec.compress(data, 0, data.length, cdata, 0);
+		byte[] ret = new byte[data.length];
+		codec.decompress(cdata, 0, clen, ret, 0, data.length);
+		assertArrayEquals(data, ret);
+		return clen;
+	}
+}
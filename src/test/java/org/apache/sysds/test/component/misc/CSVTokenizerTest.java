@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.apache.hadoop.io.Text;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.CSVTokenizer;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.junit.Test;
+
+public class CSVTokenizerTest {
+
+	private static final String[] LINES = new String[] {"", " ", "a", "a,b", ",", ",,", "a,", ",a", " a , b ,c ",
+		"1.5,,-3", "\"a,b\",c", "\"a\"\"b\",c", "\"a\"b,c", "\"a", "a\"b\",c", "\"\",\"\"", "x,\"y\"", "\"a,b\"c,d"};
+
+	private static final String[] DOUBLES = new String[] {"0", "-0", "1", "-1", "0.5", ".5", "1.", "-.25", "+7",
+		"1e5", "1E-5", "1.5e+3", "-2.5e-22", "1e22", "1e23", "1e-300", "4.9e-324", "1.7976931348623157e308",
+		"123456789012345678", "1234567890123456789", "12345678901234567890123", "0.1", "0.3", "3.141592653589793",
+		"9007199254740993", "000123.4500", "NaN", "Infinity", "-Infinity", "1d", "2.5f", "0x1p3", "1e400"};
+
+	@Test
+	public void testSplitUnquoted() {
+		for(String delim : new String[] {",", ";", "::", "\t"})
+			for(String line : LINES) {
+				String dline = line.replace(",", delim);
+				String[] expected = trim(IOUtilFunctions.split(dline.trim(), delim));
+				CSVTokenizer tok = new CSVTokenizer(delim, false, null);
+				checkTokens(expected, tok, tok.tokenize(new Text(dline)));
+			}
+	}
+
+	@Test
+	public void testSplitQuoted() {
+		for(String delim : new String[] {",", "::"})
+			for(String line : LINES) {
+				String dline = line.replace(",", delim);
+				String[] expected = trim(IOUtilFunctions.splitCSV(dline.trim(), delim));
+				CSVTokenizer tok = new CSVTokenizer(delim, true, null);
+				checkTokens(expected, tok, tok.tokenize(new Text(dline)));
+			}
+	}
+
+	@Test
+	public void testTokenizeOffset() {
+		byte[] buf = "xx1,2,,3yy".getBytes();
+		CSVTokenizer tok = new CSVTokenizer(",", false, null);
+		assertEquals(4, tok.tokenize(buf, 2, 6));
+		assertEquals("3", tok.getString(3));
+		assertTrue(tok.isEmpty(2));
+		assertEquals("1,2,,3", tok.getLine());
+	}
+
+	@Test
+	public void testParseDoubleEdgeCases() {
+		for(String str : DOUBLES)
+			checkDouble(str);
+	}
+
+	@Test
+	public void testParseDoubleRandom() {
+		Random rand = new Random(7);
+		for(int i = 0; i < 100000; i++) {
+			double v = (rand.nextDouble() - 0.5) * Math.pow(10, rand.nextInt(40) - 20);
+			checkDouble(String.valueOf(v));
+			checkDouble(String.format("%." + rand.nextInt(17) + "f", v));
+			checkDouble(String.valueOf(rand.nextInt()));
+		}
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseDoubleInvalid() {
+		CSVTokenizer tok = new CSVTokenizer(",", false, null);
+		tok.tokenize(new Text("1,1.2.3"));
+		tok.parseDouble(1);
+	}
+
+	@Test
+	public void testParseNAStrings() {
+		CSVTokenizer tok = new CSVTokenizer(",", false, new HashSet<>(Arrays.asList("NA", "?")));
+		tok.tokenize(new Text("NA, ?,NaN,3"));
+		assertTrue(tok.isNA(0) && tok.isNA(1));
+		assertFalse(tok.isNA(2) || tok.isNA(3));
+		assertTrue(Double.isNaN(tok.parseDoubleNA(0)));
+		assertTrue(Double.isNaN(tok.parseDoubleNA(2)));
+		assertEquals(3, tok.parseDoubleNA(3), 0);
+	}
+
+	@Test
+	public void testParseToObject() {
+		CSVTokenizer tok = new CSVTokenizer(",", true, null);
+		String line = "abc,-17,123456789012,TRUE,false,2.5,0.1,\"x,y\"";
+		String[] parts = IOUtilFunctions.splitCSV(line, ",");
+		ValueType[] vts = new ValueType[] {ValueType.STRING, ValueType.INT32, ValueType.INT64, ValueType.BOOLEAN,
+			ValueType.BOOLEAN, ValueType.FP64, ValueType.FP32, ValueType.STRING};
+		assertEquals(parts.length, tok.tokenize(new Text(line)));
+		for(int i = 0; i < parts.length; i++)
+			assertEquals(UtilFunctions.stringToObject(vts[i], parts[i]), tok.parseToObject(i, vts[i]));
+	}
+
+	private static void checkTokens(String[] expected, CSVTokenizer tok, int ntokens) {
+		assertEquals(Arrays.toString(expected), expected.length, ntokens);
+		for(int i = 0; i < ntokens; i++) {
+			assertEquals(expected[i], tok.getString(i));
+			assertEquals(expected[i].isEmpty(), tok.isEmpty(i));
+		}
+	}
+
+	private static void checkDouble(String str) {
+		CSVTokenizer tok = new CSVTokenizer(",", false, null);
+		tok.tokenize(new Text("x," + str + ",y"));
+		assertEquals(str, Double.doubleToRawLongBits(Double.parseDouble(str)),
+			Double.doubleToRawLongBits(tok.parseDouble(1)));
+	}
+
+	private static String[] trim(String[] tokens) {
+		for(int i = 0; i < tokens.length; i++)
+			tokens[i] = tokens[i].trim();
+		return tokens;
+	}
+}
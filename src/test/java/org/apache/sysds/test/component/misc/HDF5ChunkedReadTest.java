@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import org.apache.sysds.runtime.io.FileFormatPropertiesHDF5;
+import org.apache.sysds.runtime.io.ReaderHDF5;
+import org.apache.sysds.runtime.io.ReaderHDF5Parallel;
+import org.apache.sysds.runtime.io.hdf5.H5;
+import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class HDF5ChunkedReadTest {
+	private static final String DIR = "target/testTemp/component/misc/HDF5ChunkedReadTest/";
+	private static final String DATASET = "DATASET_1";
+
+	private enum ElemType {
+		FP64, FP32, INT32, UINT16
+	}
+
+	@Test
+	public void testChunkedFP64() throws IOException {
+		runChunkedReadTest(ElemType.FP64, 100, 7, 16, 3, false, false);
+	}
+
+	@Test
+	public void testChunkedDeflateFP64() throws IOException {
+		runChunkedReadTest(ElemType.FP64, 100, 7, 16, 3, true, false);
+	}
+
+	@Test
+	public void testChunkedDeflateShuffleFP64() throws IOException {
+		runChunkedReadTest(ElemType.FP64, 250, 10, 32, 4, true, true);
+	}
+
+	@Test
+	public void testChunkedDeflateShuffleFP32() throws IOException {
+		runChunkedReadTest(ElemType.FP32, 250, 10, 32, 4, true, true);
+	}
+
+	@Test
+	public void testChunkedDeflateInt32() throws IOException {
+		runChunkedReadTest(ElemType.INT32, 123, 5, 50, 5, true, false);
+	}
+
+	@Test
+	public void testChunkedShuffleUInt16() throws IOException {
+		runChunkedReadTest(ElemType.UINT16, 77, 9, 20, 2, false, true);
+	}
+
+	@Test
+	public void testChunkedRowRangePruning() throws IOException {
+		// 7x3 chunks, where the second leaf starts at chunk 11 (row 48)
+		int rows = 100, cols = 7, crows = 16, ccols = 3;
+		MatrixBlock expected = createData(ElemType.FP64, rows, cols);
+		byte[] file = createChunkedFile(expected, ElemType.FP64, crows, ccols, true, false);
+
+		// corrupt the second leaf, which must not be accessed for rows [0, 48)
+		final int keySize = 8 + 8 * 3;
+		int n = 7 * 3, half = (n + 1) / 2, ru = 48;
+		int leaf2 = 2048 + nodeSize(2, keySize) + nodeSize(half, keySize);
+		file[leaf2] = 'X';
+
+		MatrixBlock mb = new MatrixBlock(ru, cols, false);
+		mb.allocateDenseBlock();
+		long lnnz = ReaderHDF5.readMatrixFromHDF5(new BufferedInputStream(new ByteArrayInputStream(file)), DATASET, mb,
+			0, ru, cols, -1);
+		mb.setNonZeros(lnnz);
+		MatrixBlock expected2 = expected.slice(0, ru - 1);
+		assertEquals(expected2.getNonZeros(), lnnz);
+		TestUtils.compareMatrices(expected2, mb, 0);
+	}
+
+	private static void runChunkedReadTest(ElemType type, int rows, int cols, int crows, int ccols, boolean deflate,
+		boolean shuffle) throws IOException {
+		MatrixBlock expected = createData(type, rows, cols);
+		byte[] file = createChunkedFile(expected, type, crows, ccols, deflate, shuffle);
+		FileFormatPropertiesHDF5 props = new FileFormatPropertiesHDF5(DATASET);
+
+		// sequential read from input stream
+		MatrixBlock mb1 = new ReaderHDF5(props)
+			.readMatrixFromInputStream(new ByteArrayInputStream(file), rows, cols, -1, (long) rows * cols);
+		assertEquals(expected.getNonZeros(), mb1.getNonZeros());
+		TestUtils.compareMatrices(expected, mb1, 0);
+
+		// parallel chunk decoding from file
+		new File(DIR).mkdirs();
+		String fname = DIR + "in_" + type + ".h5";
+		try(FileOutputStream fos = new FileOutputStream(fname)) {
+			fos.write(file);
+		}
+		MatrixBlock mb2 = new ReaderHDF5Parallel(props).readMatrixFromHDFS(fname, rows, cols, -1, (long) rows * cols);
+		assertEquals(expected.getNonZeros(), mb2.getNonZeros());
+		TestUtils.compareMatrices(expected, mb2, 0);
+		new File(fname).delete();
+	}
+
+	private static MatrixBlock createData(ElemType type, int rows, int cols) {
+		MatrixBlock mb = new MatrixBlock(rows, cols, false);
+		Random rand = new Random(7);
+		for(int i = 0; i < rows; i++)
+			for(int j = 0; j < cols; j++) {
+				if(rand.nextDouble() < 0.2)
+					continue; // zeros
+				switch(type) {
+					case FP64: mb.quickSetValue(i, j, rand.nextGaussian()); break;
+					case FP32: mb.quickSetValue(i, j, (float) rand.nextGaussian()); break;
+					case INT32: mb.quickSetValue(i, j, rand.nextInt() / 2); break;
+					case UINT16: mb.quickSetValue(i, j, 1 + rand.nextInt(65535)); break;
+				}
+			}
+		mb.recomputeNonZeros();
+		return mb;
+	}
+
+	/**
+	 * Creates a chunked HDF5 file, by patching the object header of the contiguous
+	 * writer (data type, data layout, and the trailing nil message as filter
+	 * pipeline), and appending a two-level chunk B-tree and the encoded chunks.
+	 */
+	private static byte[] createChunkedFile(MatrixBlock data, ElemType type, int crows, int ccols, boolean deflate,
+		boolean shuffle) throws IOException {
+		final int rows = data.getNumRows();
+		final int cols = data.getNumColumns();
+		final int esize = (type == ElemType.FP64) ? 8 : (type == ElemType.UINT16) ? 2 : 4;
+
+		// write headers of a contiguous dataset
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		BufferedOutputStream bos = new BufferedOutputStream(baos);
+		H5RootObject rootObject = H5.H5Screate(bos, rows, cols);
+		H5.H5Dcreate(rootObject, rows, cols, DATASET);
+		H5.H5WriteHeaders(rootObject);
+		bos.flush();
+		ByteBuffer header = ByteBuffer.wrap(baos.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+
+		// patch the messages of the dataset object header (at 800)
+		int pos = 816;
+		for(int m = 0; m < 6; m++) {
+			int mtype = header.getShort(pos);
+			int msize = header.getShort(pos + 2);
+			header.position(pos + 8);
+			if(mtype == 3)
+				writeDataType(header, type);
+			else if(mtype == 8) {
+				header.put((byte) 3).put((byte) 2).put((byte) 3).putLong(2048);
+				header.putInt(crows).putInt(ccols).putInt(esize);
+			}
+			else if(mtype == 0 && (deflate || shuffle)) {
+				header.putShort(pos, (short) 11);
+				header.put((byte) 1).put((byte) ((deflate ? 1 : 0) + (shuffle ? 1 : 0))).put(new byte[6]);
+				if(shuffle)
+					header.putShort((short) 2).putShort((short) 0).putShort((short) 0).putShort((short) 1)
+						.putInt(esize).putInt(0);
+				if(deflate)
+					header.putShort((short) 1).putShort((short) 0).putShort((short) 0).putShort((short) 1)
+						.putInt(6).putInt(0);
+			}
+			pos += 8 + msize;
+		}
+
+		// encode chunks, where the first chunk skips compression via the filter mask
+		List<long[]> keys = new ArrayList<>();
+		List<byte[]> chunks = new ArrayList<>();
+		for(int r = 0; r < rows; r += crows)
+			for(int c = 0; c < cols; c += ccols) {
+				ByteBuffer raw = ByteBuffer.allocate(crows * ccols * esize).order(ByteOrder.LITTLE_ENDIAN);
+				for(int i = r; i < r + crows; i++)
+					for(int j = c; j < c + ccols; j++) {
+						double v = (i < rows && j < cols) ? data.quickGetValue(i, j) : 0;
+						switch(type) {
+							case FP64: raw.putDouble(v); break;
+							case FP32: raw.putFloat((float) v); break;
+							case INT32: raw.putInt((int) v); break;
+							case UINT16: raw.putShort((short) (int) v); break;
+						}
+					}
+				byte[] chunk = raw.array();
+				int mask = 0;
+				if(shuffle)
+					chunk = shuffle(chunk, esize);
+				if(deflate && chunks.isEmpty())
+					mask = 1 << (shuffle ? 1 : 0);
+				else if(deflate)
+					chunk = deflate(chunk);
+				keys.add(new long[] {chunk.length, mask, r, c});
+				chunks.add(chunk);
+			}
+
+		// two-level B-tree: root node with two leaf nodes
+		final int keySize = 8 + 8 * 3;
+		int n = chunks.size();
+		int half = (n + 1) / 2;
+		long leaf1 = 2048 + nodeSize(2, keySize);
+		long leaf2 = leaf1 + nodeSize(half, keySize);
+		long dataAddr = leaf2 + nodeSize(n - half, keySize);
+		long[] addrs = new long[n];
+		for(int i = 0; i < n; i++) {
+			addrs[i] = dataAddr;
+			dataAddr += chunks.get(i).length;
+		}
+		ByteBuffer out = ByteBuffer.allocate((int) dataAddr).order(ByteOrder.LITTLE_ENDIAN);
+		out.put(header.array());
+		writeNode(out, 1, new long[][] {keys.get(0), keys.get(half)}, new long[] {leaf1, leaf2});
+		writeNode(out, 0, keys.subList(0, half).toArray(new long[0][]), subArray(addrs, 0, half));
+		writeNode(out, 0, keys.subList(half, n).toArray(new long[0][]), subArray(addrs, half, n));
+		for(byte[] chunk : chunks)
+			out.put(chunk);
+		return out.array();
+	}
+
+	private static void writeDataType(ByteBuffer bb, ElemType type) {
+		switch(type) {
+			case FP64:
+				return; // as written
+			case FP32:
+				bb.put((byte) 0x11).put(new byte[] {0x20, 31, 0}).putInt(4);
+				bb.putShort((short) 0).putShort((short) 32).put((byte) 23).put((byte) 8).put((byte) 0).put((byte) 23)
+					.putInt(127);
+				return;
+			case INT32:
+				bb.put((byte) 0x10).put(new byte[] {0x08, 0, 0}).putInt(4).putShort((short) 0).putShort((short) 32);
+				return;
+			case UINT16:
+				bb.put((byte) 0x10).put(new byte[] {0, 0, 0}).putInt(2).putShort((short) 0).putShort((short) 16);
+				return;
+		}
+	}
+
+	private static int nodeSize(int entries, int keySize) {
+		return 8 + 2 * 8 + entries * (keySize + 8) + keySize;
+	}
+
+	private static void writeNode(ByteBuffer out, int level, long[][] keys, long[] children) {
+		out.put("TREE".getBytes()).put((byte) 1).put((byte) level).putShort((short) keys.length);
+		out.putLong(-1).putLong(-1);
+		for(int i = 0; i < keys.length; i++) {
+			out.putInt((int) keys[i][0]).putInt((int) keys[i][1]);
+			out.putLong(keys[i][2]).putLong(keys[i][3]).putLong(0);
+			out.putLong(children[i]);
+		}
+		out.put(new byte[8 + 8 * 3]); // final key
+	}
+
+	private static long[] subArray(long[] a, int from, int to) {
+		long[] ret = new long[to - from];
+		System.arraycopy(a, from, ret, 0, ret.length);
+		return ret;
+	}
+
+	private static byte[] shuffle(byte[] data, int esize) {
+		int n = data.length / esize;
+		byte[] out = new byte[data.length];
+		for(int i = 0; i < n; i++)
+			for(int b = 0; b < esize; b++)
+				out[b * n + i] = data[i * esize + b];
+		return out;
+	}
+
+	private static byte[] deflate(byte[] data) {
+		Deflater deflater = new Deflater(6);
+		deflater.setInput(data);
+		deflater.finish();
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		byte[] buff = new byte[4096];
+		while(!deflater.finished())
+			baos.write(buff, 0, deflater.deflate(buff));
+		deflater.end();
+		return baos.toByteArray();
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.apache.sysds.runtime.util.DoubleIntHashMap;
+import org.apache.sysds.runtime.util.LongIntHashMap;
+import org.apache.sysds.runtime.util.StringIntHashMap;
+import org.junit.Test;
+
+public class PrimitiveHashMapTest {
+
+	@Test
+	public void testStringMapRandom() {
+		Random rand = new Random(7);
+		StringIntHashMap map = new StringIntHashMap();
+		HashMap<String, Integer> ref = new HashMap<>();
+		for(int i = 0; i < 100000; i++) {
+			String key = "k" + rand.nextInt(20000);
+			int val = rand.nextInt();
+			Integer old = ref.put(key, val);
+			assertEquals(old != null ? old : -1, map.put(key, val));
+		}
+		assertEquals(ref.size(), map.size());
+		for(Entry<String, Integer> e : ref.entrySet())
+			assertEquals(e.getValue().intValue(), map.get(e.getKey()));
+		assertEquals(-1, map.get("x"));
+		assertFalse(map.containsKey("x"));
+		assertEquals(ref.keySet(), map.keySet());
+	}
+
+	@Test
+	public void testStringMapInsertionOrder() {
+		StringIntHashMap map = new StringIntHashMap(2);
+		for(int i = 0; i < 1000; i++)
+			assertEquals(-1, map.putIfAbsent("v" + i, map.size() + 1));
+		assertEquals(1, map.putIfAbsent("v0", 7));
+		for(int i = 0; i < 1000; i++) {
+			assertEquals("v" + i, map.getKey(i));
+			assertEquals(i + 1, map.getValue(i));
+		}
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertEquals(-1, map.get("v3"));
+	}
+
+	@Test
+	public void testStringMapMergeNewKeys() {
+		StringIntHashMap m1 = new StringIntHashMap();
+		StringIntHashMap m2 = new StringIntHashMap();
+		for(String key : new String[] {"c", "a", "d"})
+			m1.putIfAbsent(key, m1.size() + 1);
+		for(String key : new String[] {"a", "e", "c", "b"})
+			m2.putIfAbsent(key, m2.size() + 1);
+		m1.mergeNewKeys(m2);
+		assertArrayEquals(new String[] {"c", "a", "d", "e", "b"}, m1.getKeys());
+		for(int i = 0; i < m1.size(); i++)
+			assertEquals(i + 1, m1.get(m1.getKey(i)));
+
+		StringIntHashMap m3 = new StringIntHashMap();
+		for(String key : new String[] {"b", "e", "d", "a", "c"})
+			m3.put(key, m1.get(key));
+		assertEquals(m1, m3);
+		assertEquals(m1.hashCode(), m3.hashCode());
+	}
+
+	@Test
+	public void testLongMapRandom() {
+		Random rand = new Random(3);
+		LongIntHashMap map = new LongIntHashMap();
+		HashMap<Long, Integer> ref = new HashMap<>();
+		for(int i = 0; i < 100000; i++) {
+			//keys with identical lower bits to exercise collisions
+			long key = ((long) rand.nextInt(10000)) << 32;
+			Integer old = ref.putIfAbsent(key, i);
+			assertEquals(old != null ? old : -1, map.putIfAbsent(key, i));
+		}
+		assertEquals(ref.size(), map.size());
+		for(Entry<Long, Integer> e : ref.entrySet())
+			assertEquals(e.getValue().intValue(), map.get(e.getKey()));
+		assertEquals(-1, map.get(1L));
+	}
+
+	@Test
+	public void testDoubleMapSpecialValues() {
+		DoubleIntHashMap map = new DoubleIntHashMap();
+		double[] keys = new double[] {0.0, -0.0, Double.NaN, 0.0 / 0.0, Double.POSITIVE_INFINITY,
+			Double.NEGATIVE_INFINITY, 1.5, 1.5};
+		for(double key : keys)
+			map.putIfAbsent(key, map.size());
+		//NaNs are equal, but 0.0 and -0.0 are not (as in java.util.HashSet<Double>)
+		assertEquals(6, map.size());
+		assertEquals(2, map.get(Double.NaN));
+		assertEquals(1, map.get(-0.0));
+		assertEquals(-1, map.get(2.5));
+		assertEquals(1.5, map.getKey(5), 0);
+	}
+}
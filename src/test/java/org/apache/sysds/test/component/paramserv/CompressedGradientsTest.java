@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.paramserv;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sysds.parser.Statement.PSCompression;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.paramserv.CompressedGradients;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall;
+import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcObject;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompressedGradientsTest {
+
+	private static MatrixBlock[] generateBlocks(long seed) {
+		return new MatrixBlock[] {
+			TestUtils.generateTestMatrixBlock(40, 30, -1, 1, 1.0, seed),
+			TestUtils.generateTestMatrixBlock(1, 30, -1, 1, 0.5, seed + 1)};
+	}
+
+	private static ListObject toList(MatrixBlock[] mbs) {
+		List<Data> data = Arrays.asList(
+			ParamservUtils.newMatrixObject(mbs[0], false),
+			ParamservUtils.newMatrixObject(mbs[1], false));
+		return new ListObject(data, Arrays.asList("W", "b"));
+	}
+
+	private static MatrixBlock getBlock(ListObject lo, int pos) {
+		return ((MatrixObject) lo.getData(pos)).acquireReadAndRelease();
+	}
+
+	@Test
+	public void testTopK() {
+		MatrixBlock[] mbs = generateBlocks(7);
+		MatrixBlock[] residuals = new MatrixBlock[2];
+		CompressedGradients cg = CompressedGradients.compress(toList(mbs), residuals, PSCompression.TOPK, 0.1);
+		ListObject out = cg.decompress();
+		for( int i=0; i<2; i++ ) {
+			MatrixBlock mb = getBlock(out, i);
+			int k = (int) Math.ceil(0.1 * mbs[i].getNumRows() * mbs[i].getNumColumns());
+			Assert.assertEquals(Math.min(k, mbs[i].getNonZeros()), mb.getNonZeros());
+			//retained cells are the largest, and decoded plus residual is the input
+			double minKept = Double.MAX_VALUE, maxDropped = 0;
+			for( int r=0; r<mb.getNumRows(); r++ )
+				for( int c=0; c<mb.getNumColumns(); c++ ) {
+					double v = mb.quickGetValue(r, c), e = residuals[i].quickGetValue(r, c);
+					Assert.assertEquals(mbs[i].quickGetValue(r, c), v + e, 0);
+					if( v != 0 )
+						minKept = Math.min(minKept, Math.abs(v));
+					else
+						maxDropped = Math.max(maxDropped, Math.abs(e));
+				}
+			Assert.assertTrue(minKept >= maxDropped);
+		}
+	}
+
+	@Test
+	public void testQuant8() {
+		MatrixBlock[] mbs = generateBlocks(3);
+		MatrixBlock[] residuals = new MatrixBlock[2];
+		CompressedGradients cg = CompressedGradients.compress(toList(mbs), residuals, PSCompression.QUANT8, 0);
+		ListObject out = cg.decompress();
+		for( int i=0; i<2; i++ ) {
+			double scale = (mbs[i].max() - mbs[i].min()) / 255;
+			MatrixBlock mb = getBlock(out, i);
+			for( int r=0; r<mb.getNumRows(); r++ )
+				for( int c=0; c<mb.getNumColumns(); c++ ) {
+					double v = mb.quickGetValue(r, c);
+					Assert.assertEquals(mbs[i].quickGetValue(r, c), v, scale / 2 + 1e-12);
+					Assert.assertEquals(mbs[i].quickGetValue(r, c), v + residuals[i].quickGetValue(r, c), 1e-12);
+				}
+		}
+		Assert.assertTrue(cg.getExactSerializedSize() < ParamservUtils.getExactSizeOnDisk(toList(mbs)) / 4);
+	}
+
+	@Test
+	public void testErrorFeedback() {
+		//repeated pushes of the same gradient eventually transfer every cell
+		MatrixBlock[] mbs = generateBlocks(11);
+		MatrixBlock[] residuals = new MatrixBlock[2];
+		MatrixBlock sum = new MatrixBlock(40, 30, false);
+		for( int j=0; j<10; j++ ) {
+			ListObject out = CompressedGradients.compress(toList(mbs), residuals, PSCompression.TOPK, 0.1).decompress();
+			MatrixBlock mb = getBlock(out, 0);
+			for( int r=0; r<40; r++ )
+				for( int c=0; c<30; c++ )
+					sum.quickSetValue(r, c, sum.quickGetValue(r, c) + mb.quickGetValue(r, c));
+		}
+		//sum of transferred cells plus residual equals the sum of pushed gradients
+		for( int r=0; r<40; r++ )
+			for( int c=0; c<30; c++ )
+				Assert.assertEquals(10 * mbs[0].quickGetValue(r, c),
+					sum.quickGetValue(r, c) + residuals[0].quickGetValue(r, c), 1e-9);
+	}
+
+	@Test
+	public void testSerialization() throws IOException {
+		for( PSCompression type : new PSCompression[] {PSCompression.TOPK, PSCompression.QUANT8} ) {
+			CompressedGradients cg = CompressedGradients.compress(
+				toList(generateBlocks(5)), new MatrixBlock[2], type, 0.2);
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			cg.write(new DataOutputStream(bos));
+			Assert.assertEquals(cg.getExactSerializedSize(), bos.size());
+			CompressedGradients cg2 = CompressedGradients.read(
+				new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+			ListObject lo1 = cg.decompress(), lo2 = cg2.decompress();
+			Assert.assertEquals(lo1.getNames(), lo2.getNames());
+			for( int i=0; i<2; i++ )
+				TestUtils.compareMatrices(getBlock(lo1, i), getBlock(lo2, i), 0);
+		}
+	}
+
+	@Test
+	public void testPSRpcCallCompressed() throws IOException {
+		CompressedGradients cg = CompressedGradients.compress(
+			toList(generateBlocks(9)), new MatrixBlock[2], PSCompression.TOPK, 0.05);
+		PSRpcCall call = new PSRpcCall(new PSRpcCall(2, cg).serialize());
+		Assert.assertEquals(PSRpcObject.PUSH_COMPRESSED, call.getMethod());
+		Assert.assertEquals(2, call.getWorkerID());
+		ListObject expected = cg.decompress();
+		for( int i=0; i<2; i++ )
+			TestUtils.compareMatrices(getBlock(expected, i), getBlock(call.getData(), i), 0);
+		//uncompressed volume is the dense size, not the size of the sparse decoded gradients
+		Assert.assertEquals(8L * (40 * 30 + 30), cg.getUncompressedSize());
+		Assert.assertEquals(8 + cg.getUncompressedSize(), call.getUncompressedSize());
+		Assert.assertTrue(ParamservUtils.getExactSizeOnDisk(call.getData()) < cg.getUncompressedSize());
+	}
+}
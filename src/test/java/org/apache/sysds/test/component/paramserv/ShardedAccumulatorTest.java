@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.paramserv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.controlprogram.paramserv.ShardedAccumulator;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.test.TestUtils;
+
+public class ShardedAccumulatorTest {
+	private static final int NUM_WORKERS = 4;
+	private static final int NUM_PUSHES = 25;
+	private static final BinaryOperator PLUS = new BinaryOperator(Plus.getPlusFnObject());
+
+	@Test
+	public void testConcurrentAccrue() throws Exception {
+		ShardedAccumulator acc = new ShardedAccumulator();
+		MatrixBlock[] expected = new MatrixBlock[] {new MatrixBlock(30, 20, 0d),
+			new MatrixBlock(1, 20, 0d), new MatrixBlock(20, 10, 0d)};
+		List<ListObject> pushes = new ArrayList<>();
+		for(int i = 0; i < NUM_WORKERS * NUM_PUSHES; i++) {
+			ListObject lo = createGradients(expected, i);
+			for(int j = 0; j < expected.length; j++)
+				expected[j] = expected[j].binaryOperationsInPlace(PLUS,
+					((MatrixObject) lo.getData().get(j)).acquireReadAndRelease());
+			pushes.add(copy(lo));
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(NUM_WORKERS);
+		try {
+			List<Future<?>> rets = new ArrayList<>();
+			for(int w = 0; w < NUM_WORKERS; w++) {
+				final int workerID = w;
+				rets.add(pool.submit(() -> {
+					for(int i = workerID; i < pushes.size(); i += NUM_WORKERS)
+						acc.accrue(workerID, pushes.get(i), false);
+				}));
+			}
+			for(Future<?> ret : rets)
+				ret.get();
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		Assert.assertEquals(pushes.size(), acc.getCount());
+		ListObject result = acc.drain();
+		Assert.assertEquals(Arrays.asList("W1", "b1", "W2"), result.getNames());
+		for(int j = 0; j < expected.length; j++)
+			TestUtils.compareMatrices(expected[j],
+				((MatrixObject) result.getData().get(j)).acquireReadAndRelease(), 1e-9);
+
+		// drained accumulator starts the next round from scratch
+		Assert.assertEquals(0, acc.getCount());
+		Assert.assertNull(acc.drain());
+	}
+
+	private static ListObject createGradients(MatrixBlock[] shapes, int seed) {
+		List<Data> data = new ArrayList<>();
+		for(int j = 0; j < shapes.length; j++)
+			data.add(ParamservUtils.newMatrixObject(MatrixBlock.randOperations(
+				shapes[j].getNumRows(), shapes[j].getNumColumns(), 0.7, -1, 1, "uniform", seed * 7 + j)));
+		return new ListObject(data, Arrays.asList("W1", "b1", "W2"));
+	}
+
+	private static ListObject copy(ListObject lo) {
+		//deep copy, because the accumulator adds in-place into the first pushed matrices
+		List<Data> data = new ArrayList<>();
+		for(int j = 0; j < lo.getLength(); j++)
+			data.add(ParamservUtils.newMatrixObject(new MatrixBlock(
+				((MatrixObject) lo.getData().get(j)).acquireReadAndRelease())));
+		return new ListObject(data, lo.getNames());
+	}
+}
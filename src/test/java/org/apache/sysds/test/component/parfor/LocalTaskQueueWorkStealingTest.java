@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.parfor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueueWorkStealing;
+import org.apache.sysds.runtime.controlprogram.parfor.Task;
+import org.apache.sysds.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitioner;
+import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerStatic;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocalTaskQueueWorkStealingTest {
+
+	@Test
+	public void testRangeTasksUniform() throws InterruptedException {
+		runWorkStealingTest(1, 10000, 1, 4, 1, false);
+	}
+
+	@Test
+	public void testRangeTasksSkewed() throws InterruptedException {
+		runWorkStealingTest(1, 2000, 1, 4, 3, true);
+	}
+
+	@Test
+	public void testRangeTasksIncrement() throws InterruptedException {
+		runWorkStealingTest(3, 5003, 7, 3, 2, true);
+	}
+
+	@Test
+	public void testSetTasks() throws InterruptedException {
+		//less than four iterations per worker create set tasks
+		runWorkStealingTest(1, 14, 1, 4, 1, true);
+	}
+
+	@Test
+	public void testSkewedWorkersBalanced() throws InterruptedException {
+		//deterministic single-threaded schedule: worker 0 takes its first chunk
+		//and stalls, while the other workers drain their own deques and then
+		//steal the rest of worker 0's static range
+		LocalTaskQueueWorkStealing queue = new LocalTaskQueueWorkStealing(4, 1);
+		TaskPartitioner tp = new TaskPartitionerStatic(1, 4, "i",
+			new IntObject(1), new IntObject(400), new IntObject(1));
+		long numCreated = tp.createTasks(queue);
+		int[] counts = new int[400];
+		long[] iters = new long[4];
+		long numTasks = 0;
+
+		Task t = queue.getWorkerQueue(0).dequeueTask();
+		numTasks++;
+		for( long i : getIterations(t) ) {
+			counts[(int) i - 1]++;
+			iters[0]++;
+		}
+		boolean done = false;
+		while( !done ) {
+			done = true;
+			for( int k=1; k<4; k++ ) {
+				t = queue.getWorkerQueue(k).dequeueTask();
+				if( t == LocalTaskQueue.NO_MORE_TASKS )
+					continue;
+				done = false;
+				numTasks++;
+				for( long i : getIterations(t) ) {
+					counts[(int) i - 1]++;
+					iters[k]++;
+				}
+			}
+		}
+		Assert.assertEquals(LocalTaskQueue.NO_MORE_TASKS, queue.getWorkerQueue(0).dequeueTask());
+
+		//every iteration executed exactly once, and all tasks accounted for
+		for( int i=0; i<400; i++ )
+			Assert.assertEquals("iteration "+(i+1), 1, counts[i]);
+		Assert.assertEquals(numCreated + queue.getNumSplits(), numTasks);
+		//without stealing, worker 0 executes exactly 100 iterations
+		Assert.assertEquals(1, iters[0]);
+		for( int k=1; k<4; k++ )
+			Assert.assertTrue(iters[k] > 100);
+	}
+
+	private static void runWorkStealingTest(long from, long to, long incr, int k, long chunk, boolean skewed)
+		throws InterruptedException
+	{
+		LocalTaskQueueWorkStealing queue = new LocalTaskQueueWorkStealing(k, chunk);
+		TaskPartitioner tp = new TaskPartitionerStatic(chunk, k, "i",
+			new IntObject(from), new IntObject(to), new IntObject(incr));
+		int n = (int) tp.getNumIterations();
+		AtomicIntegerArray counts = new AtomicIntegerArray(n);
+		AtomicLong numTasks = new AtomicLong();
+
+		//start workers before task creation (streaming task creation)
+		Thread[] threads = new Thread[k];
+		for( int i=0; i<k; i++ ) {
+			final LocalTaskQueue<Task> wqueue = queue.getWorkerQueue(i);
+			threads[i] = new Thread(() -> {
+				try {
+					Task t;
+					while( (t = wqueue.dequeueTask()) != LocalTaskQueue.NO_MORE_TASKS ) {
+						numTasks.incrementAndGet();
+						for( long j : getIterations(t) ) {
+							counts.incrementAndGet((int) ((j - from) / incr));
+							if( skewed && j < from + n / 8 * incr )
+								Thread.sleep(1);
+						}
+					}
+				}
+				catch(InterruptedException ex) {
+					throw new RuntimeException(ex);
+				}
+			});
+			threads[i].start();
+		}
+		long numCreated = tp.createTasks(queue);
+		for( Thread t : threads )
+			t.join();
+
+		//every iteration executed exactly once, and all tasks accounted for
+		for( int i=0; i<n; i++ )
+			Assert.assertEquals("iteration "+i, 1, counts.get(i));
+		Assert.assertEquals(numCreated + queue.getNumSplits(), numTasks.get());
+	}
+
+	private static List<Long> getIterations(Task t) {
+		List<Long> ret = new ArrayList<>();
+		List<IntObject> it = t.getIterations();
+		if( t.getType() == TaskType.SET )
+			it.forEach(io -> ret.add(io.getLongValue()));
+		else
+			for( long i=it.get(0).getLongValue(); i<=it.get(1).getLongValue(); i+=it.get(2).getLongValue() )
+				ret.add(i);
+		return ret;
+	}
+}
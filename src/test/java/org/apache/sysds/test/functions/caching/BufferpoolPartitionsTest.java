@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.caching;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+
+public class BufferpoolPartitionsTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "BufferpoolPartitions";
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + BufferpoolPartitionsTest.class.getSimpleName() + "/";
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R", "E" }) ); 
+	}
+	
+	@Test
+	public void testParforWorkerPartitions() {
+		runTestBufferpoolPartitions(1000, 100, 64);
+	}
+	
+	private void runTestBufferpoolPartitions(int rows, int cols, int iters) {
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[]{"-stats", "-args", Integer.toString(rows),
+			Integer.toString(cols), Integer.toString(iters), output("R"), output("E")};
+		
+		runTest(true, false, null, -1);
+		
+		//check correct results and per-worker buffer pool statistics
+		HashMap<CellIndex, Double> R = readDMLMatrixFromOutputDir("R");
+		HashMap<CellIndex, Double> E = readDMLMatrixFromOutputDir("E");
+		TestUtils.compareMatrices(R, E, 1e-8, "Stat-DML", "Stat-Expected");
+		Assert.assertTrue(CacheStatistics.hasWorkerStats());
+		Assert.assertTrue(CacheStatistics.getFSBuffWrites() > 0);
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.caching;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+
+public class UnifiedMemoryManagerTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "UnifiedMemoryManager";
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + UnifiedMemoryManagerTest.class.getSimpleName() + "/";
+	private final static File TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, "SystemDS-config-umm.xml");
+	
+	private boolean _umm = false;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) ); 
+	}
+	
+	@Test
+	public void testStaticVsUnified() {
+		HashMap<CellIndex, Double> R1 = runTestUMM(false, 2000, 500);
+		HashMap<CellIndex, Double> R2 = runTestUMM(true, 2000, 500);
+		TestUtils.compareMatrices(R1, R2, 1e-10, "Static", "Unified");
+	}
+	
+	private HashMap<CellIndex, Double> runTestUMM(boolean umm, int rows, int cols) {
+		_umm = umm;
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[]{"-stats", "-args",
+			Integer.toString(rows), Integer.toString(cols), output("R")};
+		
+		runTest(true, false, null, -1);
+		Assert.assertTrue(CacheStatistics.getFSBuffWrites() > 0);
+		return readDMLMatrixFromOutputDir("R");
+	}
+	
+	@Override
+	protected File getConfigTemplateFile() {
+		return _umm ? TEST_CONF_FILE : super.getConfigTemplateFile();
+	}
+}
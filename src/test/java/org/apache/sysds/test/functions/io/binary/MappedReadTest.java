@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.io.binary;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.MappedBinaryBlock;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+
+public class MappedReadTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "MappedReadTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + MappedReadTest.class.getSimpleName() + "/";
+	
+	public static int rows1 = 2746;
+	public static int cols1 = 1586;
+	public static int cols2 = 4;
+	
+	private final static double eps = 1e-14;
+
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );  
+	}
+	
+	@Test
+	public void testEmptyBlock() {
+		runMappedReadTest( rows1, cols1, 0.0 );
+	}
+	
+	@Test
+	public void testDenseBlock() {
+		runMappedReadTest( rows1, cols1, 1.0 );
+	}
+	
+	@Test
+	public void testDenseSkinnyBlock() {
+		runMappedReadTest( rows1, cols2, 0.7 );
+	}
+	
+	@Test
+	public void testSparseBlock() {
+		runMappedReadTest( rows1, cols1, 0.1 );
+	}
+	
+	@Test
+	public void testUltraSparseBlock() {
+		runMappedReadTest( rows1, cols1, 0.0001 );
+	}
+
+	private void runMappedReadTest( int rows, int cols, double sparsity ) 
+	{
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", input("X"), output("X") };
+	
+			//write dataset in memory-mappable layout
+			double[][] X = getRandomMatrix(rows, cols, -1.0, 1.0, sparsity, 7); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000);
+			DMLConfig conf2 = new DMLConfig();
+			conf2.setTextValue(DMLConfig.BINARY_MMAP, "true");
+			ConfigurationManager.setLocalConfig(conf2);
+			DataConverter.writeMatrixToHDFS(mb, input("X"), FileFormat.BINARY, mc);
+			ConfigurationManager.setLocalConfig(conf);
+			HDFSTool.writeMetaDataFile(input("X.mtd"), ValueType.FP64, mc, FileFormat.BINARY);
+			
+			Path path = new Path(input("X"));
+			FileSystem fs = IOUtilFunctions.getFileSystem(path);
+			Assert.assertTrue(MappedBinaryBlock.isMappedFile(fs, path));
+			
+			//direct reads via sequential and parallel readers
+			MatrixBlock mb1 = new ReaderBinaryBlock(false)
+				.readMatrixFromHDFS(input("X"), rows, cols, 1000, mb.getNonZeros());
+			MatrixBlock mb2 = new ReaderBinaryBlockParallel(false)
+				.readMatrixFromHDFS(input("X"), rows, cols, 1000, mb.getNonZeros());
+			TestUtils.compareMatrices(mb, mb1, 0);
+			TestUtils.compareMatrices(mb, mb2, 0);
+			Assert.assertEquals(mb.getNonZeros(), mb1.getNonZeros());
+			Assert.assertEquals(mb.isInSparseFormat(), mb1.isInSparseFormat());
+			
+			//end-to-end read and write (sequence file) through dml script
+			runTest(true, false, null, -1); //mult 7
+			Assert.assertFalse(MappedBinaryBlock.isMappedFile(fs, new Path(output("X"))));
+			MatrixBlock mb3 = DataConverter.readMatrixFromHDFS(output("X"), FileFormat.BINARY, rows, cols, 1000, 1000);
+			for( int i=0; i<mb.getNumRows(); i++ )
+				for( int j=0; j<mb.getNumColumns(); j++ )
+					Assert.assertEquals(mb.quickGetValue(i, j) * 7, mb3.quickGetValue(i, j), eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			ConfigurationManager.setLocalConfig(conf);
+		}
+	}
+}
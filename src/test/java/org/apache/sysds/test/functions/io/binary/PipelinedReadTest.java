@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.io.binary;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.SequenceFile.CompressionType;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PipelinedReadTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "PipelinedReadTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + PipelinedReadTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1050;
+	private final static int cols1 = 730;
+	private final static int cols2 = 70;
+	private final static int blen = 100;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+	
+	@Test
+	public void testDense() throws IOException {
+		runPipelinedReadTest(cols1, 0.9, 3, false);
+	}
+	
+	@Test
+	public void testDenseSkinny() throws IOException {
+		runPipelinedReadTest(cols2, 0.9, 2, false);
+	}
+	
+	@Test
+	public void testSparseWide() throws IOException {
+		runPipelinedReadTest(cols1, 0.05, 4, false);
+	}
+	
+	@Test
+	public void testSparseSkinny() throws IOException {
+		runPipelinedReadTest(cols2, 0.05, 3, false);
+	}
+	
+	@Test
+	public void testSparseCompressedParts() throws IOException {
+		runPipelinedReadTest(cols1, 0.05, 3, true);
+	}
+	
+	@Test
+	public void testDenseSinglePart() throws IOException {
+		runPipelinedReadTest(cols1, 0.9, 1, false);
+	}
+
+	private void runPipelinedReadTest(int cols, double sparsity, int numParts, boolean compress) throws IOException {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		try {
+			getAndLoadTestConfiguration(TEST_NAME);
+			MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+			String fname = input("X");
+			writeParts(mb, fname, numParts, compress);
+			
+			//pipelined read (default)
+			MatrixBlock mb1 = new ReaderBinaryBlockParallel(false)
+				.readMatrixFromHDFS(fname, rows, cols, blen, mb.getNonZeros());
+			
+			//read w/ one task per part file
+			DMLConfig conf2 = new DMLConfig();
+			conf2.setTextValue(DMLConfig.BINARY_PIPELINED_READ, "false");
+			ConfigurationManager.setLocalConfig(conf2);
+			MatrixBlock mb2 = new ReaderBinaryBlockParallel(false)
+				.readMatrixFromHDFS(fname, rows, cols, blen, mb.getNonZeros());
+			
+			TestUtils.compareMatrices(mb, mb1, 0);
+			TestUtils.compareMatrices(mb, mb2, 0);
+			Assert.assertEquals(mb.getNonZeros(), mb1.getNonZeros());
+			Assert.assertEquals(mb2.isInSparseFormat(), mb1.isInSparseFormat());
+		}
+		finally {
+			ConfigurationManager.setLocalConfig(conf);
+		}
+	}
+	
+	private static void writeParts(MatrixBlock mb, String fname, int numParts, boolean compress) throws IOException {
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+		new File(fname).mkdirs();
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		SequenceFile.Writer[] writers = new SequenceFile.Writer[numParts];
+		for( int p=0; p<numParts; p++ ) {
+			writers[p] = SequenceFile.createWriter(job, 
+				SequenceFile.Writer.file(new Path(fname + "/0-m-0000" + p)),
+				SequenceFile.Writer.keyClass(MatrixIndexes.class),
+				SequenceFile.Writer.valueClass(MatrixBlock.class),
+				compress ? SequenceFile.Writer.compression(CompressionType.RECORD, new DefaultCodec()) :
+					SequenceFile.Writer.compression(CompressionType.NONE));
+		}
+		//distribute blocks round-robin over part files
+		int pos = 0;
+		for( int i=0; i<mb.getNumRows(); i+=blen )
+			for( int j=0; j<mb.getNumColumns(); j+=blen ) {
+				MatrixBlock block = mb.slice(i, Math.min(i+blen, mb.getNumRows())-1,
+					j, Math.min(j+blen, mb.getNumColumns())-1);
+				writers[pos++ % numParts].append(new MatrixIndexes(i/blen+1, j/blen+1), block);
+			}
+		for( SequenceFile.Writer writer : writers )
+			writer.close();
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.io.columnar;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.FileFormatPropertiesColumnar;
+import org.apache.sysds.runtime.io.FrameReaderColumnar;
+import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.io.FrameWriterColumnar;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class FrameReaderWriterColumnarTest extends AutomatedTestBase {
+	private final static String TEST_NAME = "ColumnarProjectTest";
+	private final static String TEST_DIR = "functions/io/columnar/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FrameReaderWriterColumnarTest.class.getSimpleName() + "/";
+	private static final long SEED = 4669201;
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"F"}));
+	}
+
+	@Test
+	public void testRoundtripSingleRowGroup() throws IOException {
+		runRoundtripTest(42, 17, FileFormatPropertiesColumnar.DEFAULT_ROW_GROUP_SIZE);
+	}
+
+	@Test
+	public void testRoundtripMultipleRowGroups() throws IOException {
+		runRoundtripTest(694, 23, 100);
+	}
+
+	@Test
+	public void testRoundtripSingleRow() throws IOException {
+		runRoundtripTest(1, 5, 7);
+	}
+
+	@Test
+	public void testProjectionAndRowRange() throws IOException {
+		FrameBlock fb = createFrame(500, 8);
+		String fname = writeFrame(fb, 64);
+		FileFormatPropertiesColumnar props = new FileFormatPropertiesColumnar("7,2,4", 100, 300);
+		FrameBlock ret = FrameReaderFactory.createFrameReader(FileFormat.COLUMNAR, props)
+			.readFrameFromHDFS(fname, fb.getSchema(), -1, -1);
+		compareFrames(project(fb, new int[] {6, 1, 3}, 99, 300), ret);
+		assertArrayEquals(new String[] {fb.getColumnName(6), fb.getColumnName(1), fb.getColumnName(3)},
+			ret.getColumnNames());
+	}
+
+	@Test
+	public void testRowRangeBeyondEnd() throws IOException {
+		FrameBlock fb = createFrame(300, 4);
+		String fname = writeFrame(fb, 50);
+		FileFormatPropertiesColumnar props = new FileFormatPropertiesColumnar(null, 251, 1000);
+		FrameBlock ret = new FrameReaderColumnar(props).readFrameFromHDFS(fname, fb.getSchema(), -1, -1);
+		compareFrames(project(fb, new int[] {0, 1, 2, 3}, 250, 300), ret);
+	}
+
+	@Test
+	public void testPredicatePushdown() throws IOException {
+		// sorted column such that most row groups are pruned by min/max statistics
+		int rows = 1000;
+		long[] key = new long[rows];
+		String[] val = new String[rows];
+		for(int i = 0; i < rows; i++) {
+			key[i] = i;
+			val[i] = (i % 10 == 0) ? null : "v" + (i % 7);
+		}
+		FrameBlock fb = new FrameBlock();
+		fb.appendColumn(key);
+		fb.appendColumn(val);
+		String fname = writeFrame(fb, 64);
+
+		FileFormatPropertiesColumnar props = new FileFormatPropertiesColumnar();
+		props.setPredicate(0, 310.5, 420);
+		props.setProjection(new int[] {1, 0});
+		FrameBlock ret = new FrameReaderColumnar(props).readFrameFromHDFS(fname, fb.getSchema(), -1, -1);
+		compareFrames(project(fb, new int[] {1, 0}, 311, 421), ret);
+	}
+
+	@Test
+	public void testDictionaryAndPlainStrings() throws IOException {
+		int rows = 700;
+		String[] dict = new String[rows];
+		String[] plain = new String[rows];
+		String[] large = new String[rows];
+		for(int i = 0; i < rows; i++) {
+			dict[i] = (i % 13 == 0) ? null : "cat" + (i % 5);
+			plain[i] = (i % 17 == 0) ? null : "uniqueä" + i;
+			large[i] = "k" + (i % 300); // two-byte codes
+		}
+		FrameBlock fb = new FrameBlock();
+		fb.appendColumn(dict);
+		fb.appendColumn(plain);
+		fb.appendColumn(large);
+		String fname = writeFrame(fb, 700);
+		FrameBlock ret = new FrameReaderColumnar().readFrameFromHDFS(fname, fb.getSchema(), rows, 3);
+		compareFrames(fb, ret);
+		assertTrue(ret.get(0, 0) == null && ret.get(0, 1) == null);
+	}
+
+	@Test
+	public void testReadFromInputStream() throws IOException {
+		FrameBlock fb = createFrame(200, 6);
+		String fname = writeFrame(fb, 32);
+		FileFormatPropertiesColumnar props = new FileFormatPropertiesColumnar("1,6", 5, 150);
+		try(InputStream is = new FileInputStream(fname)) {
+			FrameBlock ret = new FrameReaderColumnar(props).readFrameFromInputStream(is, fb.getSchema(), -1, -1);
+			compareFrames(project(fb, new int[] {0, 5}, 4, 150), ret);
+		}
+	}
+
+	@Test
+	public void testReadProjectionDML() throws IOException {
+		getAndLoadTestConfiguration(TEST_NAME);
+		fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml";
+		FrameBlock fb = createFrame(400, 7);
+		String fname = input("F");
+		new FrameWriterColumnar(new FileFormatPropertiesColumnar(50)).writeFrameToHDFS(fb, fname, 400, 7);
+		HDFSTool.writeMetaDataFile(fname + ".mtd", null, fb.getSchema(), DataType.FRAME,
+			new MatrixCharacteristics(400, 7, -1), FileFormat.COLUMNAR);
+
+		programArgs = new String[] {"-args", fname, "5,2,3", "21", "260", output("F")};
+		runTest(true, false, null, -1);
+
+		FrameBlock ret = new FrameReaderColumnar().readFrameFromHDFS(output("F"), fb.getSchema(), -1, -1);
+		compareFrames(project(fb, new int[] {4, 1, 2}, 20, 260), ret);
+	}
+
+	private static void runRoundtripTest(int rows, int cols, int rgsize) throws IOException {
+		FrameBlock fb = createFrame(rows, cols);
+		String fname = writeFrame(fb, rgsize);
+		FrameBlock ret = FrameReaderFactory.createFrameReader(FileFormat.COLUMNAR)
+			.readFrameFromHDFS(fname, fb.getSchema(), rows, cols);
+		compareFrames(fb, ret);
+	}
+
+	private static FrameBlock createFrame(int rows, int cols) {
+		Random random = new Random(SEED);
+		ValueType[] schema = TestUtils.generateRandomSchema(cols, random);
+		return TestUtils.generateRandomFrameBlock(rows, cols, schema, random);
+	}
+
+	private static String writeFrame(FrameBlock fb, int rgsize) throws IOException {
+		String fname = "target/testTemp/" + TEST_CLASS_DIR + "in.col";
+		new FrameWriterColumnar(new FileFormatPropertiesColumnar(rgsize))
+			.writeFrameToHDFS(fb, fname, fb.getNumRows(), fb.getNumColumns());
+		return fname;
+	}
+
+	private static FrameBlock project(FrameBlock fb, int[] cols, int rl, int ru) {
+		FrameBlock ret = new FrameBlock();
+		for(int c : cols) {
+			String[] col = new String[ru - rl];
+			for(int i = rl; i < ru; i++)
+				col[i - rl] = (fb.get(i, c) != null) ? fb.get(i, c).toString() : null;
+			ret.appendColumn(col);
+		}
+		return ret;
+	}
+
+	private static void compareFrames(FrameBlock expected, FrameBlock actual) {
+		assertEquals(expected.getNumRows(), actual.getNumRows());
+		assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		String[][] sexpected = DataConverter.convertToStringFrame(expected);
+		String[][] sactual = DataConverter.convertToStringFrame(actual);
+		TestUtils.compareFrames(sexpected, sactual, expected.getNumRows(), expected.getNumColumns());
+	}
+}
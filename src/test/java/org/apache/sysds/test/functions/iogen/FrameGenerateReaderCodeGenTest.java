@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.iogen;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.FrameReader;
+import org.apache.sysds.runtime.iogen.FrameCodeGenReader;
+import org.apache.sysds.runtime.iogen.GenerateReader;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrameGenerateReaderCodeGenTest extends AutomatedTestBase {
+
+	private final static String TEST_NAME = "FrameGenerateReaderCodeGenTest";
+	private final static String TEST_DIR = "functions/iogen/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FrameGenerateReaderCodeGenTest.class.getSimpleName() + "/";
+
+	private final static ValueType[] MIXED = {ValueType.STRING, ValueType.INT64, ValueType.FP64, ValueType.BOOLEAN};
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"Y"}));
+	}
+
+	@Test
+	public void testCSVMixed() throws Exception {
+		String[][] data = getRandomData(MIXED, 200, 7);
+		runCodeGenReaderTest(toCSV(data, ","), MIXED, data);
+	}
+
+	@Test
+	public void testCSVMultiCharDelim() throws Exception {
+		String[][] data = getRandomData(MIXED, 100, 3);
+		runCodeGenReaderTest(toCSV(data, ";;"), MIXED, data);
+	}
+
+	@Test
+	public void testLibSVM() throws Exception {
+		ValueType[] schema = getNumericSchema(11);
+		String[][] data = getRandomData(schema, 100, 7);
+		runCodeGenReaderTest(toLibSVM(data, 0, " ", ":"), schema, data);
+	}
+
+	@Test
+	public void testLibSVMFirstIndexOne() throws Exception {
+		ValueType[] schema = getNumericSchema(11);
+		String[][] data = getRandomData(schema, 100, 5);
+		data[0][schema.length - 2] = "3"; //last feature set, distinct from label
+		runCodeGenReaderTest(toLibSVM(data, 1, ",,", "::"), schema, data);
+	}
+
+	@Test
+	public void testMatrixMarket() throws Exception {
+		ValueType[] schema = getNumericSchema(10);
+		String[][] data = getRandomData(schema, 100, 7);
+		runCodeGenReaderTest(toMM(data, 1, ","), schema, data);
+	}
+
+	private void runCodeGenReaderTest(String raw, ValueType[] schema, String[][] expected) throws Exception {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		String fname = input("data.raw");
+		new File(inputDir()).mkdirs();
+		writeRawString(raw, fname);
+
+		FrameBlock sample = new FrameBlock(schema, expected);
+		FrameReader reader = new GenerateReader.GenerateReaderFrame(raw, sample).getReader();
+		Assert.assertTrue(reader instanceof FrameCodeGenReader);
+		FrameBlock ret = reader.readFrameFromHDFS(fname, schema, sample.getColumnNames(), -1, schema.length);
+		Assert.assertEquals(expected.length, ret.getNumRows());
+		for(int r = 0; r < expected.length; r++)
+			for(int c = 0; c < schema.length; c++)
+				Assert.assertEquals("Mismatch at (" + r + "," + c + ")", sample.get(r, c), ret.get(r, c));
+	}
+
+	private static ValueType[] getNumericSchema(int ncol) {
+		ValueType[] ret = new ValueType[ncol];
+		for(int c = 0; c < ncol; c++)
+			ret[c] = (c % 2 == 0) ? ValueType.FP64 : ValueType.INT64;
+		return ret;
+	}
+
+	private static String[][] getRandomData(ValueType[] schema, int nrow, long seed) {
+		Random rand = new Random(seed);
+		String[][] ret = new String[nrow][schema.length];
+		for(int r = 0; r < nrow; r++) {
+			for(int c = 0; c < schema.length; c++) {
+				boolean zero = rand.nextDouble() < 0.3;
+				switch(schema[c]) {
+					case STRING:
+						ret[r][c] = "str" + rand.nextInt(10000); break;
+					case INT64:
+						ret[r][c] = String.valueOf(zero ? 0 : rand.nextInt(2000) - 1000); break;
+					case FP64:
+						ret[r][c] = String.valueOf(zero ? 0 : rand.nextDouble() * 20 - 10); break;
+					default:
+						ret[r][c] = String.valueOf(rand.nextBoolean());
+				}
+			}
+		}
+		//libsvm and matrix market require a non-empty last cell
+		ret[nrow - 1][schema.length - 1] = "1";
+		return ret;
+	}
+
+	private static String toCSV(String[][] data, String delim) {
+		StringBuilder sb = new StringBuilder();
+		for(String[] row : data)
+			sb.append(String.join(delim, row)).append("\n");
+		return sb.toString();
+	}
+
+	private static String toLibSVM(String[][] data, int firstIndex, String delim, String indexDelim) {
+		//labels are read into the last column
+		StringBuilder sb = new StringBuilder();
+		for(String[] row : data) {
+			int clen = row.length;
+			sb.append(row[clen - 1]);
+			for(int c = 0; c < clen - 1; c++)
+				if(!isZero(row[c]))
+					sb.append(delim).append(c + firstIndex).append(indexDelim).append(row[c]);
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	private static String toMM(String[][] data, int firstIndex, String delim) {
+		StringBuilder sb = new StringBuilder();
+		for(int r = 0; r < data.length; r++)
+			for(int c = 0; c < data[r].length; c++)
+				if(!isZero(data[r][c]))
+					sb.append(r + firstIndex).append(delim).append(c + firstIndex).append(delim).append(data[r][c])
+						.append("\n");
+		return sb.toString();
+	}
+
+	private static boolean isZero(String val) {
+		return Double.parseDouble(val) == 0;
+	}
+
+	private static void writeRawString(String raw, String fileName) throws IOException {
+		try(BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
+			writer.write(raw);
+		}
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.iogen;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.iogen.GenerateReader;
+import org.apache.sysds.runtime.iogen.MatrixCodeGenReader;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MatrixGenerateReaderCodeGenTest extends AutomatedTestBase {
+
+	private final static String TEST_NAME = "MatrixGenerateReaderCodeGenTest";
+	private final static String TEST_DIR = "functions/iogen/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + MatrixGenerateReaderCodeGenTest.class.getSimpleName() + "/";
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"Y"}));
+	}
+
+	@Test
+	public void testCSVDense() throws Exception {
+		double[][] data = getRandomMatrix(200, 10, -10, 10, 1, 7);
+		runCodeGenReaderTest(toCSV(data, ",", null), data);
+	}
+
+	@Test
+	public void testCSVSparseNAStrings() throws Exception {
+		double[][] data = getRandomMatrix(200, 50, -10, 10, 0.1, 7);
+		runCodeGenReaderTest(toCSV(data, ",", "NA"), data);
+	}
+
+	@Test
+	public void testCSVMultiCharDelim() throws Exception {
+		double[][] data = getRandomMatrix(100, 10, -10, 10, 0.7, 3);
+		runCodeGenReaderTest(toCSV(data, ",,,", null), data);
+	}
+
+	@Test
+	public void testLibSVM() throws Exception {
+		double[][] data = getRandomMatrix(100, 20, -10, 10, 0.3, 7);
+		runCodeGenReaderTest(toLibSVM(data, 0, " ", ":"), withLabels(data));
+	}
+
+	@Test
+	public void testLibSVMFirstIndexOne() throws Exception {
+		double[][] data = getRandomMatrix(100, 20, -10, 10, 0.3, 7);
+		runCodeGenReaderTest(toLibSVM(data, 1, ",,", "::"), withLabels(data));
+	}
+
+	@Test
+	public void testLibSVMUnsortedFeatures() throws Exception {
+		double[][] data = getRandomMatrix(100, 20, -10, 10, 0.3, 7);
+		MatrixBlock sample = DataConverter.convertToMatrixBlock(withLabels(data));
+		MatrixReader reader = new GenerateReader.GenerateReaderMatrix(toLibSVM(data, 0, " ", ":"), sample).getReader();
+		Assert.assertTrue(reader instanceof MatrixCodeGenReader);
+
+		//read features in descending order, sparse rows still sorted
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		String fname = input("data.raw");
+		new File(inputDir()).mkdirs();
+		writeRawString(toLibSVMReversed(data, " ", ":"), fname);
+		MatrixBlock ret = reader.readMatrixFromHDFS(fname, -1, data[0].length + 1, -1, -1);
+		TestUtils.compareMatrices(withLabels(data), DataConverter.convertToDoubleMatrix(ret), 1e-10);
+		Assert.assertEquals(sample.getNonZeros(), ret.getNonZeros());
+		assertSortedRows(ret);
+	}
+
+	@Test
+	public void testMatrixMarket() throws Exception {
+		double[][] data = getRandomMatrix(100, 30, -10, 10, 0.2, 7);
+		data[data.length - 1][data[0].length - 1] = 1; //last row non-empty
+		runCodeGenReaderTest(toMM(data, 1, " "), data);
+	}
+
+	@Test
+	public void testMatrixMarketMultiCharDelim() throws Exception {
+		double[][] data = getRandomMatrix(50, 50, -10, 10, 0.5, 7);
+		data[data.length - 1][data[0].length - 1] = 1; //last row non-empty
+		runCodeGenReaderTest(toMM(data, 0, "   ,"), data);
+	}
+
+	private void runCodeGenReaderTest(String raw, double[][] expected) throws Exception {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		String fname = input("data.raw");
+		new File(inputDir()).mkdirs();
+		writeRawString(raw, fname);
+
+		MatrixBlock sample = DataConverter.convertToMatrixBlock(expected);
+		MatrixReader reader = new GenerateReader.GenerateReaderMatrix(raw, sample).getReader();
+		Assert.assertTrue(reader instanceof MatrixCodeGenReader);
+		MatrixBlock ret = reader.readMatrixFromHDFS(fname, -1, expected[0].length, -1, -1);
+		TestUtils.compareMatrices(expected, DataConverter.convertToDoubleMatrix(ret), 1e-10);
+		Assert.assertEquals(sample.getNonZeros(), ret.getNonZeros());
+		assertSortedRows(ret);
+	}
+
+	private static void assertSortedRows(MatrixBlock mb) {
+		if(!mb.isInSparseFormat() || mb.isEmptyBlock(false))
+			return;
+		SparseBlock sb = mb.getSparseBlock();
+		for(int r = 0; r < mb.getNumRows(); r++) {
+			if(sb.isEmpty(r))
+				continue;
+			int[] aix = sb.indexes(r);
+			for(int k = sb.pos(r) + 1; k < sb.pos(r) + sb.size(r); k++)
+				Assert.assertTrue("Unsorted row " + r, aix[k - 1] < aix[k]);
+		}
+	}
+
+	private static String toCSV(double[][] data, String delim, String na) {
+		StringBuilder sb = new StringBuilder();
+		for(double[] row : data) {
+			for(int c = 0; c < row.length; c++) {
+				if(c > 0)
+					sb.append(delim);
+				sb.append(row[c] == 0 && na != null ? na : String.valueOf(row[c]));
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	private static String toLibSVM(double[][] data, int firstIndex, String delim, String indexDelim) {
+		StringBuilder sb = new StringBuilder();
+		for(int r = 0; r < data.length; r++) {
+			sb.append(r % 2 == 0 ? "+1" : "-1");
+			for(int c = 0; c < data[r].length; c++)
+				if(data[r][c] != 0)
+					sb.append(delim).append(c + firstIndex).append(indexDelim).append(data[r][c]);
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	private static String toLibSVMReversed(double[][] data, String delim, String indexDelim) {
+		StringBuilder sb = new StringBuilder();
+		for(int r = 0; r < data.length; r++) {
+			sb.append(r % 2 == 0 ? "+1" : "-1");
+			for(int c = data[r].length - 1; c >= 0; c--)
+				if(data[r][c] != 0)
+					sb.append(delim).append(c).append(indexDelim).append(data[r][c]);
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	private static double[][] withLabels(double[][] data) {
+		//libsvm labels are read into the last column
+		double[][] ret = new double[data.length][];
+		for(int r = 0; r < data.length; r++) {
+			ret[r] = Arrays.copyOf(data[r], data[r].length + 1);
+			ret[r][data[r].length] = (r % 2 == 0) ? 1 : -1;
+		}
+		return ret;
+	}
+
+	private static String toMM(double[][] data, int firstIndex, String delim) {
+		StringBuilder sb = new StringBuilder();
+		for(int r = 0; r < data.length; r++)
+			for(int c = 0; c < data[r].length; c++)
+				if(data[r][c] != 0)
+					sb.append(r + firstIndex).append(delim).append(c + firstIndex).append(delim).append(data[r][c])
+						.append("\n");
+		return sb.toString();
+	}
+
+	private static void writeRawString(String raw, String fileName) throws IOException {
+		try(BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
+			writer.write(raw);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.lineage;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.apache.sysds.runtime.lineage.Lineage;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixValue;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class PersistentReuseTest extends LineageBase {
+
+	protected static final String TEST_DIR = "functions/lineage/";
+	protected static final String TEST_NAME1 = "PersistentReuse1";
+	protected String TEST_CLASS_DIR = TEST_DIR + PersistentReuseTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemDS-config-persist.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	private final static String CACHE_DIR = "target/testTemp/functions/lineage/PersistentReuseTest/cache";
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1));
+	}
+
+	@Test
+	public void testReuseAcrossRuns() throws Exception {
+		getAndLoadTestConfiguration(TEST_NAME1);
+		fullDMLScriptName = getScript();
+		LocalFileUtils.deleteFileIfExists(CACHE_DIR);
+		programArgs = new String[] {"-stats", "-lineage",
+			ReuseCacheType.REUSE_FULL.name().toLowerCase(), "-args", input("X"), output("R")};
+		writeInputMatrixWithMTD("X", getRandomMatrix(2000, 400, 0, 1, 1.0, 7), true);
+
+		try {
+			//first run populates the persistent cache
+			Lineage.resetInternalState();
+			Lineage.setLinReuseFull();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			HashMap<MatrixValue.CellIndex, Double> R1 = readDMLMatrixFromOutputDir("R");
+			Assert.assertEquals(0, LineageCacheStatistics.getPersistentHits());
+			Assert.assertTrue(LineageCacheStatistics.getPersistentWrites() > 0);
+
+			//second run with empty in-memory cache reuses persisted values
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			HashMap<MatrixValue.CellIndex, Double> R2 = readDMLMatrixFromOutputDir("R");
+			Assert.assertTrue(LineageCacheStatistics.getPersistentHits() > 0);
+			TestUtils.compareMatrices(R1, R2, 1e-10, "Origin", "Reused");
+
+			//modified input invalidates all persisted values
+			Thread.sleep(10);
+			writeInputMatrixWithMTD("X", getRandomMatrix(2000, 400, 0, 1, 1.0, 8), true);
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			Assert.assertEquals(0, LineageCacheStatistics.getPersistentHits());
+		}
+		finally {
+			Lineage.setLinReuseNone();
+			LocalFileUtils.deleteFileIfExists(CACHE_DIR);
+		}
+	}
+
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * the persistent lineage cache is enabled.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
@@ -57,6 +57,16 @@ public class ParamservLocalNNTest extends AutomatedTestBase {
 		runDMLTest(3, 2, Statement.PSUpdateType.ASP, Statement.PSFrequency.EPOCH, 32, Statement.PSScheme.DISJOINT_CONTIGUOUS);
 	}
 
+	@Test
+	public void testParamservSSPBatch() {
+		runDMLTest(3, 3, Statement.PSUpdateType.SSP, Statement.PSFrequency.BATCH, 32, Statement.PSScheme.DISJOINT_CONTIGUOUS);
+	}
+
+	@Test
+	public void testParamservSSPEpoch() {
+		runDMLTest(3, 2, Statement.PSUpdateType.SSP, Statement.PSFrequency.EPOCH, 32, Statement.PSScheme.DISJOINT_CONTIGUOUS);
+	}
+
 	@Test
 	public void testParamservBSPBatchDisjointRoundRobin() {
 		runDMLTest(3, 2, Statement.PSUpdateType.BSP, Statement.PSFrequency.BATCH, 32, Statement.PSScheme.DISJOINT_ROUND_ROBIN);
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.parfor.misc;
+
+import java.util.HashMap;
+
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParForSharedInPlaceResultMergeTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME = "parfor_shared_inplace";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForSharedInPlaceResultMergeTest.class.getSimpleName() + "/";
+
+	private final static double eps = 1e-10;
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R", "E"}));
+	}
+
+	@Test
+	public void testSharedRowwiseExistingData() {
+		runParForSharedInPlaceTest(257, 13, 1);
+	}
+
+	@Test
+	public void testSharedColwiseEmptyOutput() {
+		runParForSharedInPlaceTest(120, 37, 2);
+	}
+
+	@Test
+	public void testSharedCellwiseSparseOutput() {
+		runParForSharedInPlaceTest(500, 100, 3);
+	}
+
+	@Test
+	public void testSharedRowwiseReadInBody() {
+		runParForSharedInPlaceTest(257, 13, 4);
+	}
+
+	private void runParForSharedInPlaceTest(int n, int m, int type) {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[] {"-stats", "-args", String.valueOf(n), String.valueOf(m),
+			String.valueOf(type), output("R"), output("E")};
+
+		runTest(true, false, null, -1);
+
+		HashMap<CellIndex, Double> dmlR = readDMLMatrixFromOutputDir("R");
+		HashMap<CellIndex, Double> dmlE = readDMLMatrixFromOutputDir("E");
+		TestUtils.compareMatrices(dmlR, dmlE, eps, "R", "E");
+		Assert.assertTrue("Shared in-place result merge not applied.",
+			heavyHittersContainsSubString("ParFor-RMSH"));
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.parfor.misc;
+
+import java.util.HashMap;
+
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class ParForWorkStealingTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME = "parfor_workstealing";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForWorkStealingTest.class.getSimpleName() + "/";
+
+	private final static double eps = 1e-8;
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R", "E"}));
+	}
+
+	@Test
+	public void testWorkStealingRangeTasks() {
+		runParForWorkStealingTest(200, 1, "NONE");
+	}
+
+	@Test
+	public void testWorkStealingRangeTasksChunked() {
+		runParForWorkStealingTest(211, 5, "NONE");
+	}
+
+	@Test
+	public void testWorkStealingSetTasks() {
+		//less than four iterations per worker create set tasks
+		runParForWorkStealingTest(11, 1, "NONE");
+	}
+
+	@Test
+	public void testWorkStealingRuleBasedOptimizer() {
+		//user-specified partitioner kept by the rule-based optimizer
+		runParForWorkStealingTest(211, 5, "RULEBASED");
+	}
+
+	private void runParForWorkStealingTest(int n, int tasksize, String opt) {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[] {"-args", String.valueOf(n),
+			String.valueOf(tasksize), output("R"), output("E"), opt};
+
+		runTest(true, false, null, -1);
+
+		HashMap<CellIndex, Double> dmlR = readDMLMatrixFromOutputDir("R");
+		HashMap<CellIndex, Double> dmlE = readDMLMatrixFromOutputDir("E");
+		TestUtils.compareMatrices(dmlR, dmlE, eps, "R", "E");
+	}
+}